@@ -10,13 +10,24 @@ import top.sanscraft.ultratournamentsplusplus.listeners.RoundListener;
 import top.sanscraft.ultratournamentsplusplus.listeners.SpectatorListener;
 import top.sanscraft.ultratournamentsplusplus.listeners.DiscordPlayerListener;
 import top.sanscraft.ultratournamentsplusplus.listeners.TournamentEventListener;
+import top.sanscraft.ultratournamentsplusplus.listeners.CombatListener;
 import top.sanscraft.ultratournamentsplusplus.managers.ArenaManager;
 import top.sanscraft.ultratournamentsplusplus.managers.KitManager;
+import top.sanscraft.ultratournamentsplusplus.managers.MatchJournalManager;
+import top.sanscraft.ultratournamentsplusplus.managers.RatingManager;
+import top.sanscraft.ultratournamentsplusplus.managers.CombatTracker;
+import top.sanscraft.ultratournamentsplusplus.managers.HeadToHeadManager;
+import top.sanscraft.ultratournamentsplusplus.managers.BracketManager;
+import top.sanscraft.ultratournamentsplusplus.managers.ArenaPool;
 import top.sanscraft.ultratournamentsplusplus.managers.RoundManager;
+import top.sanscraft.ultratournamentsplusplus.managers.SeasonStatsManager;
 import top.sanscraft.ultratournamentsplusplus.managers.SpectatorManager;
+import top.sanscraft.ultratournamentsplusplus.managers.StatsTransferManager;
 import top.sanscraft.ultratournamentsplusplus.managers.TournamentManager;
 import top.sanscraft.ultratournamentsplusplus.managers.DiscordLinkManager;
 import top.sanscraft.ultratournamentsplusplus.managers.PlayerStatsManager;
+import top.sanscraft.ultratournamentsplusplus.placeholders.PlaceholderCache;
+import top.sanscraft.ultratournamentsplusplus.placeholders.TournamentExpansion;
 import top.sanscraft.ultratournamentsplusplus.storage.DatabaseManager;
 import top.sanscraft.ultratournamentsplusplus.utils.MessageUtils;
 import java.util.logging.Level;
@@ -45,6 +56,15 @@ public class UltraTournamentsPlusPlus extends JavaPlugin {
     private SpectatorManager spectatorManager;
     private DiscordLinkManager discordLinkManager;
     private PlayerStatsManager playerStatsManager;
+    private MatchJournalManager matchJournalManager;
+    private RatingManager ratingManager;
+    private SeasonStatsManager seasonStatsManager;
+    private StatsTransferManager statsTransferManager;
+    private CombatTracker combatTracker;
+    private HeadToHeadManager headToHeadManager;
+    private BracketManager bracketManager;
+    private ArenaPool arenaPool;
+    private PlaceholderCache placeholderCache;
     
     @Override
     public void onEnable() {
@@ -66,6 +86,9 @@ public class UltraTournamentsPlusPlus extends JavaPlugin {
             // Register event listeners
             registerListeners();
             
+            // Register PlaceholderAPI expansion (if installed)
+            registerPlaceholders();
+            
             // Initialize Discord bot (if enabled)
             initializeDiscord();
             
@@ -88,6 +111,26 @@ public class UltraTournamentsPlusPlus extends JavaPlugin {
             }
             
             // Shutdown managers
+            if (placeholderCache != null) {
+                placeholderCache.shutdown();
+            }
+            
+            if (matchJournalManager != null) {
+                matchJournalManager.shutdown();
+            }
+            
+            if (seasonStatsManager != null) {
+                seasonStatsManager.shutdown();
+            }
+            
+            if (ratingManager != null) {
+                ratingManager.shutdown();
+            }
+            
+            if (headToHeadManager != null) {
+                headToHeadManager.shutdown();
+            }
+            
             if (playerStatsManager != null) {
                 playerStatsManager.shutdown();
             }
@@ -96,6 +139,14 @@ public class UltraTournamentsPlusPlus extends JavaPlugin {
                 discordLinkManager.shutdown();
             }
             
+            if (bracketManager != null) {
+                bracketManager.shutdown();
+            }
+            
+            if (arenaPool != null) {
+                arenaPool.shutdown();
+            }
+            
             if (roundManager != null) {
                 roundManager.shutdown();
             }
@@ -106,7 +157,15 @@ public class UltraTournamentsPlusPlus extends JavaPlugin {
             
             // Save any pending data
             if (tournamentManager != null) {
-                tournamentManager.saveTournaments();
+                tournamentManager.shutdown();
+            }
+            
+            if (arenaManager != null) {
+                arenaManager.shutdown();
+            }
+            
+            if (kitManager != null) {
+                kitManager.shutdown();
             }
             
             // Close database connections
@@ -148,8 +207,28 @@ public class UltraTournamentsPlusPlus extends JavaPlugin {
         
         // Initialize player stats manager
         playerStatsManager = new PlayerStatsManager(this);
+        playerStatsManager.loadGlobalStats();
         playerStatsManager.loadStats();
         
+        // Initialize daily stat buckets and seasons
+        seasonStatsManager = new SeasonStatsManager(this);
+        seasonStatsManager.initialize();
+        
+        // Initialize match journal (replays results missing from player stats)
+        matchJournalManager = new MatchJournalManager(this);
+        matchJournalManager.initialize();
+        
+        // Initialize skill ratings
+        ratingManager = new RatingManager(this);
+        ratingManager.initialize();
+        
+        // Initialize head-to-head records
+        headToHeadManager = new HeadToHeadManager(this);
+        headToHeadManager.initialize();
+        
+        // Initialize stats export and import
+        statsTransferManager = new StatsTransferManager(this);
+        
         // Initialize tournament manager
         tournamentManager = new TournamentManager(this);
         tournamentManager.loadTournaments();
@@ -162,8 +241,19 @@ public class UltraTournamentsPlusPlus extends JavaPlugin {
         kitManager = new KitManager(this);
         kitManager.initialize();
         
+        // Initialize combat tracking for rounds
+        combatTracker = new CombatTracker(this);
+        
         // Initialize round manager
         roundManager = new RoundManager(this);
+        roundManager.restoreRounds(tournamentManager.takeInterruptedRounds());
+        
+        // Initialize arena leasing for concurrent rounds
+        arenaPool = new ArenaPool(this);
+        
+        // Initialize brackets
+        bracketManager = new BracketManager(this);
+        bracketManager.cancelOrphanedTournaments();
         
         // Initialize spectator manager
         spectatorManager = new SpectatorManager(this);
@@ -209,11 +299,28 @@ public class UltraTournamentsPlusPlus extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new PlayerJoinListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerQuitListener(this), this);
         getServer().getPluginManager().registerEvents(new RoundListener(this), this);
+        getServer().getPluginManager().registerEvents(new CombatListener(this), this);
         getServer().getPluginManager().registerEvents(new SpectatorListener(this), this);
         getServer().getPluginManager().registerEvents(new DiscordPlayerListener(this), this);
         getServer().getPluginManager().registerEvents(new TournamentEventListener(this), this);
     }
     
+    /**
+     * Register the PlaceholderAPI expansion if PlaceholderAPI is installed
+     */
+    private void registerPlaceholders() {
+        if (getServer().getPluginManager().getPlugin("PlaceholderAPI") == null) {
+            return;
+        }
+        
+        getLogger().info("Registering PlaceholderAPI expansion...");
+        placeholderCache = new PlaceholderCache(this);
+        placeholderCache.initialize();
+        if (!new TournamentExpansion(this, placeholderCache).register()) {
+            getLogger().warning("Failed to register PlaceholderAPI expansion");
+        }
+    }
+    
     /**
      * Initialize Discord bot if enabled
      */
@@ -271,6 +378,14 @@ public class UltraTournamentsPlusPlus extends JavaPlugin {
         return discordBot;
     }
     
+    /**
+     * Get the placeholder value cache
+     * @return Placeholder cache, or null if PlaceholderAPI is not installed
+     */
+    public PlaceholderCache getPlaceholderCache() {
+        return placeholderCache;
+    }
+    
     /**
      * Get the arena manager
      * @return Arena manager
@@ -319,6 +434,70 @@ public class UltraTournamentsPlusPlus extends JavaPlugin {
         return playerStatsManager;
     }
     
+    /**
+     * Get the match journal manager
+     * @return Match journal manager
+     */
+    public MatchJournalManager getMatchJournalManager() {
+        return matchJournalManager;
+    }
+    
+    /**
+     * Get the skill rating manager
+     * @return Rating manager
+     */
+    public RatingManager getRatingManager() {
+        return ratingManager;
+    }
+    
+    /**
+     * Get the season stats manager
+     * @return Season stats manager
+     */
+    public SeasonStatsManager getSeasonStatsManager() {
+        return seasonStatsManager;
+    }
+    
+    /**
+     * Get the stats transfer manager
+     * @return Stats transfer manager
+     */
+    public StatsTransferManager getStatsTransferManager() {
+        return statsTransferManager;
+    }
+    
+    /**
+     * Get the round combat tracker
+     * @return Combat tracker
+     */
+    public CombatTracker getCombatTracker() {
+        return combatTracker;
+    }
+    
+    /**
+     * Get the head-to-head manager
+     * @return Head-to-head manager
+     */
+    public HeadToHeadManager getHeadToHeadManager() {
+        return headToHeadManager;
+    }
+    
+    /**
+     * Get the bracket manager
+     * @return Bracket manager
+     */
+    public BracketManager getBracketManager() {
+        return bracketManager;
+    }
+    
+    /**
+     * Get the arena pool
+     * @return Arena pool
+     */
+    public ArenaPool getArenaPool() {
+        return arenaPool;
+    }
+    
     /**
      * Reload the plugin configuration and managers
      */
@@ -332,6 +511,9 @@ public class UltraTournamentsPlusPlus extends JavaPlugin {
             // Reload tournament manager
             tournamentManager.reload();
             
+            // Re-rank players, the ratio leaderboard threshold may have changed
+            playerStatsManager.loadLeaderboard();
+            
             // Restart Discord bot if configuration changed
             if (discordBot != null) {
                 discordBot.shutdown();
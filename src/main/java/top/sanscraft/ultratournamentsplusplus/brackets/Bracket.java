@@ -0,0 +1,39 @@
+package top.sanscraft.ultratournamentsplusplus.brackets;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Match generator of one tournament format.
+ * A bracket hands out matches as soon as both players are known and takes the results back.
+ * Implementations synchronize their methods, so results may be reported from any thread.
+ */
+public interface Bracket {
+    
+    /**
+     * Start the bracket
+     * @return Matches playable right away
+     */
+    List<BracketMatch> start();
+    
+    /**
+     * Report the winner of a match
+     * @param matchId Match ID handed out with the match
+     * @param winner Winner, one of the match players
+     * @return Matches that became playable through this result
+     * @throws IllegalArgumentException if the match is not being played or the winner is not in it
+     */
+    List<BracketMatch> reportResult(int matchId, UUID winner);
+    
+    /**
+     * Check if the bracket has a winner
+     * @return True once every match is decided
+     */
+    boolean isFinished();
+    
+    /**
+     * Get the winner of the bracket
+     * @return Winner, or null while the bracket is running
+     */
+    UUID getWinner();
+}
\ No newline at end of file
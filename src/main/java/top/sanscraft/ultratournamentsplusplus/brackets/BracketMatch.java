@@ -0,0 +1,33 @@
+package top.sanscraft.ultratournamentsplusplus.brackets;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Playable match handed out by a bracket
+ */
+public final class BracketMatch {
+    
+    private final int matchId;
+    private final int roundNumber;
+    private final String position;
+    private final List<UUID> players;
+    
+    public BracketMatch(int matchId, int roundNumber, String position, UUID first, UUID second) {
+        this.matchId = matchId;
+        this.roundNumber = roundNumber;
+        this.position = position;
+        this.players = List.of(first, second);
+    }
+    
+    // Getters
+    public int getMatchId() { return matchId; }
+    public int getRoundNumber() { return roundNumber; }
+    public String getPosition() { return position; }
+    public List<UUID> getPlayers() { return players; }
+    
+    @Override
+    public String toString() {
+        return String.format("BracketMatch{id=%d, round=%d, position='%s', players=%s}", matchId, roundNumber, position, players);
+    }
+}
\ No newline at end of file
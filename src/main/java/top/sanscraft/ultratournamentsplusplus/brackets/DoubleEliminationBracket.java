@@ -0,0 +1,244 @@
+package top.sanscraft.ultratournamentsplusplus.brackets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static top.sanscraft.ultratournamentsplusplus.brackets.SingleEliminationBracket.BYE;
+import static top.sanscraft.ultratournamentsplusplus.brackets.SingleEliminationBracket.EMPTY;
+
+/**
+ * Double-elimination bracket stored in flat arrays.
+ * Matches 1 to size - 1 are the winners bracket in the heap layout of {@link SingleEliminationBracket};
+ * the losers bracket and the grand final follow. Side s of match m is slot 2m + s, and each match
+ * has the slot its winner and its loser move to, wired once when the bracket is created.
+ * <p>
+ * The losers bracket alternates between rounds that pair its own survivors and rounds that take in
+ * the losers of the next winners round. Those losers are dropped in reversed or half-rotated order,
+ * so they meet players from the other half of the bracket instead of someone they just played.
+ * Every match is handed out as soon as both players are known, so winners and losers bracket
+ * matches are played side by side.
+ */
+public class DoubleEliminationBracket implements Bracket {
+    
+    private final UUID[] players; // By seed, best first
+    private final int size; // Number of first round slots
+    private final int rounds; // Winners bracket rounds
+    private final int grandFinal;
+    private final int bracketReset;
+    private final boolean resetEnabled;
+    private final int[] sides; // Player index per match side
+    private final int[] winners; // Player index per decided match
+    private final int[] winnerSlot; // Slot the winner moves to, or -1
+    private final int[] loserSlot; // Slot the loser moves to, or -1 when eliminated
+    private final int[] roundNumbers;
+    private final String[] positions;
+    private int champion = EMPTY;
+    
+    /**
+     * Create a bracket
+     * @param seeds Players, best seed first; at least two
+     * @param resetEnabled Whether a grand final lost by the winners bracket champion is played again
+     */
+    public DoubleEliminationBracket(List<UUID> seeds, boolean resetEnabled) {
+        if (seeds.size() < 2) {
+            throw new IllegalArgumentException("A bracket needs at least two players");
+        }
+        this.players = seeds.toArray(new UUID[0]);
+        this.size = Integer.highestOneBit(players.length - 1) << 1;
+        this.rounds = Integer.numberOfTrailingZeros(size);
+        this.resetEnabled = resetEnabled;
+        
+        // Winners bracket 1..size - 1, size - 2 losers bracket matches, grand final and reset
+        this.grandFinal = 2 * size - 2;
+        this.bracketReset = grandFinal + 1;
+        int matchCount = bracketReset + 1;
+        
+        this.sides = new int[2 * matchCount];
+        this.winners = new int[matchCount];
+        this.winnerSlot = new int[matchCount];
+        this.loserSlot = new int[matchCount];
+        this.roundNumbers = new int[matchCount];
+        this.positions = new String[matchCount];
+        Arrays.fill(sides, EMPTY);
+        Arrays.fill(winners, EMPTY);
+        Arrays.fill(winnerSlot, -1);
+        Arrays.fill(loserSlot, -1);
+        
+        wireWinnersBracket();
+        wireLosersBracket();
+        
+        roundNumbers[grandFinal] = 2 * rounds - 1;
+        positions[grandFinal] = "Grand Final";
+        roundNumbers[bracketReset] = 2 * rounds;
+        positions[bracketReset] = "Grand Final Reset";
+    }
+    
+    private void wireWinnersBracket() {
+        for (int match = 1; match < size; match++) {
+            int depth = 31 - Integer.numberOfLeadingZeros(match);
+            int number = match - (1 << depth) + 1;
+            winnerSlot[match] = match; // Heap layout: slot m is side m & 1 of match m / 2
+            roundNumbers[match] = rounds - depth;
+            positions[match] = switch (depth) {
+                case 0 -> "Winners Final";
+                case 1 -> "Winners Semi-final " + number;
+                default -> "Winners Round " + roundNumbers[match] + " Match " + number;
+            };
+        }
+        winnerSlot[1] = slot(grandFinal, 0);
+        if (rounds == 1) {
+            loserSlot[1] = slot(grandFinal, 1); // Two players: the final is replayed as the grand final
+        }
+    }
+    
+    /**
+     * Wire the losers bracket. Stage j has a round pairing survivors (or the first round losers)
+     * and a round in which they meet the losers of winners round j + 1.
+     */
+    private void wireLosersBracket() {
+        int next = size;
+        int previousMajor = -1;
+        for (int stage = 1; stage < rounds; stage++) {
+            int count = size >> (stage + 1); // Also the first heap index of winners round stage + 1
+            int minor = next;
+            int major = minor + count;
+            next = major + count;
+            
+            for (int i = 0; i < count; i++) {
+                for (int side = 0; side < 2; side++) {
+                    if (stage == 1) {
+                        loserSlot[size / 2 + 2 * i + side] = slot(minor + i, side);
+                    } else {
+                        winnerSlot[previousMajor + 2 * i + side] = slot(minor + i, side);
+                    }
+                }
+                winnerSlot[minor + i] = slot(major + i, 0);
+                loserSlot[count + i] = slot(major + dropIndex(i, count, stage), 1);
+                
+                roundNumbers[minor + i] = 2 * stage - 1;
+                roundNumbers[major + i] = 2 * stage;
+                positions[minor + i] = count == 1 ? "Losers Semi-final" : "Losers Round " + (2 * stage - 1) + " Match " + (i + 1);
+                positions[major + i] = count == 1 ? "Losers Final" : "Losers Round " + (2 * stage) + " Match " + (i + 1);
+            }
+            previousMajor = major;
+        }
+        if (previousMajor >= 0) {
+            winnerSlot[previousMajor] = slot(grandFinal, 1);
+        }
+    }
+    
+    /**
+     * Get the losers bracket match a winners bracket loser drops into.
+     * Alternating between reversed and half-rotated order keeps dropped players away from the
+     * side of the bracket they came from.
+     */
+    private static int dropIndex(int index, int count, int stage) {
+        if (count == 1) {
+            return 0;
+        }
+        return stage % 2 == 1 ? count - 1 - index : (index + count / 2) % count;
+    }
+    
+    private static int slot(int match, int side) {
+        return 2 * match + side;
+    }
+    
+    @Override
+    public synchronized List<BracketMatch> start() {
+        int[] order = SingleEliminationBracket.seedOrder(size);
+        for (int i = 0; i < size; i++) {
+            sides[size + i] = order[i] < players.length ? order[i] : BYE;
+        }
+        
+        List<BracketMatch> ready = new ArrayList<>();
+        for (int match = size / 2; match < size; match++) {
+            offer(match, ready);
+        }
+        return ready;
+    }
+    
+    @Override
+    public synchronized List<BracketMatch> reportResult(int matchId, UUID winner) {
+        if (matchId < 1 || matchId >= winners.length || winners[matchId] != EMPTY
+                || sides[slot(matchId, 0)] < 0 || sides[slot(matchId, 1)] < 0) {
+            throw new IllegalArgumentException("Match " + matchId + " is not being played");
+        }
+        
+        int first = sides[slot(matchId, 0)];
+        int second = sides[slot(matchId, 1)];
+        if (players[first].equals(winner)) {
+            List<BracketMatch> ready = new ArrayList<>();
+            decide(matchId, first, second, ready);
+            return ready;
+        }
+        if (players[second].equals(winner)) {
+            List<BracketMatch> ready = new ArrayList<>();
+            decide(matchId, second, first, ready);
+            return ready;
+        }
+        throw new IllegalArgumentException(winner + " does not play in match " + matchId);
+    }
+    
+    /**
+     * Hand out a match once both sides are known; a bye advances the other side right away
+     */
+    private void offer(int match, List<BracketMatch> ready) {
+        int first = sides[slot(match, 0)];
+        int second = sides[slot(match, 1)];
+        if (first == EMPTY || second == EMPTY || winners[match] != EMPTY) {
+            return;
+        }
+        
+        if (first == BYE || second == BYE) {
+            decide(match, first == BYE ? second : first, BYE, ready);
+        } else {
+            ready.add(new BracketMatch(match, roundNumbers[match], positions[match], players[first], players[second]));
+        }
+    }
+    
+    /**
+     * Record the result of a match and move both players on
+     */
+    private void decide(int match, int winner, int loser, List<BracketMatch> ready) {
+        winners[match] = winner;
+        
+        if (match == grandFinal) {
+            // The losers bracket champion has to beat the unbeaten player twice
+            if (winner == sides[slot(match, 0)] || !resetEnabled) {
+                champion = winner;
+            } else {
+                sides[slot(bracketReset, 0)] = loser;
+                sides[slot(bracketReset, 1)] = winner;
+                offer(bracketReset, ready);
+            }
+            return;
+        }
+        if (match == bracketReset) {
+            champion = winner;
+            return;
+        }
+        
+        place(winnerSlot[match], winner, ready);
+        place(loserSlot[match], loser, ready);
+    }
+    
+    private void place(int slot, int player, List<BracketMatch> ready) {
+        if (slot < 0) {
+            return;
+        }
+        sides[slot] = player;
+        offer(slot >> 1, ready);
+    }
+    
+    @Override
+    public synchronized boolean isFinished() {
+        return champion >= 0;
+    }
+    
+    @Override
+    public synchronized UUID getWinner() {
+        return champion >= 0 ? players[champion] : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,299 @@
+package top.sanscraft.ultratournamentsplusplus.brackets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Round-robin bracket, optionally split into groups.
+ * Players are snake-seeded into groups of at most the configured size, and every group plays its
+ * matchdays in turn; the groups play side by side. Matchdays are generated one at a time with the
+ * circle method, so a group of k players never holds more than k / 2 pairings instead of all
+ * k(k - 1) / 2. When there is more than one group, the group winners play a final group.
+ * <p>
+ * Standings are counted into primitive arrays of each group with every result, so a group table
+ * is one sort of its members.
+ */
+public class RoundRobinBracket implements Bracket {
+    
+    private final UUID[] players; // By seed, best first
+    private final List<Group> groups = new ArrayList<>();
+    private final int stride; // Match IDs are group + stride * sequence
+    private int unfinishedGroups;
+    private int champion = -1;
+    
+    /**
+     * Create a bracket
+     * @param seeds Players, best seed first; at least two
+     * @param groupSize Maximum players per group, or 0 for a single group
+     */
+    public RoundRobinBracket(List<UUID> seeds, int groupSize) {
+        if (seeds.size() < 2) {
+            throw new IllegalArgumentException("A bracket needs at least two players");
+        }
+        this.players = seeds.toArray(new UUID[0]);
+        int n = players.length;
+        
+        int groupCount = groupSize >= 2 ? (n + groupSize - 1) / groupSize : 1;
+        this.stride = groupCount > 1 ? groupCount + 1 : 1;
+        
+        // Snake seeding: groups take seeds in the order 1, 2, 3, 3, 2, 1, ... to be equally strong
+        List<List<Integer>> members = new ArrayList<>();
+        for (int group = 0; group < groupCount; group++) {
+            members.add(new ArrayList<>());
+        }
+        for (int seed = 0; seed < n; seed++) {
+            int pass = seed / groupCount;
+            int group = pass % 2 == 0 ? seed % groupCount : groupCount - 1 - seed % groupCount;
+            members.get(group).add(seed);
+        }
+        for (int group = 0; group < groupCount; group++) {
+            groups.add(new Group(group, groupCount > 1 ? "Group " + (group + 1) : "Round Robin",
+                members.get(group).stream().mapToInt(Integer::intValue).toArray()));
+        }
+    }
+    
+    @Override
+    public synchronized List<BracketMatch> start() {
+        List<BracketMatch> ready = new ArrayList<>();
+        unfinishedGroups = groups.size();
+        for (Group group : groups) {
+            nextMatchday(group, ready);
+        }
+        return ready;
+    }
+    
+    @Override
+    public synchronized List<BracketMatch> reportResult(int matchId, UUID winner) {
+        int groupIndex = matchId % stride;
+        Group group = groupIndex < groups.size() ? groups.get(groupIndex) : null;
+        int board = group != null ? matchId / stride - group.matchdayStart : -1;
+        if (group == null || board < 0 || board >= group.decided.length || group.decided[board]) {
+            throw new IllegalArgumentException("Match " + matchId + " is not being played");
+        }
+        
+        int first = group.pairs[2 * board];
+        int second = group.pairs[2 * board + 1];
+        if (players[group.members[first]].equals(winner)) {
+            group.record(first, second);
+        } else if (players[group.members[second]].equals(winner)) {
+            group.record(second, first);
+        } else {
+            throw new IllegalArgumentException(winner + " does not play in match " + matchId);
+        }
+        group.decided[board] = true;
+        
+        List<BracketMatch> ready = new ArrayList<>();
+        if (--group.remaining == 0) {
+            nextMatchday(group, ready);
+        }
+        return ready;
+    }
+    
+    /**
+     * Hand out the next matchday of a group, or finish the group when it has played them all
+     */
+    private void nextMatchday(Group group, List<BracketMatch> ready) {
+        if (!group.schedule.hasNext()) {
+            finishGroup(group, ready);
+            return;
+        }
+        
+        group.pairs = group.schedule.next();
+        group.decided = new boolean[group.pairs.length / 2];
+        group.remaining = group.decided.length;
+        group.matchdayStart = group.nextSequence;
+        group.nextSequence += group.decided.length;
+        group.matchday++;
+        
+        for (int board = 0; board < group.decided.length; board++) {
+            int first = group.members[group.pairs[2 * board]];
+            int second = group.members[group.pairs[2 * board + 1]];
+            ready.add(new BracketMatch(group.index + stride * (group.matchdayStart + board), group.matchday,
+                group.name + " Matchday " + group.matchday + " Match " + (board + 1), players[first], players[second]));
+        }
+    }
+    
+    private void finishGroup(Group group, List<BracketMatch> ready) {
+        if (group.index == stride - 1) {
+            // The only group, or the final group
+            champion = group.members[group.rank()[0]];
+            return;
+        }
+        if (--unfinishedGroups > 0) {
+            return;
+        }
+        
+        // Group winners play a final group, best seed first
+        int[] finalists = new int[groups.size()];
+        for (int i = 0; i < groups.size(); i++) {
+            Group finished = groups.get(i);
+            finalists[i] = finished.members[finished.rank()[0]];
+        }
+        Arrays.sort(finalists);
+        Group finalGroup = new Group(groups.size(), "Final Group", finalists);
+        groups.add(finalGroup);
+        nextMatchday(finalGroup, ready);
+    }
+    
+    /**
+     * Get the number of groups, including the final group once it is played
+     * @return Group count
+     */
+    public synchronized int getGroupCount() {
+        return groups.size();
+    }
+    
+    /**
+     * Get the table of a group
+     * @param group 0-based group index
+     * @return Standings, best first, or an empty list for an unknown group
+     */
+    public synchronized List<Standing> getTable(int group) {
+        if (group < 0 || group >= groups.size()) {
+            return List.of();
+        }
+        
+        Group target = groups.get(group);
+        List<Standing> table = new ArrayList<>(target.members.length);
+        for (int position : target.rank()) {
+            table.add(new Standing(target.name, players[target.members[position]], target.played[position],
+                target.wins[position], target.losses[position]));
+        }
+        return table;
+    }
+    
+    @Override
+    public synchronized boolean isFinished() {
+        return champion >= 0;
+    }
+    
+    @Override
+    public synchronized UUID getWinner() {
+        return champion >= 0 ? players[champion] : null;
+    }
+    
+    /**
+     * Row of a group table
+     */
+    public static final class Standing {
+        private final String group;
+        private final UUID playerId;
+        private final int played;
+        private final int wins;
+        private final int losses;
+        
+        public Standing(String group, UUID playerId, int played, int wins, int losses) {
+            this.group = group;
+            this.playerId = playerId;
+            this.played = played;
+            this.wins = wins;
+            this.losses = losses;
+        }
+        
+        // Getters
+        public String getGroup() { return group; }
+        public UUID getPlayerId() { return playerId; }
+        public int getPlayed() { return played; }
+        public int getWins() { return wins; }
+        public int getLosses() { return losses; }
+    }
+    
+    /**
+     * Players of a group, their standings and the state of the current matchday
+     */
+    private static class Group {
+        public final int index;
+        public final String name;
+        public final int[] members; // Seeds
+        public final int[] played; // Per member position
+        public final int[] wins;
+        public final int[] losses;
+        public final CircleSchedule schedule;
+        public int[] pairs = new int[0]; // Current matchday as member positions a0, b0, a1, b1, ...
+        public boolean[] decided = new boolean[0];
+        public int remaining;
+        public int matchday;
+        public int matchdayStart;
+        public int nextSequence;
+        
+        public Group(int index, String name, int[] members) {
+            this.index = index;
+            this.name = name;
+            this.members = members;
+            this.played = new int[members.length];
+            this.wins = new int[members.length];
+            this.losses = new int[members.length];
+            this.schedule = new CircleSchedule(members.length);
+        }
+        
+        public void record(int winner, int loser) {
+            played[winner]++;
+            played[loser]++;
+            wins[winner]++;
+            losses[loser]++;
+        }
+        
+        /**
+         * Order the members by wins, then fewest losses, then seed
+         * @return Member positions, best first
+         */
+        public int[] rank() {
+            return IntStream.range(0, members.length).boxed()
+                .sorted((a, b) -> wins[a] != wins[b] ? Integer.compare(wins[b], wins[a])
+                    : losses[a] != losses[b] ? Integer.compare(losses[a], losses[b])
+                    : Integer.compare(members[a], members[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        }
+    }
+    
+    /**
+     * Circle method schedule of a group. Position 0 stays fixed while the others rotate one step
+     * per matchday, and position p plays position size - 1 - p. An odd group gets a phantom
+     * player whose opponent sits the matchday out.
+     */
+    private static class CircleSchedule implements Iterator<int[]> {
+        private final int players;
+        private final int size; // Even
+        private int day;
+        
+        public CircleSchedule(int players) {
+            this.players = players;
+            this.size = players % 2 == 0 ? players : players + 1;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return players > 1 && day < size - 1;
+        }
+        
+        @Override
+        public int[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            int[] pairs = new int[2 * (players / 2)];
+            int count = 0;
+            for (int position = 0; position < size / 2; position++) {
+                int first = playerAt(position);
+                int second = playerAt(size - 1 - position);
+                if (first < players && second < players) {
+                    pairs[count++] = first;
+                    pairs[count++] = second;
+                }
+            }
+            day++;
+            return pairs;
+        }
+        
+        private int playerAt(int position) {
+            return position == 0 ? 0 : (position - 1 + day) % (size - 1) + 1;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package top.sanscraft.ultratournamentsplusplus.brackets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Single-elimination bracket stored as a flat array heap.
+ * The field is padded to a power of two; seeds are placed in standard bracket order so the top
+ * seeds meet last, and the missing players are byes given to the top seeds. Match m is played
+ * between slots 2m and 2m + 1 and its winner is written to slot m, so the final is match 1 and
+ * advancing a winner is one array write. A match is handed out as soon as both of its feeder
+ * matches are decided.
+ */
+public class SingleEliminationBracket implements Bracket {
+    
+    static final int EMPTY = -1; // Not decided yet
+    static final int BYE = -2;
+    
+    private final UUID[] players; // By seed, best first
+    private final int size; // Number of first round slots
+    private final int rounds;
+    private final int[] slots; // Player index per heap slot; slots[size..2 * size) are the seeds
+    
+    /**
+     * Create a bracket
+     * @param seeds Players, best seed first; at least two
+     */
+    public SingleEliminationBracket(List<UUID> seeds) {
+        if (seeds.size() < 2) {
+            throw new IllegalArgumentException("A bracket needs at least two players");
+        }
+        this.players = seeds.toArray(new UUID[0]);
+        this.size = Integer.highestOneBit(players.length - 1) << 1;
+        this.rounds = Integer.numberOfTrailingZeros(size);
+        this.slots = new int[2 * size];
+        Arrays.fill(slots, EMPTY);
+    }
+    
+    @Override
+    public synchronized List<BracketMatch> start() {
+        int[] order = seedOrder(size);
+        for (int i = 0; i < size; i++) {
+            slots[size + i] = order[i] < players.length ? order[i] : BYE;
+        }
+        
+        List<BracketMatch> ready = new ArrayList<>();
+        for (int match = size / 2; match < size; match++) {
+            offer(match, ready);
+        }
+        return ready;
+    }
+    
+    @Override
+    public synchronized List<BracketMatch> reportResult(int matchId, UUID winner) {
+        if (matchId < 1 || matchId >= size || slots[matchId] != EMPTY || !isPlayable(matchId)) {
+            throw new IllegalArgumentException("Match " + matchId + " is not being played");
+        }
+        
+        int first = slots[2 * matchId];
+        int second = slots[2 * matchId + 1];
+        int winnerIndex = players[first].equals(winner) ? first : players[second].equals(winner) ? second : EMPTY;
+        if (winnerIndex == EMPTY) {
+            throw new IllegalArgumentException(winner + " does not play in match " + matchId);
+        }
+        
+        List<BracketMatch> ready = new ArrayList<>();
+        advance(matchId, winnerIndex, ready);
+        return ready;
+    }
+    
+    /**
+     * Write the winner of a match and hand out the next match if its other side is decided
+     */
+    private void advance(int match, int winner, List<BracketMatch> ready) {
+        slots[match] = winner;
+        if (match > 1) {
+            offer(match >> 1, ready);
+        }
+    }
+    
+    /**
+     * Hand out a match once both sides are known; a bye advances the other side right away
+     */
+    private void offer(int match, List<BracketMatch> ready) {
+        int first = slots[2 * match];
+        int second = slots[2 * match + 1];
+        if (first == EMPTY || second == EMPTY) {
+            return;
+        }
+        
+        if (first == BYE || second == BYE) {
+            advance(match, first == BYE ? second : first, ready);
+        } else {
+            ready.add(new BracketMatch(match, getRoundNumber(match), getPosition(match), players[first], players[second]));
+        }
+    }
+    
+    private boolean isPlayable(int match) {
+        int first = slots[2 * match];
+        int second = slots[2 * match + 1];
+        return first >= 0 && second >= 0;
+    }
+    
+    /**
+     * Get the round a match is played in, the first round being 1
+     */
+    private int getRoundNumber(int match) {
+        return rounds - (31 - Integer.numberOfLeadingZeros(match));
+    }
+    
+    /**
+     * Describe the position of a match, e.g. "Semi-final 2"
+     */
+    private String getPosition(int match) {
+        int depth = 31 - Integer.numberOfLeadingZeros(match);
+        int number = match - (1 << depth) + 1;
+        return switch (depth) {
+            case 0 -> "Final";
+            case 1 -> "Semi-final " + number;
+            case 2 -> "Quarter-final " + number;
+            default -> "Round " + getRoundNumber(match) + " Match " + number;
+        };
+    }
+    
+    @Override
+    public synchronized boolean isFinished() {
+        return slots[1] >= 0;
+    }
+    
+    @Override
+    public synchronized UUID getWinner() {
+        return slots[1] >= 0 ? players[slots[1]] : null;
+    }
+    
+    /**
+     * Get the standard bracket order of seeds, in which seed s meets seed size + 1 - s in the
+     * first round and the top seeds can only meet in the last rounds
+     * @param size Number of first round slots, a power of two
+     * @return 0-based seed per slot
+     */
+    static int[] seedOrder(int size) {
+        int[] order = {0};
+        while (order.length < size) {
+            int length = order.length * 2;
+            int[] next = new int[length];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = length - 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,291 @@
+package top.sanscraft.ultratournamentsplusplus.brackets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Swiss system pairing over a fixed number of rounds.
+ * Each round players are ordered by score, Buchholz, Sonneborn-Berger and seed, and every score
+ * group is interleaved so its top half meets its bottom half; a player left over in a group floats
+ * down to the next one. Rematches are avoided with a bitset of past meetings and a backtracking
+ * search that gives up after a fixed number of steps, after which the nearest remaining players
+ * are paired. With an odd number of players the lowest placed player without a bye sits out for a point.
+ * <p>
+ * Tiebreaks are kept up to date with every result: a win raises the Buchholz of everyone the winner
+ * has played and the Sonneborn-Berger of everyone who beat them, so ranking needs no recalculation.
+ */
+public class SwissBracket implements Bracket {
+    
+    private static final int BACKTRACK_LIMIT = 100_000;
+    
+    private final UUID[] players; // By seed, best first
+    private final int rounds;
+    private final long[] met; // Bit i * n + j is set once players i and j have played
+    private final int[] scores;
+    private final int[] buchholz; // Sum of opponent scores
+    private final int[] sonnebornBerger; // Sum of scores of beaten opponents
+    private final int[][] results; // Per player: opponent << 1, plus 1 if the player won
+    private final int[] resultCount;
+    private final boolean[] hadBye;
+    
+    private int round;
+    private int[] pairedFirst = new int[0]; // Pairings of the current round
+    private int[] pairedSecond = new int[0];
+    private boolean[] decided = new boolean[0];
+    private int remaining;
+    private int champion = -1;
+    private int steps;
+    
+    /**
+     * Create a bracket
+     * @param seeds Players, best seed first; at least two
+     * @param rounds Number of rounds, or 0 for enough rounds to separate a single leader
+     */
+    public SwissBracket(List<UUID> seeds, int rounds) {
+        if (seeds.size() < 2) {
+            throw new IllegalArgumentException("A bracket needs at least two players");
+        }
+        this.players = seeds.toArray(new UUID[0]);
+        int n = players.length;
+        int defaultRounds = 32 - Integer.numberOfLeadingZeros(n - 1); // ceil(log2 n)
+        this.rounds = Math.min(n - 1, rounds > 0 ? rounds : defaultRounds);
+        this.met = new long[(int) (((long) n * n + 63) / 64)];
+        this.scores = new int[n];
+        this.buchholz = new int[n];
+        this.sonnebornBerger = new int[n];
+        this.results = new int[n][this.rounds];
+        this.resultCount = new int[n];
+        this.hadBye = new boolean[n];
+    }
+    
+    @Override
+    public synchronized List<BracketMatch> start() {
+        return pairNextRound();
+    }
+    
+    @Override
+    public synchronized List<BracketMatch> reportResult(int matchId, UUID winner) {
+        int board = matchId - round * players.length - 1;
+        if (board < 0 || board >= decided.length || decided[board]) {
+            throw new IllegalArgumentException("Match " + matchId + " is not being played");
+        }
+        
+        int first = pairedFirst[board];
+        int second = pairedSecond[board];
+        if (players[first].equals(winner)) {
+            record(first, second);
+        } else if (players[second].equals(winner)) {
+            record(second, first);
+        } else {
+            throw new IllegalArgumentException(winner + " does not play in match " + matchId);
+        }
+        decided[board] = true;
+        
+        if (--remaining > 0) {
+            return List.of();
+        }
+        if (round == rounds) {
+            champion = rank()[0];
+            return List.of();
+        }
+        return pairNextRound();
+    }
+    
+    /**
+     * Count a result into scores and tiebreaks
+     */
+    private void record(int winner, int loser) {
+        results[winner][resultCount[winner]++] = loser << 1 | 1;
+        results[loser][resultCount[loser]++] = winner << 1;
+        buchholz[winner] += scores[loser];
+        buchholz[loser] += scores[winner];
+        sonnebornBerger[winner] += scores[loser];
+        addPoint(winner);
+    }
+    
+    /**
+     * Give a player a point and pass it on to the tiebreaks of their opponents
+     */
+    private void addPoint(int player) {
+        scores[player]++;
+        for (int i = 0; i < resultCount[player]; i++) {
+            int opponent = results[player][i] >> 1;
+            buchholz[opponent]++;
+            if ((results[player][i] & 1) == 0) {
+                sonnebornBerger[opponent]++; // The opponent beat this player
+            }
+        }
+    }
+    
+    /**
+     * Order the players by score and tiebreaks
+     */
+    private int[] rank() {
+        return IntStream.range(0, players.length).boxed()
+            .sorted((a, b) -> scores[a] != scores[b] ? Integer.compare(scores[b], scores[a])
+                : buchholz[a] != buchholz[b] ? Integer.compare(buchholz[b], buchholz[a])
+                : sonnebornBerger[a] != sonnebornBerger[b] ? Integer.compare(sonnebornBerger[b], sonnebornBerger[a])
+                : Integer.compare(a, b))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+    
+    /**
+     * Pair the next round, giving a bye first if the player count is odd
+     */
+    private List<BracketMatch> pairNextRound() {
+        round++;
+        int[] order = rank();
+        int n = order.length;
+        
+        if (n % 2 == 1) {
+            int bye = n - 1;
+            while (bye > 0 && hadBye[order[bye]]) {
+                bye--;
+            }
+            hadBye[order[bye]] = true;
+            addPoint(order[bye]);
+            System.arraycopy(order, bye + 1, order, bye, n - bye - 1);
+            n--;
+        }
+        
+        int[] candidates = interleaveScoreGroups(Arrays.copyOf(order, n));
+        int[] partner = new int[n];
+        Arrays.fill(partner, -1);
+        steps = 0;
+        if (!pair(candidates, partner, 0)) {
+            pairNearest(candidates, partner);
+        }
+        
+        pairedFirst = new int[n / 2];
+        pairedSecond = new int[n / 2];
+        decided = new boolean[n / 2];
+        remaining = n / 2;
+        List<BracketMatch> matches = new ArrayList<>(n / 2);
+        int board = 0;
+        for (int i = 0; i < n; i++) {
+            if (partner[i] > i) {
+                int first = candidates[i];
+                int second = candidates[partner[i]];
+                markMet(first, second);
+                pairedFirst[board] = first;
+                pairedSecond[board] = second;
+                board++;
+                matches.add(new BracketMatch(round * players.length + board, round, "Swiss Round " + round + " Board " + board,
+                    players[first], players[second]));
+            }
+        }
+        return matches;
+    }
+    
+    /**
+     * Reorder each score group as top1, bottom1, top2, bottom2, ... so the nearest opponent of
+     * every player in the top half is their counterpart in the bottom half
+     */
+    private int[] interleaveScoreGroups(int[] order) {
+        int[] interleaved = new int[order.length];
+        int start = 0;
+        while (start < order.length) {
+            int end = start;
+            while (end < order.length && scores[order[end]] == scores[order[start]]) {
+                end++;
+            }
+            int half = (end - start + 1) / 2;
+            int index = start;
+            for (int i = 0; i < half; i++) {
+                interleaved[index++] = order[start + i];
+                if (start + half + i < end) {
+                    interleaved[index++] = order[start + half + i];
+                }
+            }
+            start = end;
+        }
+        return interleaved;
+    }
+    
+    /**
+     * Pair every candidate from position from on without rematches, trying the nearest
+     * opponents first and backtracking up to the step limit
+     */
+    private boolean pair(int[] candidates, int[] partner, int from) {
+        int first = from;
+        while (first < candidates.length && partner[first] >= 0) {
+            first++;
+        }
+        if (first == candidates.length) {
+            return true;
+        }
+        
+        for (int second = first + 1; second < candidates.length; second++) {
+            if (partner[second] >= 0 || hasMet(candidates[first], candidates[second])) {
+                continue;
+            }
+            if (++steps > BACKTRACK_LIMIT) {
+                return false;
+            }
+            
+            partner[first] = second;
+            partner[second] = first;
+            if (pair(candidates, partner, first + 1)) {
+                return true;
+            }
+            partner[first] = -1;
+            partner[second] = -1;
+            if (steps > BACKTRACK_LIMIT) {
+                return false;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Pair greedily when no pairing without rematches was found in time, avoiding rematches where possible
+     */
+    private void pairNearest(int[] candidates, int[] partner) {
+        Arrays.fill(partner, -1);
+        for (int first = 0; first < candidates.length; first++) {
+            if (partner[first] >= 0) {
+                continue;
+            }
+            int chosen = -1;
+            for (int second = first + 1; second < candidates.length; second++) {
+                if (partner[second] < 0) {
+                    if (!hasMet(candidates[first], candidates[second])) {
+                        chosen = second;
+                        break;
+                    }
+                    if (chosen < 0) {
+                        chosen = second;
+                    }
+                }
+            }
+            partner[first] = chosen;
+            partner[chosen] = first;
+        }
+    }
+    
+    private boolean hasMet(int first, int second) {
+        long bit = (long) first * players.length + second;
+        return (met[(int) (bit >>> 6)] & (1L << bit)) != 0;
+    }
+    
+    private void markMet(int first, int second) {
+        long bit = (long) first * players.length + second;
+        met[(int) (bit >>> 6)] |= 1L << bit;
+        bit = (long) second * players.length + first;
+        met[(int) (bit >>> 6)] |= 1L << bit;
+    }
+    
+    @Override
+    public synchronized boolean isFinished() {
+        return champion >= 0;
+    }
+    
+    @Override
+    public synchronized UUID getWinner() {
+        return champion >= 0 ? players[champion] : null;
+    }
+}
\ No newline at end of file
@@ -347,9 +347,10 @@ public class KitCommand implements CommandExecutor, TabCompleter {
             default:
                 MessageUtils.sendError(sender, "Unknown setting: " + setting);
                 MessageUtils.sendInfo(sender, "Settings: description, clearinv, resethealth, resethunger, resetxp, xplevel");
-                break;
+                return true;
         }
         
+        plugin.getKitManager().markDirty(kit);
         return true;
     }
     
@@ -9,10 +9,22 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.brackets.Bracket;
+import top.sanscraft.ultratournamentsplusplus.brackets.RoundRobinBracket;
+import top.sanscraft.ultratournamentsplusplus.managers.StatsTransferManager;
+import top.sanscraft.ultratournamentsplusplus.models.GlobalStats;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardEntry;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardType;
+import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
+import top.sanscraft.ultratournamentsplusplus.models.Season;
+import top.sanscraft.ultratournamentsplusplus.models.StatsWindow;
 import top.sanscraft.ultratournamentsplusplus.models.Tournament;
+import top.sanscraft.ultratournamentsplusplus.models.TournamentStatus;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Main tournament command handler
@@ -35,6 +47,8 @@ public class TournamentCommand implements CommandExecutor, TabCompleter {
         String subCommand = args[0].toLowerCase();
         
         switch (subCommand) {
+            case "start":
+                return handleStartCommand(sender, args);
             case "spectate":
                 return handleSpectateCommand(sender, args);
             case "stopspectate":
@@ -46,6 +60,24 @@ public class TournamentCommand implements CommandExecutor, TabCompleter {
             case "spectatorarea":
             case "specarea":
                 return handleSpectatorAreaCommand(sender, args);
+            case "top":
+            case "leaderboard":
+                return handleTopCommand(sender, args);
+            case "season":
+                return handleSeasonCommand(sender, args);
+            case "summary":
+                return handleSummaryCommand(sender);
+            case "h2h":
+            case "headtohead":
+                return handleHeadToHeadCommand(sender, args);
+            case "standings":
+                return handleStandingsCommand(sender, args);
+            case "rebuildstats":
+                return handleRebuildStatsCommand(sender);
+            case "exportstats":
+                return handleExportStatsCommand(sender, args);
+            case "importstats":
+                return handleImportStatsCommand(sender, args);
             default:
                 sender.sendMessage(ChatColor.RED + "Unknown command. Use /tournament help for available commands.");
                 return true;
@@ -265,6 +297,342 @@ public class TournamentCommand implements CommandExecutor, TabCompleter {
         return true;
     }
     
+    /**
+     * Handle the start command (admin only)
+     */
+    private boolean handleStartCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("ultratournaments.admin.start")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to start tournaments!");
+            return true;
+        }
+        
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "Usage: /tournament start <tournament>");
+            return true;
+        }
+        
+        Tournament tournament = plugin.getTournamentManager().getTournament(args[1]);
+        if (tournament == null) {
+            sender.sendMessage(ChatColor.RED + "Tournament '" + args[1] + "' not found!");
+            return true;
+        }
+        
+        if (tournament.getStatus() != TournamentStatus.PREPARING && tournament.getStatus() != TournamentStatus.OPEN) {
+            sender.sendMessage(ChatColor.RED + "Tournament " + tournament.getName() + " is "
+                + tournament.getStatus().getDisplayName().toLowerCase() + "!");
+            return true;
+        }
+        
+        if (!plugin.getBracketManager().supports(tournament.getType())) {
+            sender.sendMessage(ChatColor.RED + tournament.getType().getDisplayName() + " tournaments cannot be started yet!");
+            return true;
+        }
+        
+        int minParticipants = plugin.getConfigManager().getMinParticipants();
+        if (tournament.getParticipantCount() < minParticipants) {
+            sender.sendMessage(ChatColor.RED + "Tournament " + tournament.getName() + " needs at least "
+                + minParticipants + " participants to start!");
+            return true;
+        }
+        
+        if (!plugin.getBracketManager().startTournament(tournament)) {
+            sender.sendMessage(ChatColor.RED + "Failed to start tournament " + tournament.getName() + "!");
+            return true;
+        }
+        
+        sender.sendMessage(ChatColor.GREEN + "Started tournament " + tournament.getName() + " with "
+            + tournament.getParticipantCount() + " players!");
+        return true;
+    }
+    
+    /**
+     * Handle the standings command
+     */
+    private boolean handleStandingsCommand(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "Usage: /tournament standings <tournament> [group]");
+            return true;
+        }
+        
+        Bracket bracket = plugin.getBracketManager().getBracket(args[1]);
+        if (!(bracket instanceof RoundRobinBracket)) {
+            sender.sendMessage(ChatColor.RED + "Tournament '" + args[1] + "' is not a running round robin!");
+            return true;
+        }
+        RoundRobinBracket roundRobin = (RoundRobinBracket) bracket;
+        
+        int group = 1;
+        if (args.length >= 3) {
+            try {
+                group = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Invalid group: " + args[2]);
+                return true;
+            }
+        }
+        
+        List<RoundRobinBracket.Standing> table = roundRobin.getTable(group - 1);
+        if (table.isEmpty()) {
+            sender.sendMessage(ChatColor.RED + "Group " + group + " does not exist! Groups: 1-" + roundRobin.getGroupCount());
+            return true;
+        }
+        
+        sender.sendMessage(ChatColor.YELLOW + "=== " + table.get(0).getGroup() + " ===");
+        int position = 1;
+        for (RoundRobinBracket.Standing standing : table) {
+            String name = Bukkit.getOfflinePlayer(standing.getPlayerId()).getName();
+            sender.sendMessage(ChatColor.GOLD + "#" + position++ + " " + ChatColor.WHITE + (name != null ? name : standing.getPlayerId().toString())
+                + ChatColor.GRAY + " - " + standing.getWins() + "W " + standing.getLosses() + "L (" + standing.getPlayed() + " played)");
+        }
+        return true;
+    }
+    
+    /**
+     * Handle the rebuild stats command (admin only)
+     */
+    private boolean handleRebuildStatsCommand(CommandSender sender) {
+        if (!sender.hasPermission("ultratournaments.admin.stats")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to rebuild player statistics!");
+            return true;
+        }
+        
+        plugin.getMatchJournalManager().rebuildStats(sender);
+        return true;
+    }
+    
+    /**
+     * Handle the export stats command (admin only)
+     */
+    private boolean handleExportStatsCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("ultratournaments.admin.stats")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to export player statistics!");
+            return true;
+        }
+        
+        StatsTransferManager.Format format = StatsTransferManager.Format.NDJSON;
+        boolean gzip = false;
+        for (int i = 1; i < args.length; i++) {
+            String option = args[i].toLowerCase();
+            if (option.equals("gzip")) {
+                gzip = true;
+            } else if (option.equals("csv")) {
+                format = StatsTransferManager.Format.CSV;
+            } else if (!option.equals("ndjson")) {
+                sender.sendMessage(ChatColor.RED + "Usage: /tournament exportstats [ndjson|csv] [gzip]");
+                return true;
+            }
+        }
+        
+        plugin.getStatsTransferManager().exportStats(sender, format, gzip);
+        return true;
+    }
+    
+    /**
+     * Handle the import stats command (admin only)
+     */
+    private boolean handleImportStatsCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("ultratournaments.admin.stats")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to import player statistics!");
+            return true;
+        }
+        
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "Usage: /tournament importstats <file>");
+            return true;
+        }
+        
+        plugin.getStatsTransferManager().importStats(sender, args[1]);
+        return true;
+    }
+    
+    /**
+     * Handle the leaderboard command
+     */
+    private boolean handleTopCommand(CommandSender sender, String[] args) {
+        LeaderboardType type = LeaderboardType.TOURNAMENTS_WON;
+        if (args.length >= 2) {
+            type = LeaderboardType.fromId(args[1]);
+            if (type == null) {
+                List<String> typeIds = new ArrayList<>();
+                for (LeaderboardType value : LeaderboardType.values()) {
+                    typeIds.add(value.getId());
+                }
+                sender.sendMessage(ChatColor.RED + "Unknown leaderboard '" + args[1] + "'. Available: " + String.join(", ", typeIds));
+                return true;
+            }
+        }
+        
+        StatsWindow window = StatsWindow.ALL_TIME;
+        int page = 1;
+        for (int i = 2; i < args.length; i++) {
+            StatsWindow requestedWindow = StatsWindow.fromId(args[i]);
+            if (requestedWindow != null) {
+                window = requestedWindow;
+                continue;
+            }
+            try {
+                page = Math.max(1, Integer.parseInt(args[i]));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Usage: /tournament top [type] [alltime|weekly|monthly|season] [page]");
+                return true;
+            }
+        }
+        
+        if (window != StatsWindow.ALL_TIME && !type.isWindowed()) {
+            sender.sendMessage(ChatColor.RED + "The " + type.getDisplayName() + " leaderboard is only available for all time.");
+            return true;
+        }
+        
+        final LeaderboardType leaderboardType = type;
+        final StatsWindow statsWindow = window;
+        final int pageSize = plugin.getConfigManager().getLeaderboardPageSize();
+        final int offset = (page - 1) * pageSize;
+        final int currentPage = page;
+        
+        CompletableFuture<List<LeaderboardEntry>> leaderboard = window == StatsWindow.ALL_TIME
+            ? plugin.getPlayerStatsManager().getLeaderboard(type, offset, pageSize)
+            : plugin.getSeasonStatsManager().getLeaderboard(window, type, offset, pageSize);
+        leaderboard.whenCompleteAsync((entries, error) -> {
+            if (error != null) {
+                sender.sendMessage(ChatColor.RED + "Failed to load the leaderboard: " + error.getMessage());
+                return;
+            }
+            
+            int size = statsWindow == StatsWindow.ALL_TIME
+                ? plugin.getPlayerStatsManager().getLeaderboardSize(leaderboardType)
+                : plugin.getSeasonStatsManager().getLeaderboardSize(statsWindow, leaderboardType);
+            int pages = Math.max(1, (size + pageSize - 1) / pageSize);
+            String title = statsWindow == StatsWindow.ALL_TIME ? "" : statsWindow.getDisplayName() + " ";
+            sender.sendMessage(ChatColor.YELLOW + "=== " + title + leaderboardType.getDisplayName() + " Leaderboard ("
+                + currentPage + "/" + pages + ") ===");
+            if (leaderboardType.isRatio()) {
+                sender.sendMessage(ChatColor.GRAY + "Players need " + plugin.getConfigManager().getLeaderboardMinRounds()
+                    + " rounds to be ranked.");
+            }
+            if (entries.isEmpty()) {
+                sender.sendMessage(ChatColor.GRAY + "No players on this page.");
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                LeaderboardEntry entry = entries.get(i);
+                sender.sendMessage(ChatColor.GOLD + "#" + (offset + i + 1) + " " + ChatColor.WHITE + entry.getPlayerName()
+                    + ChatColor.GRAY + " - " + leaderboardType.formatValue(entry));
+            }
+            
+            if (sender instanceof Player && statsWindow == StatsWindow.ALL_TIME) {
+                int position = plugin.getPlayerStatsManager().getLeaderboardPosition(leaderboardType, ((Player) sender).getUniqueId());
+                if (position > 0) {
+                    sender.sendMessage(ChatColor.GREEN + "Your position: #" + position);
+                }
+            }
+        }, plugin.getDatabaseManager().getExecutor().mainThread());
+        return true;
+    }
+    
+    /**
+     * Handle the season command
+     */
+    private boolean handleSeasonCommand(CommandSender sender, String[] args) {
+        if (args.length >= 2 && args[1].equalsIgnoreCase("rollover")) {
+            if (!sender.hasPermission("ultratournaments.admin.stats")) {
+                sender.sendMessage(ChatColor.RED + "You don't have permission to end the season!");
+                return true;
+            }
+            
+            String name = args.length >= 3 ? String.join(" ", Arrays.copyOfRange(args, 2, args.length)) : null;
+            plugin.getSeasonStatsManager().rolloverSeason(sender, name);
+            return true;
+        }
+        
+        Season season = plugin.getSeasonStatsManager().getCurrentSeason();
+        if (season == null) {
+            sender.sendMessage(ChatColor.RED + "The current season is not loaded!");
+            return true;
+        }
+        
+        long days = (System.currentTimeMillis() - season.getStartedAt()) / (24L * 60 * 60 * 1000);
+        sender.sendMessage(ChatColor.YELLOW + "=== " + season.getName() + " ===");
+        sender.sendMessage(ChatColor.GRAY + "Running for " + days + " days");
+        sender.sendMessage(ChatColor.GRAY + "Use /tournament top <type> season to view the season leaderboards");
+        return true;
+    }
+    
+    /**
+     * Handle the summary command
+     */
+    private boolean handleSummaryCommand(CommandSender sender) {
+        GlobalStats stats = plugin.getPlayerStatsManager().getGlobalStats();
+        sender.sendMessage(ChatColor.YELLOW + "=== Server Statistics ===");
+        sender.sendMessage(ChatColor.GRAY + "Players: " + ChatColor.WHITE + stats.getPlayers());
+        sender.sendMessage(ChatColor.GRAY + "Tournaments: " + ChatColor.WHITE + stats.getTournaments());
+        sender.sendMessage(ChatColor.GRAY + "Rounds: " + ChatColor.WHITE + stats.getRounds());
+        sender.sendMessage(ChatColor.GRAY + "Kills: " + ChatColor.WHITE + stats.getKills());
+        sender.sendMessage(ChatColor.GRAY + "Playtime: " + ChatColor.WHITE + PlayerStats.formatPlaytime(stats.getPlaytime()));
+        sender.sendMessage(ChatColor.GRAY + "Average round: " + ChatColor.WHITE
+            + Math.round(stats.getAverageRoundDuration() / 1000) + "s");
+        return true;
+    }
+    
+    /**
+     * Handle the head-to-head command
+     */
+    private boolean handleHeadToHeadCommand(CommandSender sender, String[] args) {
+        if (args.length < 2 || (args.length < 3 && !(sender instanceof Player))) {
+            sender.sendMessage(ChatColor.RED + "Usage: /tournament h2h <player> [player]");
+            return true;
+        }
+        
+        final String firstName = args.length >= 3 ? args[1] : sender.getName();
+        final String secondName = args.length >= 3 ? args[2] : args[1];
+        CompletableFuture<UUID> first = resolvePlayerId(firstName);
+        CompletableFuture<UUID> second = resolvePlayerId(secondName);
+        
+        first.thenCombine(second, (firstId, secondId) -> new UUID[] {firstId, secondId})
+            .thenCompose(players -> {
+                if (players[0] == null || players[1] == null) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                return plugin.getHeadToHeadManager().getHeadToHead(players[0], players[1]);
+            })
+            .whenCompleteAsync((record, error) -> {
+                if (error != null) {
+                    sender.sendMessage(ChatColor.RED + "Failed to load the head-to-head record: " + error.getMessage());
+                    return;
+                }
+                if (record == null) {
+                    sender.sendMessage(ChatColor.RED + "Player '" + (first.join() == null ? firstName : secondName)
+                        + "' not found!");
+                    return;
+                }
+                
+                UUID firstId = first.join();
+                UUID secondId = second.join();
+                sender.sendMessage(ChatColor.YELLOW + "=== " + firstName + " vs " + secondName + " ===");
+                if (record.getMeetings() == 0) {
+                    sender.sendMessage(ChatColor.GRAY + "These players have never met.");
+                    return;
+                }
+                sender.sendMessage(ChatColor.GRAY + "Meetings: " + ChatColor.WHITE + record.getMeetings());
+                sender.sendMessage(ChatColor.GOLD + firstName + ChatColor.WHITE + " " + record.getWins(firstId)
+                    + ChatColor.GRAY + " - " + ChatColor.WHITE + record.getWins(secondId) + " " + ChatColor.GOLD + secondName);
+                String lastWinner = firstId.equals(record.getLastWinner()) ? firstName : secondName;
+                sender.sendMessage(ChatColor.GRAY + "Last meeting: " + ChatColor.WHITE
+                    + PlayerStats.formatPlaytime(System.currentTimeMillis() - record.getLastMeeting()) + " ago"
+                    + ChatColor.GRAY + ", won by " + ChatColor.WHITE + lastWinner);
+            }, plugin.getDatabaseManager().getExecutor().mainThread());
+        return true;
+    }
+    
+    /**
+     * Find a player by name, online players first and stored players otherwise
+     */
+    private CompletableFuture<UUID> resolvePlayerId(String playerName) {
+        Player player = Bukkit.getPlayerExact(playerName);
+        if (player != null) {
+            return CompletableFuture.completedFuture(player.getUniqueId());
+        }
+        return plugin.getDatabaseManager().supplyAsync(() -> plugin.getDatabaseManager().findPlayerId(playerName));
+    }
+    
     /**
      * Send help message
      */
@@ -272,6 +640,11 @@ public class TournamentCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(ChatColor.YELLOW + "=== UltraTournaments++ Commands ===");
         sender.sendMessage(ChatColor.GRAY + "/tournament spectate <tournament> - Spectate a tournament (requires spectator region)");
         sender.sendMessage(ChatColor.GRAY + "/tournament spectatorarea - Teleport to spectator area");
+        sender.sendMessage(ChatColor.GRAY + "/tournament top [type] [alltime|weekly|monthly|season] [page] - View a leaderboard");
+        sender.sendMessage(ChatColor.GRAY + "/tournament season - View the current season");
+        sender.sendMessage(ChatColor.GRAY + "/tournament summary - View server-wide statistics");
+        sender.sendMessage(ChatColor.GRAY + "/tournament h2h <player> [player] - View the record between two players");
+        sender.sendMessage(ChatColor.GRAY + "/tournament standings <tournament> [group] - View a round-robin group table");
         
         if (sender.hasPermission("ultratournaments.admin.spectator")) {
             sender.sendMessage(ChatColor.YELLOW + "=== Admin Commands ===");
@@ -280,6 +653,17 @@ public class TournamentCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage(ChatColor.GRAY + "/tournament spectatorregion list - List spectator regions");
             sender.sendMessage(ChatColor.GRAY + "/tournament spectatorarea set - Set spectator teleport location");
         }
+        
+        if (sender.hasPermission("ultratournaments.admin.start")) {
+            sender.sendMessage(ChatColor.GRAY + "/tournament start <tournament> - Seed the bracket and start the first rounds");
+        }
+        
+        if (sender.hasPermission("ultratournaments.admin.stats")) {
+            sender.sendMessage(ChatColor.GRAY + "/tournament rebuildstats - Regenerate player statistics from the match journal");
+            sender.sendMessage(ChatColor.GRAY + "/tournament exportstats [ndjson|csv] [gzip] - Export player statistics to a file");
+            sender.sendMessage(ChatColor.GRAY + "/tournament importstats <file> - Import player statistics from an export file");
+            sender.sendMessage(ChatColor.GRAY + "/tournament season rollover [name] - Archive the season and start a new one");
+        }
     }
     
     @Override
@@ -287,7 +671,15 @@ public class TournamentCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
         
         if (args.length == 1) {
-            List<String> subCommands = Arrays.asList("spectate", "stopspectate", "spectatorregion", "spectatorarea");
+            List<String> subCommands = new ArrayList<>(Arrays.asList("spectate", "stopspectate", "spectatorregion", "spectatorarea", "top", "season", "summary", "h2h", "standings"));
+            if (sender.hasPermission("ultratournaments.admin.start")) {
+                subCommands.add("start");
+            }
+            if (sender.hasPermission("ultratournaments.admin.stats")) {
+                subCommands.add("rebuildstats");
+                subCommands.add("exportstats");
+                subCommands.add("importstats");
+            }
             for (String subCommand : subCommands) {
                 if (subCommand.toLowerCase().startsWith(args[0].toLowerCase())) {
                     completions.add(subCommand);
@@ -296,13 +688,24 @@ public class TournamentCommand implements CommandExecutor, TabCompleter {
         } else if (args.length == 2) {
             String subCommand = args[0].toLowerCase();
             
-            if (subCommand.equals("spectate")) {
+            if (subCommand.equals("spectate") || subCommand.equals("standings")
+                    || (subCommand.equals("start") && sender.hasPermission("ultratournaments.admin.start"))) {
                 // Tab complete tournament names
                 for (Tournament tournament : plugin.getTournamentManager().getTournaments()) {
                     if (tournament.getName().toLowerCase().startsWith(args[1].toLowerCase())) {
                         completions.add(tournament.getName());
                     }
                 }
+            } else if (subCommand.equals("top") || subCommand.equals("leaderboard")) {
+                for (LeaderboardType type : LeaderboardType.values()) {
+                    if (type.getId().startsWith(args[1].toLowerCase())) {
+                        completions.add(type.getId());
+                    }
+                }
+            } else if (subCommand.equals("season") && sender.hasPermission("ultratournaments.admin.stats")) {
+                if ("rollover".startsWith(args[1].toLowerCase())) {
+                    completions.add("rollover");
+                }
             } else if (subCommand.equals("spectatorregion")) {
                 List<String> actions = Arrays.asList("set", "remove", "list");
                 for (String action : actions) {
@@ -314,6 +717,31 @@ public class TournamentCommand implements CommandExecutor, TabCompleter {
                 if ("set".startsWith(args[1].toLowerCase())) {
                     completions.add("set");
                 }
+            } else if (subCommand.equals("exportstats") && sender.hasPermission("ultratournaments.admin.stats")) {
+                for (String option : Arrays.asList("ndjson", "csv", "gzip")) {
+                    if (option.startsWith(args[1].toLowerCase())) {
+                        completions.add(option);
+                    }
+                }
+            } else if (subCommand.equals("importstats") && sender.hasPermission("ultratournaments.admin.stats")) {
+                for (String fileName : plugin.getStatsTransferManager().getImportableFiles()) {
+                    if (fileName.toLowerCase().startsWith(args[1].toLowerCase())) {
+                        completions.add(fileName);
+                    }
+                }
+            }
+        } else if (args.length == 3 && (args[0].equalsIgnoreCase("top") || args[0].equalsIgnoreCase("leaderboard"))) {
+            LeaderboardType type = LeaderboardType.fromId(args[1]);
+            for (StatsWindow window : StatsWindow.values()) {
+                if ((window == StatsWindow.ALL_TIME || (type != null && type.isWindowed()))
+                        && window.getId().startsWith(args[2].toLowerCase())) {
+                    completions.add(window.getId());
+                }
+            }
+        } else if (args.length == 3 && args[0].equalsIgnoreCase("exportstats")
+            && sender.hasPermission("ultratournaments.admin.stats")) {
+            if ("gzip".startsWith(args[2].toLowerCase())) {
+                completions.add("gzip");
             }
         } else if (args.length == 3 && args[0].equalsIgnoreCase("spectatorregion")) {
             String action = args[1].toLowerCase();
@@ -327,6 +755,16 @@ public class TournamentCommand implements CommandExecutor, TabCompleter {
             }
         }
         
+        if ((args.length == 2 || args.length == 3)
+                && (args[0].equalsIgnoreCase("h2h") || args[0].equalsIgnoreCase("headtohead"))) {
+            // Tab complete online player names
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                if (player.getName().toLowerCase().startsWith(args[args.length - 1].toLowerCase())) {
+                    completions.add(player.getName());
+                }
+            }
+        }
+        
         return completions;
     }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package top.sanscraft.ultratournamentsplusplus.config;
 
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Manages plugin configuration
  */
@@ -35,6 +39,14 @@ public class ConfigManager {
         plugin.getLogger().info("Configuration reloaded!");
     }
     
+    /**
+     * Check if debug logging is enabled
+     * @return True if debug mode is on
+     */
+    public boolean isDebugEnabled() {
+        return config.getBoolean("general.debug", false);
+    }
+    
     /**
      * Check if Discord integration is enabled
      * @return True if Discord is enabled
@@ -91,6 +103,78 @@ public class ConfigManager {
         return config.getString("challonge.api-key", "");
     }
     
+    /**
+     * Get the default maximum participants for new tournaments
+     * @return Maximum participants
+     */
+    public int getDefaultMaxParticipants() {
+        return Math.max(2, config.getInt("tournaments.default-max-participants", 16));
+    }
+    
+    /**
+     * Get the default type for new tournaments
+     * @return Tournament type name
+     */
+    public String getDefaultTournamentType() {
+        return config.getString("tournaments.default-type", "SINGLE_ELIMINATION");
+    }
+    
+    /**
+     * Get the minimum participants required to start a tournament
+     * @return Minimum participants
+     */
+    public int getMinParticipants() {
+        return Math.max(2, config.getInt("tournaments.min-participants", 2));
+    }
+    
+    /**
+     * Get how bracket seeds are assigned
+     * @return "rating" to seed by skill rating, or "random"
+     */
+    public String getBracketSeeding() {
+        return config.getString("tournaments.seeding", "rating").toLowerCase();
+    }
+    
+    /**
+     * Check if a double-elimination grand final is replayed when the winners bracket champion loses it
+     * @return True if bracket resets are enabled
+     */
+    public boolean isBracketResetEnabled() {
+        return config.getBoolean("tournaments.grand-final-reset", true);
+    }
+    
+    /**
+     * Get the number of rounds of a Swiss tournament
+     * @return Round count, or 0 to play enough rounds to separate a single leader
+     */
+    public int getSwissRounds() {
+        return Math.max(0, config.getInt("tournaments.swiss-rounds", 0));
+    }
+    
+    /**
+     * Get the maximum number of players per round-robin group
+     * @return Group size, or 0 to play a single group
+     */
+    public int getRoundRobinGroupSize() {
+        return Math.max(0, config.getInt("tournaments.round-robin-group-size", 0));
+    }
+    
+    /**
+     * Get how many times a bracket match whose round was cancelled is played again
+     * @return Retries before the tournament is cancelled
+     */
+    public int getMatchRetries() {
+        return Math.max(0, config.getInt("tournaments.match-retries", 2));
+    }
+    
+    /**
+     * Get the order in which rounds waiting for a free arena are served
+     * @return "priority" to serve the earliest bracket rounds first, or "fifo"
+     */
+    public String getArenaQueueOrder() {
+        return config.getString("tournaments.arena-queue", "priority").toLowerCase();
+    }
+    
     /**
      * Get database type
      * @return Database type (sqlite, mysql, etc.)
@@ -106,4 +190,308 @@ public class ConfigManager {
     public String getDatabaseUrl() {
         return config.getString("database.url", "");
     }
+    
+    /**
+     * Get SQLite database file name
+     * @return File name inside the plugin data folder
+     */
+    public String getSQLiteFile() {
+        return config.getString("database.sqlite.file", "tournaments.db");
+    }
+    
+    /**
+     * Get MySQL host
+     * @return MySQL host
+     */
+    public String getMySQLHost() {
+        return config.getString("database.mysql.host", "localhost");
+    }
+    
+    /**
+     * Get MySQL port
+     * @return MySQL port
+     */
+    public int getMySQLPort() {
+        return config.getInt("database.mysql.port", 3306);
+    }
+    
+    /**
+     * Get MySQL database name
+     * @return MySQL database name
+     */
+    public String getMySQLDatabase() {
+        return config.getString("database.mysql.database", "ultratournaments");
+    }
+    
+    /**
+     * Get MySQL username
+     * @return MySQL username
+     */
+    public String getMySQLUsername() {
+        return config.getString("database.mysql.username", "root");
+    }
+    
+    /**
+     * Get MySQL password
+     * @return MySQL password
+     */
+    public String getMySQLPassword() {
+        return config.getString("database.mysql.password", "");
+    }
+    
+    /**
+     * Check if MySQL connections should use SSL
+     * @return True if SSL is enabled
+     */
+    public boolean isMySQLSSLEnabled() {
+        return config.getBoolean("database.mysql.use-ssl", false);
+    }
+    
+    /**
+     * Get additional JDBC properties for MySQL connections
+     * @return Property names mapped to values
+     */
+    public Map<String, String> getMySQLProperties() {
+        Map<String, String> properties = new HashMap<>();
+        ConfigurationSection section = config.getConfigurationSection("database.mysql.properties");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                properties.put(key, String.valueOf(section.get(key)));
+            }
+        }
+        return properties;
+    }
+    
+    /**
+     * Get the maximum number of pooled database connections
+     * @return Pool size (reader connections for SQLite)
+     */
+    public int getDatabasePoolSize() {
+        return Math.max(1, config.getInt("database.pool.size", 4));
+    }
+    
+    /**
+     * Get how long to wait for a free database connection
+     * @return Timeout in milliseconds
+     */
+    public long getDatabaseConnectionTimeout() {
+        return config.getLong("database.pool.connection-timeout", 10000L);
+    }
+    
+    /**
+     * Get how long a pooled connection may sit idle before it is validated again
+     * @return Validation interval in milliseconds
+     */
+    public long getDatabaseValidationInterval() {
+        return config.getLong("database.pool.validation-interval", 30000L);
+    }
+    
+    /**
+     * Get how long a pooled connection is kept before it is replaced
+     * @return Maximum lifetime in milliseconds, 0 to keep connections forever
+     */
+    public long getDatabaseMaxLifetime() {
+        return config.getLong("database.pool.max-lifetime", 1800000L);
+    }
+    
+    /**
+     * Get the number of threads running database work
+     * @return Worker thread count
+     */
+    public int getDatabaseExecutorThreads() {
+        return Math.max(1, config.getInt("database.executor.threads", 4));
+    }
+    
+    /**
+     * Get how many database tasks may wait for a worker before new ones are rejected
+     * @return Queue capacity
+     */
+    public int getDatabaseExecutorQueueSize() {
+        return Math.max(1, config.getInt("database.executor.queue-size", 1000));
+    }
+    
+    /**
+     * Check if database tasks that do not fit into the queue run on the submitting thread
+     * @return True for caller-runs, false to reject the task
+     */
+    public boolean isDatabaseExecutorCallerRuns() {
+        return !"abort".equalsIgnoreCase(config.getString("database.executor.rejection-policy", "caller-runs"));
+    }
+    
+    /**
+     * Get how often changed player stats are written to the database
+     * @return Flush interval in seconds
+     */
+    public int getStatsFlushInterval() {
+        return Math.max(1, config.getInt("database.write-behind.flush-interval", 30));
+    }
+    
+    /**
+     * Get the number of players with pending changes that triggers an early flush
+     * @return Batch size threshold
+     */
+    public int getStatsFlushBatchSize() {
+        return Math.max(1, config.getInt("database.write-behind.batch-size", 100));
+    }
+    
+    /**
+     * Get how often changed tournaments and rounds are written to the database
+     * @return Flush interval in seconds
+     */
+    public int getTournamentFlushInterval() {
+        return Math.max(1, config.getInt("database.write-behind.tournament-flush-interval", 5));
+    }
+    
+    /**
+     * Get the name this server numbers its journal entries under
+     * @return Server id, unique among servers sharing a database
+     */
+    public String getJournalServerId() {
+        String serverId = config.getString("database.journal.server-id", "main").trim();
+        return serverId.isEmpty() ? "main" : serverId.substring(0, Math.min(32, serverId.length()));
+    }
+    
+    /**
+     * Get how often recorded match results are appended to the journal
+     * @return Flush interval in seconds
+     */
+    public int getJournalFlushInterval() {
+        return Math.max(1, config.getInt("database.journal.flush-interval", 2));
+    }
+    
+    /**
+     * Get how often a stats snapshot is recorded, bounding journal replay at startup
+     * @return Snapshot interval in seconds
+     */
+    public int getJournalSnapshotInterval() {
+        return Math.max(10, config.getInt("database.journal.snapshot-interval", 300));
+    }
+    
+    /**
+     * Get how many rows streaming reads fetch from the database per round trip
+     * @return Fetch size
+     */
+    public int getStreamFetchSize() {
+        return Math.max(1, config.getInt("database.streaming.fetch-size", 500));
+    }
+    
+    /**
+     * Get how many rows a stats import sends to the database per batch
+     * @return Batch size
+     */
+    public int getImportBatchSize() {
+        return Math.max(1, config.getInt("database.streaming.import-batch-size", 500));
+    }
+    
+    /**
+     * Get how many players a stats rebuild recomputes at a time
+     * @return Chunk size
+     */
+    public int getRebuildChunkSize() {
+        return Math.max(1, config.getInt("database.streaming.rebuild-chunk-size", 1000));
+    }
+    
+    /**
+     * Get the maximum number of player stats kept in memory
+     * @return Maximum cache size
+     */
+    public int getStatsCacheMaxSize() {
+        return Math.max(1, config.getInt("database.stats-cache.max-size", 5000));
+    }
+    
+    /**
+     * Get how long stats of offline players stay cached after their last use
+     * @return Expiry time in seconds
+     */
+    public long getStatsCacheExpireAfter() {
+        return config.getLong("database.stats-cache.expire-after", 600L);
+    }
+    
+    /**
+     * Get the number of rounds a player needs to appear on ratio leaderboards
+     * @return Minimum rounds played
+     */
+    public int getLeaderboardMinRounds() {
+        return Math.max(0, config.getInt("leaderboards.min-rounds", 10));
+    }
+    
+    /**
+     * Get the number of players shown per leaderboard page
+     * @return Page size
+     */
+    public int getLeaderboardPageSize() {
+        return Math.max(1, config.getInt("leaderboards.page-size", 10));
+    }
+    
+    /**
+     * Get how long weekly, monthly and season leaderboards are cached before they are summed again
+     * @return Cache duration in seconds
+     */
+    public int getWindowedLeaderboardCacheDuration() {
+        return Math.max(1, config.getInt("leaderboards.window-cache-duration", 60));
+    }
+    
+    /**
+     * Get the longest time a published leaderboard snapshot stays unchanged while stats change
+     * @return Snapshot interval in seconds
+     */
+    public int getLeaderboardSnapshotInterval() {
+        return Math.max(1, config.getInt("leaderboards.snapshot-interval", 30));
+    }
+    
+    /**
+     * Get the number of stat changes after which leaderboard snapshots are republished early
+     * @return Change count
+     */
+    public int getLeaderboardSnapshotChanges() {
+        return Math.max(1, config.getInt("leaderboards.snapshot-changes", 100));
+    }
+    
+    /**
+     * Get the number of top players kept in each leaderboard snapshot
+     * @return Snapshot size
+     */
+    public int getLeaderboardSnapshotSize() {
+        return Math.max(1, config.getInt("leaderboards.snapshot-size", 100));
+    }
+    
+    /**
+     * Check if round results update skill ratings
+     * @return True if ratings are enabled
+     */
+    public boolean isRatingsEnabled() {
+        return config.getBoolean("ratings.enabled", true);
+    }
+    
+    /**
+     * Get the length of a rating period; results are rated together at the end of each period
+     * @return Period length in seconds
+     */
+    public int getRatingPeriodLength() {
+        return Math.max(60, config.getInt("ratings.period-length", 3600));
+    }
+    
+    /**
+     * Get the Glicko-2 system constant limiting how fast volatility changes
+     * @return Tau, between 0.2 and 1.2
+     */
+    public double getRatingTau() {
+        return Math.min(1.2, Math.max(0.2, config.getDouble("ratings.tau", 0.5)));
+    }
+    
+    /**
+     * Get the number of rated players from which a rating period is calculated in parallel
+     * @return Player count
+     */
+    public int getRatingParallelThreshold() {
+        return Math.max(1, config.getInt("ratings.parallel-threshold", 500));
+    }
+    
+    /**
+     * Get how long a hit on a player counts towards a kill or an assist
+     * @return Assist window in seconds
+     */
+    public int getCombatAssistWindow() {
+        return Math.max(1, config.getInt("combat.assist-window", 10));
+    }
 }
\ No newline at end of file
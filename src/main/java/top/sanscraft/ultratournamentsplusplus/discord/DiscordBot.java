@@ -2,6 +2,10 @@ package top.sanscraft.ultratournamentsplusplus.discord;
 
 import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
 import top.sanscraft.ultratournamentsplusplus.models.DiscordLink;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardEntry;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardSnapshot;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardType;
+import top.sanscraft.ultratournamentsplusplus.models.StatsWindow;
 import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
 import top.sanscraft.ultratournamentsplusplus.models.Tournament;
 import top.sanscraft.ultratournamentsplusplus.models.Round;
@@ -29,8 +33,10 @@ import org.bukkit.entity.Player;
 import java.awt.Color;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -38,7 +44,10 @@ import java.util.concurrent.TimeUnit;
  */
 public class DiscordBot extends ListenerAdapter {
     
+    private static final int TOP_USAGE_LIMIT = 3; // Kits and arenas listed by /stats
+    
     private final UltraTournamentsPlusPlus plugin;
+    private final Map<String, CachedEmbed> leaderboardEmbeds = new ConcurrentHashMap<>(); // Pages built from snapshots
     private JDA jda;
     private String guildId;
     private String announcementChannelId;
@@ -127,7 +136,18 @@ public class DiscordBot extends ListenerAdapter {
             Commands.slash("profile", "View your tournament profile"),
             
             Commands.slash("leaderboard", "View tournament leaderboard")
-                .addOption(OptionType.INTEGER, "limit", "Number of players to show (default: 10)", false),
+                .addOptions(
+                    createLeaderboardTypeOption(),
+                    createLeaderboardPeriodOption(),
+                    new OptionData(OptionType.INTEGER, "page", "Page to show (default: 1)", false),
+                    new OptionData(OptionType.INTEGER, "limit", "Number of players per page (default: 10)", false)
+                ),
+                
+            Commands.slash("h2h", "View the head-to-head record between two players")
+                .addOptions(
+                    new OptionData(OptionType.USER, "opponent", "Player to compare against", true),
+                    new OptionData(OptionType.USER, "player", "Compare another player instead of yourself", false)
+                ),
                 
             Commands.slash("notifications", "Toggle tournament notifications")
                 .addOption(OptionType.BOOLEAN, "enabled", "Enable or disable notifications", true)
@@ -151,6 +171,7 @@ public class DiscordBot extends ListenerAdapter {
                 case "leave" -> handleLeaveCommand(event);
                 case "profile" -> handleProfileCommand(event);
                 case "leaderboard" -> handleLeaderboardCommand(event);
+                case "h2h" -> handleHeadToHeadCommand(event);
                 case "notifications" -> handleNotificationsCommand(event);
                 default -> event.reply("Unknown command!").setEphemeral(true).queue();
             }
@@ -321,13 +342,9 @@ public class DiscordBot extends ListenerAdapter {
         final String finalTargetUsername = targetUsername;
         
         // Load stats from database
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                return plugin.getDatabaseManager().loadPlayerStats(finalTargetPlayerId);
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to load stats for " + finalTargetUsername + ": " + e.getMessage());
-                return null;
-            }
+        plugin.getDatabaseManager().loadPlayerStatsAsync(finalTargetPlayerId).exceptionally(e -> {
+            plugin.getLogger().warning("Failed to load stats for " + finalTargetUsername + ": " + e.getMessage());
+            return null;
         }).thenAccept(stats -> {
             if (stats == null) {
                 // Create empty stats for display
@@ -340,10 +357,28 @@ public class DiscordBot extends ListenerAdapter {
                 .setColor(Color.BLUE)
                 .setTimestamp(Instant.now());
             
+            String topKits = formatTopUsage(plugin.getPlayerStatsManager().getTopKits(stats, TOP_USAGE_LIMIT));
+            String topArenas = formatTopUsage(plugin.getPlayerStatsManager().getTopArenas(stats, TOP_USAGE_LIMIT));
+            if (!topKits.isEmpty()) {
+                embed.addField("🎯 Top Kits", topKits, true);
+            }
+            if (!topArenas.isEmpty()) {
+                embed.addField("🏟️ Top Arenas", topArenas, true);
+            }
+            
             event.getHook().editOriginalEmbeds(embed.build()).queue();
         });
     }
     
+    /**
+     * Format usage counts as one "name (rounds)" line per entry
+     */
+    private String formatTopUsage(Map<String, Integer> usage) {
+        StringBuilder lines = new StringBuilder();
+        usage.forEach((name, rounds) -> lines.append(name).append(" (").append(rounds).append(")\n"));
+        return lines.toString().trim();
+    }
+    
     /**
      * Handle /tournaments command
      */
@@ -423,6 +458,8 @@ public class DiscordBot extends ListenerAdapter {
         // Try to join tournament
         boolean success = tournament.addParticipant(playerId);
         if (success) {
+            plugin.getTournamentManager().markParticipantsDirty(tournament);
+            
             EmbedBuilder embed = new EmbedBuilder()
                 .setTitle("✅ Tournament Joined")
                 .setDescription("Successfully joined tournament: **" + tournament.getName() + "**")
@@ -474,6 +511,8 @@ public class DiscordBot extends ListenerAdapter {
         
         boolean success = tournament.removeParticipant(playerId);
         if (success) {
+            plugin.getTournamentManager().markParticipantsDirty(tournament);
+            
             EmbedBuilder embed = new EmbedBuilder()
                 .setTitle("🚪 Left Tournament")
                 .setDescription("Successfully left tournament: **" + tournament.getName() + "**")
@@ -501,16 +540,11 @@ public class DiscordBot extends ListenerAdapter {
         
         event.deferReply().setEphemeral(true).queue();
         
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                return plugin.getDatabaseManager().loadPlayerStats(link.getMinecraftUuid());
-            } catch (Exception e) {
-                return null;
-            }
-        }).thenAccept(stats -> {
+        plugin.getDatabaseManager().loadPlayerStatsAsync(link.getMinecraftUuid()).exceptionally(e -> null).thenAccept(stats -> {
             if (stats == null) {
                 stats = new PlayerStats(link.getMinecraftUuid(), link.getMinecraftUsername());
             }
+            int position = plugin.getPlayerStatsManager().getLeaderboardPosition(LeaderboardType.TOURNAMENTS_WON, link.getMinecraftUuid());
             
             EmbedBuilder embed = new EmbedBuilder()
                 .setTitle("👤 Your Tournament Profile")
@@ -519,9 +553,10 @@ public class DiscordBot extends ListenerAdapter {
                          stats.getTournamentsWon() + " wins / " + stats.getTournamentsPlayed() + " played", true)
                 .addField("⚔️ Round Record", 
                          stats.getRoundsWon() + " wins / " + stats.getRoundsPlayed() + " played", true)
-                .addField("📈 Current Rank", stats.getRank(), true)
+                .addField("📈 Current Rank", stats.getRank() + (position > 0 ? " (#" + position + ")" : ""), true)
                 .addField("🔥 Win Streak", String.valueOf(stats.getWinStreak()), true)
                 .addField("💀 K/D Ratio", String.format("%.2f", stats.getKillDeathRatio()), true)
+                .addField("📊 Skill Rating", String.format("%.0f ± %.0f", stats.getRating(), stats.getRatingDeviation() * 2), true)
                 .addField("🔔 Notifications", link.isNotificationsEnabled() ? "Enabled" : "Disabled", true)
                 .setColor(Color.CYAN)
                 .setTimestamp(Instant.now());
@@ -530,54 +565,173 @@ public class DiscordBot extends ListenerAdapter {
         });
     }
     
+    /**
+     * Create the leaderboard type option with one choice per type
+     */
+    private OptionData createLeaderboardTypeOption() {
+        OptionData option = new OptionData(OptionType.STRING, "type", "Statistic to rank by (default: tournaments)", false);
+        for (LeaderboardType type : LeaderboardType.values()) {
+            option.addChoice(type.getDisplayName(), type.getId());
+        }
+        return option;
+    }
+    
+    /**
+     * Create the leaderboard period option with one choice per time window
+     */
+    private OptionData createLeaderboardPeriodOption() {
+        OptionData option = new OptionData(OptionType.STRING, "period", "Time range to rank (default: all time)", false);
+        for (StatsWindow window : StatsWindow.values()) {
+            option.addChoice(window.getDisplayName(), window.getId());
+        }
+        return option;
+    }
+    
     /**
      * Handle /leaderboard command
      */
     private void handleLeaderboardCommand(SlashCommandInteractionEvent event) {
         event.deferReply().queue();
         
+        OptionMapping typeOption = event.getOption("type");
+        LeaderboardType requestedType = typeOption != null ? LeaderboardType.fromId(typeOption.getAsString()) : null;
+        final LeaderboardType type = requestedType != null ? requestedType : LeaderboardType.TOURNAMENTS_WON;
+        
+        OptionMapping periodOption = event.getOption("period");
+        StatsWindow requestedWindow = periodOption != null ? StatsWindow.fromId(periodOption.getAsString()) : null;
+        final StatsWindow window = requestedWindow != null ? requestedWindow : StatsWindow.ALL_TIME;
+        if (window != StatsWindow.ALL_TIME && !type.isWindowed()) {
+            event.getHook().editOriginal("The " + type.getDisplayName() + " leaderboard is only available for all time.").queue();
+            return;
+        }
+        
         OptionMapping limitOption = event.getOption("limit");
         final int limit = limitOption != null ? limitOption.getAsInt() : 10;
         final int clampedLimit = Math.min(Math.max(limit, 1), 25); // Clamp between 1-25
         
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                return plugin.getDatabaseManager().getTopPlayersByTournaments(clampedLimit);
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to load leaderboard: " + e.getMessage());
-                return List.<PlayerStats>of();
+        OptionMapping pageOption = event.getOption("page");
+        final int page = Math.max(pageOption != null ? pageOption.getAsInt() : 1, 1);
+        final int offset = (page - 1) * clampedLimit;
+        final String title = "🏆 " + (window != StatsWindow.ALL_TIME ? window.getDisplayName() + " " : "")
+            + type.getDisplayName() + " Leaderboard" + (page > 1 ? " (page " + page + ")" : "");
+        
+        // Pages of the published snapshot are built once per snapshot version
+        LeaderboardSnapshot snapshot = window == StatsWindow.ALL_TIME
+            ? plugin.getPlayerStatsManager().getLeaderboardSnapshot(type) : null;
+        if (snapshot != null && snapshot.covers(offset, clampedLimit)) {
+            String key = type.getId() + ":" + page + ":" + clampedLimit;
+            CachedEmbed cached = leaderboardEmbeds.get(key);
+            if (cached == null || cached.version != snapshot.getVersion()) {
+                cached = new CachedEmbed(snapshot.getVersion(), buildLeaderboardEmbed(title, type, offset,
+                    snapshot.getRange(offset, clampedLimit), Instant.ofEpochMilli(snapshot.getCreatedAt())).build());
+                leaderboardEmbeds.put(key, cached);
             }
-        }).thenAccept(topPlayers -> {
-            if (topPlayers.isEmpty()) {
-                EmbedBuilder embed = new EmbedBuilder()
-                    .setTitle("🏆 Tournament Leaderboard")
-                    .setDescription("No tournament data available yet.")
-                    .setColor(Color.GRAY);
-                
-                event.getHook().editOriginalEmbeds(embed.build()).queue();
+            event.getHook().editOriginalEmbeds(cached.embed).queue();
+            return;
+        }
+        
+        CompletableFuture<List<LeaderboardEntry>> leaderboard = window == StatsWindow.ALL_TIME
+            ? plugin.getPlayerStatsManager().getLeaderboard(type, offset, clampedLimit)
+            : plugin.getSeasonStatsManager().getLeaderboard(window, type, offset, clampedLimit);
+        leaderboard.exceptionally(e -> {
+            plugin.getLogger().warning("Failed to load leaderboard: " + e.getMessage());
+            return List.of();
+        }).thenAccept(topPlayers -> event.getHook()
+            .editOriginalEmbeds(buildLeaderboardEmbed(title, type, offset, topPlayers, Instant.now()).build()).queue());
+    }
+    
+    /**
+     * Build the embed of one leaderboard page
+     */
+    private EmbedBuilder buildLeaderboardEmbed(String title, LeaderboardType type, int offset,
+                                               List<LeaderboardEntry> topPlayers, Instant timestamp) {
+        if (topPlayers.isEmpty()) {
+            return new EmbedBuilder()
+                .setTitle(title)
+                .setDescription(offset > 0 ? "No players on this page." : "No tournament data available yet.")
+                .setColor(Color.GRAY);
+        }
+        
+        EmbedBuilder embed = new EmbedBuilder()
+            .setTitle(title)
+            .setColor(Color.YELLOW)
+            .setTimestamp(timestamp);
+        
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < topPlayers.size(); i++) {
+            LeaderboardEntry entry = topPlayers.get(i);
+            String medal = switch (offset + i) {
+                case 0 -> "🥇";
+                case 1 -> "🥈";
+                case 2 -> "🥉";
+                default -> String.format("%d.", offset + i + 1);
+            };
+            
+            description.append(String.format("%s **%s** - %s (%s)\n", 
+                medal, entry.getPlayerName(), type.formatValue(entry), entry.getRank()));
+        }
+        
+        embed.setDescription(description.toString());
+        if (type.isRatio()) {
+            embed.setFooter("Players need " + plugin.getConfigManager().getLeaderboardMinRounds() + " rounds to be ranked");
+        }
+        return embed;
+    }
+    
+    /**
+     * Handle /h2h command
+     */
+    private void handleHeadToHeadCommand(SlashCommandInteractionEvent event) {
+        OptionMapping opponentOption = event.getOption("opponent");
+        if (opponentOption == null || opponentOption.getAsUser() == null) {
+            event.reply("Opponent parameter is required!").setEphemeral(true).queue();
+            return;
+        }
+        OptionMapping playerOption = event.getOption("player");
+        String playerDiscordId = playerOption != null && playerOption.getAsUser() != null
+            ? playerOption.getAsUser().getId() : event.getUser().getId();
+        String opponentDiscordId = opponentOption.getAsUser().getId();
+        
+        UUID playerId = plugin.getDiscordLinkManager().getMinecraftUuid(playerDiscordId);
+        UUID opponentId = plugin.getDiscordLinkManager().getMinecraftUuid(opponentDiscordId);
+        if (playerId == null) {
+            event.reply(playerOption != null ? "That Discord user is not linked to a Minecraft account!"
+                : "You need to link your Discord account first! Use `/link`").setEphemeral(true).queue();
+            return;
+        }
+        if (opponentId == null) {
+            event.reply("That Discord user is not linked to a Minecraft account!").setEphemeral(true).queue();
+            return;
+        }
+        
+        event.deferReply().queue();
+        String playerName = plugin.getDiscordLinkManager().getMinecraftUsername(playerDiscordId);
+        String opponentName = plugin.getDiscordLinkManager().getMinecraftUsername(opponentDiscordId);
+        
+        plugin.getHeadToHeadManager().getHeadToHead(playerId, opponentId).exceptionally(e -> {
+            plugin.getLogger().warning("Failed to load head-to-head record: " + e.getMessage());
+            return null;
+        }).thenAccept(record -> {
+            if (record == null) {
+                event.getHook().editOriginal("Failed to load the head-to-head record. Please try again later.").queue();
                 return;
             }
             
             EmbedBuilder embed = new EmbedBuilder()
-                .setTitle("🏆 Tournament Leaderboard")
-                .setColor(Color.YELLOW)
+                .setTitle("⚔️ " + playerName + " vs " + opponentName)
+                .setColor(Color.ORANGE)
                 .setTimestamp(Instant.now());
             
-            StringBuilder description = new StringBuilder();
-            for (int i = 0; i < topPlayers.size(); i++) {
-                PlayerStats stats = topPlayers.get(i);
-                String medal = switch (i) {
-                    case 0 -> "🥇";
-                    case 1 -> "🥈";
-                    case 2 -> "🥉";
-                    default -> String.format("%d.", i + 1);
-                };
-                
-                description.append(String.format("%s **%s** - %d wins (%s)\n", 
-                    medal, stats.getPlayerName(), stats.getTournamentsWon(), stats.getRank()));
+            if (record.getMeetings() == 0) {
+                embed.setDescription("These players have never met.");
+            } else {
+                String lastWinner = playerId.equals(record.getLastWinner()) ? playerName : opponentName;
+                embed.addField(playerName, record.getWins(playerId) + " wins", true)
+                    .addField(opponentName, record.getWins(opponentId) + " wins", true)
+                    .addField("Meetings", String.valueOf(record.getMeetings()), true)
+                    .addField("Last Meeting", "<t:" + record.getLastMeeting() / 1000 + ":R>, won by " + lastWinner, false);
             }
             
-            embed.setDescription(description.toString());
             event.getHook().editOriginalEmbeds(embed.build()).queue();
         });
     }
@@ -756,4 +910,17 @@ public class DiscordBot extends ListenerAdapter {
             plugin.getLogger().info("Discord bot shutdown complete");
         }
     }
+    
+    /**
+     * Leaderboard page built from the snapshot with the given version
+     */
+    private static class CachedEmbed {
+        public final long version;
+        public final MessageEmbed embed;
+        
+        public CachedEmbed(long version, MessageEmbed embed) {
+            this.version = version;
+            this.embed = embed;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package top.sanscraft.ultratournamentsplusplus.listeners;
+
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+
+/**
+ * Feeds player versus player damage and deaths in rounds to the combat tracker
+ */
+public class CombatListener implements Listener {
+    
+    private final UltraTournamentsPlusPlus plugin;
+    
+    public CombatListener(UltraTournamentsPlusPlus plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Record melee and projectile hits once no other plugin cancels them
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
+        if (!(event.getEntity() instanceof Player)) {
+            return;
+        }
+        Player victim = (Player) event.getEntity();
+        Player attacker = getAttacker(event.getDamager());
+        if (attacker == null) {
+            return;
+        }
+        
+        // Final damage is already reduced by armor, enchantments and absorption hearts; only the overkill
+        // beyond the victim's remaining health is left out, so a finishing blow counts what it took
+        double damage = Math.min(event.getFinalDamage(), victim.getHealth());
+        plugin.getCombatTracker().recordDamage(attacker.getUniqueId(), victim.getUniqueId(), Math.max(0, damage));
+    }
+    
+    /**
+     * Record deaths before the round listener declares a winner and the round's combat is written
+     */
+    @EventHandler(priority = EventPriority.LOW)
+    public void onPlayerDeath(PlayerDeathEvent event) {
+        Player victim = event.getEntity();
+        Player killer = victim.getKiller();
+        plugin.getCombatTracker().recordDeath(victim.getUniqueId(), killer != null ? killer.getUniqueId() : null);
+    }
+    
+    /**
+     * Get the player behind a damage source: the player, or the shooter of a projectile
+     */
+    private Player getAttacker(Entity damager) {
+        if (damager instanceof Player) {
+            return (Player) damager;
+        }
+        if (damager instanceof Projectile && ((Projectile) damager).getShooter() instanceof Player) {
+            return (Player) ((Projectile) damager).getShooter();
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -7,7 +7,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.entity.Player;
 
 /**
@@ -25,11 +24,6 @@ public class DiscordPlayerListener implements Listener {
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
         
-        // Handle stats manager player join
-        if (plugin.getPlayerStatsManager() != null) {
-            plugin.getPlayerStatsManager().onPlayerJoin(player);
-        }
-        
         // Check if player has Discord link and send welcome message
         if (plugin.getDiscordLinkManager() != null && 
             plugin.getDiscordLinkManager().isMinecraftLinked(player.getUniqueId())) {
@@ -47,14 +41,4 @@ public class DiscordPlayerListener implements Listener {
             }, 100L); // Send after 5 seconds
         }
     }
-    
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onPlayerQuit(PlayerQuitEvent event) {
-        Player player = event.getPlayer();
-        
-        // Handle stats manager player quit
-        if (plugin.getPlayerStatsManager() != null) {
-            plugin.getPlayerStatsManager().onPlayerQuit(player);
-        }
-    }
 }
\ No newline at end of file
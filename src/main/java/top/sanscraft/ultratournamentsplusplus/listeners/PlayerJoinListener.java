@@ -18,6 +18,16 @@ public class PlayerJoinListener implements Listener {
     
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
+        // Prefetch stats off the main thread so later lookups hit the cache
+        if (plugin.getPlayerStatsManager() != null) {
+            plugin.getPlayerStatsManager().onPlayerJoin(event.getPlayer());
+        }
+        
+        // Head-to-head records of online players are looked up without a query
+        if (plugin.getHeadToHeadManager() != null) {
+            plugin.getHeadToHeadManager().onPlayerJoin(event.getPlayer());
+        }
+        
         // TODO: Implement player join logic (tournament notifications, etc.)
     }
 }
\ No newline at end of file
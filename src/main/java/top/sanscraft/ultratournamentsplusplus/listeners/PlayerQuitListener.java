@@ -18,6 +18,17 @@ public class PlayerQuitListener implements Listener {
     
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
+        // Stats stay cached until flushed and idle, then become eligible for eviction
+        if (plugin.getPlayerStatsManager() != null) {
+            plugin.getPlayerStatsManager().onPlayerQuit(event.getPlayer());
+        }
+        if (plugin.getHeadToHeadManager() != null) {
+            plugin.getHeadToHeadManager().onPlayerQuit(event.getPlayer());
+        }
+        if (plugin.getPlaceholderCache() != null) {
+            plugin.getPlaceholderCache().invalidate(event.getPlayer().getUniqueId());
+        }
+        
         // TODO: Implement player quit logic (tournament cleanup, etc.)
     }
 }
\ No newline at end of file
@@ -58,8 +58,8 @@ public class SpectatorListener implements Listener {
             return;
         }
         
-        // Check if player is still in the arena region
-        if (!plugin.getSpectatorManager().isPlayerInArenaRegion(player, arena.getWorldGuardRegion())) {
+        // Check if player is still in the region of any arena the tournament is playing in
+        if (!isInActiveArena(player, tournamentId)) {
             // Player left arena bounds, teleport them back
             event.setCancelled(true);
             
@@ -115,25 +115,34 @@ public class SpectatorListener implements Listener {
         }
         
         // Check if there's an active round for this tournament
-        Round activeRound = plugin.getRoundManager().getActiveRoundForTournament(tournamentId);
-        if (activeRound == null) {
-            return;
-        }
-        
-        // Get the arena for the active round
-        Arena arena = plugin.getArenaManager().getArena(activeRound.getAssignedArena());
-        if (arena == null) {
+        if (plugin.getRoundManager().getActiveRoundForTournament(tournamentId) == null) {
             return;
         }
         
-        // Check if destination is within arena bounds
-        if (!plugin.getSpectatorManager().isPlayerInArenaRegion(player, arena.getWorldGuardRegion())) {
+        // Check if destination is within the bounds of an arena the tournament is playing in
+        if (!isInActiveArena(player, tournamentId)) {
             // Prevent teleport outside arena
             event.setCancelled(true);
             player.sendMessage(ChatColor.RED + "You cannot teleport outside the arena while spectating!");
         }
     }
     
+    /**
+     * Check if a player is in the region of an arena one of the tournament's rounds is played in
+     * @param player The player
+     * @param tournamentId The tournament ID
+     * @return True if the player is in one of the arenas
+     */
+    private boolean isInActiveArena(Player player, String tournamentId) {
+        for (Round round : plugin.getRoundManager().getActiveRoundsForTournament(tournamentId)) {
+            Arena arena = plugin.getArenaManager().getArena(round.getAssignedArena());
+            if (arena != null && plugin.getSpectatorManager().isPlayerInArenaRegion(player, arena.getWorldGuardRegion())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * Teleport spectator to a competitor within the arena
      * @param spectator The spectator player
@@ -3,8 +3,11 @@ package top.sanscraft.ultratournamentsplusplus.listeners;
 import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
 import top.sanscraft.ultratournamentsplusplus.events.TournamentCompleteEvent;
 import top.sanscraft.ultratournamentsplusplus.events.RoundCompleteEvent;
+import top.sanscraft.ultratournamentsplusplus.models.MatchJournalEntry;
+import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
 import top.sanscraft.ultratournamentsplusplus.models.Tournament;
 import top.sanscraft.ultratournamentsplusplus.models.Round;
+import top.sanscraft.ultratournamentsplusplus.models.RoundCombat;
 
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -34,15 +37,19 @@ public class TournamentEventListener implements Listener {
             plugin.getDiscordBot().sendTournamentResult(tournament, winnerName);
         }
         
-        // Update player stats
-        if (plugin.getPlayerStatsManager() != null) {
+        // Journal the result, which also updates player stats
+        if (plugin.getMatchJournalManager() != null) {
             // Record tournament win for winner
-            plugin.getPlayerStatsManager().recordTournamentParticipation(event.getWinner(), true);
+            plugin.getMatchJournalManager().record(
+                MatchJournalEntry.tournament(tournament, event.getWinner(), winnerName, null, null));
             
             // Record tournament participation for all other participants
             for (java.util.UUID participantId : tournament.getParticipants()) {
                 if (!participantId.equals(event.getWinner())) {
-                    plugin.getPlayerStatsManager().recordTournamentParticipation(participantId, false);
+                    PlayerStats cached = plugin.getPlayerStatsManager().getCachedPlayerStats(participantId);
+                    String participantName = cached != null ? cached.getPlayerName() : Bukkit.getOfflinePlayer(participantId).getName();
+                    plugin.getMatchJournalManager().record(
+                        MatchJournalEntry.tournament(tournament, event.getWinner(), winnerName, participantId, participantName));
                 }
             }
         }
@@ -69,20 +76,44 @@ public class TournamentEventListener implements Listener {
             }
         }
         
-        // Update player stats
-        if (plugin.getPlayerStatsManager() != null) {
-            // Record round win for winner
-            plugin.getPlayerStatsManager().recordRoundResult(event.getWinner(), true);
+        // Combat tracked during the round; forfeits and rounds without fighting have none
+        RoundCombat combat = plugin.getCombatTracker() != null ? plugin.getCombatTracker().finish(round.getId()) : null;
+        
+        // Journal the result, which also updates player stats
+        if (plugin.getMatchJournalManager() != null) {
+            long duration = round.getDuration();
+            if (duration <= 0) {
+                duration = plugin.getPlayerStatsManager().getRoundElapsed(event.getWinner());
+            }
             
-            // Record round loss for loser
-            plugin.getPlayerStatsManager().recordRoundResult(event.getLoser(), false);
+            int winnerKills = combat != null ? combat.getKills(event.getWinner()) : 0;
+            int winnerDeaths = combat != null ? combat.getDeaths(event.getWinner()) : 0;
+            int loserKills = combat != null && event.getLoser() != null ? combat.getKills(event.getLoser()) : 0;
+            int loserDeaths = combat != null && event.getLoser() != null ? combat.getDeaths(event.getLoser()) : 0;
             
-            // Record kills/deaths if available (this would need to be tracked during the round)
-            // For now, we'll assume 1 kill for winner, 1 death for loser in PvP rounds
-            if (round.getAssignedArena() != null && isPvPArena(round.getAssignedArena())) {
-                plugin.getPlayerStatsManager().recordKill(event.getWinner());
-                plugin.getPlayerStatsManager().recordDeath(event.getLoser());
-            }
+            plugin.getMatchJournalManager().record(MatchJournalEntry.round(round, event.getWinner(), winnerName,
+                event.getLoser(), loserName, winnerKills, winnerDeaths, loserKills, loserDeaths, duration));
+        }
+        
+        // Assists, hits and damage, plus kills and deaths of participants not in the journal entry
+        if (combat != null) {
+            plugin.getPlayerStatsManager().recordCombat(combat, event.getWinner(), event.getLoser());
+        }
+        
+        // Rate the result with the current rating period
+        if (plugin.getRatingManager() != null) {
+            plugin.getRatingManager().recordResult(event.getWinner(), event.getLoser());
+        }
+        
+        // Count the meeting for the head-to-head record of both players
+        if (plugin.getHeadToHeadManager() != null) {
+            long endedAt = round.getEndTime() > 0 ? round.getEndTime() : System.currentTimeMillis();
+            plugin.getHeadToHeadManager().recordResult(event.getWinner(), event.getLoser(), endedAt);
+        }
+        
+        // Advance the winner in the tournament bracket
+        if (plugin.getBracketManager() != null) {
+            plugin.getBracketManager().onRoundComplete(round, event.getWinner());
         }
     }
     
@@ -103,12 +134,4 @@ public class TournamentEventListener implements Listener {
         // Default to announcing if we're not sure
         return round.getRoundNumber() >= 3; // Announce rounds 3 and higher
     }
-    
-    /**
-     * Check if an arena is a PvP arena (simplified check)
-     */
-    private boolean isPvPArena(String arenaName) {
-        // This is a simplified check - in practice you'd check the arena type
-        return arenaName != null && !arenaName.toLowerCase().contains("parkour");
-    }
 }
\ No newline at end of file
@@ -7,15 +7,21 @@ import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
 import top.sanscraft.ultratournamentsplusplus.models.Arena;
 import top.sanscraft.ultratournamentsplusplus.models.ArenaType;
 import top.sanscraft.ultratournamentsplusplus.models.SpawnPoint;
+import top.sanscraft.ultratournamentsplusplus.storage.DatabaseManager;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 /**
@@ -25,11 +31,19 @@ public class ArenaManager {
     
     private final UltraTournamentsPlusPlus plugin;
     private final Map<String, Arena> arenas;
+    private final Set<String> dirtyArenas; // Arenas with unsaved changes
+    private final Set<String> deletedArenas; // Arenas still to be deleted from the database
+    private final AtomicBoolean saveInProgress = new AtomicBoolean(false);
+    private final Object saveLock = new Object();
+    private volatile PendingChanges inFlight;
+    private BukkitTask saveTask;
     private boolean worldGuardEnabled;
     
     public ArenaManager(UltraTournamentsPlusPlus plugin) {
         this.plugin = plugin;
         this.arenas = new HashMap<>();
+        this.dirtyArenas = ConcurrentHashMap.newKeySet();
+        this.deletedArenas = ConcurrentHashMap.newKeySet();
         this.worldGuardEnabled = checkWorldGuardAvailability();
     }
     
@@ -39,6 +53,7 @@ public class ArenaManager {
     public void initialize() {
         plugin.getLogger().info("Initializing ArenaManager...");
         loadArenas();
+        startSaveTask();
         
         if (worldGuardEnabled) {
             plugin.getLogger().info("WorldGuard integration enabled");
@@ -65,27 +80,160 @@ public class ArenaManager {
      * Load arenas from storage
      */
     public void loadArenas() {
-        // TODO: Implement arena loading from database/files
         plugin.getLogger().info("Loading arenas from storage...");
+        
+        try {
+            for (Arena arena : plugin.getDatabaseManager().loadArenas()) {
+                arenas.put(arena.getName().toLowerCase(), arena);
+            }
+            plugin.getLogger().info("Loaded " + arenas.size() + " arenas");
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to load arenas: " + e.getMessage());
+            e.printStackTrace();
+        }
     }
     
     /**
-     * Save arenas to storage
+     * Save arenas to storage.
+     * Writes every pending change synchronously, after any save still running in the background.
      */
     public void saveArenas() {
-        // TODO: Implement arena saving to database/files
         plugin.getLogger().info("Saving arenas to storage...");
+        
+        PendingChanges changes = collectChanges();
+        try {
+            PendingChanges running = inFlight;
+            if (running != null) {
+                writeChanges(running);
+            }
+            writeChanges(changes);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to save arenas: " + e.getMessage());
+            e.printStackTrace();
+            requeue(changes);
+        }
     }
     
     /**
      * Reload arena manager
      */
     public void reload() {
+        saveArenas();
         arenas.clear();
         loadArenas();
         plugin.getLogger().info("Arena manager reloaded");
     }
     
+    /**
+     * Stop the write-behind task and save all pending changes
+     */
+    public void shutdown() {
+        if (saveTask != null) {
+            saveTask.cancel();
+        }
+        saveArenas();
+    }
+    
+    /**
+     * Mark an arena as changed so it is written on the next save
+     * @param arena Changed arena
+     */
+    public void markDirty(Arena arena) {
+        String key = arena.getName().toLowerCase();
+        deletedArenas.remove(key);
+        dirtyArenas.add(key);
+    }
+    
+    /**
+     * Start the periodic write-behind task.
+     * Changes are collected on the main thread, where arenas are modified, and written asynchronously.
+     */
+    private void startSaveTask() {
+        long interval = plugin.getConfigManager().getTournamentFlushInterval() * 20L;
+        saveTask = Bukkit.getScheduler().runTaskTimer(plugin, this::saveChangesAsync, interval, interval);
+    }
+    
+    /**
+     * Write pending changes in the background.
+     * Skipped while a previous save is still running so that writes never overtake each other.
+     */
+    private void saveChangesAsync() {
+        if (!saveInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        
+        PendingChanges changes = collectChanges();
+        if (changes.isEmpty()) {
+            saveInProgress.set(false);
+            return;
+        }
+        
+        inFlight = changes;
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        databaseManager.runAsync(() -> writeChanges(changes)).whenCompleteAsync((ignored, error) -> {
+            inFlight = null;
+            saveInProgress.set(false);
+            
+            if (error != null) {
+                plugin.getLogger().warning("Failed to save " + changes.size() + " arena changes: " + error.getMessage());
+                
+                // Keep the changes queued for the next attempt
+                requeue(changes);
+            }
+        }, databaseManager.getExecutor().mainThread());
+    }
+    
+    /**
+     * Take a snapshot of everything changed since the last save and clear the dirty flags.
+     * Must be called on the main thread.
+     */
+    private PendingChanges collectChanges() {
+        PendingChanges changes = new PendingChanges();
+        
+        changes.deleted.addAll(deletedArenas);
+        deletedArenas.removeAll(changes.deleted);
+        
+        for (String key : new ArrayList<>(dirtyArenas)) {
+            dirtyArenas.remove(key);
+            Arena arena = arenas.get(key);
+            if (arena != null) {
+                changes.arenas.add(arena.copy());
+            }
+        }
+        
+        return changes;
+    }
+    
+    /**
+     * Write a snapshot of changes, at most once
+     */
+    private void writeChanges(PendingChanges changes) throws Exception {
+        synchronized (saveLock) {
+            if (changes.written) {
+                return;
+            }
+            plugin.getDatabaseManager().saveArenaChanges(changes.deleted, changes.arenas);
+            changes.written = true;
+        }
+    }
+    
+    /**
+     * Mark the arenas of a failed save as dirty again, unless they changed state since
+     */
+    private void requeue(PendingChanges changes) {
+        for (String key : changes.deleted) {
+            if (!arenas.containsKey(key)) {
+                deletedArenas.add(key);
+            }
+        }
+        for (Arena arena : changes.arenas) {
+            String key = arena.getName().toLowerCase();
+            if (arenas.containsKey(key)) {
+                dirtyArenas.add(key);
+            }
+        }
+    }
+    
     /**
      * Get all arena names
      * @return Set of arena names
@@ -118,6 +266,7 @@ public class ArenaManager {
         
         Arena arena = new Arena(name, type, world, creator);
         arenas.put(name.toLowerCase(), arena);
+        markDirty(arena);
         
         plugin.getLogger().info("Created arena: " + name + " (Type: " + type + ", World: " + world.getName() + ")");
         return arena;
@@ -135,6 +284,8 @@ public class ArenaManager {
             if (worldGuardEnabled && arena.getWorldGuardRegion() != null) {
                 removeWorldGuardRegion(arena);
             }
+            dirtyArenas.remove(name.toLowerCase());
+            deletedArenas.add(name.toLowerCase());
             plugin.getLogger().info("Deleted arena: " + name);
             return true;
         }
@@ -167,6 +318,7 @@ public class ArenaManager {
         
         SpawnPoint spawnPoint = new SpawnPoint(spawnName, location, team);
         arena.addSpawnPoint(spawnPoint);
+        markDirty(arena);
         
         plugin.getLogger().info("Added spawn point '" + spawnName + "' to arena '" + arenaName + "'");
         return true;
@@ -186,6 +338,7 @@ public class ArenaManager {
         
         boolean removed = arena.removeSpawnPoint(spawnName);
         if (removed) {
+            markDirty(arena);
             plugin.getLogger().info("Removed spawn point '" + spawnName + "' from arena '" + arenaName + "'");
         }
         return removed;
@@ -209,6 +362,7 @@ public class ArenaManager {
         }
         
         arena.setGoalLocation(location);
+        markDirty(arena);
         plugin.getLogger().info("Set goal location for parkour arena '" + arenaName + "'");
         return true;
     }
@@ -238,6 +392,7 @@ public class ArenaManager {
             ProtectedRegion region = regionManager.getRegion(regionName);
             if (region != null) {
                 arena.setWorldGuardRegion(regionName);
+                markDirty(arena);
                 plugin.getLogger().info("Associated arena '" + arena.getName() + "' with existing WorldGuard region '" + regionName + "'");
                 return true;
             }
@@ -261,6 +416,7 @@ public class ArenaManager {
         }
         
         arena.setWorldGuardRegion(null);
+        markDirty(arena);
         plugin.getLogger().info("Removed WorldGuard region association from arena '" + arena.getName() + "'");
         return true;
     }
@@ -350,4 +506,21 @@ public class ArenaManager {
     public boolean isWorldGuardEnabled() {
         return worldGuardEnabled;
     }
+    
+    /**
+     * Snapshot of changes written by one save
+     */
+    private static class PendingChanges {
+        public final List<String> deleted = new ArrayList<>();
+        public final List<Arena> arenas = new ArrayList<>();
+        public boolean written;
+        
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+        
+        public int size() {
+            return deleted.size() + arenas.size();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,187 @@
+package top.sanscraft.ultratournamentsplusplus.managers;
+
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.models.Arena;
+import top.sanscraft.ultratournamentsplusplus.models.ArenaType;
+import top.sanscraft.ultratournamentsplusplus.models.Round;
+import top.sanscraft.ultratournamentsplusplus.utils.ArenaUtils;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Leases arenas to rounds so a tournament plays as many matches at once as it has arenas.
+ * A round gets a free, valid arena of the type it needs, the tournament's own arena first;
+ * when none is free it waits in a queue, served in arrival order or by priority, until a
+ * lease is released by the cleanup of another round. All methods must be called on the main thread.
+ */
+public class ArenaPool {
+    
+    private final UltraTournamentsPlusPlus plugin;
+    private final Map<String, String> leases = new HashMap<>(); // Arena key -> round ID
+    private final Map<String, String> roundLeases = new HashMap<>(); // Round ID -> arena key
+    private final TreeSet<LeaseRequest> queue;
+    private long nextSequence;
+    
+    public ArenaPool(UltraTournamentsPlusPlus plugin) {
+        this.plugin = plugin;
+        
+        Comparator<LeaseRequest> arrival = Comparator.comparingLong(request -> request.sequence);
+        this.queue = new TreeSet<>("priority".equals(plugin.getConfigManager().getArenaQueueOrder())
+            ? Comparator.<LeaseRequest>comparingInt(request -> request.priority).thenComparing(arrival)
+            : arrival);
+    }
+    
+    /**
+     * Start a round in a free arena, or queue it until one is released.
+     * Without any valid arena of the type the round is started in the preferred arena right away.
+     * @param round Pending round without an arena
+     * @param type Arena type the round needs
+     * @param preferred Arena to use while it is free, e.g. the tournament's arena, or null
+     * @param priority Queue priority, lower first; ignored when the queue is served in arrival order
+     */
+    public void submit(Round round, ArenaType type, String preferred, int priority) {
+        LeaseRequest request = new LeaseRequest(round, type, preferred, priority, nextSequence++);
+        if (!hasArenas(type)) {
+            if (preferred != null) {
+                round.setAssignedArena(preferred);
+            }
+            start(round);
+            return;
+        }
+        
+        if (!tryLease(request)) {
+            queue.add(request);
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("Round " + round.getId() + " is waiting for a free arena (" + queue.size() + " queued)");
+            }
+        }
+    }
+    
+    /**
+     * Release the arena of a round and hand free arenas to waiting rounds.
+     * Also drops the round from the queue if it never got an arena.
+     * @param roundId Round ID
+     */
+    public void release(String roundId) {
+        String arenaKey = roundLeases.remove(roundId);
+        if (arenaKey != null) {
+            leases.remove(arenaKey);
+        }
+        queue.removeIf(request -> request.round.getId().equals(roundId));
+        
+        Iterator<LeaseRequest> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (tryLease(iterator.next())) {
+                iterator.remove();
+            }
+        }
+    }
+    
+    /**
+     * Lease a free arena to a request and start its round
+     */
+    private boolean tryLease(LeaseRequest request) {
+        Arena arena = request.preferred != null ? plugin.getArenaManager().getArena(request.preferred) : null;
+        if (!isFree(arena, request.type)) {
+            arena = null;
+            for (String name : plugin.getArenaManager().getArenaNames()) {
+                Arena candidate = plugin.getArenaManager().getArena(name);
+                if (isFree(candidate, request.type)) {
+                    arena = candidate;
+                    break;
+                }
+            }
+        }
+        if (arena == null) {
+            return false;
+        }
+        
+        String arenaKey = arena.getName().toLowerCase();
+        leases.put(arenaKey, request.round.getId());
+        roundLeases.put(request.round.getId(), arenaKey);
+        request.round.setAssignedArena(arena.getName());
+        start(request.round);
+        return true;
+    }
+    
+    private void start(Round round) {
+        plugin.getTournamentManager().markRoundDirty(round);
+        if (!plugin.getRoundManager().startRound(round.getId())) {
+            plugin.getLogger().warning("Could not start round " + round.getId() + " in arena " + round.getAssignedArena());
+            
+            // Cleaning up the cancelled round releases its arena and settles its bracket match
+            plugin.getRoundManager().cancelRound(round.getId());
+        }
+    }
+    
+    private boolean isFree(Arena arena, ArenaType type) {
+        return arena != null && arena.getType() == type && ArenaUtils.isArenaValid(arena) && !isArenaInUse(arena.getName());
+    }
+    
+    private boolean hasArenas(ArenaType type) {
+        for (String name : plugin.getArenaManager().getArenaNames()) {
+            Arena arena = plugin.getArenaManager().getArena(name);
+            if (arena.getType() == type && ArenaUtils.isArenaValid(arena)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Check if an arena is leased or used by a running round
+     * @param arenaName Arena name
+     * @return True if the arena is in use
+     */
+    public boolean isArenaInUse(String arenaName) {
+        if (leases.containsKey(arenaName.toLowerCase())) {
+            return true;
+        }
+        for (Round round : plugin.getRoundManager().getActiveRounds()) {
+            if (!round.isFinished() && arenaName.equalsIgnoreCase(round.getAssignedArena())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Get the number of rounds waiting for an arena
+     * @return Queue length
+     */
+    public int getQueuedRounds() {
+        return queue.size();
+    }
+    
+    /**
+     * Drop every lease and waiting round
+     */
+    public void shutdown() {
+        leases.clear();
+        roundLeases.clear();
+        queue.clear();
+    }
+    
+    /**
+     * Round waiting for an arena
+     */
+    private static class LeaseRequest {
+        public final Round round;
+        public final ArenaType type;
+        public final String preferred;
+        public final int priority;
+        public final long sequence;
+        
+        public LeaseRequest(Round round, ArenaType type, String preferred, int priority, long sequence) {
+            this.round = round;
+            this.type = type;
+            this.preferred = preferred;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,380 @@
+package top.sanscraft.ultratournamentsplusplus.managers;
+
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.brackets.Bracket;
+import top.sanscraft.ultratournamentsplusplus.brackets.BracketMatch;
+import top.sanscraft.ultratournamentsplusplus.brackets.DoubleEliminationBracket;
+import top.sanscraft.ultratournamentsplusplus.brackets.RoundRobinBracket;
+import top.sanscraft.ultratournamentsplusplus.brackets.SingleEliminationBracket;
+import top.sanscraft.ultratournamentsplusplus.brackets.SwissBracket;
+import top.sanscraft.ultratournamentsplusplus.events.TournamentCompleteEvent;
+import top.sanscraft.ultratournamentsplusplus.models.Arena;
+import top.sanscraft.ultratournamentsplusplus.models.ArenaType;
+import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
+import top.sanscraft.ultratournamentsplusplus.models.Round;
+import top.sanscraft.ultratournamentsplusplus.models.Tournament;
+import top.sanscraft.ultratournamentsplusplus.models.TournamentStatus;
+import top.sanscraft.ultratournamentsplusplus.models.TournamentType;
+import top.sanscraft.ultratournamentsplusplus.utils.Glicko2;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs tournaments through their brackets.
+ * Participants are seeded into a bracket when a tournament starts, and every match the bracket
+ * hands out becomes a round right away, so a match starts as soon as its players are decided
+ * rather than when the whole stage is over. Brackets are started and given results off the main
+ * thread, where Swiss pairing does its work; rounds are created and started on the main thread.
+ * Brackets live in memory only, so tournaments they were running are cancelled after a restart.
+ */
+public class BracketManager {
+    
+    private final UltraTournamentsPlusPlus plugin;
+    private final Map<String, Bracket> brackets = new HashMap<>(); // Tournament key -> running bracket
+    private final Map<String, QueuedMatch> roundMatches = new HashMap<>(); // Round ID -> bracket match it plays
+    private final List<QueuedMatch> waitingMatches = new ArrayList<>(); // Players still in their previous round
+    
+    public BracketManager(UltraTournamentsPlusPlus plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Check if tournaments of a type can be run
+     * @param type Tournament type
+     * @return True if a bracket exists for the type
+     */
+    public boolean supports(TournamentType type) {
+        return type != TournamentType.CUSTOM;
+    }
+    
+    /**
+     * Seed the participants, start the bracket and create the first rounds.
+     * Must be called on the main thread.
+     * @param tournament Tournament with at least two participants
+     * @return True if the tournament was started
+     */
+    public boolean startTournament(Tournament tournament) {
+        String key = tournament.getName().toLowerCase();
+        if (brackets.containsKey(key) || tournament.getParticipantCount() < 2 || !supports(tournament.getType())) {
+            return false;
+        }
+        
+        Bracket bracket = createBracket(tournament.getType(), seed(tournament.getParticipants()));
+        brackets.put(key, bracket);
+        
+        tournament.setStatus(TournamentStatus.IN_PROGRESS);
+        tournament.setStartTime(System.currentTimeMillis());
+        plugin.getTournamentManager().markDirty(tournament);
+        
+        plugin.getLogger().info("Started tournament " + tournament.getName() + " with " + tournament.getParticipantCount() + " players");
+        
+        // Pairing large fields takes a moment, so the first matches are built off the main thread too
+        CompletableFuture.supplyAsync(bracket::start, ForkJoinPool.commonPool())
+            .whenCompleteAsync((ready, error) -> {
+                if (brackets.get(key) != bracket) {
+                    return;
+                }
+                if (error != null) {
+                    plugin.getLogger().warning("Failed to start the bracket of " + tournament.getName() + ": " + error.getMessage());
+                    cancelTournament(tournament);
+                    return;
+                }
+                scheduleMatches(tournament, ready);
+            }, plugin.getDatabaseManager().getExecutor().mainThread());
+        return true;
+    }
+    
+    /**
+     * Cancel tournaments left in progress by a restart, together with their unfinished rounds.
+     * Their brackets were lost, so no result could advance them any more.
+     * Must be called on the main thread once interrupted rounds are restored.
+     */
+    public void cancelOrphanedTournaments() {
+        for (Tournament tournament : plugin.getTournamentManager().getTournaments()) {
+            if (tournament.getStatus() != TournamentStatus.IN_PROGRESS || !supports(tournament.getType())
+                    || isRunning(tournament.getName())) {
+                continue;
+            }
+            
+            for (Round round : plugin.getRoundManager().getTournamentRounds(tournament.getName())) {
+                plugin.getRoundManager().cancelRound(round.getId());
+            }
+            tournament.setStatus(TournamentStatus.CANCELLED);
+            plugin.getTournamentManager().markDirty(tournament);
+            plugin.getLogger().warning("Cancelled tournament " + tournament.getName()
+                + ": its bracket was lost when the server stopped");
+        }
+    }
+    
+    /**
+     * Create the bracket of a tournament type
+     */
+    private Bracket createBracket(TournamentType type, List<UUID> seeds) {
+        return switch (type) {
+            case SINGLE_ELIMINATION -> new SingleEliminationBracket(seeds);
+            case DOUBLE_ELIMINATION -> new DoubleEliminationBracket(seeds, plugin.getConfigManager().isBracketResetEnabled());
+            case SWISS -> new SwissBracket(seeds, plugin.getConfigManager().getSwissRounds());
+            case ROUND_ROBIN -> new RoundRobinBracket(seeds, plugin.getConfigManager().getRoundRobinGroupSize());
+            default -> throw new IllegalArgumentException("No bracket for " + type);
+        };
+    }
+    
+    /**
+     * Order participants by seed, best first.
+     * Rated seeding uses the skill rating of loaded players; unloaded players count as unrated.
+     */
+    private List<UUID> seed(List<UUID> participants) {
+        List<UUID> seeds = new ArrayList<>(participants);
+        Collections.shuffle(seeds);
+        
+        if (!"random".equals(plugin.getConfigManager().getBracketSeeding())) {
+            Map<UUID, Double> ratings = new HashMap<>();
+            for (UUID playerId : seeds) {
+                PlayerStats stats = plugin.getPlayerStatsManager().getCachedPlayerStats(playerId);
+                ratings.put(playerId, stats != null ? stats.getSkillRating().rating : Glicko2.DEFAULT_RATING);
+            }
+            
+            // Stable sort, so players with equal ratings keep their random order
+            seeds.sort(Comparator.comparingDouble((UUID playerId) -> ratings.get(playerId)).reversed());
+        }
+        return seeds;
+    }
+    
+    /**
+     * Apply a round result to its bracket and schedule the matches it decides.
+     * Must be called on the main thread.
+     * @param round Finished round
+     * @param winner Round winner
+     */
+    public void onRoundComplete(Round round, UUID winner) {
+        QueuedMatch queued = roundMatches.remove(round.getId());
+        if (queued != null) {
+            reportResult(round, queued.match.getMatchId(), winner);
+        }
+    }
+    
+    /**
+     * Settle the bracket match of a round that ended without a result, so the bracket never waits for it.
+     * A player who is offline forfeits the match to the other one; otherwise the match is played again,
+     * and a match that still cannot be played after the configured retries cancels the tournament.
+     * Must be called on the main thread.
+     * @param round Round cleaned up without a winner
+     */
+    public void onRoundCancelled(Round round) {
+        QueuedMatch queued = roundMatches.remove(round.getId());
+        if (queued == null || !isRunning(queued.tournament.getName())) {
+            return;
+        }
+        
+        List<UUID> present = new ArrayList<>();
+        for (UUID playerId : queued.match.getPlayers()) {
+            if (Bukkit.getPlayer(playerId) != null) {
+                present.add(playerId);
+            }
+        }
+        
+        if (present.size() == 1) {
+            plugin.getLogger().info(queued.match.getPosition() + " of " + queued.tournament.getName()
+                + " was forfeited to " + Bukkit.getPlayer(present.get(0)).getName());
+            reportResult(round, queued.match.getMatchId(), present.get(0));
+        } else if (present.size() == 2 && queued.attempts < plugin.getConfigManager().getMatchRetries()) {
+            scheduleMatch(new QueuedMatch(queued.tournament, queued.match, queued.attempts + 1));
+        } else {
+            plugin.getLogger().warning(queued.match.getPosition() + " of " + queued.tournament.getName()
+                + " could not be played");
+            cancelTournament(queued.tournament);
+        }
+    }
+    
+    /**
+     * Report the winner of a round's match to its bracket and schedule the matches it decides
+     */
+    private void reportResult(Round round, int matchId, UUID winner) {
+        String key = round.getTournamentId().toLowerCase();
+        Bracket bracket = brackets.get(key);
+        if (bracket == null) {
+            return;
+        }
+        
+        CompletableFuture.supplyAsync(() -> bracket.reportResult(matchId, winner), ForkJoinPool.commonPool())
+            .whenCompleteAsync((ready, error) -> {
+                Tournament tournament = plugin.getTournamentManager().getTournament(round.getTournamentId());
+                if (brackets.get(key) != bracket || tournament == null) {
+                    return;
+                }
+                if (error != null) {
+                    plugin.getLogger().warning("Failed to apply round " + round.getId() + " to the bracket of "
+                        + tournament.getName() + ": " + error.getMessage());
+                    cancelTournament(tournament);
+                    return;
+                }
+                
+                scheduleMatches(tournament, ready);
+                if (bracket.isFinished()) {
+                    finishTournament(tournament, bracket.getWinner());
+                }
+            }, plugin.getDatabaseManager().getExecutor().mainThread());
+    }
+    
+    /**
+     * Start the matches whose players are free and queue the others until their round is cleaned up
+     */
+    private void scheduleMatches(Tournament tournament, List<BracketMatch> matches) {
+        for (BracketMatch match : matches) {
+            scheduleMatch(new QueuedMatch(tournament, match, 0));
+        }
+    }
+    
+    private void scheduleMatch(QueuedMatch queued) {
+        if (isBusy(queued.match)) {
+            waitingMatches.add(queued);
+        } else {
+            startMatch(queued);
+        }
+    }
+    
+    /**
+     * Start queued matches whose players became free.
+     * Called on the main thread after a round is cleaned up.
+     */
+    public void onRoundCleanup() {
+        // Starting a match can cancel its tournament, which drops its other waiting matches
+        for (QueuedMatch queued : new ArrayList<>(waitingMatches)) {
+            if (waitingMatches.contains(queued) && !isBusy(queued.match)) {
+                waitingMatches.remove(queued);
+                startMatch(queued);
+            }
+        }
+    }
+    
+    private boolean isBusy(BracketMatch match) {
+        for (UUID playerId : match.getPlayers()) {
+            if (plugin.getRoundManager().isPlayerInRound(playerId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Turn a bracket match into a round and start it.
+     * A match that gets no round can never be played, so it cancels the tournament.
+     */
+    private void startMatch(QueuedMatch queued) {
+        Tournament tournament = queued.tournament;
+        BracketMatch match = queued.match;
+        RoundManager roundManager = plugin.getRoundManager();
+        if (!isRunning(tournament.getName())) {
+            return;
+        }
+        
+        Round round = roundManager.createRound(tournament.getName(), match.getPlayers(), null, tournament.getAssignedKit());
+        if (round == null) {
+            plugin.getLogger().warning("Could not create a round for " + match.getPosition() + " of " + tournament.getName());
+            cancelTournament(tournament);
+            return;
+        }
+        
+        round.setRoundNumber(match.getRoundNumber());
+        round.setBracketPosition(match.getPosition());
+        plugin.getTournamentManager().markRoundDirty(round);
+        roundMatches.put(round.getId(), queued);
+        
+        // Play in any free arena like the tournament's; earlier rounds hold up more of the bracket
+        Arena arena = tournament.hasAssignedArena() ? plugin.getArenaManager().getArena(tournament.getAssignedArena()) : null;
+        plugin.getArenaPool().submit(round, arena != null ? arena.getType() : ArenaType.PVP, tournament.getAssignedArena(),
+            match.getRoundNumber());
+    }
+    
+    /**
+     * Mark a tournament finished and announce the winner
+     */
+    private void finishTournament(Tournament tournament, UUID winner) {
+        brackets.remove(tournament.getName().toLowerCase());
+        tournament.setStatus(TournamentStatus.FINISHED);
+        plugin.getTournamentManager().markDirty(tournament);
+        
+        Player player = Bukkit.getPlayer(winner);
+        String winnerName = player != null ? player.getName() : Bukkit.getOfflinePlayer(winner).getName();
+        Bukkit.getPluginManager().callEvent(new TournamentCompleteEvent(tournament, winner,
+            winnerName != null ? winnerName : winner.toString()));
+    }
+    
+    /**
+     * Stop the bracket of a tournament, cancel its rounds and mark it cancelled
+     */
+    private void cancelTournament(Tournament tournament) {
+        brackets.remove(tournament.getName().toLowerCase());
+        waitingMatches.removeIf(queued -> queued.tournament == tournament);
+        
+        Iterator<Map.Entry<String, QueuedMatch>> iterator = roundMatches.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, QueuedMatch> entry = iterator.next();
+            if (entry.getValue().tournament == tournament) {
+                iterator.remove();
+                plugin.getRoundManager().cancelRound(entry.getKey());
+            }
+        }
+        
+        tournament.setStatus(TournamentStatus.CANCELLED);
+        plugin.getTournamentManager().markDirty(tournament);
+        plugin.getLogger().warning("Cancelled tournament " + tournament.getName());
+    }
+    
+    /**
+     * Get the running bracket of a tournament
+     * @param name Tournament name
+     * @return Bracket, or null if the tournament is not running
+     */
+    public Bracket getBracket(String name) {
+        return brackets.get(name.toLowerCase());
+    }
+    
+    /**
+     * Check if a tournament is being run by a bracket
+     * @param name Tournament name
+     * @return True while the bracket has no winner
+     */
+    public boolean isRunning(String name) {
+        return brackets.containsKey(name.toLowerCase());
+    }
+    
+    /**
+     * Forget every running bracket
+     */
+    public void shutdown() {
+        if (!brackets.isEmpty()) {
+            plugin.getLogger().info("Stopped " + brackets.size() + " running brackets");
+        }
+        brackets.clear();
+        roundMatches.clear();
+        waitingMatches.clear();
+    }
+    
+    /**
+     * Bracket match waiting for or played by a round
+     */
+    private static class QueuedMatch {
+        public final Tournament tournament;
+        public final BracketMatch match;
+        public final int attempts; // Rounds of the match that were cancelled before
+        
+        public QueuedMatch(Tournament tournament, BracketMatch match, int attempts) {
+            this.tournament = tournament;
+            this.match = match;
+            this.attempts = attempts;
+        }
+    }
+}
\ No newline at end of file
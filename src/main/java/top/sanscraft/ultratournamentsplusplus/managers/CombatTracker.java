@@ -0,0 +1,91 @@
+package top.sanscraft.ultratournamentsplusplus.managers;
+
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.models.Round;
+import top.sanscraft.ultratournamentsplusplus.models.RoundCombat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tracks hits, damage, kills, assists and deaths between the participants of active rounds.
+ * Totals are kept per round until it ends and are then written to player stats once.
+ * Used on the main thread only.
+ */
+public class CombatTracker {
+    
+    private final UltraTournamentsPlusPlus plugin;
+    private final Map<String, RoundCombat> rounds = new HashMap<>(); // Round ID -> combat so far
+    
+    public CombatTracker(UltraTournamentsPlusPlus plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Record damage dealt by one player to another; ignored unless both fight in the same active round
+     * @param attackerId Attacking player, or the shooter of a projectile
+     * @param victimId Damaged player
+     * @param damage Damage dealt
+     */
+    public void recordDamage(UUID attackerId, UUID victimId, double damage) {
+        if (attackerId.equals(victimId)) {
+            return;
+        }
+        
+        RoundCombat combat = getCombat(victimId);
+        if (combat == null) {
+            return;
+        }
+        int attacker = combat.getSlot(attackerId);
+        int victim = combat.getSlot(victimId);
+        if (attacker >= 0 && victim >= 0) {
+            combat.recordHit(attacker, victim, damage, System.currentTimeMillis());
+        }
+    }
+    
+    /**
+     * Record the death of a player in an active round
+     * @param victimId Player who died
+     * @param killerId Player credited by the server, or null to credit the last recent attacker
+     */
+    public void recordDeath(UUID victimId, UUID killerId) {
+        RoundCombat combat = getCombat(victimId);
+        if (combat == null) {
+            return;
+        }
+        int victim = combat.getSlot(victimId);
+        if (victim < 0) {
+            return;
+        }
+        
+        int killer = killerId != null ? combat.getSlot(killerId) : -1;
+        long assistWindow = plugin.getConfigManager().getCombatAssistWindow() * 1000L;
+        combat.recordDeath(victim, killer, System.currentTimeMillis(), assistWindow);
+    }
+    
+    /**
+     * Stop tracking a round and take its totals
+     * @param roundId Round ID
+     * @return Combat of the round, or null if nobody fought
+     */
+    public RoundCombat finish(String roundId) {
+        return rounds.remove(roundId);
+    }
+    
+    /**
+     * Get the combat of a player's active round, starting it on the first event
+     */
+    private RoundCombat getCombat(UUID playerId) {
+        Round round = plugin.getRoundManager().getPlayerRound(playerId);
+        if (round == null || !round.isActive()) {
+            return null;
+        }
+        // Most events hit a tracked round, so only a miss allocates
+        RoundCombat combat = rounds.get(round.getId());
+        if (combat == null) {
+            combat = rounds.computeIfAbsent(round.getId(), id -> new RoundCombat(round.getParticipants()));
+        }
+        return combat;
+    }
+}
\ No newline at end of file
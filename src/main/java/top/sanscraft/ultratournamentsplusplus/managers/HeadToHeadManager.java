@@ -0,0 +1,216 @@
+package top.sanscraft.ultratournamentsplusplus.managers;
+
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.models.HeadToHead;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps head-to-head records of every pair of players that met in a round.
+ * The records of online players are held in memory, keyed by pair, so their lookups need no query;
+ * other pairs are read with a single query on the table key. Results are kept as increments and
+ * added to the stored records in batches, like the daily stat buckets.
+ */
+public class HeadToHeadManager {
+    
+    private final UltraTournamentsPlusPlus plugin;
+    private final Object lock = new Object(); // Guards every map below
+    private final Object flushLock = new Object(); // Held while the stored records change or are read for the cache
+    private final Map<HeadToHead.Key, HeadToHead> stored = new HashMap<>(); // Stored records of loaded players
+    private final Set<UUID> loadedPlayers = new HashSet<>();
+    private Map<HeadToHead.Key, HeadToHead> pending = new HashMap<>(); // Increments not yet written
+    private Map<HeadToHead.Key, HeadToHead> inFlight = Map.of(); // Increments being written
+    private BukkitTask flushTask;
+    
+    public HeadToHeadManager(UltraTournamentsPlusPlus plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Load the records of online players and start writing results
+     */
+    public void initialize() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            onPlayerJoin(player);
+        }
+        
+        long interval = 20L * plugin.getConfigManager().getStatsFlushInterval();
+        flushTask = Bukkit.getScheduler().runTaskTimer(plugin,
+            () -> plugin.getDatabaseManager().runAsync(this::flush), interval, interval);
+    }
+    
+    /**
+     * Count a round result between two players
+     * @param winner Winner UUID
+     * @param loser Loser UUID
+     * @param time When the round ended
+     */
+    public void recordResult(UUID winner, UUID loser, long time) {
+        if (winner == null || loser == null || winner.equals(loser)) {
+            return;
+        }
+        
+        synchronized (lock) {
+            pending.computeIfAbsent(HeadToHead.key(winner, loser), key -> new HeadToHead(winner, loser))
+                .recordResult(winner, time);
+        }
+    }
+    
+    /**
+     * Get the record of two players
+     * @param first One player
+     * @param second The other player
+     * @return Future with the record, empty if they have never met; completed immediately if
+     *         either player's records are loaded
+     */
+    public CompletableFuture<HeadToHead> getHeadToHead(UUID first, UUID second) {
+        HeadToHead.Key key = HeadToHead.key(first, second);
+        synchronized (lock) {
+            if (loadedPlayers.contains(first) || loadedPlayers.contains(second)) {
+                return CompletableFuture.completedFuture(withIncrements(key, stored.get(key), first, second));
+            }
+        }
+        
+        return plugin.getDatabaseManager().supplyAsync(() -> {
+            // No flush may write while the stored record and the increments are combined
+            synchronized (flushLock) {
+                HeadToHead record = plugin.getDatabaseManager().loadHeadToHead(first, second);
+                synchronized (lock) {
+                    return withIncrements(key, record, first, second);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Combine a stored record with the increments not written yet. Caller must hold the lock.
+     */
+    private HeadToHead withIncrements(HeadToHead.Key key, HeadToHead record, UUID first, UUID second) {
+        HeadToHead combined = record != null ? record.copy() : new HeadToHead(first, second);
+        HeadToHead writing = inFlight.get(key);
+        if (writing != null) {
+            combined.merge(writing);
+        }
+        HeadToHead increments = pending.get(key);
+        if (increments != null) {
+            combined.merge(increments);
+        }
+        return combined;
+    }
+    
+    /**
+     * Load the records of a joining player
+     * @param player Player
+     */
+    public void onPlayerJoin(Player player) {
+        UUID playerId = player.getUniqueId();
+        plugin.getDatabaseManager().runAsync(() -> {
+            synchronized (flushLock) {
+                List<HeadToHead> records = plugin.getDatabaseManager().loadHeadToHeads(playerId);
+                synchronized (lock) {
+                    for (HeadToHead record : records) {
+                        stored.putIfAbsent(record.getKey(), record);
+                    }
+                    loadedPlayers.add(playerId);
+                }
+            }
+        }).exceptionally(e -> {
+            plugin.getLogger().warning("Failed to load head-to-head records of " + player.getName() + ": " + e.getMessage());
+            return null;
+        });
+    }
+    
+    /**
+     * Drop the records of a leaving player that no other loaded player needs
+     * @param player Player
+     */
+    public void onPlayerQuit(Player player) {
+        UUID playerId = player.getUniqueId();
+        synchronized (lock) {
+            if (loadedPlayers.remove(playerId)) {
+                stored.keySet().removeIf(key -> key.contains(playerId) && !isLoaded(key));
+            }
+        }
+    }
+    
+    /**
+     * Check if either player of a pair is loaded. Caller must hold the lock.
+     */
+    private boolean isLoaded(HeadToHead.Key key) {
+        return loadedPlayers.contains(key.getPlayerA()) || loadedPlayers.contains(key.getPlayerB());
+    }
+    
+    /**
+     * Add every pending increment to the stored records in one batch
+     * @return Number of pairs written, or -1 if the write failed
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            Map<HeadToHead.Key, HeadToHead> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                batch = pending;
+                pending = new HashMap<>();
+                inFlight = batch;
+            }
+            
+            try {
+                plugin.getDatabaseManager().saveHeadToHeads(batch.values());
+                synchronized (lock) {
+                    // Keep the loaded records equal to the stored ones
+                    for (Map.Entry<HeadToHead.Key, HeadToHead> entry : batch.entrySet()) {
+                        HeadToHead record = stored.get(entry.getKey());
+                        if (record != null) {
+                            record.merge(entry.getValue());
+                        } else if (isLoaded(entry.getKey())) {
+                            stored.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    inFlight = Map.of();
+                }
+                return batch.size();
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to save " + batch.size() + " head-to-head records: " + e.getMessage());
+                
+                // Merge back into what was recorded meanwhile for the next attempt
+                synchronized (lock) {
+                    for (Map.Entry<HeadToHead.Key, HeadToHead> entry : batch.entrySet()) {
+                        pending.merge(entry.getKey(), entry.getValue(), (recorded, failed) -> {
+                            failed.merge(recorded);
+                            return failed;
+                        });
+                    }
+                    inFlight = Map.of();
+                }
+                return -1;
+            }
+        }
+    }
+    
+    /**
+     * Stop the flush task and write every pending result
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        
+        int written = flush();
+        if (written > 0) {
+            plugin.getLogger().info("Saved " + written + " head-to-head records on shutdown");
+        }
+    }
+}
\ No newline at end of file
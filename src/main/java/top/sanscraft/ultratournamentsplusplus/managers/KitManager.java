@@ -1,15 +1,23 @@
 package top.sanscraft.ultratournamentsplusplus.managers;
 
+import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
+import org.bukkit.scheduler.BukkitTask;
 import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
 import top.sanscraft.ultratournamentsplusplus.models.Kit;
+import top.sanscraft.ultratournamentsplusplus.storage.DatabaseManager;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Manages all kit operations and player kit application
@@ -18,10 +26,18 @@ public class KitManager {
     
     private final UltraTournamentsPlusPlus plugin;
     private final Map<String, Kit> kits;
+    private final Set<String> dirtyKits; // Kits with unsaved changes
+    private final Set<String> deletedKits; // Kits still to be deleted from the database
+    private final AtomicBoolean saveInProgress = new AtomicBoolean(false);
+    private final Object saveLock = new Object();
+    private volatile PendingChanges inFlight;
+    private BukkitTask saveTask;
     
     public KitManager(UltraTournamentsPlusPlus plugin) {
         this.plugin = plugin;
         this.kits = new HashMap<>();
+        this.dirtyKits = ConcurrentHashMap.newKeySet();
+        this.deletedKits = ConcurrentHashMap.newKeySet();
     }
     
     /**
@@ -30,33 +46,175 @@ public class KitManager {
     public void initialize() {
         plugin.getLogger().info("Initializing KitManager...");
         loadKits();
+        startSaveTask();
     }
     
     /**
-     * Load kits from storage
+     * Load kits from storage.
+     * Only names and settings are read into usable form; kit contents stay serialized until first use.
      */
     public void loadKits() {
-        // TODO: Implement kit loading from database/files
         plugin.getLogger().info("Loading kits from storage...");
+        
+        try {
+            for (Kit kit : plugin.getDatabaseManager().loadKits()) {
+                kits.put(kit.getName().toLowerCase(), kit);
+            }
+            plugin.getLogger().info("Loaded " + kits.size() + " kits");
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to load kits: " + e.getMessage());
+            e.printStackTrace();
+        }
     }
     
     /**
-     * Save kits to storage
+     * Save kits to storage.
+     * Writes every pending change synchronously, after any save still running in the background.
      */
     public void saveKits() {
-        // TODO: Implement kit saving to database/files
         plugin.getLogger().info("Saving kits to storage...");
+        
+        PendingChanges changes = collectChanges();
+        try {
+            PendingChanges running = inFlight;
+            if (running != null) {
+                writeChanges(running);
+            }
+            writeChanges(changes);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to save kits: " + e.getMessage());
+            e.printStackTrace();
+            requeue(changes);
+        }
     }
     
     /**
      * Reload kit manager
      */
     public void reload() {
+        saveKits();
         kits.clear();
         loadKits();
         plugin.getLogger().info("Kit manager reloaded");
     }
     
+    /**
+     * Stop the write-behind task and save all pending changes
+     */
+    public void shutdown() {
+        if (saveTask != null) {
+            saveTask.cancel();
+        }
+        saveKits();
+    }
+    
+    /**
+     * Mark a kit as changed so it is written on the next save
+     * @param kit Changed kit
+     */
+    public void markDirty(Kit kit) {
+        String key = kit.getName().toLowerCase();
+        deletedKits.remove(key);
+        dirtyKits.add(key);
+    }
+    
+    /**
+     * Start the periodic write-behind task.
+     * Changes are collected on the main thread, where kits are modified, and written asynchronously.
+     */
+    private void startSaveTask() {
+        long interval = plugin.getConfigManager().getTournamentFlushInterval() * 20L;
+        saveTask = Bukkit.getScheduler().runTaskTimer(plugin, this::saveChangesAsync, interval, interval);
+    }
+    
+    /**
+     * Write pending changes in the background.
+     * Skipped while a previous save is still running so that writes never overtake each other.
+     */
+    private void saveChangesAsync() {
+        if (!saveInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        
+        PendingChanges changes = collectChanges();
+        if (changes.isEmpty()) {
+            saveInProgress.set(false);
+            return;
+        }
+        
+        inFlight = changes;
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        databaseManager.runAsync(() -> writeChanges(changes)).whenCompleteAsync((ignored, error) -> {
+            inFlight = null;
+            saveInProgress.set(false);
+            
+            if (error != null) {
+                plugin.getLogger().warning("Failed to save " + changes.size() + " kit changes: " + error.getMessage());
+                
+                // Keep the changes queued for the next attempt
+                requeue(changes);
+            }
+        }, databaseManager.getExecutor().mainThread());
+    }
+    
+    /**
+     * Take a snapshot of everything changed since the last save and clear the dirty flags.
+     * Kit contents are serialized here, on the main thread. Must be called on the main thread.
+     */
+    private PendingChanges collectChanges() {
+        PendingChanges changes = new PendingChanges();
+        
+        changes.deleted.addAll(deletedKits);
+        deletedKits.removeAll(changes.deleted);
+        
+        for (String key : new ArrayList<>(dirtyKits)) {
+            dirtyKits.remove(key);
+            Kit kit = kits.get(key);
+            if (kit == null) {
+                continue;
+            }
+            
+            try {
+                changes.kits.add(kit.copy());
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to serialize kit '" + kit.getName() + "', it is saved after its next change: "
+                    + e.getMessage());
+            }
+        }
+        
+        return changes;
+    }
+    
+    /**
+     * Write a snapshot of changes, at most once
+     */
+    private void writeChanges(PendingChanges changes) throws Exception {
+        synchronized (saveLock) {
+            if (changes.written) {
+                return;
+            }
+            plugin.getDatabaseManager().saveKitChanges(changes.deleted, changes.kits);
+            changes.written = true;
+        }
+    }
+    
+    /**
+     * Mark the kits of a failed save as dirty again, unless they changed state since
+     */
+    private void requeue(PendingChanges changes) {
+        for (String key : changes.deleted) {
+            if (!kits.containsKey(key)) {
+                deletedKits.add(key);
+            }
+        }
+        for (Kit kit : changes.kits) {
+            String key = kit.getName().toLowerCase();
+            if (kits.containsKey(key)) {
+                dirtyKits.add(key);
+            }
+        }
+    }
+    
     /**
      * Get all kit names
      * @return Set of kit names
@@ -87,6 +245,7 @@ public class KitManager {
         
         Kit kit = new Kit(name, creator);
         kits.put(name.toLowerCase(), kit);
+        markDirty(kit);
         
         plugin.getLogger().info("Created kit: " + name);
         return kit;
@@ -100,6 +259,8 @@ public class KitManager {
     public boolean deleteKit(String name) {
         Kit kit = kits.remove(name.toLowerCase());
         if (kit != null) {
+            dirtyKits.remove(name.toLowerCase());
+            deletedKits.add(name.toLowerCase());
             plugin.getLogger().info("Deleted kit: " + name);
             return true;
         }
@@ -139,6 +300,7 @@ public class KitManager {
         kit.setExperienceLevel(player.getLevel());
         
         kits.put(name.toLowerCase(), kit);
+        markDirty(kit);
         
         plugin.getLogger().info("Created kit '" + name + "' from player " + player.getName());
         return kit;
@@ -254,6 +416,7 @@ public class KitManager {
             
             // Update experience level
             existingKit.setExperienceLevel(player.getLevel());
+            markDirty(existingKit);
             
             plugin.getLogger().info("Updated kit '" + kitName + "' from player " + player.getName());
             return true;
@@ -283,6 +446,7 @@ public class KitManager {
         cloned.setCreatedTime(System.currentTimeMillis());
         
         kits.put(newName.toLowerCase(), cloned);
+        markDirty(cloned);
         
         plugin.getLogger().info("Cloned kit '" + originalName + "' as '" + newName + "'");
         return cloned;
@@ -340,4 +504,21 @@ public class KitManager {
         
         plugin.getLogger().info("Prepared player " + player.getName() + " for tournament");
     }
+    
+    /**
+     * Snapshot of changes written by one save
+     */
+    private static class PendingChanges {
+        public final List<String> deleted = new ArrayList<>();
+        public final List<Kit> kits = new ArrayList<>();
+        public boolean written;
+        
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+        
+        public int size() {
+            return deleted.size() + kits.size();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,493 @@
+package top.sanscraft.ultratournamentsplusplus.managers;
+
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.models.MatchJournalEntry;
+import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
+import top.sanscraft.ultratournamentsplusplus.storage.DatabaseManager;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only journal of match results.
+ * Every round and tournament result is sequenced, applied to player stats and appended to the
+ * match_journal table in batches. Player stats can be regenerated from the journal at any time,
+ * and periodic snapshots bound how much of it has to be replayed after a crash.
+ * Each server sharing a database numbers, snapshots and replays its own entries.
+ */
+public class MatchJournalManager {
+    
+    private final UltraTournamentsPlusPlus plugin;
+    private final String serverId;
+    private final Queue<MatchJournalEntry> pendingEntries; // Sequenced entries not yet written
+    private final AtomicLong nextSequence = new AtomicLong(1);
+    private final Object appendLock = new Object();
+    private final AtomicBoolean bulkWriteInProgress = new AtomicBoolean(false); // Rebuild or import replacing player_stats
+    private volatile long appliedSequence = 0; // Last entry applied to the in-memory stats
+    private BukkitTask flushTask;
+    private BukkitTask snapshotTask;
+    
+    public MatchJournalManager(UltraTournamentsPlusPlus plugin) {
+        this.plugin = plugin;
+        this.serverId = plugin.getConfigManager().getJournalServerId();
+        this.pendingEntries = new ConcurrentLinkedQueue<>();
+    }
+    
+    /**
+     * Continue the journal sequence and replay entries newer than the last snapshot
+     * into player stats that do not reflect them yet
+     */
+    public void initialize() {
+        try {
+            long lastSequence = plugin.getDatabaseManager().getLastJournalSequence(serverId);
+            nextSequence.set(lastSequence + 1);
+            appliedSequence = lastSequence;
+            
+            long snapshot = plugin.getDatabaseManager().getLatestJournalSnapshot(serverId);
+            int replayed = replay(snapshot);
+            plugin.getLogger().info("Match journal of server '" + serverId + "' at #" + lastSequence
+                + " (snapshot #" + snapshot + ", " + replayed + " entries replayed)");
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to initialize match journal: " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        startFlushTask();
+        startSnapshotTask();
+    }
+    
+    /**
+     * Sequence a new result, apply it to player stats and queue it for the next append.
+     * Must be called on the main thread.
+     * @param entry Unsequenced entry
+     */
+    public void record(MatchJournalEntry entry) {
+        entry.assignSequence(serverId, nextSequence.getAndIncrement());
+        pendingEntries.add(entry);
+        plugin.getPlayerStatsManager().applyJournalEntry(entry);
+        appliedSequence = entry.getSequence();
+        
+        SeasonStatsManager seasonStatsManager = plugin.getSeasonStatsManager();
+        if (seasonStatsManager != null) {
+            seasonStatsManager.record(entry);
+        }
+    }
+    
+    /**
+     * Append every queued entry to the journal table in one batch
+     * @return Number of entries written, or -1 if the write failed
+     */
+    public int flushJournal() {
+        synchronized (appendLock) {
+            List<MatchJournalEntry> batch = new ArrayList<>();
+            MatchJournalEntry entry;
+            while ((entry = pendingEntries.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            
+            try {
+                plugin.getDatabaseManager().appendJournalEntries(batch);
+                return batch.size();
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to append " + batch.size() + " journal entries: " + e.getMessage());
+                
+                // Keep the entries queued for the next attempt
+                pendingEntries.addAll(batch);
+                return -1;
+            }
+        }
+    }
+    
+    /**
+     * Record that player_stats reflects the journal up to an applied entry.
+     * Runs asynchronously; the stats flush guarantees everything up to that entry is stored.
+     * @param sequence Last applied entry at the time the changed stats were collected
+     */
+    public void takeSnapshot(long sequence) {
+        if (bulkWriteInProgress.get()) {
+            return;
+        }
+        
+        if (plugin.getPlayerStatsManager().flushDirtyStats() < 0) {
+            return;
+        }
+        
+        try {
+            if (!plugin.getDatabaseManager().saveJournalSnapshot(serverId, sequence) && plugin.isEnabled()) {
+                plugin.getDatabaseManager().getExecutor().mainThread().execute(this::reloadRewrittenStats);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to save journal snapshot: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Apply stored entries of this server after a sequence to player stats.
+     * Must be called on the main thread.
+     * @param afterSequence Entries up to this sequence are skipped
+     * @return Number of entries read
+     */
+    private int replay(long afterSequence) throws Exception {
+        List<MatchJournalEntry> entries = new ArrayList<>();
+        plugin.getDatabaseManager().forEachJournalEntry(serverId, afterSequence, entries::add);
+        for (MatchJournalEntry entry : entries) {
+            plugin.getPlayerStatsManager().applyJournalEntry(entry);
+        }
+        return entries.size();
+    }
+    
+    /**
+     * Regenerate player_stats by replaying the whole journal of every server.
+     * Counters and playtime are recomputed from scratch; name, first seen, combat totals, favorites and skill rating are kept.
+     * Kills and deaths of round participants who were neither its winner nor its loser are not journaled and are lost.
+     * Players are rebuilt a chunk at a time in UUID order. Results recorded while the rebuild runs are applied
+     * on top once it finishes, together with the names, combat totals and ratings that changed meanwhile.
+     * Other servers sharing the database stop writing player stats until the rebuild commits, then reload them.
+     * @param sender Receives progress and result messages
+     */
+    public void rebuildStats(CommandSender sender) {
+        if (!beginBulkWrite()) {
+            sender.sendMessage(ChatColor.RED + "Player statistics are already being rebuilt or imported!");
+            return;
+        }
+        
+        sender.sendMessage(ChatColor.YELLOW + "Rebuilding player statistics from the match journal...");
+        
+        long started = System.currentTimeMillis();
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        databaseManager.supplyAsync(() -> {
+            databaseManager.beginStatsRewrite();
+            try {
+                // The rebuild starts from the stored rows, so they have to hold every change made before it
+                if (plugin.getPlayerStatsManager().flushDirtyStats() < 0 || flushJournal() < 0) {
+                    throw new IllegalStateException("changed stats could not be written");
+                }
+                
+                Map<String, Long> lastSequences = databaseManager.getLastJournalSequences();
+                RebuiltRows rows = new RebuiltRows(lastSequences);
+                int players = databaseManager.saveRebuiltPlayerStats(rows::readFrom, lastSequences);
+                return new RebuildResult(players, rows.entries, lastSequences.getOrDefault(serverId, 0L));
+            } catch (Exception e) {
+                databaseManager.abortStatsRewrite();
+                throw e;
+            }
+        }).whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to rebuild player statistics: " + error.getMessage());
+                error.printStackTrace();
+                abortBulkWrite();
+                sender.sendMessage(ChatColor.RED + "Stats rebuild failed: " + error.getMessage());
+                return;
+            }
+            
+            finishBulkWrite(result.sequence, true);
+            sender.sendMessage(ChatColor.GREEN + "Rebuilt statistics of " + result.players + " players from "
+                + result.entries + " journal entries in " + (System.currentTimeMillis() - started) + "ms.");
+        }, databaseManager.getExecutor().mainThread());
+    }
+    
+    /**
+     * Start an operation that replaces player_stats rows directly.
+     * Changes made so far are collected for writing, then stat writes are paused until the operation
+     * finishes or aborts; the operation should flush them before it writes rows. Must be called on the main thread.
+     * @return False if another rebuild or import is already running
+     */
+    public boolean beginBulkWrite() {
+        if (!bulkWriteInProgress.compareAndSet(false, true)) {
+            return false;
+        }
+        PlayerStatsManager playerStatsManager = plugin.getPlayerStatsManager();
+        playerStatsManager.collectDirtyStats();
+        playerStatsManager.setWritesPaused(true);
+        return true;
+    }
+    
+    /**
+     * Check if a rebuild or import is replacing player_stats rows
+     * @return True while a bulk write runs
+     */
+    public boolean isBulkWriteInProgress() {
+        return bulkWriteInProgress.get();
+    }
+    
+    /**
+     * Get the last entry applied to the in-memory stats
+     * @return Journal sequence
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+    
+    /**
+     * Apply one side of a journal entry to the rebuilt stats, if the player belongs to the chunk being rebuilt
+     */
+    private void applyRebuilt(Map<UUID, PlayerStats> rebuilt, MatchJournalEntry entry, UUID playerId, String playerName,
+                              String afterPlayerId, String toPlayerId) {
+        if (playerId == null || !inRange(playerId, afterPlayerId, toPlayerId)) {
+            return;
+        }
+        rebuilt.computeIfAbsent(playerId, id -> new PlayerStats(id, playerName != null ? playerName : "Unknown"))
+            .applyJournalEntry(entry);
+    }
+    
+    /**
+     * Check if a player UUID lies in a range of the player_stats key order
+     * @param afterPlayerId Lower bound, exclusive
+     * @param toPlayerId Upper bound, inclusive; null for no upper bound
+     */
+    private static boolean inRange(UUID playerId, String afterPlayerId, String toPlayerId) {
+        String id = playerId.toString();
+        return id.compareTo(afterPlayerId) > 0 && (toPlayerId == null || id.compareTo(toPlayerId) <= 0);
+    }
+    
+    /**
+     * Swap in the rewritten stats and apply results recorded while the bulk write was running.
+     * Must be called on the main thread.
+     * @param rebuiltSequence Last journal entry of this server already reflected by the written rows
+     * @param keepUnjournaled True to carry names, combat totals and ratings changed while the bulk write
+     *                        was running over to the written rows
+     */
+    public void finishBulkWrite(long rebuiltSequence, boolean keepUnjournaled) {
+        PlayerStatsManager playerStatsManager = plugin.getPlayerStatsManager();
+        
+        // Writes were paused, so every player still dirty changed while the rows were written
+        List<PlayerStats> changed = keepUnjournaled ? playerStatsManager.copyDirtyStats() : List.of();
+        playerStatsManager.invalidateAll();
+        playerStatsManager.recountGlobalStats();
+        playerStatsManager.setWritesPaused(false);
+        
+        try {
+            flushJournal();
+            int replayed = replay(rebuiltSequence);
+            if (replayed > 0) {
+                plugin.getLogger().info("Applied " + replayed + " journal entries recorded during the stats rewrite");
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to apply journal entries recorded during the stats rewrite: " + e.getMessage());
+        } finally {
+            bulkWriteInProgress.set(false);
+        }
+        
+        for (PlayerStats stats : changed) {
+            playerStatsManager.restoreUnjournaledStats(stats);
+        }
+        playerStatsManager.loadStats();
+    }
+    
+    /**
+     * Reload player stats after another server rewrote player_stats, the way a restart would:
+     * the cached stats are dropped and entries of this server after its latest snapshot are applied again.
+     * Names, combat totals and ratings changed meanwhile are carried over. Must be called on the main thread.
+     */
+    public void reloadRewrittenStats() {
+        if (!bulkWriteInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        plugin.getPlayerStatsManager().setWritesPaused(true);
+        plugin.getLogger().warning("Player statistics were rewritten by another server, reloading them");
+        
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        databaseManager.supplyAsync(() -> new RewrittenStats(databaseManager.getLatestJournalSnapshot(serverId),
+            databaseManager.loadStatsGeneration())
+        ).whenCompleteAsync((rewritten, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to reload rewritten player statistics: " + error.getMessage());
+                abortBulkWrite();
+                return;
+            }
+            
+            // Adopted only once the stale copies are dropped, so none of them is written over the new rows
+            finishBulkWrite(rewritten.snapshot, true);
+            databaseManager.setStatsGeneration(rewritten.generation);
+        }, databaseManager.getExecutor().mainThread());
+    }
+    
+    /**
+     * End a failed bulk write, keeping the cached stats and resuming writes.
+     * Must be called on the main thread.
+     */
+    public void abortBulkWrite() {
+        plugin.getPlayerStatsManager().setWritesPaused(false);
+        bulkWriteInProgress.set(false);
+    }
+    
+    /**
+     * Start the periodic journal append
+     */
+    private void startFlushTask() {
+        long interval = 20L * plugin.getConfigManager().getJournalFlushInterval();
+        flushTask = Bukkit.getScheduler().runTaskTimer(plugin,
+            () -> plugin.getDatabaseManager().runAsync(this::flushJournal), interval, interval);
+    }
+    
+    /**
+     * Start the periodic stats snapshot
+     */
+    private void startSnapshotTask() {
+        long interval = 20L * plugin.getConfigManager().getJournalSnapshotInterval();
+        snapshotTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            long sequence = plugin.getPlayerStatsManager().getSnapshotSequence(appliedSequence);
+            plugin.getPlayerStatsManager().collectDirtyStats();
+            plugin.getDatabaseManager().runAsync(() -> takeSnapshot(sequence));
+        }, interval, interval);
+    }
+    
+    /**
+     * Stop the background tasks and append everything still queued
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        if (snapshotTask != null) {
+            snapshotTask.cancel();
+        }
+        
+        int written = flushJournal();
+        if (written > 0) {
+            plugin.getLogger().info("Appended " + written + " match journal entries on shutdown");
+        }
+    }
+    
+    /**
+     * Rebuilt stats of every player, computed a chunk of players at a time in UUID order,
+     * so a rebuild only holds one chunk in memory
+     */
+    private class RebuiltRows implements Iterator<PlayerStats> {
+        private final Map<String, Long> lastSequences; // Newer entries are applied after the rebuild
+        private final int chunkSize;
+        private DatabaseManager.RebuildReader reader;
+        private Iterator<PlayerStats> chunk = Collections.emptyIterator();
+        private String lastPlayerId = ""; // Upper bound of the previous chunk, null after the last one
+        public int entries = 0;
+        
+        RebuiltRows(Map<String, Long> lastSequences) {
+            this.lastSequences = lastSequences;
+            this.chunkSize = plugin.getConfigManager().getRebuildChunkSize();
+        }
+        
+        /**
+         * Read the stored rows and journal entries through the connection writing the rebuilt rows
+         * @param reader Reader of the rebuild
+         * @return These rows
+         */
+        Iterator<PlayerStats> readFrom(DatabaseManager.RebuildReader reader) {
+            this.reader = reader;
+            return this;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (!chunk.hasNext()) {
+                if (lastPlayerId == null) {
+                    return false;
+                }
+                
+                try {
+                    chunk = nextChunk();
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Failed to rebuild players after " + lastPlayerId, e);
+                }
+            }
+            return true;
+        }
+        
+        @Override
+        public PlayerStats next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return chunk.next();
+        }
+        
+        /**
+         * Rebuild the players of the next chunk from their rows and journal entries
+         */
+        private Iterator<PlayerStats> nextChunk() throws SQLException {
+            String afterPlayerId = lastPlayerId;
+            List<PlayerStats> page = reader.loadPlayerStatsPage(afterPlayerId, chunkSize);
+            
+            // The last chunk also covers players after it who only appear in the journal
+            String toPlayerId = page.size() < chunkSize ? null : page.get(page.size() - 1).getPlayerId().toString();
+            
+            // Keep what the journal does not record, reset every counter
+            Map<UUID, PlayerStats> rebuilt = new LinkedHashMap<>();
+            for (PlayerStats existing : page) {
+                PlayerStats stats = new PlayerStats(existing.getPlayerId(), existing.getPlayerName());
+                stats.setFirstPlayed(existing.getFirstPlayed());
+                stats.setLastPlayed(existing.getLastPlayed());
+                stats.setFavoriteKit(existing.getFavoriteKit());
+                stats.setFavoriteArena(existing.getFavoriteArena());
+                stats.copySkillRating(existing);
+                stats.copyCombatTotals(existing);
+                rebuilt.put(stats.getPlayerId(), stats);
+            }
+            
+            // Every server's entries in the order they ended, so streaks come out as they were played
+            reader.forEachJournalEntryInvolving(afterPlayerId, toPlayerId, entry -> {
+                Long last = lastSequences.get(entry.getServerId());
+                if (last == null || entry.getSequence() > last) {
+                    return;
+                }
+                
+                // An entry spanning two chunks is counted once, with the chunk of its winner (or loser if it has none)
+                UUID first = entry.getWinner() != null ? entry.getWinner() : entry.getLoser();
+                if (inRange(first, afterPlayerId, toPlayerId)) {
+                    entries++;
+                }
+                applyRebuilt(rebuilt, entry, entry.getCreditedWinner(), entry.getWinnerName(), afterPlayerId, toPlayerId);
+                applyRebuilt(rebuilt, entry, entry.getLoser(), entry.getLoserName(), afterPlayerId, toPlayerId);
+            });
+            
+            lastPlayerId = toPlayerId;
+            return rebuilt.values().iterator();
+        }
+    }
+    
+    /**
+     * State of player_stats after another server rewrote them
+     */
+    private static class RewrittenStats {
+        public final long snapshot;
+        public final long generation;
+        
+        public RewrittenStats(long snapshot, long generation) {
+            this.snapshot = snapshot;
+            this.generation = generation;
+        }
+    }
+    
+    /**
+     * Outcome of a stats rebuild
+     */
+    private static class RebuildResult {
+        public final int players;
+        public final int entries;
+        public final long sequence;
+        
+        public RebuildResult(int players, int entries, long sequence) {
+            this.players = players;
+            this.entries = entries;
+            this.sequence = sequence;
+        }
+    }
+}
\ No newline at end of file
@@ -1,14 +1,40 @@
 package top.sanscraft.ultratournamentsplusplus.managers;
 
 import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.models.GlobalStats;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardEntry;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardSnapshot;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardType;
+import top.sanscraft.ultratournamentsplusplus.models.MatchJournalEntry;
 import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
+import top.sanscraft.ultratournamentsplusplus.models.RoundCombat;
+import top.sanscraft.ultratournamentsplusplus.storage.DatabaseManager;
+import top.sanscraft.ultratournamentsplusplus.utils.Glicko2;
+import top.sanscraft.ultratournamentsplusplus.utils.LeaderboardIndex;
+import top.sanscraft.ultratournamentsplusplus.utils.NameInterner;
+import top.sanscraft.ultratournamentsplusplus.utils.UsageCounter;
 
 import org.bukkit.entity.Player;
 import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -20,182 +46,761 @@ public class PlayerStatsManager {
     private final UltraTournamentsPlusPlus plugin;
     private final Map<UUID, PlayerStats> playerStatsCache;
     private final Map<UUID, Long> roundStartTimes; // Track when players start rounds
+    private final Map<UUID, Long> lastAccessTimes; // Last cache access per player, for eviction
+    private final Set<UUID> dirtyPlayers; // Players with changes not yet written to the database
+    private final Set<UUID> flushingPlayers; // Players currently being written by a flush
+    private Map<UUID, PlayerStats> pendingWrites = new HashMap<>(); // Copies taken on the main thread, not yet written
+    private final Object pendingLock = new Object();
+    private final Object flushLock = new Object();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean(false);
+    private volatile boolean writesPaused = false; // Set while player_stats is rebuilt or imported
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder cacheEvictions = new LongAdder();
+    private final AtomicInteger leaderboardGeneration = new AtomicInteger(); // Incremented by every index rebuild
+    private volatile Map<LeaderboardType, LeaderboardIndex<LeaderboardEntry>> leaderboards = createLeaderboards(); // Every stored player, ranked per type
+    private volatile boolean leaderboardLoaded = false;
+    private volatile Map<UUID, PlayerStats> leaderboardBacklog; // Changes made while the index is rebuilt
+    private volatile Map<LeaderboardType, LeaderboardSnapshot> snapshots = Map.of(); // Published top of every leaderboard
+    private final AtomicLong snapshotVersion = new AtomicLong();
+    private final AtomicInteger snapshotChanges = new AtomicInteger(); // Stat changes since the last snapshot
+    private final GlobalStats globalStats = new GlobalStats();
+    private final Set<UUID> newPlayers = ConcurrentHashMap.newKeySet(); // Created in memory, never stored yet
+    private final Map<UUID, List<CompletableFuture<PlayerStats>>> loadingPlayers = new HashMap<>(); // Changes waiting for a load, in order
+    private final TreeMap<Long, Integer> unappliedJournalEntries = new TreeMap<>(); // Sides of entries waiting for a load, by sequence
+    private long failedJournalSequence = Long.MAX_VALUE; // First entry that could not be applied, replayed after a restart
+    private int cacheGeneration = 0; // Incremented whenever the whole cache is dropped
+    private BukkitTask flushTask;
+    private BukkitTask evictionTask;
+    private BukkitTask snapshotTask;
     
     public PlayerStatsManager(UltraTournamentsPlusPlus plugin) {
         this.plugin = plugin;
         this.playerStatsCache = new ConcurrentHashMap<>();
         this.roundStartTimes = new ConcurrentHashMap<>();
+        this.lastAccessTimes = new ConcurrentHashMap<>();
+        this.dirtyPlayers = ConcurrentHashMap.newKeySet();
+        this.flushingPlayers = ConcurrentHashMap.newKeySet();
+        
+        // Start write-behind task for changed stats
+        startFlushTask();
+        
+        // Start eviction task for offline players
+        startEvictionTask();
+        
+        // Start republishing leaderboard snapshots
+        startSnapshotTask();
     }
     
     /**
-     * Load player stats from database
+     * Load player stats for everyone currently online.
+     * Other players are loaded on demand.
      */
     public void loadStats() {
-        plugin.getLogger().info("Loading player statistics from database...");
+        prefetchOnlinePlayers();
+    }
+    
+    /**
+     * Prefetch the stats of everyone online and load the leaderboards
+     */
+    private void prefetchOnlinePlayers() {
+        int online = 0;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            prefetchPlayerStats(player.getUniqueId(), player.getName());
+            online++;
+        }
+        plugin.getLogger().info("Player statistics are loaded on demand (prefetching " + online + " online players)");
         
+        loadLeaderboard();
+    }
+    
+    /**
+     * Load the server-wide totals, computing them from player stats the first time.
+     * Must be called before any result is recorded.
+     */
+    public void loadGlobalStats() {
         try {
-            List<PlayerStats> allStats = plugin.getDatabaseManager().loadAllPlayerStats();
-            for (PlayerStats stats : allStats) {
-                playerStatsCache.put(stats.getPlayerId(), stats);
+            Map<String, Long> stored = plugin.getDatabaseManager().loadGlobalStats();
+            if (stored.isEmpty()) {
+                stored = plugin.getDatabaseManager().countGlobalStats();
+                plugin.getDatabaseManager().saveGlobalStats(stored);
             }
-            plugin.getLogger().info("Loaded " + allStats.size() + " player statistics");
+            globalStats.load(stored);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to load server-wide statistics: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Recompute the server-wide totals from player stats after they were rewritten.
+     * Must be called on the main thread before results recorded meanwhile are replayed.
+     */
+    public void recountGlobalStats() {
+        try {
+            Map<String, Long> counted = plugin.getDatabaseManager().countGlobalStats();
+            plugin.getDatabaseManager().saveGlobalStats(counted);
+            globalStats.load(counted);
         } catch (Exception e) {
-            plugin.getLogger().severe("Failed to load player statistics: " + e.getMessage());
+            plugin.getLogger().severe("Failed to recount server-wide statistics: " + e.getMessage());
             e.printStackTrace();
         }
     }
     
+    /**
+     * Rebuild the leaderboard indexes from every stored player in the background.
+     * Stats changed while they load are applied on top before they replace the current indexes.
+     * Must be called on the main thread.
+     */
+    public void loadLeaderboard() {
+        int generation = leaderboardGeneration.incrementAndGet();
+        Map<UUID, PlayerStats> backlog = new ConcurrentHashMap<>();
+        leaderboardBacklog = backlog;
+        
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        databaseManager.supplyAsync(() -> {
+            Map<LeaderboardType, LeaderboardIndex<LeaderboardEntry>> indexes = createLeaderboards();
+            databaseManager.forEachPlayerStats(stats -> updateLeaderboards(indexes, stats));
+            return indexes;
+        }).whenCompleteAsync((indexes, error) -> {
+            if (generation != leaderboardGeneration.get()) {
+                return; // Superseded by a newer rebuild
+            }
+            leaderboardBacklog = null;
+            
+            if (error != null) {
+                plugin.getLogger().warning("Failed to build the leaderboard indexes: " + error.getMessage());
+                return;
+            }
+            
+            // Cached and recently changed stats may be newer than the stored rows
+            for (PlayerStats stats : playerStatsCache.values()) {
+                updateLeaderboards(indexes, stats);
+            }
+            for (PlayerStats stats : backlog.values()) {
+                updateLeaderboards(indexes, stats);
+            }
+            
+            leaderboards = indexes;
+            leaderboardLoaded = true;
+            publishSnapshots();
+            plugin.getLogger().info("Leaderboard indexes built with "
+                + indexes.get(LeaderboardType.TOURNAMENTS_WON).size() + " players");
+        }, databaseManager.getExecutor().mainThread());
+    }
+    
+    /**
+     * Publish a new snapshot of the top of every leaderboard under the next version.
+     * Must be called on the main thread once the indexes are built.
+     */
+    public void publishSnapshots() {
+        snapshotChanges.set(0);
+        long version = snapshotVersion.incrementAndGet();
+        long now = System.currentTimeMillis();
+        int size = plugin.getConfigManager().getLeaderboardSnapshotSize();
+        
+        Map<LeaderboardType, LeaderboardSnapshot> published = new EnumMap<>(LeaderboardType.class);
+        for (Map.Entry<LeaderboardType, LeaderboardIndex<LeaderboardEntry>> index : leaderboards.entrySet()) {
+            LeaderboardIndex<LeaderboardEntry> ranking = index.getValue();
+            published.put(index.getKey(),
+                new LeaderboardSnapshot(version, now, index.getKey(), ranking.getTop(size), ranking.size()));
+        }
+        snapshots = published;
+    }
+    
+    /**
+     * Get the published snapshot of a leaderboard without locking
+     * @param type Leaderboard type
+     * @return Snapshot, or null until the indexes are built
+     */
+    public LeaderboardSnapshot getLeaderboardSnapshot(LeaderboardType type) {
+        return snapshots.get(type);
+    }
+    
+    /**
+     * Create one empty index per leaderboard type
+     */
+    private static Map<LeaderboardType, LeaderboardIndex<LeaderboardEntry>> createLeaderboards() {
+        Map<LeaderboardType, LeaderboardIndex<LeaderboardEntry>> indexes = new EnumMap<>(LeaderboardType.class);
+        for (LeaderboardType type : LeaderboardType.values()) {
+            indexes.put(type, new LeaderboardIndex<>());
+        }
+        return indexes;
+    }
+    
+    /**
+     * Move a player to their current position on every leaderboard.
+     * Players below the minimum number of rounds are left off ratio leaderboards.
+     */
+    private void updateLeaderboards(Map<LeaderboardType, LeaderboardIndex<LeaderboardEntry>> indexes, PlayerStats stats) {
+        LeaderboardEntry entry = LeaderboardEntry.of(stats);
+        int minRounds = plugin.getConfigManager().getLeaderboardMinRounds();
+        for (Map.Entry<LeaderboardType, LeaderboardIndex<LeaderboardEntry>> index : indexes.entrySet()) {
+            LeaderboardType type = index.getKey();
+            if (type.qualifies(entry, minRounds)) {
+                index.getValue().update(entry.getPlayerId(), type.getScore(entry), entry);
+            } else {
+                index.getValue().remove(entry.getPlayerId());
+            }
+        }
+    }
+    
+    /**
+     * Load a player's stats in the background so later lookups hit the cache
+     * @param playerId Player UUID
+     * @param playerName Current player name
+     */
+    public void prefetchPlayerStats(UUID playerId, String playerName) {
+        awaitPlayerStats(playerId).whenComplete((stats, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Failed to prefetch stats for " + playerName + ": " + error.getMessage());
+                return;
+            }
+            renamePlayer(stats, playerName);
+        });
+    }
+    
     /**
      * Save all cached stats to database
      */
     public void saveAllStats() {
         plugin.getLogger().info("Saving all player statistics to database...");
         
-        for (PlayerStats stats : playerStatsCache.values()) {
+        dirtyPlayers.addAll(playerStatsCache.keySet());
+        collectDirtyStats();
+        flushDirtyStats();
+    }
+    
+    /**
+     * Copy the stats of every player with pending changes for the next flush and clear their dirty flags.
+     * Must be called on the main thread, where stats are changed, so a copy never holds half an update.
+     * Does nothing while writes are paused; the changes stay dirty until writes resume.
+     */
+    public void collectDirtyStats() {
+        if (writesPaused) {
+            return;
+        }
+        
+        synchronized (pendingLock) {
+            Iterator<UUID> iterator = dirtyPlayers.iterator();
+            while (iterator.hasNext()) {
+                UUID playerId = iterator.next();
+                PlayerStats stats = playerStatsCache.get(playerId);
+                if (stats != null) {
+                    // Replaces an older copy that was not written yet
+                    pendingWrites.put(playerId, stats.copy());
+                }
+                iterator.remove();
+            }
+        }
+    }
+    
+    /**
+     * Write the stats copied by {@link #collectDirtyStats()} to the database in one batch.
+     * Several changes to the same player since the last flush result in a single row write.
+     * May be called on any thread.
+     * @return Number of players written, or -1 if the write failed
+     */
+    public int flushDirtyStats() {
+        synchronized (flushLock) {
+            synchronized (pendingLock) {
+                if (pendingWrites.isEmpty()) {
+                    return 0;
+                }
+            }
+            
+            // Journal first, so stored stats never reflect results the journal is missing
+            MatchJournalManager journal = plugin.getMatchJournalManager();
+            if (journal != null && journal.flushJournal() < 0) {
+                return -1;
+            }
+            
+            Map<UUID, PlayerStats> pending;
+            synchronized (pendingLock) {
+                // Mark as flushing before taking the copies so eviction never sees neither
+                flushingPlayers.addAll(pendingWrites.keySet());
+                pending = pendingWrites;
+                pendingWrites = new HashMap<>();
+            }
+            Collection<PlayerStats> batch = pending.values();
+            
             try {
-                plugin.getDatabaseManager().savePlayerStats(stats);
+                if (!plugin.getDatabaseManager().savePlayerStatsBatch(batch)) {
+                    // The copies are older than the rewritten rows; they are reloaded, keeping what the journal lacks
+                    synchronized (pendingLock) {
+                        pending.forEach(pendingWrites::putIfAbsent);
+                    }
+                    if (plugin.isEnabled()) {
+                        plugin.getDatabaseManager().getExecutor().mainThread().execute(
+                            () -> plugin.getMatchJournalManager().reloadRewrittenStats());
+                    } else {
+                        plugin.getLogger().warning("Dropped the stats changes of " + batch.size()
+                            + " players, player stats were rewritten by another server");
+                    }
+                    return -1;
+                }
             } catch (Exception e) {
-                plugin.getLogger().warning("Failed to save stats for " + stats.getPlayerName() + ": " + e.getMessage());
+                plugin.getLogger().warning("Failed to save stats for " + batch.size() + " players: " + e.getMessage());
+                
+                // Keep the copies queued for the next attempt, unless a newer one was taken meanwhile
+                synchronized (pendingLock) {
+                    pending.forEach(pendingWrites::putIfAbsent);
+                }
+                return -1;
+            } finally {
+                flushingPlayers.clear();
             }
+            
+            flushGlobalStats();
+            return batch.size();
         }
     }
     
     /**
-     * Get or create player stats
+     * Add the server-wide changes since the last flush to the stored totals, then adopt the
+     * stored totals so results written by other servers show up. Called with the flush lock held.
+     */
+    private void flushGlobalStats() {
+        Map<String, Long> changes = globalStats.takeChanges();
+        try {
+            plugin.getDatabaseManager().addGlobalStats(changes);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to save server-wide statistics: " + e.getMessage());
+            globalStats.restoreChanges(changes);
+            return;
+        }
+        
+        try {
+            globalStats.refresh(plugin.getDatabaseManager().loadGlobalStats());
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to reload server-wide statistics: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Evict cached stats of offline players that have not been used recently.
+     * Entries with unsaved changes and players in active rounds are never evicted.
+     * Must be called on the main thread.
+     * @return Number of evicted players
+     */
+    public int evictIdleStats() {
+        long now = System.currentTimeMillis();
+        long expireAfter = plugin.getConfigManager().getStatsCacheExpireAfter() * 1000L;
+        int maxSize = plugin.getConfigManager().getStatsCacheMaxSize();
+        
+        List<UUID> candidates = new ArrayList<>();
+        for (UUID playerId : playerStatsCache.keySet()) {
+            if (isEvictable(playerId)) {
+                candidates.add(playerId);
+            }
+        }
+        
+        int evicted = 0;
+        
+        // Expire entries idle for longer than the configured time
+        Iterator<UUID> iterator = candidates.iterator();
+        while (iterator.hasNext()) {
+            UUID playerId = iterator.next();
+            if (now - lastAccessTimes.getOrDefault(playerId, 0L) >= expireAfter) {
+                evict(playerId);
+                iterator.remove();
+                evicted++;
+            }
+        }
+        
+        // Drop least recently used entries while the cache is over its size limit
+        if (playerStatsCache.size() > maxSize) {
+            candidates.sort(Comparator.comparingLong(playerId -> lastAccessTimes.getOrDefault(playerId, 0L)));
+            for (UUID playerId : candidates) {
+                if (playerStatsCache.size() <= maxSize) {
+                    break;
+                }
+                evict(playerId);
+                evicted++;
+            }
+        }
+        
+        return evicted;
+    }
+    
+    /**
+     * Check if a cached entry may be dropped
+     */
+    private boolean isEvictable(UUID playerId) {
+        if (dirtyPlayers.contains(playerId) || flushingPlayers.contains(playerId)) {
+            return false;
+        }
+        synchronized (pendingLock) {
+            if (pendingWrites.containsKey(playerId)) {
+                return false;
+            }
+        }
+        if (Bukkit.getPlayer(playerId) != null) {
+            return false;
+        }
+        
+        // Pin players that are still part of an active round
+        RoundManager roundManager = plugin.getRoundManager();
+        return roundManager == null || !roundManager.isPlayerInRound(playerId);
+    }
+    
+    /**
+     * Remove a player from the cache
+     */
+    private void evict(UUID playerId) {
+        playerStatsCache.remove(playerId);
+        newPlayers.remove(playerId);
+        lastAccessTimes.remove(playerId);
+        cacheEvictions.increment();
+    }
+    
+    /**
+     * Record a cache access for LRU/TTL eviction
+     */
+    private void touch(UUID playerId) {
+        lastAccessTimes.put(playerId, System.currentTimeMillis());
+    }
+    
+    /**
+     * Get or create player stats.
+     * A cache miss reads the database on the calling thread; use {@link #getPlayerStatsAsync(UUID)}
+     * where the result can arrive later. Blank stats are only created for players without a stored row.
+     * @param playerId Player UUID
+     * @return Player stats, or null if they could not be loaded
      */
     public PlayerStats getPlayerStats(UUID playerId) {
         PlayerStats stats = playerStatsCache.get(playerId);
-        if (stats == null) {
+        if (stats != null) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
             Player player = Bukkit.getPlayer(playerId);
             String playerName = player != null ? player.getName() : "Unknown";
             
-            // Try loading from database first
+            // Nothing is cached on a failed load, so blank stats never replace the stored row
             try {
                 stats = plugin.getDatabaseManager().loadPlayerStats(playerId);
             } catch (Exception e) {
                 plugin.getLogger().warning("Failed to load stats for " + playerId + ": " + e.getMessage());
+                return null;
             }
             
             // Create new stats if not found
-            if (stats == null) {
+            boolean created = stats == null;
+            if (created) {
                 stats = new PlayerStats(playerId, playerName);
             }
             
-            playerStatsCache.put(playerId, stats);
+            PlayerStats existing = playerStatsCache.putIfAbsent(playerId, stats);
+            if (existing != null) {
+                stats = existing;
+            } else if (created) {
+                newPlayers.add(playerId);
+            }
         }
+        touch(playerId);
         return stats;
     }
     
     /**
-     * Get player stats by player object
+     * Get or create player stats without blocking on the database.
+     * Must be called on the main thread; the future completes on the main thread.
+     * @param playerId Player UUID
+     * @return Future completed with the player's stats, or exceptionally if they could not be loaded
      */
-    public PlayerStats getPlayerStats(Player player) {
-        return getPlayerStats(player.getUniqueId());
+    public CompletableFuture<PlayerStats> getPlayerStatsAsync(UUID playerId) {
+        PlayerStats cached = playerStatsCache.get(playerId);
+        if (cached != null) {
+            cacheHits.increment();
+            touch(playerId);
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        cacheMisses.increment();
+        Player player = Bukkit.getPlayer(playerId);
+        String playerName = player != null ? player.getName() : "Unknown";
+        
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        
+        // A failed load caches nothing, so a later lookup tries the database again
+        int generation = cacheGeneration;
+        return databaseManager.loadPlayerStatsAsync(playerId).thenComposeAsync(loaded -> {
+            // The cache was dropped while loading, e.g. by a stats rebuild, so the row may be outdated
+            if (generation != cacheGeneration) {
+                return getPlayerStatsAsync(playerId);
+            }
+            
+            PlayerStats stats = loaded != null ? loaded : new PlayerStats(playerId, playerName);
+            PlayerStats existing = playerStatsCache.putIfAbsent(playerId, stats);
+            if (existing == null && loaded == null) {
+                newPlayers.add(playerId);
+            }
+            touch(playerId);
+            return CompletableFuture.completedFuture(existing != null ? existing : stats);
+        }, databaseManager.getExecutor().mainThread());
     }
     
     /**
-     * Record a tournament participation
+     * Get a player's stats to change them, loading them without blocking the main thread if needed.
+     * Changes waiting for the same player complete in the order they were requested, so results
+     * are applied in sequence. Must be called on the main thread; the future completes on the main thread.
+     * @param playerId Player UUID
+     * @return Future completed with the player's stats, or exceptionally if they could not be loaded
      */
-    public void recordTournamentParticipation(UUID playerId, boolean won) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.recordTournament(won);
-        savePlayerStatsAsync(stats);
+    private CompletableFuture<PlayerStats> awaitPlayerStats(UUID playerId) {
+        List<CompletableFuture<PlayerStats>> waiting = loadingPlayers.get(playerId);
+        if (waiting == null) {
+            PlayerStats cached = playerStatsCache.get(playerId);
+            if (cached != null) {
+                cacheHits.increment();
+                touch(playerId);
+                return CompletableFuture.completedFuture(cached);
+            }
+            
+            List<CompletableFuture<PlayerStats>> waiters = new ArrayList<>();
+            loadingPlayers.put(playerId, waiters);
+            waiting = waiters;
+            getPlayerStatsAsync(playerId).whenCompleteAsync((stats, error) -> {
+                loadingPlayers.remove(playerId);
+                for (CompletableFuture<PlayerStats> waiter : waiters) {
+                    if (error != null) {
+                        waiter.completeExceptionally(error);
+                    } else {
+                        waiter.complete(stats);
+                    }
+                }
+            }, plugin.getDatabaseManager().getExecutor().mainThread());
+        }
         
-        plugin.getLogger().info("Recorded tournament " + (won ? "win" : "participation") + 
-                               " for " + stats.getPlayerName());
+        CompletableFuture<PlayerStats> waiter = new CompletableFuture<>();
+        waiting.add(waiter);
+        return waiter;
     }
     
     /**
-     * Record a round start
+     * Get player stats by player object
+     * @return Player stats, or null if they could not be loaded
      */
-    public void recordRoundStart(UUID playerId) {
-        roundStartTimes.put(playerId, System.currentTimeMillis());
+    public PlayerStats getPlayerStats(Player player) {
+        return getPlayerStats(player.getUniqueId());
     }
     
     /**
-     * Record a round result
+     * Apply a match journal entry to the stats of everyone it involves.
+     * Players that already reflect the entry are left unchanged.
+     * @param entry Sequenced journal entry recorded by this server
      */
-    public void recordRoundResult(UUID playerId, boolean won) {
-        PlayerStats stats = getPlayerStats(playerId);
-        
-        // Calculate round duration
-        long duration = 0;
-        Long startTime = roundStartTimes.remove(playerId);
-        if (startTime != null) {
-            duration = System.currentTimeMillis() - startTime;
+    public void applyJournalEntry(MatchJournalEntry entry) {
+        applyJournalEntry(entry, entry.getCreditedWinner(), true);
+        applyJournalEntry(entry, entry.getLoser(), false);
+    }
+    
+    /**
+     * Apply a journal entry to one side of the result
+     */
+    private void applyJournalEntry(MatchJournalEntry entry, UUID playerId, boolean won) {
+        if (playerId == null) {
+            return;
         }
         
-        stats.recordRound(won, duration);
-        savePlayerStatsAsync(stats);
+        roundStartTimes.remove(playerId);
         
-        plugin.getLogger().info("Recorded round " + (won ? "win" : "loss") + 
-                               " for " + stats.getPlayerName() + 
-                               (duration > 0 ? " (duration: " + (duration / 1000) + "s)" : ""));
+        // Snapshots stop short of the entry until it is applied
+        unappliedJournalEntries.merge(entry.getSequence(), 1, Integer::sum);
+        awaitPlayerStats(playerId).whenComplete((stats, error) -> {
+            unappliedJournalEntries.computeIfPresent(entry.getSequence(), (sequence, count) -> count > 1 ? count - 1 : null);
+            if (error != null) {
+                // Never covered by a snapshot, so the entry is replayed after the next restart
+                failedJournalSequence = Math.min(failedJournalSequence, entry.getSequence());
+                plugin.getLogger().warning("Failed to apply journal #" + entry.getSequence() + " to the stats of "
+                    + playerId + ": " + error.getMessage());
+                return;
+            }
+            applyJournalEntry(entry, stats, won);
+        });
     }
     
     /**
-     * Record kills and deaths for a player
+     * Apply a journal entry to the loaded stats of one side
      */
-    public void recordKillsDeaths(UUID playerId, int kills, int deaths) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.recordKillsDeaths(kills, deaths);
-        savePlayerStatsAsync(stats);
+    private void applyJournalEntry(MatchJournalEntry entry, PlayerStats stats, boolean won) {
+        // Entries up to the player's progress on this server are already reflected, so replays are idempotent
+        if (entry.getSequence() <= stats.getJournalSequence() || !stats.applyJournalEntry(entry)) {
+            return;
+        }
+        stats.setJournalSequence(entry.getSequence());
+        globalStats.recordJournalEntry(entry, won);
+        if (entry.getType() == MatchJournalEntry.EntryType.ROUND) {
+            recordUsage(stats, entry.getKit(), entry.getArena());
+        }
+        markDirty(stats);
         
-        if (kills > 0 || deaths > 0) {
-            plugin.getLogger().info("Recorded " + kills + " kills, " + deaths + 
-                                   " deaths for " + stats.getPlayerName());
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            String result = entry.getType() == MatchJournalEntry.EntryType.ROUND ? "round" : "tournament";
+            plugin.getLogger().info("Recorded " + result + " " + (won ? "win" : "loss") + " for "
+                + stats.getPlayerName() + " (journal #" + entry.getSequence() + ")");
+        }
+    }
+    
+    /**
+     * Get the last journal entry a snapshot may cover. Entries still waiting for a player's stats,
+     * and entries that could not be applied, have to be replayed after a restart.
+     * Must be called on the main thread.
+     * @param appliedSequence Last entry handed to the stats
+     * @return Sequence to snapshot
+     */
+    public long getSnapshotSequence(long appliedSequence) {
+        long sequence = appliedSequence;
+        if (!unappliedJournalEntries.isEmpty()) {
+            sequence = Math.min(sequence, unappliedJournalEntries.firstKey() - 1);
+        }
+        if (failedJournalSequence != Long.MAX_VALUE) {
+            sequence = Math.min(sequence, failedJournalSequence - 1);
         }
+        return sequence;
     }
     
     /**
-     * Record a single kill
+     * Store a player's skill rating after a rating period.
+     * Must be called on the main thread; stats that are not cached are loaded without blocking it.
+     * @param playerId Player UUID
+     * @param skillRating New rating, deviation and volatility
+     * @param period Rating period the player competed in
      */
-    public void recordKill(UUID killerId) {
-        recordKillsDeaths(killerId, 1, 0);
+    public void applySkillRating(UUID playerId, Glicko2.Rating skillRating, long period) {
+        PlayerStats cached = getCachedPlayerStats(playerId);
+        if (cached != null) {
+            touch(playerId);
+            cached.setSkillRating(skillRating, period);
+            markDirty(cached);
+            return;
+        }
+        
+        getPlayerStatsAsync(playerId).whenComplete((stats, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Skipped the skill rating of " + playerId + ", stats could not be loaded: "
+                    + error.getMessage());
+                return;
+            }
+            stats.setSkillRating(skillRating, period);
+            markDirty(stats);
+        });
+    }
+    
+    /**
+     * Get how long a player has been in their current round
+     * @param playerId Player UUID
+     * @return Milliseconds since the round start was recorded, or 0 if unknown
+     */
+    public long getRoundElapsed(UUID playerId) {
+        Long startTime = roundStartTimes.get(playerId);
+        return startTime != null ? System.currentTimeMillis() - startTime : 0;
     }
     
     /**
-     * Record a single death
+     * Record a round start
      */
-    public void recordDeath(UUID deadPlayerId) {
-        recordKillsDeaths(deadPlayerId, 0, 1);
+    public void recordRoundStart(UUID playerId) {
+        roundStartTimes.put(playerId, System.currentTimeMillis());
     }
     
     /**
-     * Add playtime to a player's stats
+     * Add the combat of a finished round to every participant's stats.
+     * Kills and deaths of the journaled winner and loser are left to their journal entry. Those of other
+     * participants are not journaled, so a stats rebuild drops them like the rest of the journaled counters.
+     * @param combat Combat totals of the round
+     * @param winner Journaled winner, or null
+     * @param loser Journaled loser, or null
      */
-    public void addPlaytime(UUID playerId, long playtimeMs) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.addPlaytime(playtimeMs);
-        savePlayerStatsAsync(stats);
+    public void recordCombat(RoundCombat combat, UUID winner, UUID loser) {
+        for (int slot = 0; slot < combat.size(); slot++) {
+            UUID playerId = combat.getParticipant(slot);
+            int index = slot;
+            awaitPlayerStats(playerId).whenComplete((stats, error) -> {
+                if (error != null) {
+                    plugin.getLogger().warning("Dropped the combat stats of " + playerId + ", stats could not be loaded: "
+                        + error.getMessage());
+                    return;
+                }
+                
+                stats.recordCombat(combat.getAssists(index), combat.getHits(index),
+                    combat.getDamageDealt(index), combat.getDamageTaken(index));
+                if (!playerId.equals(winner) && !playerId.equals(loser)) {
+                    stats.recordKillsDeaths(combat.getKills(index), combat.getDeaths(index));
+                    globalStats.addKills(combat.getKills(index));
+                }
+                markDirty(stats);
+            });
+        }
     }
     
     /**
-     * Update favorite kit for a player
+     * Count the kit and arena of a round in a player's usage counters
+     * @param kitName Kit name, or null if the round had none
+     * @param arenaName Arena name, or null if the round had none
      */
-    public void updateFavoriteKit(UUID playerId, String kitName) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.updateFavoriteKit(kitName);
-        savePlayerStatsAsync(stats);
+    private void recordUsage(PlayerStats stats, String kitName, String arenaName) {
+        NameInterner usageNames = plugin.getDatabaseManager().getUsageNames();
+        if (kitName != null && !kitName.isEmpty()) {
+            stats.recordKitUse(usageNames.intern(kitName), kitName);
+        }
+        if (arenaName != null && !arenaName.isEmpty()) {
+            stats.recordArenaUse(usageNames.intern(arenaName), arenaName);
+        }
     }
     
     /**
-     * Update favorite arena for a player
+     * Get the kits a player used most
+     * @param stats Player stats
+     * @param limit Maximum number of kits
+     * @return Rounds played by kit name, most used first
      */
-    public void updateFavoriteArena(UUID playerId, String arenaName) {
-        PlayerStats stats = getPlayerStats(playerId);
-        stats.updateFavoriteArena(arenaName);
-        savePlayerStatsAsync(stats);
+    public Map<String, Integer> getTopKits(PlayerStats stats, int limit) {
+        return getTopUsage(stats.getKitUsage(), limit);
     }
     
     /**
-     * Reset win/loss streaks for all players (e.g., at start of new tournament)
+     * Get the arenas a player played in most
+     * @param stats Player stats
+     * @param limit Maximum number of arenas
+     * @return Rounds played by arena name, most played first
      */
-    public void resetAllStreaks() {
-        for (PlayerStats stats : playerStatsCache.values()) {
-            stats.resetStreaks();
+    public Map<String, Integer> getTopArenas(PlayerStats stats, int limit) {
+        return getTopUsage(stats.getArenaUsage(), limit);
+    }
+    
+    private Map<String, Integer> getTopUsage(UsageCounter usage, int limit) {
+        Map<String, Integer> top = new LinkedHashMap<>();
+        for (int id : usage.getTop(limit)) {
+            String name = plugin.getDatabaseManager().getUsageNames().getName(id);
+            if (name != null) {
+                top.put(name, usage.get(id));
+            }
         }
-        plugin.getLogger().info("Reset win/loss streaks for all players");
+        return top;
+    }
+    
+    /**
+     * Reset win/loss streaks for all players (e.g., at start of new tournament)
+     */
+    public CompletableFuture<Void> resetAllStreaks() {
+        // Write pending changes first so the bulk update is not overwritten by older rows
+        collectDirtyStats();
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        return databaseManager.runAsync(() -> {
+            flushDirtyStats();
+            databaseManager.resetAllStreaks();
+        }).handleAsync((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Failed to reset streaks in database: " + error.getMessage());
+            }
+            
+            for (PlayerStats stats : playerStatsCache.values()) {
+                stats.resetStreaks();
+            }
+            plugin.getLogger().info("Reset win/loss streaks for all players");
+            return null;
+        }, databaseManager.getExecutor().mainThread());
     }
     
     /**
@@ -203,40 +808,103 @@ public class PlayerStatsManager {
      */
     public void resetStreaks(List<UUID> playerIds) {
         for (UUID playerId : playerIds) {
-            PlayerStats stats = getPlayerStats(playerId);
-            stats.resetStreaks();
+            awaitPlayerStats(playerId).whenComplete((stats, error) -> {
+                if (error != null) {
+                    plugin.getLogger().warning("Failed to reset the streaks of " + playerId + ": " + error.getMessage());
+                    return;
+                }
+                stats.resetStreaks();
+                markDirty(stats);
+            });
         }
         plugin.getLogger().info("Reset win/loss streaks for " + playerIds.size() + " players");
     }
     
     /**
-     * Get top players by tournaments won
+     * Get a range of a leaderboard.
+     * Served from the published snapshot when it holds the range, otherwise from the leaderboard
+     * indexes once they are built; until then tournament wins are read from the database and
+     * other types are ranked from the cached players.
+     * @param type Leaderboard type
+     * @param offset Number of leading players to skip
+     * @param limit Maximum number of players
+     * @return Future with the players, best first; completed immediately once the indexes are built
      */
-    public List<PlayerStats> getTopPlayersByTournaments(int limit) {
-        try {
-            return plugin.getDatabaseManager().getTopPlayersByTournaments(limit);
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to get top players from database: " + e.getMessage());
-            
-            // Fall back to cached data
-            return playerStatsCache.values().stream()
-                    .sorted((a, b) -> {
-                        int tournamentCompare = Integer.compare(b.getTournamentsWon(), a.getTournamentsWon());
-                        if (tournamentCompare != 0) return tournamentCompare;
-                        return Integer.compare(b.getRoundsWon(), a.getRoundsWon());
-                    })
-                    .limit(limit)
-                    .toList();
+    public CompletableFuture<List<LeaderboardEntry>> getLeaderboard(LeaderboardType type, int offset, int limit) {
+        LeaderboardSnapshot snapshot = snapshots.get(type);
+        if (snapshot != null && snapshot.covers(offset, limit)) {
+            return CompletableFuture.completedFuture(snapshot.getRange(offset, limit));
         }
+        if (leaderboardLoaded) {
+            return CompletableFuture.completedFuture(leaderboards.get(type).getRange(offset, limit));
+        }
+        if (type != LeaderboardType.TOURNAMENTS_WON) {
+            return CompletableFuture.completedFuture(rankCachedPlayers(type, offset, limit));
+        }
+        
+        return plugin.getDatabaseManager().getTopPlayersByTournamentsAsync(offset + limit)
+            .thenApply(players -> players.stream().skip(offset).map(LeaderboardEntry::of).toList())
+            .exceptionally(e -> {
+                plugin.getLogger().warning("Failed to get top players from database: " + e.getMessage());
+                
+                // Fall back to cached data
+                return rankCachedPlayers(type, offset, limit);
+            });
+    }
+    
+    /**
+     * Rank only the cached players, used while the indexes are not available
+     */
+    private List<LeaderboardEntry> rankCachedPlayers(LeaderboardType type, int offset, int limit) {
+        int minRounds = plugin.getConfigManager().getLeaderboardMinRounds();
+        return playerStatsCache.values().stream()
+                .map(LeaderboardEntry::of)
+                .filter(entry -> type.qualifies(entry, minRounds))
+                .sorted(Comparator.comparingLong(type::getScore).reversed())
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+    
+    /**
+     * Get a player's position on a leaderboard
+     * @param type Leaderboard type
+     * @param playerId Player UUID
+     * @return 1-based position, or 0 if not ranked or the indexes are not built yet
+     */
+    public int getLeaderboardPosition(LeaderboardType type, UUID playerId) {
+        return leaderboardLoaded ? leaderboards.get(type).getRank(playerId) : 0;
+    }
+    
+    /**
+     * Get the number of players on a leaderboard
+     * @param type Leaderboard type
+     * @return Ranked player count
+     */
+    public int getLeaderboardSize(LeaderboardType type) {
+        return leaderboards.get(type).size();
+    }
+    
+    /**
+     * Get a player's stats only if they are cached, never loading them
+     * @param playerId Player UUID
+     * @return Cached stats, or null if not loaded
+     */
+    public PlayerStats getCachedPlayerStats(UUID playerId) {
+        return playerStatsCache.get(playerId);
     }
     
     /**
      * Get stats for multiple players
+     * @return Stats of every player whose stats could be loaded
      */
     public List<PlayerStats> getPlayerStats(List<UUID> playerIds) {
         List<PlayerStats> statsList = new ArrayList<>();
         for (UUID playerId : playerIds) {
-            statsList.add(getPlayerStats(playerId));
+            PlayerStats stats = getPlayerStats(playerId);
+            if (stats != null) {
+                statsList.add(stats);
+            }
         }
         return statsList;
     }
@@ -245,11 +913,23 @@ public class PlayerStatsManager {
      * Update player name (in case of name change)
      */
     public void updatePlayerName(UUID playerId, String newName) {
-        PlayerStats stats = getPlayerStats(playerId);
+        awaitPlayerStats(playerId).whenComplete((stats, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Failed to update the name of " + playerId + ": " + error.getMessage());
+                return;
+            }
+            renamePlayer(stats, newName);
+        });
+    }
+    
+    /**
+     * Store a player's current name if it changed
+     */
+    private void renamePlayer(PlayerStats stats, String newName) {
         if (!stats.getPlayerName().equals(newName)) {
             stats.setPlayerName(newName);
-            savePlayerStatsAsync(stats);
-            plugin.getLogger().info("Updated player name for " + playerId + " to " + newName);
+            markDirty(stats);
+            plugin.getLogger().info("Updated player name for " + stats.getPlayerId() + " to " + newName);
         }
     }
     
@@ -257,53 +937,238 @@ public class PlayerStatsManager {
      * Get total statistics summary
      */
     public String getStatsSummary() {
-        int totalPlayers = playerStatsCache.size();
-        int totalTournaments = playerStatsCache.values().stream()
-                .mapToInt(PlayerStats::getTournamentsPlayed)
-                .sum();
-        int totalRounds = playerStatsCache.values().stream()
-                .mapToInt(PlayerStats::getRoundsPlayed)
-                .sum();
-        
-        return String.format("Total Players: %d, Total Tournaments: %d, Total Rounds: %d", 
-                           totalPlayers, totalTournaments, totalRounds);
+        return String.format("Total Players: %d, Total Tournaments: %d, Total Rounds: %d, Total Kills: %d, "
+                           + "Total Playtime: %s, Average Round: %ds",
+                           globalStats.getPlayers(), globalStats.getTournaments(), globalStats.getRounds(),
+                           globalStats.getKills(), PlayerStats.formatPlaytime(globalStats.getPlaytime()),
+                           Math.round(globalStats.getAverageRoundDuration() / 1000));
+    }
+    
+    /**
+     * Get the server-wide totals
+     * @return Global stats, updated live
+     */
+    public GlobalStats getGlobalStats() {
+        return globalStats;
     }
     
     /**
      * Check if a player has any recorded stats
+     * @param playerId Player UUID
+     * @return Future completed with true if the player has played, possibly on a database thread;
+     *         false if the stats could not be loaded
      */
-    public boolean hasStats(UUID playerId) {
+    public CompletableFuture<Boolean> hasStats(UUID playerId) {
         PlayerStats stats = playerStatsCache.get(playerId);
         if (stats == null) {
-            try {
-                stats = plugin.getDatabaseManager().loadPlayerStats(playerId);
-                return stats != null;
-            } catch (Exception e) {
-                return false;
-            }
+            return plugin.getDatabaseManager().loadPlayerStatsAsync(playerId)
+                .handle((loaded, error) -> loaded != null && hasPlayed(loaded));
         }
+        return CompletableFuture.completedFuture(hasPlayed(stats));
+    }
+    
+    private static boolean hasPlayed(PlayerStats stats) {
         return stats.getTournamentsPlayed() > 0 || stats.getRoundsPlayed() > 0;
     }
     
     /**
-     * Save player stats asynchronously
+     * Queue player stats for the next write-behind flush.
+     * Flushes early once enough players have pending changes.
      */
-    private void savePlayerStatsAsync(PlayerStats stats) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                plugin.getDatabaseManager().savePlayerStats(stats);
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to save stats for " + stats.getPlayerName() + ": " + e.getMessage());
+    private void markDirty(PlayerStats stats) {
+        dirtyPlayers.add(stats.getPlayerId());
+        if (newPlayers.remove(stats.getPlayerId())) {
+            globalStats.recordPlayer();
+        }
+        if (plugin.getPlaceholderCache() != null) {
+            plugin.getPlaceholderCache().invalidate(stats.getPlayerId());
+        }
+        
+        updateLeaderboards(leaderboards, stats);
+        Map<UUID, PlayerStats> backlog = leaderboardBacklog;
+        if (backlog != null) {
+            backlog.put(stats.getPlayerId(), stats);
+        }
+        if (snapshotChanges.incrementAndGet() >= plugin.getConfigManager().getLeaderboardSnapshotChanges()
+                && leaderboardLoaded) {
+            publishSnapshots();
+        }
+        
+        if (dirtyPlayers.size() >= plugin.getConfigManager().getStatsFlushBatchSize()
+                && earlyFlushScheduled.compareAndSet(false, true)) {
+            collectDirtyStats();
+            plugin.getDatabaseManager().runAsync(() -> {
+                earlyFlushScheduled.set(false);
+                flushDirtyStats();
+            });
+        }
+    }
+    
+    /**
+     * Pause or resume database writes of changed stats.
+     * Copies collected before the pause can still be flushed; changes made while paused stay dirty.
+     * @param paused True to pause writes
+     */
+    public void setWritesPaused(boolean paused) {
+        writesPaused = paused;
+    }
+    
+    /**
+     * Copy the stats of every player with changes not written yet, whether collected for writing or not.
+     * Must be called on the main thread.
+     * @return Copies of the changed stats
+     */
+    public List<PlayerStats> copyDirtyStats() {
+        Map<UUID, PlayerStats> copies = new LinkedHashMap<>();
+        synchronized (pendingLock) {
+            for (PlayerStats pending : pendingWrites.values()) {
+                copies.put(pending.getPlayerId(), pending.copy());
+            }
+        }
+        for (UUID playerId : dirtyPlayers) {
+            PlayerStats stats = playerStatsCache.get(playerId);
+            if (stats != null) {
+                copies.put(playerId, stats.copy());
+            }
+        }
+        return new ArrayList<>(copies.values());
+    }
+    
+    /**
+     * Carry what the journal does not record over from earlier stats of a player:
+     * name, combat totals and skill rating. Must be called on the main thread.
+     * @param changed Stats holding the values to keep
+     */
+    public void restoreUnjournaledStats(PlayerStats changed) {
+        awaitPlayerStats(changed.getPlayerId()).whenComplete((stats, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Lost the changes made to " + changed.getPlayerName()
+                    + " during the stats rewrite, stats could not be loaded: " + error.getMessage());
+                return;
             }
+            stats.setPlayerName(changed.getPlayerName());
+            stats.copyCombatTotals(changed);
+            stats.copySkillRating(changed);
+            markDirty(stats);
         });
     }
     
+    /**
+     * Drop every cached entry together with its unsaved changes, so the next lookups
+     * read the database again. Must be called on the main thread.
+     */
+    public void invalidateAll() {
+        synchronized (flushLock) {
+            synchronized (pendingLock) {
+                pendingWrites.clear();
+            }
+            dirtyPlayers.clear();
+            clearCache();
+        }
+        
+        // The rewritten rows cover every entry the stats could not be given
+        failedJournalSequence = Long.MAX_VALUE;
+        if (plugin.getPlaceholderCache() != null) {
+            plugin.getPlaceholderCache().invalidateAll();
+        }
+    }
+    
+    /**
+     * Drop every cached entry; loads still running are retried instead of cached
+     */
+    private void clearCache() {
+        playerStatsCache.clear();
+        lastAccessTimes.clear();
+        newPlayers.clear();
+        cacheGeneration++;
+    }
+    
+    /**
+     * Start republishing changed leaderboards at least every snapshot interval
+     */
+    private void startSnapshotTask() {
+        long interval = 20L * plugin.getConfigManager().getLeaderboardSnapshotInterval();
+        snapshotTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            if (leaderboardLoaded && snapshotChanges.get() > 0) {
+                publishSnapshots();
+            }
+        }, interval, interval);
+    }
+    
+    /**
+     * Start the periodic eviction of idle cache entries
+     */
+    private void startEvictionTask() {
+        evictionTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            int evicted = evictIdleStats();
+            if (evicted > 0 && plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("Evicted " + evicted + " idle player statistics (" + getCacheSummary() + ")");
+            }
+        }, 20L * 60, 20L * 60); // Every minute
+    }
+    
+    /**
+     * Get the number of cache lookups served from memory
+     * @return Cache hit count
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+    
+    /**
+     * Get the number of cache lookups that went to the database
+     * @return Cache miss count
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+    
+    /**
+     * Get the number of entries evicted from the cache
+     * @return Eviction count
+     */
+    public long getCacheEvictions() {
+        return cacheEvictions.sum();
+    }
+    
+    /**
+     * Get the number of players currently cached
+     * @return Cache size
+     */
+    public int getCacheSize() {
+        return playerStatsCache.size();
+    }
+    
+    /**
+     * Get a short description of the cache counters
+     * @return Cache summary
+     */
+    public String getCacheSummary() {
+        long hits = getCacheHits();
+        long lookups = hits + getCacheMisses();
+        double hitRate = lookups > 0 ? (double) hits / lookups * 100.0 : 0.0;
+        return String.format("Cached: %d, Hits: %d, Misses: %d, Hit Rate: %.1f%%, Evictions: %d",
+                           getCacheSize(), hits, getCacheMisses(), hitRate, getCacheEvictions());
+    }
+    
+    /**
+     * Start the periodic write-behind flush
+     */
+    private void startFlushTask() {
+        long interval = 20L * plugin.getConfigManager().getStatsFlushInterval();
+        flushTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            // Copy on the main thread, write in the background
+            collectDirtyStats();
+            plugin.getDatabaseManager().runAsync(this::flushDirtyStats);
+        }, interval, interval);
+    }
+    
     /**
      * Handle player joining the server
      */
     public void onPlayerJoin(Player player) {
-        // Ensure player has stats entry and update name if changed
-        updatePlayerName(player.getUniqueId(), player.getName());
+        // Load stats in the background and update name if changed
+        prefetchPlayerStats(player.getUniqueId(), player.getName());
     }
     
     /**
@@ -313,29 +1178,78 @@ public class PlayerStatsManager {
         // Clean up round start time tracking
         roundStartTimes.remove(player.getUniqueId());
         
-        // Save stats before player leaves
-        PlayerStats stats = playerStatsCache.get(player.getUniqueId());
-        if (stats != null) {
-            savePlayerStatsAsync(stats);
-        }
+        // Pending changes are written by the next write-behind flush,
+        // after which the entry becomes eligible for eviction
+        touch(player.getUniqueId());
     }
     
     /**
-     * Reload the stats manager
+     * Reload the stats manager. Pending changes are written off the main thread first;
+     * the cache is only dropped once nothing is left unsaved. Must be called on the main thread.
      */
     public void reload() {
-        playerStatsCache.clear();
-        roundStartTimes.clear();
-        loadStats();
-        plugin.getLogger().info("Player stats manager reloaded");
+        collectDirtyStats();
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        databaseManager.supplyAsync(this::flushDirtyStats).whenCompleteAsync((saved, error) -> {
+            // Changes made or still being written since the flush keep the cache
+            int unsaved = getUnsavedCount();
+            if (error != null || saved < 0 || unsaved > 0 || !flushingPlayers.isEmpty()) {
+                plugin.getLogger().warning("Player stats were not reloaded: "
+                    + unsaved + " players have unsaved changes");
+                return;
+            }
+            clearCache();
+            roundStartTimes.clear();
+            if (plugin.getPlaceholderCache() != null) {
+                plugin.getPlaceholderCache().invalidateAll();
+            }
+            
+            prefetchOnlinePlayers();
+            plugin.getLogger().info("Player stats manager reloaded");
+        }, databaseManager.getExecutor().mainThread());
+    }
+    
+    /**
+     * Get the number of players with changes that are not written yet
+     */
+    private int getUnsavedCount() {
+        synchronized (pendingLock) {
+            Set<UUID> unsaved = new HashSet<>(dirtyPlayers);
+            unsaved.addAll(pendingWrites.keySet());
+            return unsaved.size();
+        }
     }
     
     /**
      * Shutdown the stats manager
      */
     public void shutdown() {
-        saveAllStats();
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        if (evictionTask != null) {
+            evictionTask.cancel();
+            evictionTask = null;
+        }
+        if (snapshotTask != null) {
+            snapshotTask.cancel();
+            snapshotTask = null;
+        }
+        
+        // Final synchronous drain of pending changes
+        collectDirtyStats();
+        int saved = flushDirtyStats();
+        int unsaved = getUnsavedCount();
+        if (unsaved > 0) {
+            plugin.getLogger().severe("Could not save statistics for " + unsaved + " players on shutdown");
+        } else if (saved > 0) {
+            plugin.getLogger().info("Saved statistics for " + saved + " players");
+        }
+        
+        plugin.getLogger().info("Player stats cache: " + getCacheSummary());
         playerStatsCache.clear();
+        lastAccessTimes.clear();
         roundStartTimes.clear();
         plugin.getLogger().info("Player stats manager shutdown");
     }
@@ -0,0 +1,261 @@
+package top.sanscraft.ultratournamentsplusplus.managers;
+
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
+import top.sanscraft.ultratournamentsplusplus.utils.Glicko2;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains Glicko-2 skill ratings from round results.
+ * Results are collected over a rating period and rated together when it ends, as Glicko-2 expects.
+ * Every player's new rating depends only on ratings from before the period, so a period is
+ * calculated off the main thread, in parallel once enough players took part.
+ */
+public class RatingManager {
+    
+    private final UltraTournamentsPlusPlus plugin;
+    private List<RatedMatch> pendingMatches = new ArrayList<>(); // Results of the current period, main thread only
+    private final AtomicBoolean periodInProgress = new AtomicBoolean(false);
+    private BukkitTask periodTask;
+    
+    public RatingManager(UltraTournamentsPlusPlus plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Start closing rating periods
+     */
+    public void initialize() {
+        long interval = 20L * plugin.getConfigManager().getRatingPeriodLength();
+        periodTask = Bukkit.getScheduler().runTaskTimer(plugin, this::closeRatingPeriod, interval, interval);
+    }
+    
+    /**
+     * Record a round result for the current rating period.
+     * Must be called on the main thread.
+     * @param winner Winner UUID
+     * @param loser Loser UUID
+     */
+    public void recordResult(UUID winner, UUID loser) {
+        if (!plugin.getConfigManager().isRatingsEnabled() || winner == null || loser == null || winner.equals(loser)) {
+            return;
+        }
+        pendingMatches.add(new RatedMatch(winner, loser));
+    }
+    
+    /**
+     * Get the number of results waiting for the end of the rating period
+     * @return Pending result count
+     */
+    public int getPendingResults() {
+        return pendingMatches.size();
+    }
+    
+    /**
+     * Rate the results of the current period in the background and store the new ratings.
+     * Must be called on the main thread.
+     */
+    public void closeRatingPeriod() {
+        if (pendingMatches.isEmpty() || isStatsRewriteInProgress() || !periodInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        
+        List<RatedMatch> matches = pendingMatches;
+        pendingMatches = new ArrayList<>();
+        long period = getCurrentPeriod();
+        
+        // Load everyone first; stats only change on the main thread, so read the ratings there
+        PlayerStatsManager playerStatsManager = plugin.getPlayerStatsManager();
+        List<CompletableFuture<PlayerStats>> loads = getPlayers(matches).stream()
+            .map(playerStatsManager::getPlayerStatsAsync)
+            .toList();
+        
+        CompletableFuture.allOf(loads.toArray(new CompletableFuture[0]))
+            .thenApplyAsync(ignored -> snapshot(loads), plugin.getDatabaseManager().getExecutor().mainThread())
+            .thenApplyAsync(ratings -> calculate(ratings, matches, period), ForkJoinPool.commonPool())
+            .whenCompleteAsync((rated, error) -> {
+                periodInProgress.set(false);
+                
+                if (error != null || isStatsRewriteInProgress()) {
+                    if (error != null) {
+                        plugin.getLogger().warning("Failed to calculate skill ratings: " + error.getMessage());
+                    }
+                    
+                    // Rate the results with the next period
+                    pendingMatches.addAll(0, matches);
+                    return;
+                }
+                
+                apply(rated, period);
+                if (plugin.getConfigManager().isDebugEnabled()) {
+                    plugin.getLogger().info("Rated " + matches.size() + " results of " + rated.size() + " players");
+                }
+            }, plugin.getDatabaseManager().getExecutor().mainThread());
+    }
+    
+    /**
+     * Take the ratings of the loaded players
+     */
+    private Map<UUID, PlayerRating> snapshot(List<CompletableFuture<PlayerStats>> loads) {
+        Map<UUID, PlayerRating> ratings = new HashMap<>();
+        for (CompletableFuture<PlayerStats> load : loads) {
+            PlayerStats stats = load.join();
+            ratings.put(stats.getPlayerId(), new PlayerRating(stats.getSkillRating(), stats.getRatingPeriod()));
+        }
+        return ratings;
+    }
+    
+    /**
+     * Calculate the new rating of every player of a period.
+     * Does not touch player stats, so it is safe to run on any thread.
+     */
+    private Map<UUID, Glicko2.Rating> calculate(Map<UUID, PlayerRating> ratings, List<RatedMatch> matches, long period) {
+        double tau = plugin.getConfigManager().getRatingTau();
+        
+        // Ratings at the start of the period, uncertainty grown for the periods a player sat out
+        Map<UUID, Glicko2.Rating> before = new HashMap<>();
+        for (Map.Entry<UUID, PlayerRating> entry : ratings.entrySet()) {
+            PlayerRating rating = entry.getValue();
+            long idlePeriods = rating.period > 0 ? period - rating.period - 1 : 0;
+            before.put(entry.getKey(), new Glicko2.Rating(rating.rating.rating,
+                Glicko2.inflateDeviation(rating.rating.deviation, rating.rating.volatility, idlePeriods),
+                rating.rating.volatility));
+        }
+        
+        Map<UUID, List<RatedMatch>> games = new HashMap<>();
+        for (RatedMatch match : matches) {
+            games.computeIfAbsent(match.winner, id -> new ArrayList<>()).add(match);
+            games.computeIfAbsent(match.loser, id -> new ArrayList<>()).add(match);
+        }
+        
+        Stream<UUID> players = games.size() >= plugin.getConfigManager().getRatingParallelThreshold()
+            ? games.keySet().parallelStream() : games.keySet().stream();
+        return players.collect(Collectors.toMap(playerId -> playerId,
+            playerId -> rate(playerId, before, games.get(playerId), tau)));
+    }
+    
+    /**
+     * Rate one player on their games of the period
+     */
+    private Glicko2.Rating rate(UUID playerId, Map<UUID, Glicko2.Rating> before, List<RatedMatch> games, double tau) {
+        Glicko2.Rating[] opponents = new Glicko2.Rating[games.size()];
+        double[] scores = new double[games.size()];
+        for (int i = 0; i < games.size(); i++) {
+            RatedMatch match = games.get(i);
+            boolean won = playerId.equals(match.winner);
+            opponents[i] = before.get(won ? match.loser : match.winner);
+            scores[i] = won ? 1.0 : 0.0;
+        }
+        return Glicko2.rate(before.get(playerId), opponents, scores, tau);
+    }
+    
+    /**
+     * Store the new ratings. Must be called on the main thread.
+     */
+    private void apply(Map<UUID, Glicko2.Rating> rated, long period) {
+        PlayerStatsManager playerStatsManager = plugin.getPlayerStatsManager();
+        for (Map.Entry<UUID, Glicko2.Rating> entry : rated.entrySet()) {
+            playerStatsManager.applySkillRating(entry.getKey(), entry.getValue(), period);
+        }
+    }
+    
+    /**
+     * Get every player of a list of results
+     */
+    private Set<UUID> getPlayers(List<RatedMatch> matches) {
+        Set<UUID> players = new LinkedHashSet<>();
+        for (RatedMatch match : matches) {
+            players.add(match.winner);
+            players.add(match.loser);
+        }
+        return players;
+    }
+    
+    /**
+     * Get the number of the current rating period
+     */
+    private long getCurrentPeriod() {
+        return System.currentTimeMillis() / (plugin.getConfigManager().getRatingPeriodLength() * 1000L);
+    }
+    
+    /**
+     * Check if player_stats is being rebuilt or imported, which would discard new ratings
+     */
+    private boolean isStatsRewriteInProgress() {
+        MatchJournalManager journal = plugin.getMatchJournalManager();
+        return journal != null && journal.isBulkWriteInProgress();
+    }
+    
+    /**
+     * Stop closing periods and rate the results collected so far on the calling thread
+     */
+    public void shutdown() {
+        if (periodTask != null) {
+            periodTask.cancel();
+            periodTask = null;
+        }
+        if (pendingMatches.isEmpty() || periodInProgress.get() || isStatsRewriteInProgress()) {
+            return;
+        }
+        
+        List<RatedMatch> matches = pendingMatches;
+        pendingMatches = new ArrayList<>();
+        long period = getCurrentPeriod();
+        
+        try {
+            Map<UUID, PlayerRating> ratings = new HashMap<>();
+            for (UUID playerId : getPlayers(matches)) {
+                PlayerStats stats = plugin.getPlayerStatsManager().getPlayerStats(playerId);
+                if (stats == null) {
+                    throw new IllegalStateException("stats of " + playerId + " could not be loaded");
+                }
+                ratings.put(playerId, new PlayerRating(stats.getSkillRating(), stats.getRatingPeriod()));
+            }
+            apply(calculate(ratings, matches, period), period);
+            plugin.getLogger().info("Rated " + matches.size() + " pending results on shutdown");
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to rate pending results on shutdown: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Result of a round between two players
+     */
+    private static class RatedMatch {
+        public final UUID winner;
+        public final UUID loser;
+        
+        public RatedMatch(UUID winner, UUID loser) {
+            this.winner = winner;
+            this.loser = loser;
+        }
+    }
+    
+    /**
+     * Rating of a player together with the last period they competed in
+     */
+    private static class PlayerRating {
+        public final Glicko2.Rating rating;
+        public final long period;
+        
+        public PlayerRating(Glicko2.Rating rating, long period) {
+            this.rating = rating;
+            this.period = period;
+        }
+    }
+}
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.events.RoundCompleteEvent;
 import top.sanscraft.ultratournamentsplusplus.models.Arena;
 import top.sanscraft.ultratournamentsplusplus.models.Kit;
 import top.sanscraft.ultratournamentsplusplus.models.Round;
@@ -14,6 +15,7 @@ import top.sanscraft.ultratournamentsplusplus.models.SpawnPoint;
 import top.sanscraft.ultratournamentsplusplus.utils.ArenaUtils;
 import top.sanscraft.ultratournamentsplusplus.utils.KitUtils;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -65,6 +67,7 @@ public class RoundManager {
         }
         
         activeRounds.put(roundId, round);
+        plugin.getTournamentManager().trackRound(round);
         
         // Track players in this round
         for (UUID playerId : participants) {
@@ -88,6 +91,7 @@ public class RoundManager {
         
         // Start preparation phase
         round.startPreparation();
+        plugin.getTournamentManager().markRoundDirty(round);
         
         // Teleport players and apply kits
         if (!preparePlayersForRound(round)) {
@@ -214,6 +218,7 @@ public class RoundManager {
                 if (timeLeft <= 0) {
                     // Start the actual round
                     round.startRound();
+                    plugin.getTournamentManager().markRoundDirty(round);
                     announceRoundStart(round);
                     countdownTasks.remove(roundId);
                     this.cancel();
@@ -274,6 +279,7 @@ public class RoundManager {
         }
         
         round.setWinner(winnerId);
+        plugin.getTournamentManager().markRoundDirty(round);
         
         // Announce winner
         Player winner = Bukkit.getPlayer(winnerId);
@@ -294,8 +300,16 @@ public class RoundManager {
         
         plugin.getLogger().info("Round " + roundId + " won by " + winnerName + " (" + winnerId + ")");
         
-        // Stop spectating for this tournament
-        plugin.getSpectatorManager().stopSpectatingForTournament(round.getTournamentId());
+        // Journal the result and write the round's combat stats
+        UUID loserId = round.getOpponent(winnerId);
+        Player loser = loserId != null ? Bukkit.getPlayer(loserId) : null;
+        String loserName = loser != null ? loser.getName() : loserId != null ? loserId.toString() : null;
+        Bukkit.getPluginManager().callEvent(new RoundCompleteEvent(round, winnerId, winnerName, loserId, loserName));
+        
+        // Stop spectating once no other round of this tournament is being played
+        if (getActiveRoundsForTournament(round.getTournamentId()).isEmpty()) {
+            plugin.getSpectatorManager().stopSpectatingForTournament(round.getTournamentId());
+        }
         
         // Schedule round cleanup
         Bukkit.getScheduler().runTaskLater(plugin, () -> {
@@ -339,10 +353,24 @@ public class RoundManager {
             savedPlayerStates.remove(playerId);
         }
         
-        // Remove round from active rounds
+        // Remove round from active rounds, dropping combat of rounds that ended without a result
         activeRounds.remove(roundId);
+        plugin.getCombatTracker().finish(roundId);
         
         plugin.getLogger().info("Cleaned up round " + roundId);
+        
+        // Hand the arena to a waiting round
+        if (plugin.getArenaPool() != null) {
+            plugin.getArenaPool().release(roundId);
+        }
+        
+        // Settle the bracket match of a round without a result, then start matches that waited for these players
+        if (plugin.getBracketManager() != null) {
+            if (round.getWinner() == null) {
+                plugin.getBracketManager().onRoundCancelled(round);
+            }
+            plugin.getBracketManager().onRoundCleanup();
+        }
     }
     
     /**
@@ -357,6 +385,7 @@ public class RoundManager {
         }
         
         round.cancel();
+        plugin.getTournamentManager().markRoundDirty(round);
         
         // Notify participants
         for (UUID playerId : round.getParticipants()) {
@@ -374,6 +403,27 @@ public class RoundManager {
         return true;
     }
     
+    /**
+     * Put rounds that were interrupted by a restart back into play.
+     * They are reset to pending so they can be started again.
+     * @param rounds Interrupted rounds loaded from storage
+     */
+    public void restoreRounds(List<Round> rounds) {
+        for (Round round : rounds) {
+            round.setStatus(Round.RoundStatus.PENDING);
+            round.setStartTime(0);
+            activeRounds.put(round.getId(), round);
+            for (UUID playerId : round.getParticipants()) {
+                playerRounds.put(playerId, round.getId());
+            }
+            plugin.getTournamentManager().markRoundDirty(round);
+        }
+        
+        if (!rounds.isEmpty()) {
+            plugin.getLogger().info("Restored " + rounds.size() + " interrupted rounds as pending");
+        }
+    }
+    
     /**
      * Get a round by ID
      * @param roundId Round ID
@@ -426,18 +476,30 @@ public class RoundManager {
     }
     
     /**
-     * Get active round for a specific tournament
+     * Get the rounds of a tournament that are being played, which can be several at once
      * @param tournamentId Tournament ID
-     * @return Active round or null if none found
+     * @return Preparing and active rounds, earliest started first
      */
-    public Round getActiveRoundForTournament(String tournamentId) {
+    public List<Round> getActiveRoundsForTournament(String tournamentId) {
+        List<Round> rounds = new ArrayList<>();
         for (Round round : activeRounds.values()) {
             if (round.getTournamentId().equals(tournamentId) && 
                 (round.getStatus() == Round.RoundStatus.ACTIVE || round.getStatus() == Round.RoundStatus.PREPARING)) {
-                return round;
+                rounds.add(round);
             }
         }
-        return null;
+        rounds.sort(Comparator.comparingLong(Round::getStartTime));
+        return rounds;
+    }
+    
+    /**
+     * Get the earliest started round of a tournament that is being played
+     * @param tournamentId Tournament ID
+     * @return Active round or null if none found
+     */
+    public Round getActiveRoundForTournament(String tournamentId) {
+        List<Round> rounds = getActiveRoundsForTournament(tournamentId);
+        return rounds.isEmpty() ? null : rounds.get(0);
     }
     
     /**
@@ -0,0 +1,284 @@
+package top.sanscraft.ultratournamentsplusplus.managers;
+
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardEntry;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardType;
+import top.sanscraft.ultratournamentsplusplus.models.MatchJournalEntry;
+import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
+import top.sanscraft.ultratournamentsplusplus.models.Season;
+import top.sanscraft.ultratournamentsplusplus.models.StatBucket;
+import top.sanscraft.ultratournamentsplusplus.models.StatsWindow;
+import top.sanscraft.ultratournamentsplusplus.storage.DatabaseManager;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps per-player daily stat buckets and serves weekly, monthly and season leaderboards from them.
+ * Round results are counted into in-memory buckets and added to the stored ones in batches.
+ * A windowed leaderboard sums at most one bucket per player and day and is cached for a short time.
+ */
+public class SeasonStatsManager {
+    
+    private final UltraTournamentsPlusPlus plugin;
+    private Map<String, StatBucket> pendingBuckets = new HashMap<>(); // Increments not yet written
+    private final Object bucketLock = new Object();
+    private final Object flushLock = new Object();
+    private final Map<StatsWindow, WindowTotals> windowCache = new ConcurrentHashMap<>();
+    private final AtomicBoolean rolloverInProgress = new AtomicBoolean(false);
+    private volatile Season currentSeason;
+    private BukkitTask flushTask;
+    
+    public SeasonStatsManager(UltraTournamentsPlusPlus plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Load the current season and start writing buckets
+     */
+    public void initialize() {
+        try {
+            currentSeason = plugin.getDatabaseManager().loadCurrentSeason();
+            plugin.getLogger().info("Current season: " + currentSeason.getName());
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to load the current season: " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        long interval = 20L * plugin.getConfigManager().getStatsFlushInterval();
+        flushTask = Bukkit.getScheduler().runTaskTimer(plugin,
+            () -> plugin.getDatabaseManager().runAsync(this::flushBuckets), interval, interval);
+    }
+    
+    /**
+     * Count a journaled result into the buckets of the day it ended on
+     * @param entry Sequenced journal entry
+     */
+    public void record(MatchJournalEntry entry) {
+        if (entry.getType() != MatchJournalEntry.EntryType.ROUND) {
+            return;
+        }
+        
+        long day = toEpochDay(entry.getEndedAt());
+        synchronized (bucketLock) {
+            addRound(entry.getWinner(), day, true, entry.getWinnerKills(), entry.getWinnerDeaths());
+            addRound(entry.getLoser(), day, false, entry.getLoserKills(), entry.getLoserDeaths());
+        }
+    }
+    
+    private void addRound(UUID playerId, long day, boolean won, int kills, int deaths) {
+        if (playerId == null) {
+            return;
+        }
+        pendingBuckets.computeIfAbsent(StatBucket.key(playerId, day), key -> new StatBucket(playerId, day))
+            .recordRound(won, kills, deaths);
+    }
+    
+    /**
+     * Add every pending bucket increment to the stored buckets in one batch
+     * @return Number of buckets written, or -1 if the write failed
+     */
+    public int flushBuckets() {
+        synchronized (flushLock) {
+            Map<String, StatBucket> batch;
+            synchronized (bucketLock) {
+                if (pendingBuckets.isEmpty()) {
+                    return 0;
+                }
+                batch = pendingBuckets;
+                pendingBuckets = new HashMap<>();
+            }
+            
+            try {
+                plugin.getDatabaseManager().saveStatBuckets(batch.values());
+                return batch.size();
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to save " + batch.size() + " stat buckets: " + e.getMessage());
+                
+                // Merge back into what was recorded meanwhile for the next attempt
+                synchronized (bucketLock) {
+                    for (StatBucket bucket : batch.values()) {
+                        pendingBuckets.merge(bucket.getKey(), bucket, (pending, failed) -> {
+                            pending.merge(failed);
+                            return pending;
+                        });
+                    }
+                }
+                return -1;
+            }
+        }
+    }
+    
+    /**
+     * Get a range of a leaderboard over a time window of the current season.
+     * Totals are cached per window; increments not written yet are not included.
+     * @param window Weekly, monthly or season window
+     * @param type Leaderboard type; must be {@link LeaderboardType#isWindowed() windowed}
+     * @param offset Number of leading players to skip
+     * @param limit Maximum number of players
+     * @return Future with the players, best first
+     */
+    public CompletableFuture<List<LeaderboardEntry>> getLeaderboard(StatsWindow window, LeaderboardType type,
+                                                                    int offset, int limit) {
+        int minRounds = plugin.getConfigManager().getLeaderboardMinRounds();
+        return getWindowTotals(window).thenApply(totals -> {
+            List<LeaderboardEntry> ranking = totals.getRanking(type, minRounds);
+            if (offset >= ranking.size()) {
+                return List.of();
+            }
+            return new ArrayList<>(ranking.subList(offset, Math.min(ranking.size(), offset + limit)));
+        });
+    }
+    
+    /**
+     * Get the number of players on a windowed leaderboard, as of the last time it was loaded
+     * @param window Time window
+     * @param type Leaderboard type
+     * @return Ranked player count, or 0 if the window is not loaded
+     */
+    public int getLeaderboardSize(StatsWindow window, LeaderboardType type) {
+        WindowTotals totals = windowCache.get(window);
+        return totals != null ? totals.getRanking(type, plugin.getConfigManager().getLeaderboardMinRounds()).size() : 0;
+    }
+    
+    /**
+     * Get the summed buckets of a window, from the cache while it is fresh
+     */
+    private CompletableFuture<WindowTotals> getWindowTotals(StatsWindow window) {
+        WindowTotals cached = windowCache.get(window);
+        long maxAge = plugin.getConfigManager().getWindowedLeaderboardCacheDuration() * 1000L;
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt < maxAge) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        long firstDay = window.getFirstDay(toEpochDay(System.currentTimeMillis()));
+        return plugin.getDatabaseManager().supplyAsync(() -> {
+            WindowTotals totals = new WindowTotals(plugin.getDatabaseManager().loadStatBucketTotals(firstDay));
+            windowCache.put(window, totals);
+            return totals;
+        });
+    }
+    
+    /**
+     * Get the current season
+     * @return Current season, or null if it could not be loaded
+     */
+    public Season getCurrentSeason() {
+        return currentSeason;
+    }
+    
+    /**
+     * Archive the season totals of every player, clear the buckets and start a new season.
+     * Must be called on the main thread.
+     * @param sender Receives progress and result messages
+     * @param name Name of the new season, or null for a numbered name
+     */
+    public void rolloverSeason(CommandSender sender, String name) {
+        Season current = currentSeason;
+        if (current == null) {
+            sender.sendMessage(ChatColor.RED + "The current season is not loaded!");
+            return;
+        }
+        if (!rolloverInProgress.compareAndSet(false, true)) {
+            sender.sendMessage(ChatColor.RED + "A season rollover is already running!");
+            return;
+        }
+        
+        Season next = new Season(current.getId() + 1, name != null ? name : "Season " + (current.getId() + 1),
+            System.currentTimeMillis());
+        sender.sendMessage(ChatColor.YELLOW + "Ending " + current.getName() + "...");
+        
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        databaseManager.supplyAsync(() -> {
+            // Hold the flush lock until the rollover commits, so results recorded from here on
+            // stay pending and are written to the new season by the next flush
+            synchronized (flushLock) {
+                if (flushBuckets() < 0) {
+                    throw new IllegalStateException("stat buckets could not be written");
+                }
+                return databaseManager.rolloverSeason(current, next);
+            }
+        }).whenCompleteAsync((archived, error) -> {
+            rolloverInProgress.set(false);
+            if (error != null) {
+                plugin.getLogger().severe("Failed to roll over the season: " + error.getMessage());
+                error.printStackTrace();
+                sender.sendMessage(ChatColor.RED + "Season rollover failed: " + error.getMessage());
+                return;
+            }
+            
+            currentSeason = next;
+            windowCache.clear();
+            plugin.getLogger().info("Season " + current.getName() + " archived with " + archived + " players, "
+                + next.getName() + " started");
+            sender.sendMessage(ChatColor.GREEN + "Archived " + current.getName() + " (" + archived + " players). "
+                + next.getName() + " has started!");
+        }, databaseManager.getExecutor().mainThread());
+    }
+    
+    /**
+     * Get the epoch day of a time in the server time zone
+     */
+    private static long toEpochDay(long time) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault()).toEpochDay();
+    }
+    
+    /**
+     * Stop the flush task and write every pending increment
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        
+        int written = flushBuckets();
+        if (written > 0) {
+            plugin.getLogger().info("Saved " + written + " stat buckets on shutdown");
+        }
+    }
+    
+    /**
+     * Bucket totals of one window, ranked per leaderboard type on first use
+     */
+    private static class WindowTotals {
+        public final List<LeaderboardEntry> entries = new ArrayList<>();
+        public final long loadedAt = System.currentTimeMillis();
+        private final Map<LeaderboardType, List<LeaderboardEntry>> rankings = new EnumMap<>(LeaderboardType.class);
+        private int rankedMinRounds = -1;
+        
+        public WindowTotals(List<PlayerStats> totals) {
+            for (PlayerStats stats : totals) {
+                entries.add(LeaderboardEntry.of(stats));
+            }
+        }
+        
+        public synchronized List<LeaderboardEntry> getRanking(LeaderboardType type, int minRounds) {
+            if (minRounds != rankedMinRounds) {
+                rankings.clear();
+                rankedMinRounds = minRounds;
+            }
+            return rankings.computeIfAbsent(type, key -> entries.stream()
+                .filter(entry -> type.qualifies(entry, minRounds))
+                .sorted(Comparator.comparingLong(type::getScore).reversed()
+                    .thenComparing(LeaderboardEntry::getPlayerId))
+                .toList());
+        }
+    }
+}
\ No newline at end of file
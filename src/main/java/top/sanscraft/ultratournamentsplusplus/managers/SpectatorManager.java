@@ -296,9 +296,8 @@ public class SpectatorManager {
             return false;
         }
         
-        // Check if tournament has an active round
-        Round activeRound = plugin.getRoundManager().getActiveRoundForTournament(tournamentId);
-        if (activeRound != null) {
+        // Check the active rounds of the tournament, several of which can run at once
+        for (Round activeRound : plugin.getRoundManager().getActiveRoundsForTournament(tournamentId)) {
             // Get first available participant from the active round
             List<UUID> participants = activeRound.getParticipants();
             for (UUID participantId : participants) {
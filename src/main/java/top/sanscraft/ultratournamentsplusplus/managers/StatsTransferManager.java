@@ -0,0 +1,505 @@
+package top.sanscraft.ultratournamentsplusplus.managers;
+
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
+import top.sanscraft.ultratournamentsplusplus.storage.DatabaseManager;
+import top.sanscraft.ultratournamentsplusplus.utils.Glicko2;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports player statistics to NDJSON or CSV files and imports them again.
+ * Rows are streamed between the database and the file, so memory use does not grow with the player count.
+ */
+public class StatsTransferManager {
+    
+    public enum Format {
+        NDJSON("ndjson"), // One JSON object per line
+        CSV("csv");       // Header line followed by one row per player
+        
+        private final String extension;
+        
+        Format(String extension) {
+            this.extension = extension;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+    }
+    
+    private static final String[] FIELDS = {
+        "player_uuid", "player_name", "tournaments_played", "tournaments_won", "rounds_played", "rounds_won",
+        "total_kills", "total_deaths", "total_playtime", "first_played", "last_played", "win_streak",
+        "best_win_streak", "loss_streak", "average_round_duration", "favorite_kit", "favorite_arena",
+        "rating", "rating_deviation", "rating_volatility", "rating_period", "total_assists", "total_hits",
+        "damage_dealt", "damage_taken"
+    };
+    
+    private final UltraTournamentsPlusPlus plugin;
+    private final Gson gson = new Gson();
+    private final AtomicBoolean exportInProgress = new AtomicBoolean(false);
+    
+    public StatsTransferManager(UltraTournamentsPlusPlus plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Get the folder export files are written to and import files are read from
+     * @return Export folder inside the plugin data folder
+     */
+    public File getExportFolder() {
+        return new File(plugin.getDataFolder(), "exports");
+    }
+    
+    /**
+     * List the files in the export folder that can be imported
+     * @return File names
+     */
+    public List<String> getImportableFiles() {
+        List<String> names = new ArrayList<>();
+        File[] files = getExportFolder().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isFile() && formatOf(file.getName()) != null) {
+                    names.add(file.getName());
+                }
+            }
+        }
+        return names;
+    }
+    
+    /**
+     * Write all player stats to a new file in the export folder.
+     * Unsaved stats are flushed first; the file only appears once it is complete.
+     * @param sender Receives progress and result messages
+     * @param format File format
+     * @param gzip True to compress the file
+     */
+    public void exportStats(CommandSender sender, Format format, boolean gzip) {
+        if (!exportInProgress.compareAndSet(false, true)) {
+            sender.sendMessage(ChatColor.RED + "A stats export is already running!");
+            return;
+        }
+        
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File target = new File(getExportFolder(), "player-stats-" + timestamp + "." + format.getExtension() + (gzip ? ".gz" : ""));
+        sender.sendMessage(ChatColor.YELLOW + "Exporting player statistics to " + target.getName() + "...");
+        
+        long started = System.currentTimeMillis();
+        plugin.getPlayerStatsManager().collectDirtyStats();
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        databaseManager.supplyAsync(() -> {
+            if (plugin.getPlayerStatsManager().flushDirtyStats() < 0) {
+                plugin.getLogger().warning("Exporting player statistics without unsaved changes");
+            }
+            
+            File partial = new File(target.getPath() + ".tmp");
+            try {
+                Files.createDirectories(getExportFolder().toPath());
+                int rows;
+                try (Writer writer = openWriter(partial, gzip)) {
+                    if (format == Format.CSV) {
+                        writer.write(String.join(",", FIELDS));
+                        writer.write('\n');
+                    }
+                    
+                    rows = databaseManager.forEachPlayerStats(stats -> {
+                        try {
+                            writeRow(writer, format, stats);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+                moveIntoPlace(partial, target);
+                return rows;
+            } finally {
+                partial.delete();
+            }
+        }).whenCompleteAsync((rows, error) -> {
+            exportInProgress.set(false);
+            if (error != null) {
+                plugin.getLogger().severe("Failed to export player statistics: " + error.getMessage());
+                error.printStackTrace();
+                sender.sendMessage(ChatColor.RED + "Stats export failed: " + error.getMessage());
+                return;
+            }
+            
+            long took = System.currentTimeMillis() - started;
+            plugin.getLogger().info("Exported " + rows + " player statistics to " + target.getName() + " in " + took + "ms");
+            sender.sendMessage(ChatColor.GREEN + "Exported " + rows + " players to " + target.getName() + " in " + took + "ms.");
+        }, databaseManager.getExecutor().mainThread());
+    }
+    
+    /**
+     * Replace player stats with the rows of a file from the export folder.
+     * Players missing from the file are left untouched. The import runs in a single transaction,
+     * so a malformed file changes nothing.
+     * @param sender Receives progress and result messages
+     * @param fileName Name of an NDJSON or CSV file, optionally gzip compressed
+     */
+    public void importStats(CommandSender sender, String fileName) {
+        File file;
+        try {
+            file = new File(getExportFolder(), fileName).getCanonicalFile();
+            if (!file.getParentFile().equals(getExportFolder().getCanonicalFile()) || !file.isFile()) {
+                sender.sendMessage(ChatColor.RED + "File '" + fileName + "' not found in " + getExportFolder().getName() + "!");
+                return;
+            }
+        } catch (IOException e) {
+            sender.sendMessage(ChatColor.RED + "Invalid file name: " + fileName);
+            return;
+        }
+        
+        Format format = formatOf(file.getName());
+        if (format == null) {
+            sender.sendMessage(ChatColor.RED + "Unsupported file type! Use .ndjson or .csv, optionally with .gz");
+            return;
+        }
+        
+        MatchJournalManager journal = plugin.getMatchJournalManager();
+        if (!journal.beginBulkWrite()) {
+            sender.sendMessage(ChatColor.RED + "Player statistics are already being rebuilt or imported!");
+            return;
+        }
+        
+        sender.sendMessage(ChatColor.YELLOW + "Importing player statistics from " + file.getName() + "...");
+        
+        long started = System.currentTimeMillis();
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        
+        // Results recorded from here on are applied again on top of the imported rows
+        long sequence = journal.getAppliedSequence();
+        databaseManager.supplyAsync(() -> {
+            databaseManager.beginStatsRewrite();
+            try {
+                // Players missing from the file keep their stored rows, so those have to hold every change
+                if (plugin.getPlayerStatsManager().flushDirtyStats() < 0 || journal.flushJournal() < 0) {
+                    throw new IllegalStateException("changed stats could not be written");
+                }
+                
+                try (BufferedReader reader = openReader(file, file.getName().endsWith(".gz"))) {
+                    return databaseManager.importPlayerStats(new RowIterator(reader, format));
+                }
+            } catch (Exception e) {
+                databaseManager.abortStatsRewrite();
+                throw e;
+            }
+        }).whenCompleteAsync((rows, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to import player statistics: " + error.getMessage());
+                error.printStackTrace();
+                journal.abortBulkWrite();
+                sender.sendMessage(ChatColor.RED + "Stats import failed: " + error.getMessage());
+                return;
+            }
+            
+            long took = System.currentTimeMillis() - started;
+            plugin.getLogger().info("Imported " + rows + " player statistics from " + file.getName() + " in " + took + "ms");
+            journal.finishBulkWrite(sequence, false);
+            sender.sendMessage(ChatColor.GREEN + "Imported " + rows + " players from " + file.getName() + " in " + took + "ms.");
+        }, databaseManager.getExecutor().mainThread());
+    }
+    
+    /**
+     * Detect the format of a file from its extension
+     * @param fileName File name
+     * @return Format, or null if the file is not an export
+     */
+    private Format formatOf(String fileName) {
+        String name = fileName.toLowerCase();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        
+        if (name.endsWith(".csv")) {
+            return Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return Format.NDJSON;
+        }
+        return null;
+    }
+    
+    private Writer openWriter(File file, boolean gzip) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        if (gzip) {
+            out = new GZIPOutputStream(out, 64 * 1024);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+    
+    private BufferedReader openReader(File file, boolean gzip) throws IOException {
+        InputStream in = new FileInputStream(file);
+        if (gzip) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+    
+    /**
+     * Replace the target with a completely written file
+     */
+    private void moveIntoPlace(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * Write one player as a line of the export file
+     */
+    private void writeRow(Writer writer, Format format, PlayerStats stats) throws IOException {
+        Object[] values = toValues(stats);
+        
+        if (format == Format.NDJSON) {
+            JsonObject json = new JsonObject();
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (values[i] instanceof Number) {
+                    json.addProperty(FIELDS[i], (Number) values[i]);
+                } else {
+                    json.addProperty(FIELDS[i], (String) values[i]);
+                }
+            }
+            gson.toJson(json, writer);
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escapeCsv(values[i] != null ? String.valueOf(values[i]) : ""));
+            }
+        }
+        writer.write('\n');
+    }
+    
+    /**
+     * Get the exported values of a player, in {@link #FIELDS} order
+     */
+    private Object[] toValues(PlayerStats stats) {
+        return new Object[] {
+            stats.getPlayerId().toString(), stats.getPlayerName(), stats.getTournamentsPlayed(), stats.getTournamentsWon(),
+            stats.getRoundsPlayed(), stats.getRoundsWon(), stats.getTotalKills(), stats.getTotalDeaths(),
+            stats.getTotalPlayTime(), stats.getFirstPlayed(), stats.getLastPlayed(), stats.getWinStreak(),
+            stats.getBestWinStreak(), stats.getLossStreak(), stats.getAverageRoundDuration(), stats.getFavoriteKit(),
+            stats.getFavoriteArena(), stats.getRating(), stats.getRatingDeviation(),
+            stats.getRatingVolatility(), stats.getRatingPeriod(), stats.getTotalAssists(), stats.getTotalHits(),
+            stats.getTotalDamageDealt(), stats.getTotalDamageTaken()
+        };
+    }
+    
+    /**
+     * Create player stats from the fields of an imported row.
+     * Missing counters default to zero; the player UUID is required.
+     */
+    private PlayerStats fromFields(Map<String, String> fields) {
+        String playerId = fields.get("player_uuid");
+        if (playerId == null || playerId.isEmpty()) {
+            throw new IllegalArgumentException("missing player_uuid");
+        }
+        
+        PlayerStats stats = new PlayerStats(
+            UUID.fromString(playerId),
+            fields.getOrDefault("player_name", "Unknown"),
+            parseInt(fields.get("tournaments_played")),
+            parseInt(fields.get("tournaments_won")),
+            parseInt(fields.get("rounds_played")),
+            parseInt(fields.get("rounds_won")),
+            parseInt(fields.get("total_kills")),
+            parseInt(fields.get("total_deaths")),
+            parseLong(fields.get("total_playtime")),
+            parseLong(fields.get("first_played")),
+            parseLong(fields.get("last_played")),
+            parseInt(fields.get("win_streak")),
+            parseInt(fields.get("best_win_streak")),
+            parseInt(fields.get("loss_streak")),
+            fields.get("average_round_duration") != null && !fields.get("average_round_duration").isEmpty()
+                ? Double.parseDouble(fields.get("average_round_duration")) : 0.0,
+            emptyToNull(fields.get("favorite_kit")),
+            emptyToNull(fields.get("favorite_arena"))
+        );
+        
+        // Exports without ratings import as unrated players
+        stats.setRating(parseDouble(fields.get("rating"), Glicko2.DEFAULT_RATING));
+        stats.setRatingDeviation(parseDouble(fields.get("rating_deviation"), Glicko2.DEFAULT_DEVIATION));
+        stats.setRatingVolatility(parseDouble(fields.get("rating_volatility"), Glicko2.DEFAULT_VOLATILITY));
+        stats.setRatingPeriod(parseLong(fields.get("rating_period")));
+        stats.setTotalAssists(parseInt(fields.get("total_assists")));
+        stats.setTotalHits(parseInt(fields.get("total_hits")));
+        stats.setTotalDamageDealt(parseDouble(fields.get("damage_dealt"), 0.0));
+        stats.setTotalDamageTaken(parseDouble(fields.get("damage_taken"), 0.0));
+        return stats;
+    }
+    
+    private int parseInt(String value) {
+        return value != null && !value.isEmpty() ? Integer.parseInt(value) : 0;
+    }
+    
+    private long parseLong(String value) {
+        return value != null && !value.isEmpty() ? Long.parseLong(value) : 0L;
+    }
+    
+    private double parseDouble(String value, double defaultValue) {
+        return value != null && !value.isEmpty() ? Double.parseDouble(value) : defaultValue;
+    }
+    
+    private String emptyToNull(String value) {
+        return value != null && !value.isEmpty() ? value : null;
+    }
+    
+    /**
+     * Quote a CSV value if it contains a separator, quote or line break
+     */
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    
+    /**
+     * Split a CSV line into values, honouring quoted values
+     */
+    private List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+    
+    /**
+     * Parses an import file one line at a time, so only the current row is held in memory
+     */
+    private class RowIterator implements Iterator<PlayerStats> {
+        private final BufferedReader reader;
+        private final Format format;
+        private List<String> header;
+        private String nextLine;
+        private int lineNumber = 0;
+        
+        RowIterator(BufferedReader reader, Format format) {
+            this.reader = reader;
+            this.format = format;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (nextLine != null) {
+                return true;
+            }
+            
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    if (format == Format.CSV && header == null) {
+                        header = parseCsvLine(line.trim());
+                        continue;
+                    }
+                    nextLine = line;
+                    return true;
+                }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        @Override
+        public PlayerStats next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            String line = nextLine;
+            nextLine = null;
+            try {
+                return fromFields(format == Format.CSV ? csvFields(line) : jsonFields(line));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid row on line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        
+        private Map<String, String> csvFields(String line) {
+            List<String> values = parseCsvLine(line);
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            return fields;
+        }
+        
+        private Map<String, String> jsonFields(String line) {
+            JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+            Map<String, String> fields = new HashMap<>();
+            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+                if (!entry.getValue().isJsonNull()) {
+                    fields.put(entry.getKey(), entry.getValue().getAsString());
+                }
+            }
+            return fields;
+        }
+    }
+}
\ No newline at end of file
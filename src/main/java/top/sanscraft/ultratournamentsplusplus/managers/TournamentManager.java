@@ -1,10 +1,18 @@
 package top.sanscraft.ultratournamentsplusplus.managers;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
 import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.models.Round;
 import top.sanscraft.ultratournamentsplusplus.models.Tournament;
+import top.sanscraft.ultratournamentsplusplus.models.TournamentType;
+import top.sanscraft.ultratournamentsplusplus.storage.DatabaseManager;
 import java.util.Collection;
 
 /**
@@ -14,34 +22,262 @@ public class TournamentManager {
     
     private final UltraTournamentsPlusPlus plugin;
     private final Map<String, Tournament> tournaments;
+    private final Map<String, List<Round>> tournamentRounds; // Tournament key -> rounds in creation order
+    private final List<Round> interruptedRounds; // Loaded rounds that were still running at the last shutdown
+    private final Set<String> dirtyTournaments; // Tournaments with unsaved column changes
+    private final Set<String> dirtyParticipants; // Tournaments with an unsaved participant list
+    private final Map<String, Round> dirtyRounds; // Rounds with unsaved changes
+    private final Set<String> deletedTournaments; // Tournaments still to be deleted from the database
+    private final AtomicBoolean saveInProgress = new AtomicBoolean(false);
+    private final Object saveLock = new Object();
+    private volatile PendingChanges inFlight;
+    private BukkitTask saveTask;
     
     public TournamentManager(UltraTournamentsPlusPlus plugin) {
         this.plugin = plugin;
-        this.tournaments = new HashMap<>();
+        this.tournaments = new ConcurrentHashMap<>();
+        this.tournamentRounds = new ConcurrentHashMap<>();
+        this.interruptedRounds = new ArrayList<>();
+        this.dirtyTournaments = ConcurrentHashMap.newKeySet();
+        this.dirtyParticipants = ConcurrentHashMap.newKeySet();
+        this.dirtyRounds = new ConcurrentHashMap<>();
+        this.deletedTournaments = ConcurrentHashMap.newKeySet();
+        
+        // Start write-behind task for changed tournaments and rounds
+        startSaveTask();
     }
     
     /**
      * Load tournaments from storage
      */
     public void loadTournaments() {
-        // TODO: Implement tournament loading logic
         plugin.getLogger().info("Loading tournaments from storage...");
+        
+        try {
+            for (Tournament tournament : plugin.getDatabaseManager().loadTournaments()) {
+                tournaments.put(tournament.getName().toLowerCase(), tournament);
+            }
+            
+            int roundCount = 0;
+            for (Round round : plugin.getDatabaseManager().loadRounds()) {
+                String key = round.getTournamentId().toLowerCase();
+                if (!tournaments.containsKey(key)) {
+                    continue;
+                }
+                
+                tournamentRounds.computeIfAbsent(key, k -> new ArrayList<>()).add(round);
+                if (!round.isFinished()) {
+                    interruptedRounds.add(round);
+                }
+                roundCount++;
+            }
+            
+            plugin.getLogger().info("Loaded " + tournaments.size() + " tournaments with " + roundCount + " rounds ("
+                + interruptedRounds.size() + " interrupted)");
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to load tournaments: " + e.getMessage());
+            e.printStackTrace();
+        }
     }
     
     /**
-     * Save tournaments to storage
+     * Start the periodic write-behind task.
+     * Changes are collected on the main thread, where tournaments and rounds are modified,
+     * and written asynchronously.
+     */
+    private void startSaveTask() {
+        long interval = plugin.getConfigManager().getTournamentFlushInterval() * 20L;
+        saveTask = Bukkit.getScheduler().runTaskTimer(plugin, this::saveChangesAsync, interval, interval);
+    }
+    
+    /**
+     * Write pending changes in the background.
+     * Skipped while a previous save is still running so that writes never overtake each other.
+     */
+    private void saveChangesAsync() {
+        if (!saveInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        
+        PendingChanges changes = collectChanges();
+        if (changes.isEmpty()) {
+            saveInProgress.set(false);
+            return;
+        }
+        
+        inFlight = changes;
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        databaseManager.runAsync(() -> writeChanges(changes)).whenCompleteAsync((ignored, error) -> {
+            inFlight = null;
+            saveInProgress.set(false);
+            
+            if (error != null) {
+                plugin.getLogger().warning("Failed to save " + changes.size() + " tournament changes: " + error.getMessage());
+                
+                // Keep the changes queued for the next attempt
+                requeue(changes);
+            }
+        }, databaseManager.getExecutor().mainThread());
+    }
+    
+    /**
+     * Take a snapshot of everything changed since the last save and clear the dirty flags.
+     * Must be called on the main thread.
+     */
+    private PendingChanges collectChanges() {
+        PendingChanges changes = new PendingChanges();
+        
+        changes.deleted.addAll(deletedTournaments);
+        deletedTournaments.removeAll(changes.deleted);
+        
+        for (String key : new ArrayList<>(dirtyTournaments)) {
+            dirtyTournaments.remove(key);
+            Tournament tournament = tournaments.get(key);
+            if (tournament != null) {
+                changes.tournaments.add(tournament.copy());
+            }
+        }
+        
+        for (String key : new ArrayList<>(dirtyParticipants)) {
+            dirtyParticipants.remove(key);
+            Tournament tournament = tournaments.get(key);
+            if (tournament != null) {
+                changes.participantLists.add(tournament.copy());
+            }
+        }
+        
+        for (Round round : new ArrayList<>(dirtyRounds.values())) {
+            dirtyRounds.remove(round.getId(), round);
+            changes.rounds.add(round.copy());
+        }
+        
+        return changes;
+    }
+    
+    /**
+     * Write a snapshot of changes, at most once
+     */
+    private void writeChanges(PendingChanges changes) throws Exception {
+        synchronized (saveLock) {
+            if (changes.written) {
+                return;
+            }
+            plugin.getDatabaseManager().saveTournamentChanges(
+                changes.deleted, changes.tournaments, changes.participantLists, changes.rounds);
+            changes.written = true;
+        }
+    }
+    
+    /**
+     * Mark the entities of a failed save as dirty again
+     */
+    private void requeue(PendingChanges changes) {
+        deletedTournaments.addAll(changes.deleted);
+        for (Tournament tournament : changes.tournaments) {
+            dirtyTournaments.add(tournament.getName().toLowerCase());
+        }
+        for (Tournament tournament : changes.participantLists) {
+            dirtyParticipants.add(tournament.getName().toLowerCase());
+        }
+        for (Round round : changes.rounds) {
+            // A newer change to the same round may already be queued
+            if (tournaments.containsKey(round.getTournamentId().toLowerCase())) {
+                dirtyRounds.putIfAbsent(round.getId(), round);
+            }
+        }
+    }
+    
+    /**
+     * Save tournaments to storage.
+     * Writes every pending change synchronously, after any save still running in the background.
      */
     public void saveTournaments() {
-        // TODO: Implement tournament saving logic
         plugin.getLogger().info("Saving tournaments to storage...");
+        
+        PendingChanges changes = collectChanges();
+        try {
+            PendingChanges running = inFlight;
+            if (running != null) {
+                writeChanges(running);
+            }
+            writeChanges(changes);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to save tournaments: " + e.getMessage());
+            e.printStackTrace();
+            requeue(changes);
+        }
     }
     
     /**
      * Reload tournament manager
      */
     public void reload() {
-        // TODO: Implement reload logic
         plugin.getLogger().info("Reloading tournament manager...");
+        saveTournaments();
+    }
+    
+    /**
+     * Stop the write-behind task and save all pending changes
+     */
+    public void shutdown() {
+        if (saveTask != null) {
+            saveTask.cancel();
+        }
+        saveTournaments();
+    }
+    
+    /**
+     * Mark a tournament as changed so it is written on the next save
+     * @param tournament Changed tournament
+     */
+    public void markDirty(Tournament tournament) {
+        dirtyTournaments.add(tournament.getName().toLowerCase());
+    }
+    
+    /**
+     * Mark the participant list of a tournament as changed
+     * @param tournament Tournament whose participants changed
+     */
+    public void markParticipantsDirty(Tournament tournament) {
+        dirtyParticipants.add(tournament.getName().toLowerCase());
+    }
+    
+    /**
+     * Mark a round as changed so it is written on the next save
+     * @param round Changed round
+     */
+    public void markRoundDirty(Round round) {
+        dirtyRounds.put(round.getId(), round);
+    }
+    
+    /**
+     * Start tracking a newly created round as part of its tournament's history
+     * @param round New round
+     */
+    public void trackRound(Round round) {
+        tournamentRounds.computeIfAbsent(round.getTournamentId().toLowerCase(), k -> new ArrayList<>()).add(round);
+        markRoundDirty(round);
+    }
+    
+    /**
+     * Get all rounds played or scheduled in a tournament
+     * @param name Tournament name
+     * @return Rounds in creation order
+     */
+    public List<Round> getRounds(String name) {
+        List<Round> rounds = tournamentRounds.get(name.toLowerCase());
+        return rounds != null ? new ArrayList<>(rounds) : new ArrayList<>();
+    }
+    
+    /**
+     * Hand over the rounds that were still running when the server last stopped.
+     * Can only be taken once.
+     * @return Interrupted rounds
+     */
+    public List<Round> takeInterruptedRounds() {
+        List<Round> rounds = new ArrayList<>(interruptedRounds);
+        interruptedRounds.clear();
+        return rounds;
     }
     
     /**
@@ -70,13 +306,28 @@ public class TournamentManager {
     }
     
     /**
-     * Create a new tournament
+     * Create a new tournament with the configured defaults
      * @param name Tournament name
-     * @return Created tournament
+     * @return Created tournament, or null if the name is already taken
      */
     public Tournament createTournament(String name) {
-        // TODO: Implement tournament creation logic
-        return null;
+        String key = name.toLowerCase();
+        if (tournaments.containsKey(key)) {
+            return null;
+        }
+        
+        TournamentType type;
+        try {
+            type = TournamentType.valueOf(plugin.getConfigManager().getDefaultTournamentType().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid default tournament type, using SINGLE_ELIMINATION");
+            type = TournamentType.SINGLE_ELIMINATION;
+        }
+        
+        Tournament tournament = new Tournament(name, "", type, plugin.getConfigManager().getDefaultMaxParticipants(), null);
+        tournaments.put(key, tournament);
+        markDirty(tournament);
+        return tournament;
     }
     
     /**
@@ -85,7 +336,39 @@ public class TournamentManager {
      * @return True if deleted, false if not found
      */
     public boolean deleteTournament(String name) {
-        // TODO: Implement tournament deletion logic
-        return tournaments.remove(name.toLowerCase()) != null;
+        String key = name.toLowerCase();
+        if (tournaments.remove(key) == null) {
+            return false;
+        }
+        
+        dirtyTournaments.remove(key);
+        dirtyParticipants.remove(key);
+        List<Round> rounds = tournamentRounds.remove(key);
+        if (rounds != null) {
+            for (Round round : rounds) {
+                dirtyRounds.remove(round.getId());
+            }
+        }
+        deletedTournaments.add(key);
+        return true;
+    }
+    
+    /**
+     * Snapshot of changes written by one save
+     */
+    private static class PendingChanges {
+        public final List<String> deleted = new ArrayList<>();
+        public final List<Tournament> tournaments = new ArrayList<>();
+        public final List<Tournament> participantLists = new ArrayList<>();
+        public final List<Round> rounds = new ArrayList<>();
+        public boolean written;
+        
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+        
+        public int size() {
+            return deleted.size() + tournaments.size() + participantLists.size() + rounds.size();
+        }
     }
 }
\ No newline at end of file
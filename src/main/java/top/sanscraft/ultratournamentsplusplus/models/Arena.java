@@ -124,6 +124,25 @@ public class Arena {
         return teams.remove(team);
     }
     
+    /**
+     * Create a detached copy of this arena, e.g. for writing it to storage
+     * @return Copy with the same name and creation time
+     */
+    public Arena copy() {
+        Arena copy = new Arena(name, type, world, creator);
+        copy.description = description;
+        copy.createdTime = createdTime;
+        copy.buildingEnabled = buildingEnabled;
+        copy.maxPlayers = maxPlayers;
+        copy.worldGuardRegion = worldGuardRegion;
+        copy.spawnPoints = new ArrayList<>(spawnPoints);
+        copy.goalLocation = goalLocation != null ? goalLocation.clone() : null;
+        copy.timeLimit = timeLimit;
+        copy.teamBased = teamBased;
+        copy.teams = new ArrayList<>(teams);
+        return copy;
+    }
+    
     /**
      * Get spawn points for a specific team
      * @param team Team name
@@ -0,0 +1,157 @@
+package top.sanscraft.ultratournamentsplusplus.models;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-wide totals, updated as results are recorded so a summary never scans player stats.
+ * Counters can be read from any thread while they are updated. Changes are stored as increments,
+ * so several servers sharing a database each add their own results.
+ */
+public class GlobalStats {
+    
+    public static final String PLAYERS = "players";
+    public static final String TOURNAMENTS = "tournaments";
+    public static final String ROUNDS = "rounds";
+    public static final String KILLS = "kills";
+    public static final String PLAYTIME = "playtime";
+    public static final String ROUND_DURATION = "round_duration";
+    
+    private final LongAdder players = new LongAdder();
+    private final LongAdder tournaments = new LongAdder();
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder kills = new LongAdder();
+    private final LongAdder playtime = new LongAdder(); // in milliseconds
+    private final LongAdder roundDuration = new LongAdder(); // Summed over all rounds, in milliseconds
+    private final Map<String, LongAdder> counters = new LinkedHashMap<>();
+    private Map<String, Long> stored = new LinkedHashMap<>(); // Values as of the last load or taken changes
+    
+    public GlobalStats() {
+        counters.put(PLAYERS, players);
+        counters.put(TOURNAMENTS, tournaments);
+        counters.put(ROUNDS, rounds);
+        counters.put(KILLS, kills);
+        counters.put(PLAYTIME, playtime);
+        counters.put(ROUND_DURATION, roundDuration);
+    }
+    
+    /**
+     * Count a player whose stats were stored for the first time
+     */
+    public void recordPlayer() {
+        players.increment();
+    }
+    
+    /**
+     * Count one side of an applied journal entry.
+     * Tournaments and rounds are counted on the winner's side only, so every result counts once.
+     * Playtime is counted on both sides, matching the sum of every player's playtime.
+     * @param entry Journal entry
+     * @param won True for the winner's side
+     */
+    public void recordJournalEntry(MatchJournalEntry entry, boolean won) {
+        if (entry.getType() == MatchJournalEntry.EntryType.ROUND) {
+            kills.add(won ? entry.getWinnerKills() : entry.getLoserKills());
+            playtime.add(entry.getDuration());
+            if (won) {
+                recordRound(entry.getDuration());
+            }
+        } else if (entry.getType() == MatchJournalEntry.EntryType.TOURNAMENT_WIN && won) {
+            tournaments.increment();
+        }
+    }
+    
+    /**
+     * Count a finished round
+     * @param duration Round duration in milliseconds
+     */
+    public void recordRound(long duration) {
+        rounds.increment();
+        roundDuration.add(duration);
+    }
+    
+    /**
+     * Add kills
+     * @param count Number of kills
+     */
+    public void addKills(int count) {
+        kills.add(count);
+    }
+    
+    public long getPlayers() { return players.sum(); }
+    public long getTournaments() { return tournaments.sum(); }
+    public long getRounds() { return rounds.sum(); }
+    public long getKills() { return kills.sum(); }
+    public long getPlaytime() { return playtime.sum(); }
+    
+    /**
+     * Get the average duration of a round
+     * @return Average duration in milliseconds, 0 if no round was played
+     */
+    public double getAverageRoundDuration() {
+        long count = rounds.sum();
+        return count > 0 ? (double) roundDuration.sum() / count : 0.0;
+    }
+    
+    /**
+     * Get every counter for storage
+     * @return Counter values by key
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        counters.forEach((key, counter) -> values.put(key, counter.sum()));
+        return values;
+    }
+    
+    /**
+     * Replace every counter with stored values, dropping changes not taken yet.
+     * Must not run while counters are updated.
+     * @param values Counter values by key; missing keys reset to 0
+     */
+    public synchronized void load(Map<String, Long> values) {
+        counters.forEach((key, counter) -> {
+            counter.reset();
+            counter.add(values.getOrDefault(key, 0L));
+        });
+        stored = toMap();
+    }
+    
+    /**
+     * Take the changes made since the last load or taken changes, for adding them to the stored totals
+     * @return Changes by key, only keys that changed
+     */
+    public synchronized Map<String, Long> takeChanges() {
+        Map<String, Long> current = toMap();
+        Map<String, Long> changes = new LinkedHashMap<>();
+        current.forEach((key, value) -> {
+            long change = value - stored.getOrDefault(key, 0L);
+            if (change != 0) {
+                changes.put(key, change);
+            }
+        });
+        stored = current;
+        return changes;
+    }
+    
+    /**
+     * Give back changes that could not be stored, so the next take includes them again
+     * @param changes Changes returned by {@link #takeChanges()}
+     */
+    public synchronized void restoreChanges(Map<String, Long> changes) {
+        changes.forEach((key, change) -> stored.merge(key, -change, Long::sum));
+    }
+    
+    /**
+     * Adopt stored totals that include every taken change, e.g. results written by other servers.
+     * Changes made since the last take are kept on top.
+     * @param values Stored counter values by key
+     */
+    public synchronized void refresh(Map<String, Long> values) {
+        counters.forEach((key, counter) -> {
+            long value = values.getOrDefault(key, 0L);
+            counter.add(value - stored.getOrDefault(key, 0L));
+            stored.put(key, value);
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+package top.sanscraft.ultratournamentsplusplus.models;
+
+import java.util.UUID;
+
+/**
+ * Results between two players.
+ * The pair is stored in UUID order, so both players of a matchup share one record; wins are
+ * read per player. Records kept as increments only hold what changed since they were written.
+ */
+public class HeadToHead {
+    
+    private final UUID playerA; // Lower UUID of the pair
+    private final UUID playerB;
+    private int winsA;
+    private int winsB;
+    private long lastMeeting;
+    private UUID lastWinner;
+    
+    public HeadToHead(UUID first, UUID second) {
+        boolean ordered = first.compareTo(second) <= 0;
+        this.playerA = ordered ? first : second;
+        this.playerB = ordered ? second : first;
+    }
+    
+    public HeadToHead(UUID playerA, UUID playerB, int winsA, int winsB, long lastMeeting, UUID lastWinner) {
+        this(playerA, playerB);
+        boolean ordered = this.playerA.equals(playerA);
+        this.winsA = ordered ? winsA : winsB;
+        this.winsB = ordered ? winsB : winsA;
+        this.lastMeeting = lastMeeting;
+        this.lastWinner = lastWinner;
+    }
+    
+    // Getters
+    public UUID getPlayerA() { return playerA; }
+    public UUID getPlayerB() { return playerB; }
+    public int getWinsA() { return winsA; }
+    public int getWinsB() { return winsB; }
+    public long getLastMeeting() { return lastMeeting; }
+    public UUID getLastWinner() { return lastWinner; }
+    
+    /**
+     * Get the number of meetings a player won
+     * @param playerId One of the two players
+     * @return Wins of that player
+     */
+    public int getWins(UUID playerId) {
+        return playerId.equals(playerA) ? winsA : playerId.equals(playerB) ? winsB : 0;
+    }
+    
+    /**
+     * Get the number of meetings
+     * @return Total of both players' wins
+     */
+    public int getMeetings() {
+        return winsA + winsB;
+    }
+    
+    /**
+     * Count a meeting
+     * @param winner Winner, one of the two players
+     * @param time When the meeting ended
+     */
+    public void recordResult(UUID winner, long time) {
+        if (winner.equals(playerA)) {
+            winsA++;
+        } else {
+            winsB++;
+        }
+        if (time >= lastMeeting) {
+            lastMeeting = time;
+            lastWinner = winner;
+        }
+    }
+    
+    /**
+     * Add the meetings of another record of the same pair
+     * @param other Record to merge
+     */
+    public void merge(HeadToHead other) {
+        winsA += other.winsA;
+        winsB += other.winsB;
+        if (other.lastMeeting >= lastMeeting) {
+            lastMeeting = other.lastMeeting;
+            lastWinner = other.lastWinner;
+        }
+    }
+    
+    /**
+     * Get a copy of this record
+     * @return New record with the same results
+     */
+    public HeadToHead copy() {
+        HeadToHead copy = new HeadToHead(playerA, playerB);
+        copy.merge(this);
+        return copy;
+    }
+    
+    /**
+     * Get the key identifying this pair
+     * @return Pair key
+     */
+    public Key getKey() {
+        return new Key(playerA, playerB);
+    }
+    
+    /**
+     * Build the key of a pair of players, in either order
+     * @param first One player
+     * @param second The other player
+     * @return Pair key
+     */
+    public static Key key(UUID first, UUID second) {
+        return first.compareTo(second) <= 0 ? new Key(first, second) : new Key(second, first);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("HeadToHead{%s=%d, %s=%d, lastMeeting=%d}", playerA, winsA, playerB, winsB, lastMeeting);
+    }
+    
+    /**
+     * Ordered pair of player UUIDs packed into four longs
+     */
+    public static final class Key {
+        private final long mostA;
+        private final long leastA;
+        private final long mostB;
+        private final long leastB;
+        
+        private Key(UUID playerA, UUID playerB) {
+            this.mostA = playerA.getMostSignificantBits();
+            this.leastA = playerA.getLeastSignificantBits();
+            this.mostB = playerB.getMostSignificantBits();
+            this.leastB = playerB.getLeastSignificantBits();
+        }
+        
+        public UUID getPlayerA() { return new UUID(mostA, leastA); }
+        public UUID getPlayerB() { return new UUID(mostB, leastB); }
+        
+        /**
+         * Check if a player is part of this pair
+         * @param playerId Player UUID
+         * @return True if the player is one of the two
+         */
+        public boolean contains(UUID playerId) {
+            long most = playerId.getMostSignificantBits();
+            long least = playerId.getLeastSignificantBits();
+            return (most == mostA && least == leastA) || (most == mostB && least == leastB);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return mostA == other.mostA && leastA == other.leastA && mostB == other.mostB && leastB == other.leastB;
+        }
+        
+        @Override
+        public int hashCode() {
+            long hash = mostA * 31 + leastA;
+            hash = hash * 31 + mostB;
+            hash = hash * 31 + leastB;
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+}
\ No newline at end of file
@@ -3,18 +3,29 @@ package top.sanscraft.ultratournamentsplusplus.models;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
- * Represents a kit that can be applied to players
+ * Represents a kit that can be applied to players.
+ * Kits loaded from storage keep their contents as a compressed blob that is only
+ * deserialized the first time the items or effects are used.
  */
 public class Kit {
     
+    private static final int CONTENTS_FORMAT = 1;
+    
     private String name;
     private String description;
     private UUID creator;
@@ -35,6 +46,11 @@ public class Kit {
     private boolean resetExperience;
     private int experienceLevel;
     
+    // Stored form of the contents
+    private byte[] storedContents; // Compressed contents, kept until the contents change
+    private boolean contentsLoaded; // False while the contents only exist in storedContents
+    private String contentsError; // Why the stored contents could not be read
+    
     public Kit(String name, UUID creator) {
         this.name = name;
         this.creator = creator;
@@ -47,6 +63,7 @@ public class Kit {
         this.resetHunger = true;
         this.resetExperience = true;
         this.experienceLevel = 0;
+        this.contentsLoaded = true;
     }
     
     // Basic getters and setters
@@ -63,29 +80,40 @@ public class Kit {
     public void setCreatedTime(long createdTime) { this.createdTime = createdTime; }
     
     // Inventory management
-    public ItemStack[] getItems() { return items.clone(); }
+    public ItemStack[] getItems() { loadContents(); return items.clone(); }
     public void setItems(ItemStack[] items) { 
+        loadContents();
         this.items = new ItemStack[36];
         System.arraycopy(items, 0, this.items, 0, Math.min(items.length, 36));
+        contentsChanged();
     }
     
-    public ItemStack[] getArmor() { return armor.clone(); }
+    public ItemStack[] getArmor() { loadContents(); return armor.clone(); }
     public void setArmor(ItemStack[] armor) { 
+        loadContents();
         this.armor = new ItemStack[4];
         System.arraycopy(armor, 0, this.armor, 0, Math.min(armor.length, 4));
+        contentsChanged();
     }
     
-    public ItemStack getOffHand() { return offHand != null ? offHand.clone() : null; }
-    public void setOffHand(ItemStack offHand) { this.offHand = offHand != null ? offHand.clone() : null; }
+    public ItemStack getOffHand() { loadContents(); return offHand != null ? offHand.clone() : null; }
+    public void setOffHand(ItemStack offHand) { 
+        loadContents();
+        this.offHand = offHand != null ? offHand.clone() : null;
+        contentsChanged();
+    }
     
     // Individual item access
     public void setItem(int slot, ItemStack item) {
         if (slot >= 0 && slot < 36) {
+            loadContents();
             items[slot] = item != null ? item.clone() : null;
+            contentsChanged();
         }
     }
     
     public ItemStack getItem(int slot) {
+        loadContents();
         if (slot >= 0 && slot < 36 && items[slot] != null) {
             return items[slot].clone();
         }
@@ -93,32 +121,54 @@ public class Kit {
     }
     
     // Armor specific methods
-    public void setHelmet(ItemStack helmet) { armor[3] = helmet != null ? helmet.clone() : null; }
-    public void setChestplate(ItemStack chestplate) { armor[2] = chestplate != null ? chestplate.clone() : null; }
-    public void setLeggings(ItemStack leggings) { armor[1] = leggings != null ? leggings.clone() : null; }
-    public void setBoots(ItemStack boots) { armor[0] = boots != null ? boots.clone() : null; }
+    public void setHelmet(ItemStack helmet) { setArmorPiece(3, helmet); }
+    public void setChestplate(ItemStack chestplate) { setArmorPiece(2, chestplate); }
+    public void setLeggings(ItemStack leggings) { setArmorPiece(1, leggings); }
+    public void setBoots(ItemStack boots) { setArmorPiece(0, boots); }
+    
+    public ItemStack getHelmet() { return getArmorPiece(3); }
+    public ItemStack getChestplate() { return getArmorPiece(2); }
+    public ItemStack getLeggings() { return getArmorPiece(1); }
+    public ItemStack getBoots() { return getArmorPiece(0); }
+    
+    private void setArmorPiece(int slot, ItemStack piece) {
+        loadContents();
+        armor[slot] = piece != null ? piece.clone() : null;
+        contentsChanged();
+    }
     
-    public ItemStack getHelmet() { return armor[3] != null ? armor[3].clone() : null; }
-    public ItemStack getChestplate() { return armor[2] != null ? armor[2].clone() : null; }
-    public ItemStack getLeggings() { return armor[1] != null ? armor[1].clone() : null; }
-    public ItemStack getBoots() { return armor[0] != null ? armor[0].clone() : null; }
+    private ItemStack getArmorPiece(int slot) {
+        loadContents();
+        return armor[slot] != null ? armor[slot].clone() : null;
+    }
     
     // Potion effects
-    public List<PotionEffect> getPotionEffects() { return new ArrayList<>(potionEffects); }
+    public List<PotionEffect> getPotionEffects() { loadContents(); return new ArrayList<>(potionEffects); }
     public void setPotionEffects(List<PotionEffect> potionEffects) { 
+        loadContents();
         this.potionEffects = new ArrayList<>(potionEffects); 
+        contentsChanged();
     }
     
     public void addPotionEffect(PotionEffect effect) {
+        loadContents();
         potionEffects.add(effect);
+        contentsChanged();
     }
     
     public boolean removePotionEffect(PotionEffect effect) {
-        return potionEffects.remove(effect);
+        loadContents();
+        boolean removed = potionEffects.remove(effect);
+        if (removed) {
+            contentsChanged();
+        }
+        return removed;
     }
     
     public void clearPotionEffects() {
+        loadContents();
         potionEffects.clear();
+        contentsChanged();
     }
     
     // Kit settings
@@ -144,10 +194,7 @@ public class Kit {
     public Kit clone() {
         Kit cloned = new Kit(name + "_copy", creator);
         cloned.setDescription(description);
-        cloned.setItems(items);
-        cloned.setArmor(armor);
-        cloned.setOffHand(offHand);
-        cloned.setPotionEffects(potionEffects);
+        copyContentsTo(cloned);
         cloned.setClearInventory(clearInventory);
         cloned.setResetHealth(resetHealth);
         cloned.setResetHunger(resetHunger);
@@ -156,11 +203,160 @@ public class Kit {
         return cloned;
     }
     
+    /**
+     * Create a detached copy of this kit for storage, with the contents in their stored form.
+     * Must be called on the main thread.
+     * @return Copy with the same name and creation time
+     * @throws IOException If the contents cannot be serialized
+     */
+    public Kit copy() throws IOException {
+        Kit copy = new Kit(name, creator);
+        copy.description = description;
+        copy.createdTime = createdTime;
+        copy.clearInventory = clearInventory;
+        copy.resetHealth = resetHealth;
+        copy.resetHunger = resetHunger;
+        copy.resetExperience = resetExperience;
+        copy.experienceLevel = experienceLevel;
+        copy.setStoredContents(getStoredContents());
+        return copy;
+    }
+    
+    /**
+     * Give another kit the same contents, without deserializing contents that were never used
+     */
+    private void copyContentsTo(Kit target) {
+        if (!contentsLoaded) {
+            target.setStoredContents(storedContents);
+            return;
+        }
+        target.setItems(items);
+        target.setArmor(armor);
+        target.setOffHand(offHand);
+        target.setPotionEffects(potionEffects);
+    }
+    
+    /**
+     * Replace the contents with their stored form, deserialized on first use
+     * @param data Compressed contents as returned by {@link #getStoredContents()}
+     */
+    public void setStoredContents(byte[] data) {
+        storedContents = data;
+        contentsLoaded = data == null;
+        contentsError = null;
+        items = new ItemStack[36];
+        armor = new ItemStack[4];
+        offHand = null;
+        potionEffects = new ArrayList<>();
+    }
+    
+    /**
+     * Get the contents in their stored form, serializing them if they changed since the last call
+     * @return Compressed contents
+     * @throws IOException If the contents cannot be serialized
+     */
+    public byte[] getStoredContents() throws IOException {
+        if (storedContents == null) {
+            storedContents = encodeContents();
+        }
+        return storedContents;
+    }
+    
+    /**
+     * Check if the contents have been deserialized
+     * @return False while the contents only exist in their stored form
+     */
+    public boolean isContentsLoaded() {
+        return contentsLoaded;
+    }
+    
+    /**
+     * Deserialize the stored contents on first use.
+     * Unreadable contents leave the kit empty; the stored form is kept so it is not overwritten.
+     */
+    private void loadContents() {
+        if (contentsLoaded) {
+            return;
+        }
+        contentsLoaded = true;
+        
+        try {
+            decodeContents(storedContents);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            contentsError = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            items = new ItemStack[36];
+            armor = new ItemStack[4];
+            offHand = null;
+            potionEffects = new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Drop the stored form after a change so it is serialized again on the next save
+     */
+    private void contentsChanged() {
+        storedContents = null;
+        contentsError = null;
+    }
+    
+    private byte[] encodeContents() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BukkitObjectOutputStream out = new BukkitObjectOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeInt(CONTENTS_FORMAT);
+            writeStacks(out, items);
+            writeStacks(out, armor);
+            out.writeObject(offHand);
+            out.writeInt(potionEffects.size());
+            for (PotionEffect effect : potionEffects) {
+                out.writeObject(effect);
+            }
+        }
+        return bytes.toByteArray();
+    }
+    
+    private void decodeContents(byte[] data) throws IOException, ClassNotFoundException {
+        try (BukkitObjectInputStream in = new BukkitObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            int format = in.readInt();
+            if (format != CONTENTS_FORMAT) {
+                throw new IOException("Unsupported kit contents format " + format);
+            }
+            items = readStacks(in, 36);
+            armor = readStacks(in, 4);
+            offHand = (ItemStack) in.readObject();
+            
+            int effectCount = in.readInt();
+            potionEffects = new ArrayList<>(effectCount);
+            for (int i = 0; i < effectCount; i++) {
+                potionEffects.add((PotionEffect) in.readObject());
+            }
+        }
+    }
+    
+    private static void writeStacks(BukkitObjectOutputStream out, ItemStack[] stacks) throws IOException {
+        out.writeInt(stacks.length);
+        for (ItemStack stack : stacks) {
+            out.writeObject(stack);
+        }
+    }
+    
+    private static ItemStack[] readStacks(BukkitObjectInputStream in, int size) throws IOException, ClassNotFoundException {
+        ItemStack[] stacks = new ItemStack[size];
+        int stored = in.readInt();
+        for (int i = 0; i < stored; i++) {
+            ItemStack stack = (ItemStack) in.readObject();
+            if (i < size) {
+                stacks[i] = stack;
+            }
+        }
+        return stacks;
+    }
+    
     /**
      * Count non-null items in the kit
      * @return Number of items
      */
     public int getItemCount() {
+        loadContents();
         int count = 0;
         for (ItemStack item : items) {
             if (item != null && item.getType() != Material.AIR) {
@@ -191,6 +387,7 @@ public class Kit {
      * @return Map of material to count
      */
     public Map<Material, Integer> getItemSummary() {
+        loadContents();
         Map<Material, Integer> summary = new HashMap<>();
         
         // Count main inventory items
@@ -230,6 +427,11 @@ public class Kit {
             errors.add("Experience level cannot be negative");
         }
         
+        loadContents();
+        if (contentsError != null) {
+            errors.add("Stored kit contents could not be read: " + contentsError);
+        }
+        
         // Validate potion effects
         for (PotionEffect effect : potionEffects) {
             if (effect.getDuration() < 0) {
@@ -251,6 +453,6 @@ public class Kit {
     @Override
     public String toString() {
         return String.format("Kit{name='%s', items=%d, effects=%d, ready=%s}", 
-            name, getItemCount(), potionEffects.size(), isReady());
+            name, getItemCount(), getPotionEffects().size(), isReady());
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package top.sanscraft.ultratournamentsplusplus.models;
+
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the stats shown for a player on the leaderboards
+ */
+public class LeaderboardEntry {
+    
+    private final UUID playerId;
+    private final String playerName;
+    private final int tournamentsWon;
+    private final int roundsWon;
+    private final int roundsPlayed;
+    private final int totalKills;
+    private final int bestWinStreak;
+    private final long totalPlayTime;
+    private final double killDeathRatio;
+    private final double roundWinPercentage;
+    private final double rating;
+    private final double ratingDeviation;
+    
+    private LeaderboardEntry(PlayerStats stats) {
+        this.playerId = stats.getPlayerId();
+        this.playerName = stats.getPlayerName();
+        this.tournamentsWon = stats.getTournamentsWon();
+        this.roundsWon = stats.getRoundsWon();
+        this.roundsPlayed = stats.getRoundsPlayed();
+        this.totalKills = stats.getTotalKills();
+        this.bestWinStreak = stats.getBestWinStreak();
+        this.totalPlayTime = stats.getTotalPlayTime();
+        this.killDeathRatio = stats.getKillDeathRatio();
+        this.roundWinPercentage = stats.getRoundWinPercentage();
+        this.rating = stats.getRating();
+        this.ratingDeviation = stats.getRatingDeviation();
+    }
+    
+    /**
+     * Take a snapshot of a player's stats
+     * @param stats Player stats
+     * @return New entry
+     */
+    public static LeaderboardEntry of(PlayerStats stats) {
+        return new LeaderboardEntry(stats);
+    }
+    
+    // Getters
+    public UUID getPlayerId() { return playerId; }
+    public String getPlayerName() { return playerName; }
+    public int getTournamentsWon() { return tournamentsWon; }
+    public int getRoundsWon() { return roundsWon; }
+    public int getRoundsPlayed() { return roundsPlayed; }
+    public int getTotalKills() { return totalKills; }
+    public int getBestWinStreak() { return bestWinStreak; }
+    public long getTotalPlayTime() { return totalPlayTime; }
+    public double getKillDeathRatio() { return killDeathRatio; }
+    public double getRoundWinPercentage() { return roundWinPercentage; }
+    public double getRating() { return rating; }
+    public double getRatingDeviation() { return ratingDeviation; }
+    
+    /**
+     * Get the rank title for the tournaments won
+     * @return Rank string
+     */
+    public String getRank() {
+        return PlayerStats.getRankTitle(tournamentsWon);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("LeaderboardEntry{player=%s, tournamentsWon=%d, roundsWon=%d}", playerName, tournamentsWon, roundsWon);
+    }
+}
\ No newline at end of file
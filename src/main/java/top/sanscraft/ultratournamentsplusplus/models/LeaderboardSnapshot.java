@@ -0,0 +1,56 @@
+package top.sanscraft.ultratournamentsplusplus.models;
+
+import java.util.List;
+
+/**
+ * Immutable top of one leaderboard at a point in time.
+ * Snapshots are published together under one version, so every reader sees the same ranking
+ * and a version number identifies the contents of all of them.
+ */
+public final class LeaderboardSnapshot {
+    
+    private final long version;
+    private final long createdAt;
+    private final LeaderboardType type;
+    private final List<LeaderboardEntry> entries;
+    private final int totalPlayers;
+    
+    public LeaderboardSnapshot(long version, long createdAt, LeaderboardType type, List<LeaderboardEntry> entries,
+                               int totalPlayers) {
+        this.version = version;
+        this.createdAt = createdAt;
+        this.type = type;
+        this.entries = List.copyOf(entries);
+        this.totalPlayers = totalPlayers;
+    }
+    
+    /**
+     * Check if a range of the ranking is fully contained in this snapshot
+     * @param offset Number of leading players to skip
+     * @param limit Maximum number of players
+     * @return True if the snapshot holds every player of the range that exists
+     */
+    public boolean covers(int offset, int limit) {
+        return offset + limit <= entries.size() || entries.size() == totalPlayers;
+    }
+    
+    /**
+     * Get a range of the ranking
+     * @param offset Number of leading players to skip
+     * @param limit Maximum number of players
+     * @return Players in rank order, starting at rank offset + 1
+     */
+    public List<LeaderboardEntry> getRange(int offset, int limit) {
+        if (offset >= entries.size()) {
+            return List.of();
+        }
+        return entries.subList(offset, Math.min(entries.size(), offset + limit));
+    }
+    
+    // Getters
+    public long getVersion() { return version; }
+    public long getCreatedAt() { return createdAt; }
+    public LeaderboardType getType() { return type; }
+    public List<LeaderboardEntry> getEntries() { return entries; }
+    public int getTotalPlayers() { return totalPlayers; }
+}
\ No newline at end of file
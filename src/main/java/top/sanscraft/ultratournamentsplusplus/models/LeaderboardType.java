@@ -0,0 +1,124 @@
+package top.sanscraft.ultratournamentsplusplus.models;
+
+/**
+ * Represents a statistic players can be ranked by.
+ * Each type turns a leaderboard entry into a single score, higher ranking first; ties on the
+ * main statistic are broken by a secondary one packed into the low bits.
+ */
+public enum LeaderboardType {
+    TOURNAMENTS_WON("tournaments", "Tournaments Won", false),
+    ROUNDS_WON("rounds", "Rounds Won", false),
+    KILLS("kills", "Kills", false),
+    KILL_DEATH_RATIO("kd", "K/D Ratio", true),
+    ROUND_WIN_RATE("winrate", "Round Win Rate", true),
+    BEST_WIN_STREAK("streak", "Best Win Streak", false),
+    PLAYTIME("playtime", "Playtime", false),
+    SKILL_RATING("rating", "Skill Rating", true);
+    
+    private final String id;
+    private final String displayName;
+    private final boolean ratio;
+    
+    LeaderboardType(String id, String displayName, boolean ratio) {
+        this.id = id;
+        this.displayName = displayName;
+        this.ratio = ratio;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * Check if this type ranks a ratio or rating, which needs a minimum number of rounds to be meaningful
+     * @return True for ratio leaderboards
+     */
+    public boolean isRatio() {
+        return ratio;
+    }
+    
+    /**
+     * Check if this type can be ranked over a time window, i.e. only uses round counters
+     * kept in the daily stat buckets
+     * @return True if weekly, monthly and season leaderboards exist for this type
+     */
+    public boolean isWindowed() {
+        return this == ROUNDS_WON || this == KILLS || this == KILL_DEATH_RATIO || this == ROUND_WIN_RATE;
+    }
+    
+    /**
+     * Check if a player is listed on this leaderboard
+     * @param entry Player entry
+     * @param minRounds Rounds a player needs to appear on ratio leaderboards
+     * @return True if the player is ranked
+     */
+    public boolean qualifies(LeaderboardEntry entry, int minRounds) {
+        return !ratio || entry.getRoundsPlayed() >= minRounds;
+    }
+    
+    /**
+     * Get the score a player is ranked by
+     * @param entry Player entry
+     * @return Score, higher ranks first
+     */
+    public long getScore(LeaderboardEntry entry) {
+        return switch (this) {
+            case TOURNAMENTS_WON -> pack(entry.getTournamentsWon(), entry.getRoundsWon());
+            case ROUNDS_WON -> pack(entry.getRoundsWon(), entry.getTournamentsWon());
+            case KILLS -> pack(entry.getTotalKills(), entry.getRoundsWon());
+            case KILL_DEATH_RATIO -> pack(Math.round(entry.getKillDeathRatio() * 1000), entry.getTotalKills());
+            case ROUND_WIN_RATE -> pack(Math.round(entry.getRoundWinPercentage() * 100), entry.getRoundsPlayed());
+            case BEST_WIN_STREAK -> pack(entry.getBestWinStreak(), entry.getRoundsWon());
+            case PLAYTIME -> entry.getTotalPlayTime();
+            case SKILL_RATING -> pack(Math.round(entry.getRating() * 10), entry.getRoundsPlayed());
+        };
+    }
+    
+    /**
+     * Format the ranked statistic of a player for display
+     * @param entry Player entry
+     * @return Display value
+     */
+    public String formatValue(LeaderboardEntry entry) {
+        return switch (this) {
+            case TOURNAMENTS_WON -> entry.getTournamentsWon() + " wins";
+            case ROUNDS_WON -> entry.getRoundsWon() + " rounds";
+            case KILLS -> entry.getTotalKills() + " kills";
+            case KILL_DEATH_RATIO -> String.format("%.2f K/D", entry.getKillDeathRatio());
+            case ROUND_WIN_RATE -> String.format("%.1f%% (%d rounds)", entry.getRoundWinPercentage(), entry.getRoundsPlayed());
+            case BEST_WIN_STREAK -> entry.getBestWinStreak() + " streak";
+            case PLAYTIME -> PlayerStats.formatPlaytime(entry.getTotalPlayTime());
+            case SKILL_RATING -> String.format("%.0f ± %.0f", entry.getRating(), entry.getRatingDeviation() * 2);
+        };
+    }
+    
+    /**
+     * Put the main statistic in the high bits and the tie-breaker in the low bits
+     */
+    private static long pack(long primary, long secondary) {
+        return (Math.max(0, primary) << 32) | (Math.max(0, secondary) & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Find a leaderboard type by its id
+     * @param id Type id, case insensitive
+     * @return Matching type, or null if none matches
+     */
+    public static LeaderboardType fromId(String id) {
+        for (LeaderboardType type : values()) {
+            if (type.id.equalsIgnoreCase(id)) {
+                return type;
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
\ No newline at end of file
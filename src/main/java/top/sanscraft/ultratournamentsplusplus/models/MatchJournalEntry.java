@@ -0,0 +1,155 @@
+package top.sanscraft.ultratournamentsplusplus.models;
+
+import java.util.UUID;
+
+/**
+ * A single entry of the append-only match result journal
+ */
+public class MatchJournalEntry {
+    
+    public enum EntryType {
+        ROUND,            // Round result between a winner and a loser
+        TOURNAMENT_WIN,   // Tournament won by the winner
+        TOURNAMENT_LOSS   // Tournament played but not won by the loser
+    }
+    
+    private String serverId;
+    private long sequence;
+    private final EntryType type;
+    private final String tournamentId;
+    private final String roundId;
+    private final UUID winner;
+    private final String winnerName;
+    private final UUID loser;
+    private final String loserName;
+    private final String arena;
+    private final String kit;
+    private final int winnerKills;
+    private final int winnerDeaths;
+    private final int loserKills;
+    private final int loserDeaths;
+    private final long duration;
+    private final long startedAt;
+    private final long endedAt;
+    
+    public MatchJournalEntry(String serverId, long sequence, EntryType type, String tournamentId, String roundId,
+                             UUID winner, String winnerName, UUID loser, String loserName,
+                             String arena, String kit, int winnerKills, int winnerDeaths,
+                             int loserKills, int loserDeaths, long duration, long startedAt, long endedAt) {
+        this.serverId = serverId;
+        this.sequence = sequence;
+        this.type = type;
+        this.tournamentId = tournamentId;
+        this.roundId = roundId;
+        this.winner = winner;
+        this.winnerName = winnerName;
+        this.loser = loser;
+        this.loserName = loserName;
+        this.arena = arena;
+        this.kit = kit;
+        this.winnerKills = winnerKills;
+        this.winnerDeaths = winnerDeaths;
+        this.loserKills = loserKills;
+        this.loserDeaths = loserDeaths;
+        this.duration = duration;
+        this.startedAt = startedAt;
+        this.endedAt = endedAt;
+    }
+    
+    /**
+     * Create a round result entry, sequenced when it is appended to the journal
+     * @param round Completed round
+     * @param winner Winner UUID
+     * @param winnerName Winner name
+     * @param loser Loser UUID
+     * @param loserName Loser name
+     * @param winnerKills Kills of the winner
+     * @param winnerDeaths Deaths of the winner
+     * @param loserKills Kills of the loser
+     * @param loserDeaths Deaths of the loser
+     * @param duration Round duration in milliseconds
+     * @return New entry
+     */
+    public static MatchJournalEntry round(Round round, UUID winner, String winnerName, UUID loser, String loserName,
+                                          int winnerKills, int winnerDeaths, int loserKills, int loserDeaths,
+                                          long duration) {
+        long endedAt = round.getEndTime() > 0 ? round.getEndTime() : System.currentTimeMillis();
+        return new MatchJournalEntry(null, 0, EntryType.ROUND, round.getTournamentId(), round.getId(),
+            winner, winnerName, loser, loserName, round.getAssignedArena(), round.getAssignedKit(),
+            winnerKills, winnerDeaths, loserKills, loserDeaths, duration, endedAt - duration, endedAt);
+    }
+    
+    /**
+     * Create a tournament result entry for one participant
+     * @param tournament Completed tournament
+     * @param winner Tournament winner
+     * @param winnerName Tournament winner name
+     * @param participant Participant the entry is for, or null for the winner's own entry
+     * @param participantName Participant name
+     * @return New entry
+     */
+    public static MatchJournalEntry tournament(Tournament tournament, UUID winner, String winnerName,
+                                               UUID participant, String participantName) {
+        long now = System.currentTimeMillis();
+        long startedAt = tournament.getStartTime() > 0 ? tournament.getStartTime() : now;
+        return new MatchJournalEntry(null, 0, participant == null ? EntryType.TOURNAMENT_WIN : EntryType.TOURNAMENT_LOSS,
+            tournament.getName().toLowerCase(), null, winner, winnerName, participant, participantName,
+            tournament.getAssignedArena(), tournament.getAssignedKit(), 0, 0, 0, 0, now - startedAt, startedAt, now);
+    }
+    
+    // Getters
+    public String getServerId() { return serverId; }
+    public long getSequence() { return sequence; }
+    public EntryType getType() { return type; }
+    public String getTournamentId() { return tournamentId; }
+    public String getRoundId() { return roundId; }
+    public UUID getWinner() { return winner; }
+    public String getWinnerName() { return winnerName; }
+    public UUID getLoser() { return loser; }
+    public String getLoserName() { return loserName; }
+    public String getArena() { return arena; }
+    public String getKit() { return kit; }
+    public int getWinnerKills() { return winnerKills; }
+    public int getWinnerDeaths() { return winnerDeaths; }
+    public int getLoserKills() { return loserKills; }
+    public int getLoserDeaths() { return loserDeaths; }
+    public long getDuration() { return duration; }
+    public long getStartedAt() { return startedAt; }
+    public long getEndedAt() { return endedAt; }
+    
+    /**
+     * Assign the journal sequence number. Only done once, when the entry is appended.
+     * @param serverId Server that records the entry; sequence numbers are per server
+     * @param sequence Sequence number
+     */
+    public void assignSequence(String serverId, long sequence) {
+        if (this.sequence != 0) {
+            throw new IllegalStateException("Journal entry already has sequence " + this.sequence);
+        }
+        this.serverId = serverId;
+        this.sequence = sequence;
+    }
+    
+    /**
+     * Get the player whose stats this entry changes on the winning side
+     * @return Winner for round and tournament win entries, otherwise null
+     */
+    public UUID getCreditedWinner() {
+        return type == EntryType.TOURNAMENT_LOSS ? null : winner;
+    }
+    
+    /**
+     * Check if this entry involves a player
+     * @param playerId Player UUID
+     * @return True if the player's stats are changed by this entry
+     */
+    public boolean involves(UUID playerId) {
+        return playerId.equals(getCreditedWinner()) || playerId.equals(loser);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("MatchJournalEntry{server=%s, seq=%d, type=%s, winner=%s, loser=%s}",
+            serverId, sequence, type, winnerName, loserName);
+    }
+}
\ No newline at end of file
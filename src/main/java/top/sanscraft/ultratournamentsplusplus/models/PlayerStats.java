@@ -1,5 +1,8 @@
 package top.sanscraft.ultratournamentsplusplus.models;
 
+import top.sanscraft.ultratournamentsplusplus.utils.Glicko2;
+import top.sanscraft.ultratournamentsplusplus.utils.UsageCounter;
+
 import java.util.UUID;
 
 /**
@@ -15,6 +18,10 @@ public class PlayerStats {
     private int roundsWon;
     private int totalKills;
     private int totalDeaths;
+    private int totalAssists;
+    private int totalHits;
+    private double totalDamageDealt;
+    private double totalDamageTaken;
     private long totalPlayTime; // in milliseconds
     private long firstPlayed;
     private long lastPlayed;
@@ -24,6 +31,13 @@ public class PlayerStats {
     private double averageRoundDuration;
     private String favoriteKit;
     private String favoriteArena;
+    private final UsageCounter kitUsage = new UsageCounter(); // Rounds per interned kit name
+    private final UsageCounter arenaUsage = new UsageCounter(); // Rounds per interned arena name
+    private long journalSequence; // Last match journal entry of this server reflected in these stats
+    private double rating = Glicko2.DEFAULT_RATING;
+    private double ratingDeviation = Glicko2.DEFAULT_DEVIATION;
+    private double ratingVolatility = Glicko2.DEFAULT_VOLATILITY;
+    private long ratingPeriod; // Last rating period the player competed in, 0 if never rated
     
     public PlayerStats(UUID playerId, String playerName) {
         this.playerId = playerId;
@@ -95,6 +109,18 @@ public class PlayerStats {
     public int getTotalDeaths() { return totalDeaths; }
     public void setTotalDeaths(int totalDeaths) { this.totalDeaths = totalDeaths; }
     
+    public int getTotalAssists() { return totalAssists; }
+    public void setTotalAssists(int totalAssists) { this.totalAssists = totalAssists; }
+    
+    public int getTotalHits() { return totalHits; }
+    public void setTotalHits(int totalHits) { this.totalHits = totalHits; }
+    
+    public double getTotalDamageDealt() { return totalDamageDealt; }
+    public void setTotalDamageDealt(double totalDamageDealt) { this.totalDamageDealt = totalDamageDealt; }
+    
+    public double getTotalDamageTaken() { return totalDamageTaken; }
+    public void setTotalDamageTaken(double totalDamageTaken) { this.totalDamageTaken = totalDamageTaken; }
+    
     public long getTotalPlayTime() { return totalPlayTime; }
     public void setTotalPlayTime(long totalPlayTime) { this.totalPlayTime = totalPlayTime; }
     
@@ -122,6 +148,24 @@ public class PlayerStats {
     public String getFavoriteArena() { return favoriteArena; }
     public void setFavoriteArena(String favoriteArena) { this.favoriteArena = favoriteArena != null ? favoriteArena : ""; }
     
+    public UsageCounter getKitUsage() { return kitUsage; }
+    public UsageCounter getArenaUsage() { return arenaUsage; }
+    
+    public long getJournalSequence() { return journalSequence; }
+    public void setJournalSequence(long journalSequence) { this.journalSequence = journalSequence; }
+    
+    public double getRating() { return rating; }
+    public void setRating(double rating) { this.rating = rating; }
+    
+    public double getRatingDeviation() { return ratingDeviation; }
+    public void setRatingDeviation(double ratingDeviation) { this.ratingDeviation = ratingDeviation; }
+    
+    public double getRatingVolatility() { return ratingVolatility; }
+    public void setRatingVolatility(double ratingVolatility) { this.ratingVolatility = ratingVolatility; }
+    
+    public long getRatingPeriod() { return ratingPeriod; }
+    public void setRatingPeriod(long ratingPeriod) { this.ratingPeriod = ratingPeriod; }
+    
     // Calculated stats
     
     /**
@@ -183,7 +227,16 @@ public class PlayerStats {
      * @return Formatted playtime string (e.g., "2h 30m")
      */
     public String getFormattedTotalPlaytime() {
-        long totalMinutes = totalPlayTime / 1000 / 60;
+        return formatPlaytime(totalPlayTime);
+    }
+    
+    /**
+     * Format a playtime for display
+     * @param playtime Playtime in milliseconds
+     * @return Formatted playtime string (e.g., "2h 30m")
+     */
+    public static String formatPlaytime(long playtime) {
+        long totalMinutes = playtime / 1000 / 60;
         long hours = totalMinutes / 60;
         long minutes = totalMinutes % 60;
         
@@ -199,6 +252,15 @@ public class PlayerStats {
      * @return Rank string
      */
     public String getRank() {
+        return getRankTitle(tournamentsWon);
+    }
+    
+    /**
+     * Get the rank title for a number of tournaments won
+     * @param tournamentsWon Tournaments won
+     * @return Rank string
+     */
+    public static String getRankTitle(int tournamentsWon) {
         if (tournamentsWon >= 100) return "Legend";
         if (tournamentsWon >= 50) return "Master";
         if (tournamentsWon >= 25) return "Expert";
@@ -264,6 +326,31 @@ public class PlayerStats {
         totalDeaths += deaths;
     }
     
+    /**
+     * Add the assists, hits and damage of a round
+     * @param assists Number of assists
+     * @param hits Number of hits landed
+     * @param damageDealt Damage dealt
+     * @param damageTaken Damage taken
+     */
+    public void recordCombat(int assists, int hits, double damageDealt, double damageTaken) {
+        totalAssists += assists;
+        totalHits += hits;
+        totalDamageDealt += damageDealt;
+        totalDamageTaken += damageTaken;
+    }
+    
+    /**
+     * Copy the combat totals the match journal does not record
+     * @param other Stats to copy from
+     */
+    public void copyCombatTotals(PlayerStats other) {
+        totalAssists = other.totalAssists;
+        totalHits = other.totalHits;
+        totalDamageDealt = other.totalDamageDealt;
+        totalDamageTaken = other.totalDamageTaken;
+    }
+    
     /**
      * Add playtime
      * @param playtime Playtime in milliseconds
@@ -273,21 +360,97 @@ public class PlayerStats {
     }
     
     /**
-     * Update favorite kit (most used)
+     * Count a round played with a kit; the favorite kit is the most used one
+     * @param kitId Interned kit name id
      * @param kitName Kit name
      */
-    public void updateFavoriteKit(String kitName) {
-        // This is simplified - in practice you'd track usage counts
-        this.favoriteKit = kitName;
+    public void recordKitUse(int kitId, String kitName) {
+        if (kitUsage.increment(kitId)) {
+            this.favoriteKit = kitName;
+        }
     }
     
     /**
-     * Update favorite arena (most played)
+     * Count a round played in an arena; the favorite arena is the most played one
+     * @param arenaId Interned arena name id
      * @param arenaName Arena name
      */
-    public void updateFavoriteArena(String arenaName) {
-        // This is simplified - in practice you'd track usage counts
-        this.favoriteArena = arenaName;
+    public void recordArenaUse(int arenaId, String arenaName) {
+        if (arenaUsage.increment(arenaId)) {
+            this.favoriteArena = arenaName;
+        }
+    }
+    
+    /**
+     * Apply a match journal entry to these stats.
+     * Callers skip entries already reflected, see {@link #getJournalSequence()}.
+     * @param entry Journal entry
+     * @return True if the entry changed these stats
+     */
+    public boolean applyJournalEntry(MatchJournalEntry entry) {
+        if (!entry.involves(playerId)) {
+            return false;
+        }
+        
+        boolean won = playerId.equals(entry.getCreditedWinner());
+        switch (entry.getType()) {
+            case ROUND -> {
+                recordRound(won, entry.getDuration());
+                addPlaytime(entry.getDuration());
+                recordKillsDeaths(won ? entry.getWinnerKills() : entry.getLoserKills(),
+                                  won ? entry.getWinnerDeaths() : entry.getLoserDeaths());
+            }
+            case TOURNAMENT_WIN, TOURNAMENT_LOSS -> recordTournament(won);
+        }
+        
+        // Use the recorded times so a replay ends up with the same values as the live update
+        firstPlayed = Math.min(firstPlayed, entry.getStartedAt());
+        lastPlayed = entry.getEndedAt();
+        return true;
+    }
+    
+    /**
+     * Get the skill rating
+     * @return Rating, deviation and volatility
+     */
+    public Glicko2.Rating getSkillRating() {
+        return new Glicko2.Rating(rating, ratingDeviation, ratingVolatility);
+    }
+    
+    /**
+     * Set the skill rating after a rating period
+     * @param skillRating New rating, deviation and volatility
+     * @param period Rating period the player competed in
+     */
+    public void setSkillRating(Glicko2.Rating skillRating, long period) {
+        this.rating = skillRating.rating;
+        this.ratingDeviation = skillRating.deviation;
+        this.ratingVolatility = skillRating.volatility;
+        this.ratingPeriod = period;
+    }
+    
+    /**
+     * Copy the skill rating of another stats object
+     * @param other Stats to copy from
+     */
+    public void copySkillRating(PlayerStats other) {
+        setSkillRating(other.getSkillRating(), other.getRatingPeriod());
+    }
+    
+    /**
+     * Create a detached copy of these stats, e.g. for saving off the main thread
+     * @return Copy with its own usage counters
+     */
+    public PlayerStats copy() {
+        PlayerStats copy = new PlayerStats(playerId, playerName, tournamentsPlayed, tournamentsWon,
+            roundsPlayed, roundsWon, totalKills, totalDeaths, totalPlayTime, firstPlayed, lastPlayed,
+            winStreak, bestWinStreak, lossStreak, averageRoundDuration, favoriteKit, favoriteArena);
+        copy.copyCombatTotals(this);
+        copy.copySkillRating(this);
+        copy.journalSequence = journalSequence;
+        kitUsage.copyTo(copy.kitUsage);
+        arenaUsage.copyTo(copy.arenaUsage);
+        return copy;
     }
     
     /**
@@ -308,7 +471,9 @@ public class PlayerStats {
             "🏆 **Tournaments:** %d played, %d won (%.1f%%)\n" +
             "⚔️ **Rounds:** %d played, %d won (%.1f%%)\n" +
             "💀 **K/D Ratio:** %.2f (%d kills, %d deaths)\n" +
+            "🗡️ **Combat:** %d assists, %.0f damage dealt, %.0f taken\n" +
             "🔥 **Win Streak:** %d (Best: %d)\n" +
+            "📊 **Skill Rating:** %.0f ± %.0f\n" +
             "⏱️ **Total Playtime:** %s\n" +
             "🎯 **Favorite Kit:** %s\n" +
             "🏟️ **Favorite Arena:** %s",
@@ -316,7 +481,9 @@ public class PlayerStats {
             tournamentsPlayed, tournamentsWon, getTournamentWinPercentage(),
             roundsPlayed, roundsWon, getRoundWinPercentage(),
             getKillDeathRatio(), totalKills, totalDeaths,
+            totalAssists, totalDamageDealt, totalDamageTaken,
             winStreak, bestWinStreak,
+            rating, ratingDeviation * 2,
             getFormattedTotalPlaytime(),
             favoriteKit.isEmpty() ? "None" : favoriteKit,
             favoriteArena.isEmpty() ? "None" : favoriteArena
@@ -296,6 +296,25 @@ public class Round {
         return errors.isEmpty() && status == RoundStatus.PENDING;
     }
     
+    /**
+     * Create a detached copy of this round, e.g. for saving off the main thread
+     * @return Copy with its own participant list
+     */
+    public Round copy() {
+        Round copy = new Round(id, tournamentId, participants);
+        copy.assignedArena = assignedArena;
+        copy.assignedKit = assignedKit;
+        copy.status = status;
+        copy.winner = winner;
+        copy.startTime = startTime;
+        copy.endTime = endTime;
+        copy.roundNumber = roundNumber;
+        copy.bracketPosition = bracketPosition;
+        copy.preparationTime = preparationTime;
+        copy.autoDetectWinner = autoDetectWinner;
+        return copy;
+    }
+    
     @Override
     public String toString() {
         return String.format("Round{id='%s', tournament='%s', participants=%d, status=%s, winner=%s}", 
@@ -0,0 +1,135 @@
+package top.sanscraft.ultratournamentsplusplus.models;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Combat totals of one round, kept per participant slot in primitive arrays.
+ * Every array is sized when the round's combat starts, so recording hits and deaths allocates nothing.
+ * Not thread-safe; used on the main thread only.
+ */
+public class RoundCombat {
+    
+    private final UUID[] participants;
+    private final int[] kills;
+    private final int[] assists;
+    private final int[] deaths;
+    private final int[] hits;
+    private final double[] damageDealt;
+    private final double[] damageTaken;
+    private final long[] lastDamage; // Last time slot a damaged slot v, at [v * size + a]; 0 if never
+    
+    public RoundCombat(List<UUID> participants) {
+        int size = participants.size();
+        this.participants = participants.toArray(new UUID[0]);
+        this.kills = new int[size];
+        this.assists = new int[size];
+        this.deaths = new int[size];
+        this.hits = new int[size];
+        this.damageDealt = new double[size];
+        this.damageTaken = new double[size];
+        this.lastDamage = new long[size * size];
+    }
+    
+    /**
+     * Get the slot of a participant
+     * @param playerId Player UUID
+     * @return Slot, or -1 if the player is not a participant
+     */
+    public int getSlot(UUID playerId) {
+        for (int i = 0; i < participants.length; i++) {
+            if (participants[i].equals(playerId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Record a hit of one participant on another
+     * @param attacker Attacker slot
+     * @param victim Victim slot
+     * @param damage Damage dealt
+     * @param time Time of the hit
+     */
+    public void recordHit(int attacker, int victim, double damage, long time) {
+        hits[attacker]++;
+        damageDealt[attacker] += damage;
+        damageTaken[victim] += damage;
+        lastDamage[victim * participants.length + attacker] = time;
+    }
+    
+    /**
+     * Record the death of a participant. Without a known killer, the participant who hit the victim
+     * last within the assist window is credited; everyone else who hit the victim within the window
+     * is credited with an assist.
+     * @param victim Victim slot
+     * @param killer Killer slot, or -1 if unknown
+     * @param time Time of the death
+     * @param assistWindow How long a hit counts towards a kill, in milliseconds
+     * @return Slot credited with the kill, or -1 if nobody
+     */
+    public int recordDeath(int victim, int killer, long time, long assistWindow) {
+        int row = victim * participants.length;
+        if (killer < 0) {
+            long latest = 0;
+            for (int i = 0; i < participants.length; i++) {
+                long hitAt = lastDamage[row + i];
+                if (i != victim && hitAt > latest && time - hitAt <= assistWindow) {
+                    latest = hitAt;
+                    killer = i;
+                }
+            }
+        }
+        
+        deaths[victim]++;
+        if (killer >= 0 && killer != victim) {
+            kills[killer]++;
+        }
+        
+        for (int i = 0; i < participants.length; i++) {
+            long hitAt = lastDamage[row + i];
+            if (i != victim && i != killer && hitAt > 0 && time - hitAt <= assistWindow) {
+                assists[i]++;
+            }
+            lastDamage[row + i] = 0;
+        }
+        return killer != victim ? killer : -1;
+    }
+    
+    /**
+     * Get the number of participant slots
+     * @return Participant count
+     */
+    public int size() {
+        return participants.length;
+    }
+    
+    public UUID getParticipant(int slot) { return participants[slot]; }
+    public int getKills(int slot) { return kills[slot]; }
+    public int getAssists(int slot) { return assists[slot]; }
+    public int getDeaths(int slot) { return deaths[slot]; }
+    public int getHits(int slot) { return hits[slot]; }
+    public double getDamageDealt(int slot) { return damageDealt[slot]; }
+    public double getDamageTaken(int slot) { return damageTaken[slot]; }
+    
+    /**
+     * Get the kills of a player
+     * @param playerId Player UUID
+     * @return Kills, 0 if the player is not a participant
+     */
+    public int getKills(UUID playerId) {
+        int slot = getSlot(playerId);
+        return slot >= 0 ? kills[slot] : 0;
+    }
+    
+    /**
+     * Get the deaths of a player
+     * @param playerId Player UUID
+     * @return Deaths, 0 if the player is not a participant
+     */
+    public int getDeaths(UUID playerId) {
+        int slot = getSlot(playerId);
+        return slot >= 0 ? deaths[slot] : 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package top.sanscraft.ultratournamentsplusplus.models;
+
+/**
+ * Represents a competitive season.
+ * Daily stat buckets belong to the current season until it is rolled over.
+ */
+public class Season {
+    
+    private final int id;
+    private final String name;
+    private final long startedAt;
+    
+    public Season(int id, String name, long startedAt) {
+        this.id = id;
+        this.name = name;
+        this.startedAt = startedAt;
+    }
+    
+    public int getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getStartedAt() {
+        return startedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Season{id=%d, name=%s}", id, name);
+    }
+}
\ No newline at end of file
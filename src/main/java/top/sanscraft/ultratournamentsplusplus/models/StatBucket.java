@@ -0,0 +1,80 @@
+package top.sanscraft.ultratournamentsplusplus.models;
+
+import java.util.UUID;
+
+/**
+ * Round counters of one player on one day.
+ * Buckets are stored as increments, so a bucket only holds what changed since it was last written.
+ */
+public class StatBucket {
+    
+    private final UUID playerId;
+    private final long day; // Epoch day in the server time zone
+    private int roundsPlayed;
+    private int roundsWon;
+    private int kills;
+    private int deaths;
+    
+    public StatBucket(UUID playerId, long day) {
+        this.playerId = playerId;
+        this.day = day;
+    }
+    
+    // Getters
+    public UUID getPlayerId() { return playerId; }
+    public long getDay() { return day; }
+    public int getRoundsPlayed() { return roundsPlayed; }
+    public int getRoundsWon() { return roundsWon; }
+    public int getKills() { return kills; }
+    public int getDeaths() { return deaths; }
+    
+    /**
+     * Count a round result
+     * @param won Whether the round was won
+     * @param kills Kills in the round
+     * @param deaths Deaths in the round
+     */
+    public void recordRound(boolean won, int kills, int deaths) {
+        roundsPlayed++;
+        if (won) {
+            roundsWon++;
+        }
+        this.kills += kills;
+        this.deaths += deaths;
+    }
+    
+    /**
+     * Add the counters of another bucket of the same player and day
+     * @param other Bucket to merge
+     */
+    public void merge(StatBucket other) {
+        roundsPlayed += other.roundsPlayed;
+        roundsWon += other.roundsWon;
+        kills += other.kills;
+        deaths += other.deaths;
+    }
+    
+    /**
+     * Get the key identifying this bucket
+     * @return Player and day key
+     */
+    public String getKey() {
+        return key(playerId, day);
+    }
+    
+    /**
+     * Build the key of a player's bucket on a day
+     * @param playerId Player UUID
+     * @param day Epoch day
+     * @return Bucket key
+     */
+    public static String key(UUID playerId, long day) {
+        return playerId + ":" + day;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("StatBucket{player=%s, day=%d, rounds=%d/%d, kills=%d, deaths=%d}",
+            playerId, day, roundsWon, roundsPlayed, kills, deaths);
+    }
+}
\ No newline at end of file
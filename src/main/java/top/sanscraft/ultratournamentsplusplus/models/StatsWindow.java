@@ -0,0 +1,58 @@
+package top.sanscraft.ultratournamentsplusplus.models;
+
+/**
+ * Time range a leaderboard covers.
+ * Windowed leaderboards are merged from daily stat buckets of the current season.
+ */
+public enum StatsWindow {
+    ALL_TIME("alltime", "All Time", 0),
+    WEEKLY("weekly", "Weekly", 7),
+    MONTHLY("monthly", "Monthly", 30),
+    SEASON("season", "Season", 0);
+    
+    private final String id;
+    private final String displayName;
+    private final int days;
+    
+    StatsWindow(String id, String displayName, int days) {
+        this.id = id;
+        this.displayName = displayName;
+        this.days = days;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * Get the first day included in this window
+     * @param today Current epoch day
+     * @return First epoch day, or 0 for every bucket of the season
+     */
+    public long getFirstDay(long today) {
+        return days > 0 ? today - days + 1 : 0;
+    }
+    
+    /**
+     * Find a window by its id
+     * @param id Window id, case insensitive
+     * @return Matching window, or null if none matches
+     */
+    public static StatsWindow fromId(String id) {
+        for (StatsWindow window : values()) {
+            if (window.id.equalsIgnoreCase(id)) {
+                return window;
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
\ No newline at end of file
@@ -126,6 +126,23 @@ public class Tournament {
         return assignedKit != null && !assignedKit.isEmpty();
     }
     
+    /**
+     * Create a detached copy of this tournament, e.g. for saving off the main thread
+     * @return Copy with its own participant list
+     */
+    public Tournament copy() {
+        Tournament copy = new Tournament(name, description, type, maxParticipants, creator);
+        copy.status = status;
+        copy.participants = new ArrayList<>(participants);
+        copy.createdTime = createdTime;
+        copy.startTime = startTime;
+        copy.challongeId = challongeId;
+        copy.challongeUrl = challongeUrl;
+        copy.assignedArena = assignedArena;
+        copy.assignedKit = assignedKit;
+        return copy;
+    }
+    
     /**
      * Get current participant count
      * @return Number of participants
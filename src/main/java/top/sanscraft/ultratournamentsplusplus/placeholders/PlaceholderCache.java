@@ -0,0 +1,220 @@
+package top.sanscraft.ultratournamentsplusplus.placeholders;
+
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardSnapshot;
+import top.sanscraft.ultratournamentsplusplus.models.LeaderboardType;
+import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
+import top.sanscraft.ultratournamentsplusplus.models.Round;
+import top.sanscraft.ultratournamentsplusplus.models.Tournament;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Formatted placeholder values per player.
+ * Stat values are formatted once after each change of a player's stats, the rank once per
+ * leaderboard snapshot and the current round and tournament at most once per tick. Values come
+ * only from cached stats and running rounds, so a lookup never reaches the database. Lookups off
+ * the main thread get the values formatted last.
+ */
+public class PlaceholderCache {
+    
+    private static final Map<String, Function<PlayerStats, String>> STAT_FORMATTERS = new LinkedHashMap<>();
+    
+    static {
+        STAT_FORMATTERS.put("wins", stats -> String.valueOf(stats.getTournamentsWon()));
+        STAT_FORMATTERS.put("tournaments_played", stats -> String.valueOf(stats.getTournamentsPlayed()));
+        STAT_FORMATTERS.put("rounds_won", stats -> String.valueOf(stats.getRoundsWon()));
+        STAT_FORMATTERS.put("rounds_played", stats -> String.valueOf(stats.getRoundsPlayed()));
+        STAT_FORMATTERS.put("kills", stats -> String.valueOf(stats.getTotalKills()));
+        STAT_FORMATTERS.put("deaths", stats -> String.valueOf(stats.getTotalDeaths()));
+        STAT_FORMATTERS.put("kd", stats -> String.format("%.2f", stats.getKillDeathRatio()));
+        STAT_FORMATTERS.put("streak", stats -> String.valueOf(stats.getWinStreak()));
+        STAT_FORMATTERS.put("best_streak", stats -> String.valueOf(stats.getBestWinStreak()));
+        STAT_FORMATTERS.put("rating", stats -> String.format("%.0f", stats.getRating()));
+        STAT_FORMATTERS.put("title", PlayerStats::getRank);
+    }
+    
+    private static final Map<String, String> DEFAULT_VALUES = format(new PlayerStats(new UUID(0, 0), ""));
+    
+    private final UltraTournamentsPlusPlus plugin;
+    private final Map<UUID, PlayerValues> values = new ConcurrentHashMap<>();
+    private long tick; // Main thread only
+    private BukkitTask tickTask;
+    
+    public PlaceholderCache(UltraTournamentsPlusPlus plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Start counting ticks for the round and tournament values
+     */
+    public void initialize() {
+        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> tick++, 1L, 1L);
+    }
+    
+    /**
+     * Get the names of every placeholder
+     * @return Placeholder names without the expansion prefix
+     */
+    public Set<String> getPlaceholders() {
+        Set<String> placeholders = new LinkedHashSet<>(STAT_FORMATTERS.keySet());
+        Collections.addAll(placeholders, "rank", "round", "tournament");
+        return placeholders;
+    }
+    
+    /**
+     * Get the formatted value of a placeholder
+     * @param playerId Player UUID
+     * @param placeholder Placeholder name without the expansion prefix
+     * @return Formatted value, or null for an unknown placeholder
+     */
+    public String getValue(UUID playerId, String placeholder) {
+        boolean mainThread = Bukkit.isPrimaryThread();
+        PlayerValues cached = values.get(playerId);
+        if (cached == null) {
+            PlayerStats stats = mainThread ? plugin.getPlayerStatsManager().getCachedPlayerStats(playerId) : null;
+            if (stats == null) {
+                // Not loaded, or not formatted yet off the main thread
+                return getDefaultValue(placeholder);
+            }
+            cached = new PlayerValues(format(stats));
+            values.put(playerId, cached);
+        }
+        
+        switch (placeholder) {
+            case "rank" -> {
+                if (mainThread) {
+                    refreshRank(playerId, cached);
+                }
+                return cached.rank;
+            }
+            case "round" -> {
+                if (mainThread && cached.tick != tick) {
+                    refreshActivity(playerId, cached);
+                }
+                return cached.round;
+            }
+            case "tournament" -> {
+                if (mainThread && cached.tick != tick) {
+                    refreshActivity(playerId, cached);
+                }
+                return cached.tournament;
+            }
+            default -> {
+                return cached.stats.get(placeholder);
+            }
+        }
+    }
+    
+    /**
+     * Format the rank again once a new leaderboard snapshot is published
+     */
+    private void refreshRank(UUID playerId, PlayerValues cached) {
+        LeaderboardSnapshot snapshot = plugin.getPlayerStatsManager().getLeaderboardSnapshot(LeaderboardType.TOURNAMENTS_WON);
+        long version = snapshot != null ? snapshot.getVersion() : 0;
+        if (cached.rankVersion == version) {
+            return;
+        }
+        
+        int position = plugin.getPlayerStatsManager().getLeaderboardPosition(LeaderboardType.TOURNAMENTS_WON, playerId);
+        cached.rank = position > 0 ? String.valueOf(position) : "-";
+        cached.rankVersion = version;
+    }
+    
+    /**
+     * Look up the round and tournament the player is currently in
+     */
+    private void refreshActivity(UUID playerId, PlayerValues cached) {
+        cached.tick = tick;
+        
+        Round round = plugin.getRoundManager().getPlayerRound(playerId);
+        cached.round = round != null ? String.valueOf(round.getRoundNumber()) : "";
+        if (round != null) {
+            cached.tournament = round.getTournamentId();
+            return;
+        }
+        
+        cached.tournament = "";
+        for (Tournament tournament : plugin.getTournamentManager().getTournaments()) {
+            if (tournament.getParticipants().contains(playerId)) {
+                cached.tournament = tournament.getName();
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Get the value shown for a player without cached stats
+     */
+    private static String getDefaultValue(String placeholder) {
+        return switch (placeholder) {
+            case "rank" -> "-";
+            case "round", "tournament" -> "";
+            default -> DEFAULT_VALUES.get(placeholder);
+        };
+    }
+    
+    /**
+     * Format the stat values of a player
+     */
+    private static Map<String, String> format(PlayerStats stats) {
+        Map<String, String> formatted = new HashMap<>();
+        for (Map.Entry<String, Function<PlayerStats, String>> formatter : STAT_FORMATTERS.entrySet()) {
+            formatted.put(formatter.getKey(), formatter.getValue().apply(stats));
+        }
+        return formatted;
+    }
+    
+    /**
+     * Drop the values of a player after their stats changed or they left
+     * @param playerId Player UUID
+     */
+    public void invalidate(UUID playerId) {
+        values.remove(playerId);
+    }
+    
+    /**
+     * Drop the values of every player
+     */
+    public void invalidateAll() {
+        values.clear();
+    }
+    
+    /**
+     * Stop counting ticks and drop every value
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        values.clear();
+    }
+    
+    /**
+     * Formatted values of one player
+     */
+    private static class PlayerValues {
+        public final Map<String, String> stats;
+        public volatile String rank = "-";
+        public volatile long rankVersion = -1;
+        public volatile String round = "";
+        public volatile String tournament = "";
+        public volatile long tick = -1;
+        
+        public PlayerValues(Map<String, String> stats) {
+            this.stats = stats;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package top.sanscraft.ultratournamentsplusplus.placeholders;
+
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.OfflinePlayer;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * PlaceholderAPI expansion serving %ultratournaments_<name>% from the placeholder cache
+ */
+public class TournamentExpansion extends PlaceholderExpansion {
+    
+    private final UltraTournamentsPlusPlus plugin;
+    private final PlaceholderCache placeholderCache;
+    
+    public TournamentExpansion(UltraTournamentsPlusPlus plugin, PlaceholderCache placeholderCache) {
+        this.plugin = plugin;
+        this.placeholderCache = placeholderCache;
+    }
+    
+    @Override
+    public String getIdentifier() {
+        return "ultratournaments";
+    }
+    
+    @Override
+    public String getAuthor() {
+        return String.join(", ", plugin.getDescription().getAuthors());
+    }
+    
+    @Override
+    public String getVersion() {
+        return plugin.getDescription().getVersion();
+    }
+    
+    @Override
+    public boolean persist() {
+        return true; // Survive /papi reload, the expansion is registered by the plugin itself
+    }
+    
+    @Override
+    public List<String> getPlaceholders() {
+        return placeholderCache.getPlaceholders().stream()
+            .map(name -> "%" + getIdentifier() + "_" + name + "%")
+            .toList();
+    }
+    
+    @Override
+    public String onRequest(OfflinePlayer player, String params) {
+        if (player == null) {
+            return "";
+        }
+        return placeholderCache.getValue(player.getUniqueId(), params.toLowerCase(Locale.ROOT));
+    }
+}
\ No newline at end of file
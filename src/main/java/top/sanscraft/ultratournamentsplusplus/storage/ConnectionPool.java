@@ -0,0 +1,295 @@
+package top.sanscraft.ultratournamentsplusplus.storage;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of JDBC connections.
+ * A borrowed connection is confined to the borrowing thread until it is closed,
+ * which hands the underlying connection back to the pool instead of closing it.
+ */
+public class ConnectionPool {
+    
+    /**
+     * Opens and prepares a new physical connection
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+    
+    private final String name;
+    private final Logger logger;
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long connectionTimeout;
+    private final long validationInterval;
+    private final long maxLifetime;
+    
+    private final BlockingQueue<PooledEntry> idle;
+    private final Set<PooledEntry> allEntries = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private volatile boolean closed = false;
+    
+    /**
+     * Create a new connection pool
+     * @param name Pool name used in log and error messages
+     * @param logger Logger to report connection problems to
+     * @param factory Factory opening new physical connections
+     * @param maxSize Maximum number of connections handed out at once
+     * @param connectionTimeout Milliseconds to wait for a free connection
+     * @param validationInterval Idle milliseconds after which a connection is validated before reuse
+     * @param maxLifetime Milliseconds after which a connection is retired, 0 to keep connections forever
+     */
+    public ConnectionPool(String name, Logger logger, ConnectionFactory factory, int maxSize,
+                          long connectionTimeout, long validationInterval, long maxLifetime) {
+        this.name = name;
+        this.logger = logger;
+        this.factory = factory;
+        this.maxSize = Math.max(1, maxSize);
+        this.connectionTimeout = Math.max(0, connectionTimeout);
+        this.validationInterval = Math.max(0, validationInterval);
+        this.maxLifetime = Math.max(0, maxLifetime);
+        this.idle = new ArrayBlockingQueue<>(this.maxSize);
+        this.permits = new Semaphore(this.maxSize, true);
+    }
+    
+    /**
+     * Borrow a connection from the pool, waiting up to the configured timeout.
+     * Closing the returned connection releases it back to the pool.
+     * @return Pooled connection
+     * @throws SQLException If no healthy connection could be obtained in time
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool '" + name + "' is closed");
+        }
+        
+        try {
+            if (!permits.tryAcquire(connectionTimeout, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + connectionTimeout + "ms waiting for a '" + name + "' connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a '" + name + "' connection", e);
+        }
+        
+        try {
+            PooledEntry entry = idle.poll();
+            while (entry != null && !isHealthy(entry)) {
+                discard(entry);
+                entry = idle.poll();
+            }
+            if (entry == null) {
+                entry = open();
+            }
+            return entry.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    /**
+     * Open and register a new physical connection
+     */
+    private PooledEntry open() throws SQLException {
+        Connection connection = factory.create();
+        PooledEntry entry = new PooledEntry(connection);
+        allEntries.add(entry);
+        return entry;
+    }
+    
+    /**
+     * Check if an idle connection can be handed out again
+     */
+    private boolean isHealthy(PooledEntry entry) {
+        try {
+            if (entry.connection.isClosed() || isExpired(entry)) {
+                return false;
+            }
+            if (System.currentTimeMillis() - entry.lastUsed < validationInterval) {
+                return true;
+            }
+            return entry.connection.isValid(5);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Check if a connection has outlived the configured maximum lifetime
+     */
+    private boolean isExpired(PooledEntry entry) {
+        return maxLifetime > 0 && System.currentTimeMillis() - entry.createdTime >= maxLifetime;
+    }
+    
+    /**
+     * Return a leased connection to the pool
+     */
+    private void release(PooledEntry entry) {
+        try {
+            if (closed || entry.connection.isClosed() || isExpired(entry)) {
+                discard(entry);
+                return;
+            }
+            
+            // Never hand out a connection with a half finished transaction
+            if (!entry.connection.getAutoCommit()) {
+                entry.connection.rollback();
+                entry.connection.setAutoCommit(true);
+            }
+            
+            entry.lastUsed = System.currentTimeMillis();
+            if (!idle.offer(entry)) {
+                discard(entry);
+            }
+        } catch (SQLException e) {
+            logger.warning("Discarding broken '" + name + "' connection: " + e.getMessage());
+            discard(entry);
+        } finally {
+            permits.release();
+        }
+    }
+    
+    /**
+     * Close and forget a physical connection
+     */
+    private void discard(PooledEntry entry) {
+        allEntries.remove(entry);
+        try {
+            entry.connection.close();
+        } catch (SQLException e) {
+            logger.warning("Error closing '" + name + "' connection: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Get the pool name
+     * @return Pool name
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Get the maximum number of connections
+     * @return Maximum pool size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    /**
+     * Get the number of open physical connections
+     * @return Open connection count
+     */
+    public int getTotalConnections() {
+        return allEntries.size();
+    }
+    
+    /**
+     * Get the number of connections currently borrowed
+     * @return Borrowed connection count
+     */
+    public int getActiveConnections() {
+        return maxSize - permits.availablePermits();
+    }
+    
+    /**
+     * Check if the pool has been closed
+     * @return True if closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Close the pool and every idle connection.
+     * Borrowed connections are closed as soon as they are released.
+     */
+    public void close() {
+        closed = true;
+        PooledEntry entry;
+        while ((entry = idle.poll()) != null) {
+            discard(entry);
+        }
+    }
+    
+    /**
+     * A physical connection owned by the pool
+     */
+    private final class PooledEntry {
+        private final Connection connection;
+        private final long createdTime = System.currentTimeMillis();
+        private volatile long lastUsed = createdTime;
+        
+        private PooledEntry(Connection connection) {
+            this.connection = connection;
+        }
+        
+        /**
+         * Wrap the connection so that close() returns it to the pool
+         */
+        private Connection lease() {
+            Lease lease = new Lease(this);
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, lease);
+        }
+    }
+    
+    /**
+     * Proxy handler for a single borrow of a pooled connection
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledEntry entry;
+        private boolean released = false;
+        
+        private Lease(PooledEntry entry) {
+            this.entry = entry;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || entry.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + name + "] " + entry.connection;
+                default:
+                    break;
+            }
+            
+            if (released) {
+                throw new SQLException("Connection has already been returned to pool '" + name + "'");
+            }
+            
+            try {
+                return method.invoke(entry.connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package top.sanscraft.ultratournamentsplusplus.storage;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded executor for database work.
+ * A fixed number of threads drain a queue of limited depth. Once the queue is full, new work
+ * either runs on the submitting thread (caller-runs, slowing down the producer) or fails its
+ * future with a {@link RejectedExecutionException}. Queue wait and execution time are tracked separately.
+ */
+public class DatabaseExecutor {
+    
+    /**
+     * Database work producing a result
+     */
+    @FunctionalInterface
+    public interface DatabaseCallable<T> {
+        T call() throws Exception;
+    }
+    
+    /**
+     * Database work without a result
+     */
+    @FunctionalInterface
+    public interface DatabaseRunnable {
+        void run() throws Exception;
+    }
+    
+    private final Plugin plugin;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final boolean callerRuns;
+    private final Executor mainThreadExecutor;
+    
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder ranByCaller = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalExecNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong maxExecNanos = new AtomicLong();
+    
+    /**
+     * Create a new database executor
+     * @param plugin Owning plugin, used for main thread hand-off and logging
+     * @param threads Number of worker threads
+     * @param queueCapacity Maximum number of tasks waiting for a worker
+     * @param callerRuns True to run rejected tasks on the submitting thread, false to fail them
+     */
+    public DatabaseExecutor(Plugin plugin, int threads, int queueCapacity, boolean callerRuns) {
+        this.plugin = plugin;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.callerRuns = callerRuns;
+        
+        AtomicInteger threadIds = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(this.queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "UltraTournaments-DB-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.mainThreadExecutor = task -> Bukkit.getScheduler().runTask(plugin, task);
+    }
+    
+    /**
+     * Run database work on a worker thread
+     * @param callable Work to run
+     * @return Future completed with the result, or exceptionally with the thrown exception
+     */
+    public <T> CompletableFuture<T> supply(DatabaseCallable<T> callable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        Runnable task = () -> execute(callable, future, queuedAt);
+        submitted.increment();
+        
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            if (callerRuns && !executor.isShutdown()) {
+                ranByCaller.increment();
+                task.run();
+            } else {
+                future.completeExceptionally(new RejectedExecutionException(executor.isShutdown()
+                    ? "Database executor is shut down" : "Database queue is full (" + queueCapacity + " tasks)"));
+            }
+        }
+        return future;
+    }
+    
+    /**
+     * Run database work without a result on a worker thread
+     * @param runnable Work to run
+     * @return Future completed once the work is done
+     */
+    public CompletableFuture<Void> run(DatabaseRunnable runnable) {
+        return supply(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Run a task and complete its future after the timings are recorded,
+     * so dependent stages are not counted as execution time
+     */
+    private <T> void execute(DatabaseCallable<T> callable, CompletableFuture<T> future, long queuedAt) {
+        long startedAt = System.nanoTime();
+        record(totalWaitNanos, maxWaitNanos, startedAt - queuedAt);
+        
+        T result = null;
+        Throwable error = null;
+        try {
+            result = callable.call();
+        } catch (Throwable t) {
+            error = t;
+        }
+        
+        record(totalExecNanos, maxExecNanos, System.nanoTime() - startedAt);
+        if (error != null) {
+            failed.increment();
+            future.completeExceptionally(error);
+        } else {
+            completed.increment();
+            future.complete(result);
+        }
+    }
+    
+    private void record(LongAdder total, AtomicLong max, long nanos) {
+        total.add(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+    
+    /**
+     * Get an executor that runs tasks on the server thread, for use with the async methods of
+     * {@link CompletableFuture}
+     * @return Main thread executor
+     */
+    public Executor mainThread() {
+        return mainThreadExecutor;
+    }
+    
+    /**
+     * Get the number of tasks waiting for a worker
+     * @return Queue depth
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+    
+    /**
+     * Get the maximum number of tasks waiting for a worker
+     * @return Queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    /**
+     * Get the number of tasks that did not fit into the queue
+     * @return Rejected task count, including tasks run by the caller
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+    
+    /**
+     * Get the average time tasks waited in the queue
+     * @return Average wait in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        long started = completed.sum() + failed.sum();
+        return started > 0 ? totalWaitNanos.sum() / 1_000_000.0 / started : 0.0;
+    }
+    
+    /**
+     * Get the average time tasks took to run
+     * @return Average execution time in milliseconds
+     */
+    public double getAverageExecMillis() {
+        long started = completed.sum() + failed.sum();
+        return started > 0 ? totalExecNanos.sum() / 1_000_000.0 / started : 0.0;
+    }
+    
+    /**
+     * Get a short description of the executor counters
+     * @return Executor summary
+     */
+    public String getMetricsSummary() {
+        return String.format("Queued: %d/%d, Active: %d, Submitted: %d, Completed: %d, Failed: %d, Rejected: %d (caller-runs: %d), "
+                + "Wait: %.1fms avg / %.1fms max, Exec: %.1fms avg / %.1fms max",
+            getQueueSize(), queueCapacity, executor.getActiveCount(), submitted.sum(), completed.sum(), failed.sum(),
+            rejected.sum(), ranByCaller.sum(), getAverageWaitMillis(), maxWaitNanos.get() / 1_000_000.0,
+            getAverageExecMillis(), maxExecNanos.get() / 1_000_000.0);
+    }
+    
+    /**
+     * Stop accepting work and wait for queued tasks to finish
+     * @param timeoutMillis Maximum time to wait
+     */
+    public void shutdown(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                plugin.getLogger().warning("Database executor did not finish " + executor.getQueue().size()
+                    + " queued tasks in time, cancelling them");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        plugin.getLogger().info("Database executor: " + getMetricsSummary());
+    }
+}
\ No newline at end of file
@@ -1,48 +1,174 @@
 package top.sanscraft.ultratournamentsplusplus.storage;
 
 import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
+import top.sanscraft.ultratournamentsplusplus.models.Arena;
+import top.sanscraft.ultratournamentsplusplus.models.ArenaType;
 import top.sanscraft.ultratournamentsplusplus.models.DiscordLink;
+import top.sanscraft.ultratournamentsplusplus.models.GlobalStats;
+import top.sanscraft.ultratournamentsplusplus.models.HeadToHead;
+import top.sanscraft.ultratournamentsplusplus.models.Kit;
+import top.sanscraft.ultratournamentsplusplus.models.MatchJournalEntry;
 import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
+import top.sanscraft.ultratournamentsplusplus.models.Round;
+import top.sanscraft.ultratournamentsplusplus.models.Season;
+import top.sanscraft.ultratournamentsplusplus.models.SpawnPoint;
+import top.sanscraft.ultratournamentsplusplus.models.StatBucket;
+import top.sanscraft.ultratournamentsplusplus.models.Tournament;
+import top.sanscraft.ultratournamentsplusplus.models.TournamentStatus;
+import top.sanscraft.ultratournamentsplusplus.models.TournamentType;
+import top.sanscraft.ultratournamentsplusplus.utils.NameInterner;
+import top.sanscraft.ultratournamentsplusplus.utils.UsageCounter;
 
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Manages database connections and operations
  */
 public class DatabaseManager {
     
+    private static final List<String> PLAYER_STATS_COLUMNS = List.of(
+        "player_uuid", "player_name", "tournaments_played", "tournaments_won", "rounds_played", "rounds_won",
+        "total_kills", "total_deaths", "total_playtime", "first_played", "last_played", "win_streak",
+        "best_win_streak", "loss_streak", "average_round_duration", "favorite_kit", "favorite_arena",
+        "rating", "rating_deviation", "rating_volatility", "rating_period", "total_assists", "total_hits",
+        "damage_dealt", "damage_taken"
+    );
+    
+    private static final List<String> PLAYER_USAGE_COLUMNS = List.of(
+        "player_uuid", "usage_kind", "name", "uses"
+    );
+    
+    private static final int USAGE_KIND_KIT = 0;
+    private static final int USAGE_KIND_ARENA = 1;
+    
+    private static final List<String> STAT_BUCKET_COLUMNS = List.of(
+        "player_uuid", "day", "rounds_played", "rounds_won", "kills", "deaths"
+    );
+    
+    private static final List<String> HEAD_TO_HEAD_COLUMNS = List.of(
+        "player_a", "player_b", "wins_a", "wins_b"
+    );
+    
+    private static final List<String> DISCORD_LINK_COLUMNS = List.of(
+        "discord_id", "minecraft_uuid", "minecraft_username", "linked_timestamp", "verified", "notifications_enabled"
+    );
+    
+    private static final List<String> JOURNAL_COLUMNS = List.of(
+        "server_id", "seq", "entry_type", "tournament_id", "round_id", "winner_uuid", "winner_name", "loser_uuid", "loser_name",
+        "arena", "kit", "winner_kills", "winner_deaths", "loser_kills", "loser_deaths", "duration", "started_at", "ended_at"
+    );
+    
+    private static final List<String> TOURNAMENT_COLUMNS = List.of(
+        "tournament_id", "name", "description", "type", "status", "max_participants", "creator_uuid",
+        "created_time", "start_time", "challonge_id", "challonge_url", "assigned_arena", "assigned_kit"
+    );
+    
+    private static final List<String> ROUND_COLUMNS = List.of(
+        "round_id", "tournament_id", "round_number", "bracket_position", "status", "winner_uuid",
+        "assigned_arena", "assigned_kit", "start_time", "end_time", "preparation_time", "auto_detect_winner"
+    );
+    
+    private static final List<String> ARENA_COLUMNS = List.of(
+        "arena_id", "name", "description", "type", "world", "creator_uuid", "created_time", "building_enabled",
+        "max_players", "worldguard_region", "goal_x", "goal_y", "goal_z", "goal_yaw", "goal_pitch", "time_limit",
+        "team_based", "teams"
+    );
+    
+    private static final List<String> KIT_COLUMNS = List.of(
+        "kit_id", "name", "description", "creator_uuid", "created_time", "clear_inventory", "reset_health",
+        "reset_hunger", "reset_experience", "experience_level", "contents"
+    );
+    
     private final UltraTournamentsPlusPlus plugin;
-    private Connection connection;
+    private ConnectionPool writePool;
+    private ConnectionPool readPool;
     private String databaseType;
+    private SqlDialect dialect;
+    private String playerStatsUpsert;
+    private String discordLinkUpsert;
+    private String tournamentUpsert;
+    private String roundUpsert;
+    private String arenaUpsert;
+    private String kitUpsert;
+    private String journalInsert;
+    private String journalProgressUpsert;
+    private String statBucketIncrement;
+    private String playerUsageUpsert;
+    private String globalStatUpsert;
+    private String globalStatIncrement;
+    private String headToHeadIncrement;
+    private DatabaseExecutor executor;
+    private String serverId;
+    private volatile long statsGeneration; // Rewrite of player_stats the cached stats were loaded after
+    private final NameInterner usageNames = new NameInterner(); // In-memory ids of the names in player_usage
     
     public DatabaseManager(UltraTournamentsPlusPlus plugin) {
         this.plugin = plugin;
     }
     
     /**
-     * Initialize the database connection
+     * Use an open connection pool instead of the configured database, e.g. an embedded database in tests.
+     * No migrations are run, and only operations that read no plugin configuration may be used.
+     * @param dialect Dialect of the pool's database
+     * @param pool Pool serving reads and writes
+     * @param serverId Journal id of this server
+     */
+    DatabaseManager(SqlDialect dialect, ConnectionPool pool, String serverId) {
+        this.plugin = null;
+        this.dialect = dialect;
+        this.writePool = pool;
+        this.readPool = pool;
+        this.serverId = serverId;
+        prepareStatements();
+    }
+    
+    /**
+     * Initialize the database connection pools
      */
     public void initialize() {
         plugin.getLogger().info("Initializing database connection...");
         
         databaseType = plugin.getConfigManager().getDatabaseType();
+        serverId = plugin.getConfigManager().getJournalServerId();
         plugin.getLogger().info("Using database type: " + databaseType);
         
+        executor = new DatabaseExecutor(plugin,
+            plugin.getConfigManager().getDatabaseExecutorThreads(),
+            plugin.getConfigManager().getDatabaseExecutorQueueSize(),
+            plugin.getConfigManager().isDatabaseExecutorCallerRuns());
+        
         try {
             if ("sqlite".equalsIgnoreCase(databaseType)) {
                 initializeSQLite();
-            } else if ("mysql".equalsIgnoreCase(databaseType)) {
+            } else if ("mysql".equalsIgnoreCase(databaseType) || "mariadb".equalsIgnoreCase(databaseType)) {
                 initializeMySQL();
             } else {
                 plugin.getLogger().warning("Unsupported database type: " + databaseType + ". Falling back to SQLite.");
+                databaseType = "sqlite";
                 initializeSQLite();
             }
             
+            prepareStatements();
+            
             createTables();
-            plugin.getLogger().info("Database initialized successfully!");
+            plugin.getLogger().info("Database initialized successfully! (" + readPool.getMaxSize() + " reader / "
+                + writePool.getMaxSize() + " writer connections)");
             
         } catch (SQLException e) {
             plugin.getLogger().severe("Failed to initialize database: " + e.getMessage());
@@ -51,45 +177,458 @@ public class DatabaseManager {
     }
     
     /**
-     * Initialize SQLite connection
+     * Build the statements whose SQL depends on the dialect
+     */
+    private void prepareStatements() {
+        playerStatsUpsert = dialect.upsert("player_stats", List.of("player_uuid"), PLAYER_STATS_COLUMNS);
+        discordLinkUpsert = dialect.upsert("discord_links", List.of("discord_id"), DISCORD_LINK_COLUMNS);
+        tournamentUpsert = dialect.upsert("tournaments", List.of("tournament_id"), TOURNAMENT_COLUMNS);
+        roundUpsert = dialect.upsert("tournament_rounds", List.of("round_id"), ROUND_COLUMNS);
+        arenaUpsert = dialect.upsert("arenas", List.of("arena_id"), ARENA_COLUMNS);
+        kitUpsert = dialect.upsert("kits", List.of("kit_id"), KIT_COLUMNS);
+        journalInsert = "INSERT INTO match_journal (" + String.join(", ", JOURNAL_COLUMNS) + ") VALUES ("
+            + SqlDialect.placeholders(JOURNAL_COLUMNS.size()) + ")";
+        journalProgressUpsert = dialect.upsert("player_journal_progress", List.of("player_uuid", "server_id"),
+            List.of("player_uuid", "server_id", "journal_seq"));
+        statBucketIncrement = dialect.upsertIncrement("player_stats_daily", List.of("player_uuid", "day"), STAT_BUCKET_COLUMNS);
+        playerUsageUpsert = dialect.upsert("player_usage", List.of("player_uuid", "usage_kind", "name"), PLAYER_USAGE_COLUMNS);
+        globalStatUpsert = dialect.upsert("global_stats", List.of("stat_key"), List.of("stat_key", "stat_value"));
+        globalStatIncrement = dialect.upsertIncrement("global_stats", List.of("stat_key"), List.of("stat_key", "stat_value"));
+        headToHeadIncrement = dialect.upsertIncrement("head_to_head", List.of("player_a", "player_b"), HEAD_TO_HEAD_COLUMNS);
+    }
+    
+    /**
+     * Initialize SQLite connection pools.
+     * SQLite only allows one writer at a time, so writes are serialized through a single
+     * connection while WAL mode lets the reader connections run alongside it.
      */
     private void initializeSQLite() throws SQLException {
-        String dbPath = plugin.getDataFolder().getAbsolutePath() + "/tournaments.db";
+        dialect = new SQLiteDialect();
+        
+        String dbPath = plugin.getDataFolder().getAbsolutePath() + "/" + plugin.getConfigManager().getSQLiteFile();
         String url = "jdbc:sqlite:" + dbPath;
-        connection = DriverManager.getConnection(url);
-        connection.setAutoCommit(true);
+        long timeout = plugin.getConfigManager().getDatabaseConnectionTimeout();
+        long validationInterval = plugin.getConfigManager().getDatabaseValidationInterval();
+        long maxLifetime = plugin.getConfigManager().getDatabaseMaxLifetime();
+        
+        writePool = new ConnectionPool("sqlite-writer", plugin.getLogger(), () -> {
+            Connection conn = DriverManager.getConnection(url);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA journal_mode=WAL");
+                stmt.execute("PRAGMA synchronous=NORMAL");
+                stmt.execute("PRAGMA busy_timeout=" + timeout);
+            }
+            conn.setAutoCommit(true);
+            return conn;
+        }, 1, timeout, validationInterval, maxLifetime);
+        
+        // Open the writer first so the file is in WAL mode before any reader attaches
+        try (Connection conn = writePool.getConnection()) {
+            conn.isValid(5);
+        }
+        
+        readPool = new ConnectionPool("sqlite-reader", plugin.getLogger(), () -> {
+            Connection conn = DriverManager.getConnection(url);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA busy_timeout=" + timeout);
+                stmt.execute("PRAGMA query_only=ON");
+            }
+            conn.setAutoCommit(true);
+            return conn;
+        }, plugin.getConfigManager().getDatabasePoolSize(), timeout, validationInterval, maxLifetime);
     }
     
     /**
-     * Initialize MySQL connection
+     * Initialize MySQL/MariaDB connection pool from the database.mysql config section
      */
     private void initializeMySQL() throws SQLException {
-        // TODO: Implement MySQL connection from config
-        String host = "localhost"; // Get from config
-        int port = 3306; // Get from config
-        String database = "ultratournaments"; // Get from config
-        String username = "username"; // Get from config
-        String password = "password"; // Get from config
+        dialect = new MySQLDialect();
+        
+        String url = plugin.getConfigManager().getDatabaseUrl();
+        if (url == null || url.isEmpty()) {
+            url = String.format("jdbc:mysql://%s:%d/%s?useSSL=%s&characterEncoding=utf8",
+                                plugin.getConfigManager().getMySQLHost(),
+                                plugin.getConfigManager().getMySQLPort(),
+                                plugin.getConfigManager().getMySQLDatabase(),
+                                plugin.getConfigManager().isMySQLSSLEnabled());
+        }
+        
+        // Send JDBC batches as multi-row statements and cache prepared statements client side
+        Properties properties = new Properties();
+        properties.setProperty("user", plugin.getConfigManager().getMySQLUsername());
+        properties.setProperty("password", plugin.getConfigManager().getMySQLPassword());
+        properties.setProperty("rewriteBatchedStatements", "true");
+        properties.setProperty("cachePrepStmts", "true");
+        properties.setProperty("prepStmtCacheSize", "250");
+        properties.setProperty("prepStmtCacheSqlLimit", "2048");
+        properties.setProperty("tcpKeepAlive", "true");
         
-        String url = String.format("jdbc:mysql://%s:%d/%s?useSSL=false&autoReconnect=true", 
-                                 host, port, database);
-        connection = DriverManager.getConnection(url, username, password);
-        connection.setAutoCommit(true);
+        // Honour statement fetch sizes with a server-side cursor instead of buffering whole result sets
+        properties.setProperty("useCursorFetch", "true");
+        properties.putAll(plugin.getConfigManager().getMySQLProperties());
+        
+        String finalUrl = url;
+        
+        // MySQL handles concurrent writers itself, so reads and writes share one pool
+        writePool = new ConnectionPool("mysql", plugin.getLogger(), () -> {
+            Connection conn = DriverManager.getConnection(finalUrl, properties);
+            conn.setAutoCommit(true);
+            return conn;
+        }, plugin.getConfigManager().getDatabasePoolSize(),
+            plugin.getConfigManager().getDatabaseConnectionTimeout(),
+            plugin.getConfigManager().getDatabaseValidationInterval(),
+            plugin.getConfigManager().getDatabaseMaxLifetime());
+        readPool = writePool;
+        
+        try (Connection conn = writePool.getConnection()) {
+            conn.isValid(5);
+        }
+    }
+    
+    /**
+     * Borrow a connection for statements that modify data.
+     * Closing the connection returns it to the pool.
+     */
+    private Connection getWriteConnection() throws SQLException {
+        if (writePool == null) {
+            throw new SQLException("Database has not been initialized");
+        }
+        return writePool.getConnection();
+    }
+    
+    /**
+     * Borrow a connection for read-only queries.
+     * Closing the connection returns it to the pool.
+     */
+    private Connection getReadConnection() throws SQLException {
+        if (readPool == null) {
+            throw new SQLException("Database has not been initialized");
+        }
+        return readPool.getConnection();
+    }
+    
+    /**
+     * Get the executor running database work off the main thread
+     * @return Database executor
+     */
+    public DatabaseExecutor getExecutor() {
+        return executor;
+    }
+    
+    /**
+     * Run database work on the database executor
+     * @param callable Work to run
+     * @return Future completed with the result on a database thread
+     */
+    public <T> CompletableFuture<T> supplyAsync(DatabaseExecutor.DatabaseCallable<T> callable) {
+        return executor.supply(callable);
+    }
+    
+    /**
+     * Run database work without a result on the database executor
+     * @param runnable Work to run
+     * @return Future completed on a database thread once the work is done
+     */
+    public CompletableFuture<Void> runAsync(DatabaseExecutor.DatabaseRunnable runnable) {
+        return executor.run(runnable);
     }
     
     /**
-     * Create necessary database tables
+     * Create necessary database tables by applying pending schema migrations
      */
     private void createTables() throws SQLException {
-        createDiscordLinksTable();
-        createPlayerStatsTable();
-        // TODO: Add other tournament-related tables
+        SchemaMigrator migrator = new SchemaMigrator(plugin.getLogger(), dialect);
+        registerMigrations(migrator, dialect);
+        
+        try (Connection conn = getWriteConnection()) {
+            int applied = migrator.migrate(conn);
+            plugin.getLogger().info("Database schema at version " + migrator.getCurrentVersion(conn)
+                + (applied > 0 ? " (" + applied + " migration(s) applied)" : ""));
+            
+            // A rewrite this server never finished was rolled back, so only its lock is left
+            if (releaseStatsRewrite(conn) > 0) {
+                plugin.getLogger().warning("Released the stats rewrite lock of a rewrite that never finished");
+            }
+            statsGeneration = readStatsGeneration(conn);
+        }
+    }
+    
+    /**
+     * Register every schema migration.
+     * New schema changes must be added as a new version at the end, never by editing an applied one.
+     * @param migrator Migrator to register with
+     * @param dialect Dialect the migrations run with
+     */
+    static void registerMigrations(SchemaMigrator migrator, SqlDialect dialect) {
+        migrator.register(1, "Create discord_links and player_stats tables", conn -> {
+            createDiscordLinksTable(conn, dialect);
+            createPlayerStatsTable(conn, dialect);
+        });
+        
+        // Serves the tournaments_won DESC, rounds_won DESC leaderboard ordering without a sort
+        migrator.register(2, "Add leaderboard index to player_stats",
+            "CREATE INDEX idx_player_stats_leaderboard ON player_stats (tournaments_won DESC, rounds_won DESC, player_uuid)");
+        
+        migrator.register(3, "Create tournament, participant and round tables",
+            """
+            CREATE TABLE IF NOT EXISTS tournaments (
+                tournament_id VARCHAR(64) PRIMARY KEY,
+                name VARCHAR(64) NOT NULL,
+                description VARCHAR(255),
+                type VARCHAR(32) NOT NULL,
+                status VARCHAR(32) NOT NULL,
+                max_participants INT NOT NULL,
+                creator_uuid VARCHAR(36),
+                created_time BIGINT NOT NULL,
+                start_time BIGINT NOT NULL DEFAULT 0,
+                challonge_id VARCHAR(64),
+                challonge_url VARCHAR(255),
+                assigned_arena VARCHAR(50),
+                assigned_kit VARCHAR(50)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS tournament_participants (
+                tournament_id VARCHAR(64) NOT NULL,
+                player_uuid VARCHAR(36) NOT NULL,
+                seed INT NOT NULL,
+                PRIMARY KEY (tournament_id, player_uuid)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS tournament_rounds (
+                round_id VARCHAR(128) PRIMARY KEY,
+                tournament_id VARCHAR(64) NOT NULL,
+                round_number INT NOT NULL DEFAULT 0,
+                bracket_position VARCHAR(32),
+                status VARCHAR(16) NOT NULL,
+                winner_uuid VARCHAR(36),
+                assigned_arena VARCHAR(50),
+                assigned_kit VARCHAR(50),
+                start_time BIGINT NOT NULL DEFAULT 0,
+                end_time BIGINT NOT NULL DEFAULT 0,
+                preparation_time INT NOT NULL DEFAULT 3,
+                auto_detect_winner BOOLEAN NOT NULL DEFAULT TRUE
+            )
+            """,
+            "CREATE INDEX idx_tournament_rounds_tournament ON tournament_rounds (tournament_id)",
+            """
+            CREATE TABLE IF NOT EXISTS round_participants (
+                round_id VARCHAR(128) NOT NULL,
+                player_uuid VARCHAR(36) NOT NULL,
+                slot INT NOT NULL,
+                PRIMARY KEY (round_id, player_uuid)
+            )
+            """);
+        
+        // Every server sharing the database numbers its own journal entries, so appends never collide
+        // and replays of one server are plain range scans; a rebuild replays all of them by end time
+        migrator.register(4, "Create match journal and journal snapshots",
+            """
+            CREATE TABLE IF NOT EXISTS match_journal (
+                server_id VARCHAR(32) NOT NULL,
+                seq BIGINT NOT NULL,
+                entry_type VARCHAR(16) NOT NULL,
+                tournament_id VARCHAR(64),
+                round_id VARCHAR(128),
+                winner_uuid VARCHAR(36),
+                winner_name VARCHAR(16),
+                loser_uuid VARCHAR(36),
+                loser_name VARCHAR(16),
+                arena VARCHAR(50),
+                kit VARCHAR(50),
+                winner_kills INT NOT NULL DEFAULT 0,
+                winner_deaths INT NOT NULL DEFAULT 0,
+                loser_kills INT NOT NULL DEFAULT 0,
+                loser_deaths INT NOT NULL DEFAULT 0,
+                duration BIGINT NOT NULL DEFAULT 0,
+                started_at BIGINT NOT NULL,
+                ended_at BIGINT NOT NULL,
+                PRIMARY KEY (server_id, seq)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS journal_snapshots (
+                server_id VARCHAR(32) NOT NULL,
+                journal_seq BIGINT NOT NULL,
+                created_at BIGINT NOT NULL,
+                PRIMARY KEY (server_id, journal_seq)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS player_journal_progress (
+                player_uuid VARCHAR(36) NOT NULL,
+                server_id VARCHAR(32) NOT NULL,
+                journal_seq BIGINT NOT NULL DEFAULT 0,
+                PRIMARY KEY (player_uuid, server_id)
+            )
+            """,
+            "CREATE INDEX idx_match_journal_ended ON match_journal (ended_at)");
+        
+        // Kit contents are one compressed blob, so loading a kit reads a single row and decodes nothing
+        migrator.register(5, "Create arena, spawn point and kit tables",
+            """
+            CREATE TABLE IF NOT EXISTS arenas (
+                arena_id VARCHAR(64) PRIMARY KEY,
+                name VARCHAR(64) NOT NULL,
+                description VARCHAR(255),
+                type VARCHAR(16) NOT NULL,
+                world VARCHAR(64) NOT NULL,
+                creator_uuid VARCHAR(36),
+                created_time BIGINT NOT NULL,
+                building_enabled BOOLEAN NOT NULL DEFAULT FALSE,
+                max_players INT NOT NULL DEFAULT 16,
+                worldguard_region VARCHAR(64),
+                goal_x DOUBLE,
+                goal_y DOUBLE,
+                goal_z DOUBLE,
+                goal_yaw DOUBLE,
+                goal_pitch DOUBLE,
+                time_limit BIGINT NOT NULL DEFAULT 0,
+                team_based BOOLEAN NOT NULL DEFAULT FALSE,
+                teams VARCHAR(255)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS arena_spawns (
+                arena_id VARCHAR(64) NOT NULL,
+                spawn_name VARCHAR(64) NOT NULL,
+                team VARCHAR(32),
+                x DOUBLE NOT NULL,
+                y DOUBLE NOT NULL,
+                z DOUBLE NOT NULL,
+                yaw DOUBLE NOT NULL DEFAULT 0,
+                pitch DOUBLE NOT NULL DEFAULT 0,
+                slot INT NOT NULL,
+                PRIMARY KEY (arena_id, spawn_name)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS kits (
+                kit_id VARCHAR(64) PRIMARY KEY,
+                name VARCHAR(64) NOT NULL,
+                description VARCHAR(255),
+                creator_uuid VARCHAR(36),
+                created_time BIGINT NOT NULL,
+                clear_inventory BOOLEAN NOT NULL DEFAULT TRUE,
+                reset_health BOOLEAN NOT NULL DEFAULT TRUE,
+                reset_hunger BOOLEAN NOT NULL DEFAULT TRUE,
+                reset_experience BOOLEAN NOT NULL DEFAULT TRUE,
+                experience_level INT NOT NULL DEFAULT 0,
+                contents MEDIUMBLOB
+            )
+            """);
+        
+        // Glicko-2 defaults, so existing players start as unrated
+        migrator.register(6, "Add skill rating columns to player_stats",
+            "ALTER TABLE player_stats ADD COLUMN rating DOUBLE NOT NULL DEFAULT 1500",
+            "ALTER TABLE player_stats ADD COLUMN rating_deviation DOUBLE NOT NULL DEFAULT 350",
+            "ALTER TABLE player_stats ADD COLUMN rating_volatility DOUBLE NOT NULL DEFAULT 0.06",
+            "ALTER TABLE player_stats ADD COLUMN rating_period BIGINT NOT NULL DEFAULT 0");
+        
+        // One row per player and day, so windowed leaderboards sum a few rows per player instead of the journal
+        migrator.register(7, "Create daily stat buckets and seasons",
+            """
+            CREATE TABLE IF NOT EXISTS player_stats_daily (
+                player_uuid VARCHAR(36) NOT NULL,
+                day INT NOT NULL,
+                rounds_played INT NOT NULL DEFAULT 0,
+                rounds_won INT NOT NULL DEFAULT 0,
+                kills INT NOT NULL DEFAULT 0,
+                deaths INT NOT NULL DEFAULT 0,
+                PRIMARY KEY (player_uuid, day)
+            )
+            """,
+            "CREATE INDEX idx_player_stats_daily_day ON player_stats_daily (day)",
+            """
+            CREATE TABLE IF NOT EXISTS seasons (
+                season_id INT PRIMARY KEY,
+                name VARCHAR(64) NOT NULL,
+                started_at BIGINT NOT NULL,
+                ended_at BIGINT NOT NULL DEFAULT 0
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS season_stats (
+                season_id INT NOT NULL,
+                player_uuid VARCHAR(36) NOT NULL,
+                rounds_played INT NOT NULL DEFAULT 0,
+                rounds_won INT NOT NULL DEFAULT 0,
+                kills INT NOT NULL DEFAULT 0,
+                deaths INT NOT NULL DEFAULT 0,
+                PRIMARY KEY (season_id, player_uuid)
+            )
+            """);
+        
+        // Usage rows name their kit or arena, so servers sharing the database never disagree on an id
+        migrator.register(8, "Create per-player kit and arena usage counts",
+            """
+            CREATE TABLE IF NOT EXISTS player_usage (
+                player_uuid VARCHAR(36) NOT NULL,
+                usage_kind INT NOT NULL,
+                name VARCHAR(64) NOT NULL,
+                uses INT NOT NULL DEFAULT 0,
+                PRIMARY KEY (player_uuid, usage_kind, name)
+            )
+            """);
+        
+        migrator.register(9, "Add combat totals to player_stats",
+            "ALTER TABLE player_stats ADD COLUMN total_assists INT NOT NULL DEFAULT 0",
+            "ALTER TABLE player_stats ADD COLUMN total_hits INT NOT NULL DEFAULT 0",
+            "ALTER TABLE player_stats ADD COLUMN damage_dealt DOUBLE NOT NULL DEFAULT 0",
+            "ALTER TABLE player_stats ADD COLUMN damage_taken DOUBLE NOT NULL DEFAULT 0");
+        
+        // Filled from player_stats on first use
+        migrator.register(10, "Create server-wide stat totals",
+            """
+            CREATE TABLE IF NOT EXISTS global_stats (
+                stat_key VARCHAR(32) PRIMARY KEY,
+                stat_value BIGINT NOT NULL DEFAULT 0
+            )
+            """);
+        
+        // One row per pair of players in UUID order; the key serves player_a lookups, the index player_b
+        migrator.register(11, "Create head-to-head records",
+            """
+            CREATE TABLE IF NOT EXISTS head_to_head (
+                player_a VARCHAR(36) NOT NULL,
+                player_b VARCHAR(36) NOT NULL,
+                wins_a INT NOT NULL DEFAULT 0,
+                wins_b INT NOT NULL DEFAULT 0,
+                last_meeting BIGINT NOT NULL DEFAULT 0,
+                last_winner VARCHAR(36),
+                PRIMARY KEY (player_a, player_b)
+            )
+            """,
+            "CREATE INDEX idx_head_to_head_player_b ON head_to_head (player_b)");
+        
+        // Resolves names of offline players given to commands
+        migrator.register(12, "Add player name index to player_stats",
+            "CREATE INDEX idx_player_stats_name ON player_stats (player_name)");
+        
+        // Lets a rebuild read the entries of a range of players without scanning the whole journal
+        migrator.register(13, "Add player indexes to match_journal",
+            "CREATE INDEX idx_match_journal_winner ON match_journal (winner_uuid)",
+            "CREATE INDEX idx_match_journal_loser ON match_journal (loser_uuid)");
+        
+        // A single row every stats write locks, so a server rewriting player_stats keeps the others from
+        // writing over the new rows, and a new generation tells them to reload
+        migrator.register(14, "Create the stats rewrite lock",
+            """
+            CREATE TABLE IF NOT EXISTS stats_rewrite (
+                lock_id INT PRIMARY KEY,
+                generation BIGINT NOT NULL DEFAULT 0,
+                server_id VARCHAR(32),
+                started_at BIGINT NOT NULL DEFAULT 0
+            )
+            """,
+            "INSERT INTO stats_rewrite (lock_id, generation, started_at) VALUES (1, 0, 0)");
     }
     
     /**
      * Create Discord links table
      */
-    private void createDiscordLinksTable() throws SQLException {
+    private static void createDiscordLinksTable(Connection conn, SqlDialect dialect) throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS discord_links (
                 discord_id VARCHAR(20) PRIMARY KEY,
@@ -97,29 +636,20 @@ public class DatabaseManager {
                 minecraft_username VARCHAR(16) NOT NULL,
                 linked_timestamp BIGINT NOT NULL,
                 verified BOOLEAN NOT NULL DEFAULT FALSE,
-                notifications_enabled BOOLEAN NOT NULL DEFAULT TRUE,
-                INDEX idx_minecraft_uuid (minecraft_uuid)
+                notifications_enabled BOOLEAN NOT NULL DEFAULT TRUE
             )
             """;
         
-        if ("sqlite".equalsIgnoreCase(databaseType)) {
-            sql = sql.replace("VARCHAR(20)", "TEXT")
-                   .replace("VARCHAR(36)", "TEXT")
-                   .replace("VARCHAR(16)", "TEXT")
-                   .replace("BOOLEAN", "INTEGER")
-                   .replace("BIGINT", "INTEGER")
-                   .replaceAll("INDEX.*\\)", "");
-        }
-        
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(sql);
+        // The UNIQUE constraint already indexes minecraft_uuid on both backends
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(dialect.translateDdl(sql));
         }
     }
     
     /**
      * Create player stats table
      */
-    private void createPlayerStatsTable() throws SQLException {
+    private static void createPlayerStatsTable(Connection conn, SqlDialect dialect) throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS player_stats (
                 player_uuid VARCHAR(36) PRIMARY KEY,
@@ -142,43 +672,41 @@ public class DatabaseManager {
             )
             """;
         
-        if ("sqlite".equalsIgnoreCase(databaseType)) {
-            sql = sql.replace("VARCHAR(36)", "TEXT")
-                   .replace("VARCHAR(16)", "TEXT")
-                   .replace("VARCHAR(50)", "TEXT")
-                   .replace("INT", "INTEGER")
-                   .replace("BIGINT", "INTEGER");
-        }
-        
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(sql);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(dialect.translateDdl(sql));
         }
     }
     
     // Discord Link Operations
     
     /**
-     * Save a Discord link to the database
+     * Save a Discord link to the database.
+     * Any other link for the same Minecraft account is replaced.
      */
     public void saveDiscordLink(DiscordLink link) throws SQLException {
-        String sql = """
-            INSERT OR REPLACE INTO discord_links 
-            (discord_id, minecraft_uuid, minecraft_username, linked_timestamp, verified, notifications_enabled)
-            VALUES (?, ?, ?, ?, ?, ?)
-            """;
-        
-        if ("mysql".equalsIgnoreCase(databaseType)) {
-            sql = sql.replace("INSERT OR REPLACE", "INSERT INTO ... ON DUPLICATE KEY UPDATE");
-        }
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, link.getDiscordId());
-            stmt.setString(2, link.getMinecraftUuid().toString());
-            stmt.setString(3, link.getMinecraftUsername());
-            stmt.setLong(4, link.getLinkedTimestamp());
-            stmt.setBoolean(5, link.isVerified());
-            stmt.setBoolean(6, link.isNotificationsEnabled());
-            stmt.executeUpdate();
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement(
+                     "DELETE FROM discord_links WHERE minecraft_uuid = ? AND discord_id <> ?");
+                 PreparedStatement stmt = conn.prepareStatement(discordLinkUpsert)) {
+                delete.setString(1, link.getMinecraftUuid().toString());
+                delete.setString(2, link.getDiscordId());
+                delete.executeUpdate();
+                
+                stmt.setString(1, link.getDiscordId());
+                stmt.setString(2, link.getMinecraftUuid().toString());
+                stmt.setString(3, link.getMinecraftUsername());
+                stmt.setLong(4, link.getLinkedTimestamp());
+                stmt.setBoolean(5, link.isVerified());
+                stmt.setBoolean(6, link.isNotificationsEnabled());
+                stmt.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         }
     }
     
@@ -189,7 +717,8 @@ public class DatabaseManager {
         List<DiscordLink> links = new ArrayList<>();
         String sql = "SELECT * FROM discord_links WHERE verified = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setBoolean(1, true);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -216,7 +745,8 @@ public class DatabaseManager {
     public void deleteDiscordLink(String discordId) throws SQLException {
         String sql = "DELETE FROM discord_links WHERE discord_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection conn = getWriteConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, discordId);
             stmt.executeUpdate();
         }
@@ -228,7 +758,8 @@ public class DatabaseManager {
     public void deleteDiscordLinkByMinecraft(UUID minecraftUuid) throws SQLException {
         String sql = "DELETE FROM discord_links WHERE minecraft_uuid = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection conn = getWriteConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, minecraftUuid.toString());
             stmt.executeUpdate();
         }
@@ -240,66 +771,229 @@ public class DatabaseManager {
      * Save player stats to the database
      */
     public void savePlayerStats(PlayerStats stats) throws SQLException {
-        String sql = """
-            INSERT OR REPLACE INTO player_stats 
-            (player_uuid, player_name, tournaments_played, tournaments_won, rounds_played, rounds_won,
-             total_kills, total_deaths, total_playtime, first_played, last_played, win_streak,
-             best_win_streak, loss_streak, average_round_duration, favorite_kit, favorite_arena)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """;
+        try (Connection conn = getWriteConnection();
+             PreparedStatement stmt = conn.prepareStatement(playerStatsUpsert)) {
+            bindPlayerStats(stmt, stats);
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Save several player stats rows, together with their kit and arena usage counts, in a single transaction
+     * @param statsList Stats to write
+     * @return False if another server rewrote player stats since this server loaded them; nothing is written then
+     */
+    public boolean savePlayerStatsBatch(Collection<PlayerStats> statsList) throws SQLException {
+        if (statsList.isEmpty()) {
+            return true;
+        }
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(playerStatsUpsert)) {
+                if (!checkStatsRewrite(conn)) {
+                    conn.rollback();
+                    return false;
+                }
+                for (PlayerStats stats : statsList) {
+                    bindPlayerStats(stmt, stats);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                savePlayerUsage(conn, statsList);
+                saveJournalProgress(conn, statsList);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Write the kit and arena usage counts of several players.
+     * Players whose counts were never loaded have empty counters and write nothing.
+     */
+    private void savePlayerUsage(Connection conn, Collection<PlayerStats> statsList) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(playerUsageUpsert)) {
+            int rows = 0;
+            for (PlayerStats stats : statsList) {
+                rows += bindPlayerUsage(stmt, stats.getPlayerId(), USAGE_KIND_KIT, stats.getKitUsage());
+                rows += bindPlayerUsage(stmt, stats.getPlayerId(), USAGE_KIND_ARENA, stats.getArenaUsage());
+            }
+            if (rows > 0) {
+                stmt.executeBatch();
+            }
+        }
+    }
+    
+    /**
+     * Write how far into this server's journal every player's stats are
+     */
+    private void saveJournalProgress(Connection conn, Collection<PlayerStats> statsList) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(journalProgressUpsert)) {
+            int rows = 0;
+            for (PlayerStats stats : statsList) {
+                if (stats.getJournalSequence() > 0) {
+                    stmt.setString(1, stats.getPlayerId().toString());
+                    stmt.setString(2, serverId);
+                    stmt.setLong(3, stats.getJournalSequence());
+                    stmt.addBatch();
+                    rows++;
+                }
+            }
+            if (rows > 0) {
+                stmt.executeBatch();
+            }
+        }
+    }
+    
+    /**
+     * Load how far into this server's journal a player's stats are
+     */
+    private void loadJournalProgress(Connection conn, PlayerStats stats) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT journal_seq FROM player_journal_progress WHERE player_uuid = ? AND server_id = ?")) {
             stmt.setString(1, stats.getPlayerId().toString());
-            stmt.setString(2, stats.getPlayerName());
-            stmt.setInt(3, stats.getTournamentsPlayed());
-            stmt.setInt(4, stats.getTournamentsWon());
-            stmt.setInt(5, stats.getRoundsPlayed());
-            stmt.setInt(6, stats.getRoundsWon());
-            stmt.setInt(7, stats.getTotalKills());
-            stmt.setInt(8, stats.getTotalDeaths());
-            stmt.setLong(9, stats.getTotalPlayTime());
-            stmt.setLong(10, stats.getFirstPlayed());
-            stmt.setLong(11, stats.getLastPlayed());
-            stmt.setInt(12, stats.getWinStreak());
-            stmt.setInt(13, stats.getBestWinStreak());
-            stmt.setInt(14, stats.getLossStreak());
-            stmt.setDouble(15, stats.getAverageRoundDuration());
-            stmt.setString(16, stats.getFavoriteKit());
-            stmt.setString(17, stats.getFavoriteArena());
-            stmt.executeUpdate();
+            stmt.setString(2, serverId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                stats.setJournalSequence(rs.next() ? rs.getLong(1) : 0);
+            }
+        }
+    }
+    
+    /**
+     * Add one usage row per used name to the batch
+     * @return Number of rows added
+     */
+    private int bindPlayerUsage(PreparedStatement stmt, UUID playerId, int kind, UsageCounter usage) throws SQLException {
+        int[][] snapshot = usage.snapshot();
+        int rows = 0;
+        for (int i = 0; i < snapshot[0].length; i++) {
+            String name = usageNames.getName(snapshot[0][i]);
+            if (name == null) {
+                continue;
+            }
+            stmt.setString(1, playerId.toString());
+            stmt.setInt(2, kind);
+            stmt.setString(3, name);
+            stmt.setInt(4, snapshot[1][i]);
+            stmt.addBatch();
+            rows++;
+        }
+        return rows;
+    }
+    
+    /**
+     * Load the kit and arena usage counts of a player into their stats
+     */
+    private void loadPlayerUsage(Connection conn, PlayerStats stats) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT usage_kind, name, uses FROM player_usage WHERE player_uuid = ?")) {
+            stmt.setString(1, stats.getPlayerId().toString());
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    UsageCounter usage = rs.getInt("usage_kind") == USAGE_KIND_KIT ? stats.getKitUsage() : stats.getArenaUsage();
+                    usage.set(usageNames.intern(rs.getString("name")), rs.getInt("uses"));
+                }
+            }
         }
     }
     
     /**
-     * Load player stats from the database
+     * Get the ids kit and arena names are counted under in memory
+     * @return Name interner shared by every player's usage counters
+     */
+    public NameInterner getUsageNames() {
+        return usageNames;
+    }
+    
+    /**
+     * Bind every player_stats column of the upsert statement
+     */
+    private void bindPlayerStats(PreparedStatement stmt, PlayerStats stats) throws SQLException {
+        stmt.setString(1, stats.getPlayerId().toString());
+        stmt.setString(2, stats.getPlayerName());
+        stmt.setInt(3, stats.getTournamentsPlayed());
+        stmt.setInt(4, stats.getTournamentsWon());
+        stmt.setInt(5, stats.getRoundsPlayed());
+        stmt.setInt(6, stats.getRoundsWon());
+        stmt.setInt(7, stats.getTotalKills());
+        stmt.setInt(8, stats.getTotalDeaths());
+        stmt.setLong(9, stats.getTotalPlayTime());
+        stmt.setLong(10, stats.getFirstPlayed());
+        stmt.setLong(11, stats.getLastPlayed());
+        stmt.setInt(12, stats.getWinStreak());
+        stmt.setInt(13, stats.getBestWinStreak());
+        stmt.setInt(14, stats.getLossStreak());
+        stmt.setDouble(15, stats.getAverageRoundDuration());
+        stmt.setString(16, stats.getFavoriteKit());
+        stmt.setString(17, stats.getFavoriteArena());
+        stmt.setDouble(18, stats.getRating());
+        stmt.setDouble(19, stats.getRatingDeviation());
+        stmt.setDouble(20, stats.getRatingVolatility());
+        stmt.setLong(21, stats.getRatingPeriod());
+        stmt.setInt(22, stats.getTotalAssists());
+        stmt.setInt(23, stats.getTotalHits());
+        stmt.setDouble(24, stats.getTotalDamageDealt());
+        stmt.setDouble(25, stats.getTotalDamageTaken());
+    }
+    
+    /**
+     * Read a player stats row
+     */
+    private PlayerStats readPlayerStats(ResultSet rs) throws SQLException {
+        PlayerStats stats = new PlayerStats(
+            UUID.fromString(rs.getString("player_uuid")),
+            rs.getString("player_name"),
+            rs.getInt("tournaments_played"),
+            rs.getInt("tournaments_won"),
+            rs.getInt("rounds_played"),
+            rs.getInt("rounds_won"),
+            rs.getInt("total_kills"),
+            rs.getInt("total_deaths"),
+            rs.getLong("total_playtime"),
+            rs.getLong("first_played"),
+            rs.getLong("last_played"),
+            rs.getInt("win_streak"),
+            rs.getInt("best_win_streak"),
+            rs.getInt("loss_streak"),
+            rs.getDouble("average_round_duration"),
+            rs.getString("favorite_kit"),
+            rs.getString("favorite_arena")
+        );
+        stats.setRating(rs.getDouble("rating"));
+        stats.setRatingDeviation(rs.getDouble("rating_deviation"));
+        stats.setRatingVolatility(rs.getDouble("rating_volatility"));
+        stats.setRatingPeriod(rs.getLong("rating_period"));
+        stats.setTotalAssists(rs.getInt("total_assists"));
+        stats.setTotalHits(rs.getInt("total_hits"));
+        stats.setTotalDamageDealt(rs.getDouble("damage_dealt"));
+        stats.setTotalDamageTaken(rs.getDouble("damage_taken"));
+        return stats;
+    }
+    
+    /**
+     * Load player stats, including kit and arena usage counts, from the database
      */
     public PlayerStats loadPlayerStats(UUID playerId) throws SQLException {
         String sql = "SELECT * FROM player_stats WHERE player_uuid = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, playerId.toString());
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return new PlayerStats(
-                        UUID.fromString(rs.getString("player_uuid")),
-                        rs.getString("player_name"),
-                        rs.getInt("tournaments_played"),
-                        rs.getInt("tournaments_won"),
-                        rs.getInt("rounds_played"),
-                        rs.getInt("rounds_won"),
-                        rs.getInt("total_kills"),
-                        rs.getInt("total_deaths"),
-                        rs.getLong("total_playtime"),
-                        rs.getLong("first_played"),
-                        rs.getLong("last_played"),
-                        rs.getInt("win_streak"),
-                        rs.getInt("best_win_streak"),
-                        rs.getInt("loss_streak"),
-                        rs.getDouble("average_round_duration"),
-                        rs.getString("favorite_kit"),
-                        rs.getString("favorite_arena")
-                    );
+                    PlayerStats stats = readPlayerStats(rs);
+                    loadPlayerUsage(conn, stats);
+                    loadJournalProgress(conn, stats);
+                    return stats;
                 }
             }
         }
@@ -308,40 +1002,113 @@ public class DatabaseManager {
     }
     
     /**
-     * Load all player stats from the database
+     * Load player stats on the database executor
+     * @param playerId Player UUID
+     * @return Future completed with the stats, or null if the player has none
+     */
+    public CompletableFuture<PlayerStats> loadPlayerStatsAsync(UUID playerId) {
+        return supplyAsync(() -> loadPlayerStats(playerId));
+    }
+    
+    /**
+     * Read every player stats row through a forward-only cursor and hand each one to a consumer
+     * without keeping them in memory
+     * @param consumer Receives every row, in player UUID order
+     * @return Number of rows read
      */
-    public List<PlayerStats> loadAllPlayerStats() throws SQLException {
-        List<PlayerStats> statsList = new ArrayList<>();
-        String sql = "SELECT * FROM player_stats ORDER BY tournaments_won DESC, rounds_won DESC";
+    public int forEachPlayerStats(Consumer<PlayerStats> consumer) throws SQLException {
+        int count = 0;
         
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = getReadConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(plugin.getConfigManager().getStreamFetchSize());
             
-            while (rs.next()) {
-                PlayerStats stats = new PlayerStats(
-                    UUID.fromString(rs.getString("player_uuid")),
-                    rs.getString("player_name"),
-                    rs.getInt("tournaments_played"),
-                    rs.getInt("tournaments_won"),
-                    rs.getInt("rounds_played"),
-                    rs.getInt("rounds_won"),
-                    rs.getInt("total_kills"),
-                    rs.getInt("total_deaths"),
-                    rs.getLong("total_playtime"),
-                    rs.getLong("first_played"),
-                    rs.getLong("last_played"),
-                    rs.getInt("win_streak"),
-                    rs.getInt("best_win_streak"),
-                    rs.getInt("loss_streak"),
-                    rs.getDouble("average_round_duration"),
-                    rs.getString("favorite_kit"),
-                    rs.getString("favorite_arena")
-                );
-                statsList.add(stats);
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM player_stats ORDER BY player_uuid")) {
+                while (rs.next()) {
+                    consumer.accept(readPlayerStats(rs));
+                    count++;
+                }
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Read a page of player stats rows in player UUID order
+     * @param conn Connection to read on
+     * @param afterPlayerId Only players with a higher UUID are read; empty to start at the first player
+     * @param limit Maximum number of rows
+     * @return Rows in player UUID order
+     */
+    private List<PlayerStats> loadPlayerStatsPage(Connection conn, String afterPlayerId, int limit) throws SQLException {
+        List<PlayerStats> page = new ArrayList<>();
+        
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT * FROM player_stats WHERE player_uuid > ? ORDER BY player_uuid LIMIT ?")) {
+            stmt.setString(1, afterPlayerId);
+            stmt.setInt(2, limit);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(readPlayerStats(rs));
+                }
+            }
+        }
+        
+        return page;
+    }
+    
+    /**
+     * Write player stats rows from a source of unknown size in a single transaction.
+     * Rows are sent in batches, so only one batch is held by the driver at a time.
+     * Existing rows of the same players are replaced. Must run after {@link #beginStatsRewrite()}.
+     * @param rows Rows to write; may throw to abort the import
+     * @return Number of rows written
+     */
+    public int importPlayerStats(Iterator<PlayerStats> rows) throws SQLException {
+        int batchSize = plugin.getConfigManager().getImportBatchSize();
+        int count = 0;
+        
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(playerStatsUpsert)) {
+                int batched = 0;
+                while (rows.hasNext()) {
+                    bindPlayerStats(stmt, rows.next());
+                    stmt.addBatch();
+                    count++;
+                    
+                    if (++batched >= batchSize) {
+                        stmt.executeBatch();
+                        batched = 0;
+                    }
+                }
+                if (batched > 0) {
+                    stmt.executeBatch();
+                }
+                long generation = commitStatsRewrite(conn);
+                conn.commit();
+                statsGeneration = generation;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         }
         
-        return statsList;
+        return count;
+    }
+    
+    /**
+     * Reset win and loss streaks of every player
+     */
+    public void resetAllStreaks() throws SQLException {
+        try (Connection conn = getWriteConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE player_stats SET win_streak = 0, loss_streak = 0");
+        }
     }
     
     /**
@@ -351,31 +1118,13 @@ public class DatabaseManager {
         List<PlayerStats> topPlayers = new ArrayList<>();
         String sql = "SELECT * FROM player_stats ORDER BY tournaments_won DESC, rounds_won DESC LIMIT ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, limit);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    PlayerStats stats = new PlayerStats(
-                        UUID.fromString(rs.getString("player_uuid")),
-                        rs.getString("player_name"),
-                        rs.getInt("tournaments_played"),
-                        rs.getInt("tournaments_won"),
-                        rs.getInt("rounds_played"),
-                        rs.getInt("rounds_won"),
-                        rs.getInt("total_kills"),
-                        rs.getInt("total_deaths"),
-                        rs.getLong("total_playtime"),
-                        rs.getLong("first_played"),
-                        rs.getLong("last_played"),
-                        rs.getInt("win_streak"),
-                        rs.getInt("best_win_streak"),
-                        rs.getInt("loss_streak"),
-                        rs.getDouble("average_round_duration"),
-                        rs.getString("favorite_kit"),
-                        rs.getString("favorite_arena")
-                    );
-                    topPlayers.add(stats);
+                    topPlayers.add(readPlayerStats(rs));
                 }
             }
         }
@@ -384,27 +1133,1298 @@ public class DatabaseManager {
     }
     
     /**
-     * Check if the database connection is valid
+     * Get top players by tournaments won on the database executor
+     * @param limit Maximum number of players
+     * @return Future completed with the players, best first
      */
-    public boolean isConnected() {
-        try {
-            return connection != null && !connection.isClosed() && connection.isValid(5);
-        } catch (SQLException e) {
-            return false;
+    public CompletableFuture<List<PlayerStats>> getTopPlayersByTournamentsAsync(int limit) {
+        return supplyAsync(() -> getTopPlayersByTournaments(limit));
+    }
+    
+    // Match Journal Operations
+    
+    /**
+     * Append journal entries in a single transaction.
+     * Fails without writing anything if an entry's server and sequence are already stored,
+     * e.g. when two servers share a server id.
+     * @param entries Entries to append, in sequence order
+     */
+    public void appendJournalEntries(Collection<MatchJournalEntry> entries) throws SQLException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(journalInsert)) {
+                for (MatchJournalEntry entry : entries) {
+                    bindJournalEntry(stmt, entry);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         }
     }
     
     /**
-     * Close database connections
+     * Bind every match_journal column of the insert statement
      */
-    public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                plugin.getLogger().info("Database connections closed successfully");
+    private void bindJournalEntry(PreparedStatement stmt, MatchJournalEntry entry) throws SQLException {
+        stmt.setString(1, entry.getServerId());
+        stmt.setLong(2, entry.getSequence());
+        stmt.setString(3, entry.getType().name());
+        stmt.setString(4, entry.getTournamentId());
+        stmt.setString(5, entry.getRoundId());
+        stmt.setString(6, entry.getWinner() != null ? entry.getWinner().toString() : null);
+        stmt.setString(7, entry.getWinnerName());
+        stmt.setString(8, entry.getLoser() != null ? entry.getLoser().toString() : null);
+        stmt.setString(9, entry.getLoserName());
+        stmt.setString(10, entry.getArena());
+        stmt.setString(11, entry.getKit());
+        stmt.setInt(12, entry.getWinnerKills());
+        stmt.setInt(13, entry.getWinnerDeaths());
+        stmt.setInt(14, entry.getLoserKills());
+        stmt.setInt(15, entry.getLoserDeaths());
+        stmt.setLong(16, entry.getDuration());
+        stmt.setLong(17, entry.getStartedAt());
+        stmt.setLong(18, entry.getEndedAt());
+    }
+    
+    /**
+     * Get the highest journal sequence a server has written so far
+     * @param serverId Server id
+     * @return Last sequence, or 0 if the server has no entries
+     */
+    public long getLastJournalSequence(String serverId) throws SQLException {
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT MAX(seq) FROM match_journal WHERE server_id = ?")) {
+            stmt.setString(1, serverId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
             }
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Error closing database connection: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Get the highest journal sequence of every server
+     * @return Last sequence by server id
+     */
+    public Map<String, Long> getLastJournalSequences() throws SQLException {
+        Map<String, Long> sequences = new HashMap<>();
+        
+        try (Connection conn = getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT server_id, MAX(seq) FROM match_journal GROUP BY server_id")) {
+            while (rs.next()) {
+                sequences.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        
+        return sequences;
+    }
+    
+    /**
+     * Read the journal entries of one server in sequence order and hand each one to a consumer
+     * without keeping them in memory
+     * @param serverId Server whose entries are read
+     * @param afterSequence Only entries with a higher sequence are read
+     * @param consumer Receives every entry
+     * @return Number of entries read
+     */
+    public int forEachJournalEntry(String serverId, long afterSequence, Consumer<MatchJournalEntry> consumer) throws SQLException {
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT * FROM match_journal WHERE server_id = ? AND seq > ? ORDER BY seq")) {
+            stmt.setString(1, serverId);
+            stmt.setLong(2, afterSequence);
+            return readJournalEntries(stmt, consumer);
+        }
+    }
+    
+    /**
+     * Read the journal entries of every server that involve a range of players, in the order they ended,
+     * and hand each one to a consumer without keeping them in memory
+     * @param conn Connection to read on
+     * @param afterPlayerId Lower bound of the range, exclusive; empty for no lower bound
+     * @param toPlayerId Upper bound of the range, inclusive; null for no upper bound
+     * @param consumer Receives every entry whose winner or loser is in the range
+     * @return Number of entries read
+     */
+    private int forEachJournalEntryInvolving(Connection conn, String afterPlayerId, String toPlayerId,
+                                             Consumer<MatchJournalEntry> consumer) throws SQLException {
+        String winnerRange = toPlayerId != null ? "winner_uuid > ? AND winner_uuid <= ?" : "winner_uuid > ?";
+        String loserRange = toPlayerId != null ? "loser_uuid > ? AND loser_uuid <= ?" : "loser_uuid > ?";
+        String sql = "SELECT * FROM match_journal WHERE (" + winnerRange + ") OR (" + loserRange + ")"
+            + " ORDER BY ended_at, server_id, seq";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int side = 0; side < 2; side++) {
+                stmt.setString(index++, afterPlayerId);
+                if (toPlayerId != null) {
+                    stmt.setString(index++, toPlayerId);
+                }
+            }
+            return readJournalEntries(stmt, consumer);
+        }
+    }
+    
+    /**
+     * Stream the journal rows of a query to a consumer
+     */
+    private int readJournalEntries(PreparedStatement stmt, Consumer<MatchJournalEntry> consumer) throws SQLException {
+        int count = 0;
+        stmt.setFetchSize(plugin.getConfigManager().getStreamFetchSize());
+        
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                String winner = rs.getString("winner_uuid");
+                String loser = rs.getString("loser_uuid");
+                consumer.accept(new MatchJournalEntry(
+                    rs.getString("server_id"),
+                    rs.getLong("seq"),
+                    MatchJournalEntry.EntryType.valueOf(rs.getString("entry_type")),
+                    rs.getString("tournament_id"),
+                    rs.getString("round_id"),
+                    winner != null ? UUID.fromString(winner) : null,
+                    rs.getString("winner_name"),
+                    loser != null ? UUID.fromString(loser) : null,
+                    rs.getString("loser_name"),
+                    rs.getString("arena"),
+                    rs.getString("kit"),
+                    rs.getInt("winner_kills"),
+                    rs.getInt("winner_deaths"),
+                    rs.getInt("loser_kills"),
+                    rs.getInt("loser_deaths"),
+                    rs.getLong("duration"),
+                    rs.getLong("started_at"),
+                    rs.getLong("ended_at")
+                ));
+                count++;
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Get the journal sequence of a server covered by its latest stats snapshot
+     * @param serverId Server id
+     * @return Snapshot sequence, or 0 if no snapshot was taken yet
+     */
+    public long getLatestJournalSnapshot(String serverId) throws SQLException {
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT MAX(journal_seq) FROM journal_snapshots WHERE server_id = ?")) {
+            stmt.setString(1, serverId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+    
+    /**
+     * Record that player_stats reflects every journal entry of a server up to a sequence
+     * @param serverId Server id
+     * @param journalSequence Covered sequence
+     * @return False if another server rewrote player stats since this server loaded them; nothing is recorded then
+     */
+    public boolean saveJournalSnapshot(String serverId, long journalSequence) throws SQLException {
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(dialect.upsert("journal_snapshots",
+                     List.of("server_id", "journal_seq"), List.of("server_id", "journal_seq", "created_at")))) {
+                if (!checkStatsRewrite(conn)) {
+                    conn.rollback();
+                    return false;
+                }
+                stmt.setString(1, serverId);
+                stmt.setLong(2, journalSequence);
+                stmt.setLong(3, System.currentTimeMillis());
+                stmt.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Replace player stats with stats rebuilt from the journal and record the matching snapshots,
+     * all in a single transaction. Rows are sent in batches, so only one batch is held by the driver at a time.
+     * The rows are read on the same connection, so a rebuild never waits for a second one from the pool.
+     * Must run after {@link #beginStatsRewrite()}.
+     * @param source Opens the rebuilt stats of every player on a reader; the rows may throw to abort the rebuild
+     * @param journalSequences Last sequence included in the rebuild, per server
+     * @return Number of rows written
+     */
+    public int saveRebuiltPlayerStats(Function<RebuildReader, Iterator<PlayerStats>> source,
+                                      Map<String, Long> journalSequences) throws SQLException {
+        int batchSize = plugin.getConfigManager().getImportBatchSize();
+        int count = 0;
+        
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(playerStatsUpsert);
+                 Statement clear = conn.createStatement();
+                 PreparedStatement snapshot = conn.prepareStatement(
+                     "INSERT INTO journal_snapshots (server_id, journal_seq, created_at) VALUES (?, ?, ?)")) {
+                Iterator<PlayerStats> rows = source.apply(new RebuildReader(conn));
+                int batched = 0;
+                while (rows.hasNext()) {
+                    bindPlayerStats(stmt, rows.next());
+                    stmt.addBatch();
+                    count++;
+                    
+                    if (++batched >= batchSize) {
+                        stmt.executeBatch();
+                        batched = 0;
+                    }
+                }
+                if (batched > 0) {
+                    stmt.executeBatch();
+                }
+                
+                // Older snapshots and progress describe the stats that were just replaced;
+                // the new snapshots cover everything the rebuilt rows reflect. Other servers were kept from
+                // writing meanwhile and reload from their new snapshot once they see the new generation.
+                clear.executeUpdate("DELETE FROM journal_snapshots");
+                clear.executeUpdate("DELETE FROM player_journal_progress");
+                for (Map.Entry<String, Long> entry : journalSequences.entrySet()) {
+                    snapshot.setString(1, entry.getKey());
+                    snapshot.setLong(2, entry.getValue());
+                    snapshot.setLong(3, System.currentTimeMillis());
+                    snapshot.addBatch();
+                }
+                snapshot.executeBatch();
+                long generation = commitStatsRewrite(conn);
+                conn.commit();
+                statsGeneration = generation;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Reads of a stats rebuild, made on the connection that writes the rebuilt rows.
+     * Every read finishes before the next batch of rows is written.
+     */
+    public class RebuildReader {
+        private final Connection connection;
+        
+        private RebuildReader(Connection connection) {
+            this.connection = connection;
+        }
+        
+        /**
+         * Read a page of player stats rows in player UUID order
+         * @param afterPlayerId Only players with a higher UUID are read; empty to start at the first player
+         * @param limit Maximum number of rows
+         * @return Rows in player UUID order
+         */
+        public List<PlayerStats> loadPlayerStatsPage(String afterPlayerId, int limit) throws SQLException {
+            return DatabaseManager.this.loadPlayerStatsPage(connection, afterPlayerId, limit);
+        }
+        
+        /**
+         * Read the journal entries of every server that involve a range of players, in the order they ended
+         * @param afterPlayerId Lower bound of the range, exclusive; empty for no lower bound
+         * @param toPlayerId Upper bound of the range, inclusive; null for no upper bound
+         * @param consumer Receives every entry whose winner or loser is in the range
+         * @return Number of entries read
+         */
+        public int forEachJournalEntryInvolving(String afterPlayerId, String toPlayerId,
+                                                Consumer<MatchJournalEntry> consumer) throws SQLException {
+            return DatabaseManager.this.forEachJournalEntryInvolving(connection, afterPlayerId, toPlayerId, consumer);
+        }
+    }
+    
+    // Stats Rewrite Operations
+    
+    /**
+     * Take the stats rewrite lock before replacing player_stats rows.
+     * Other servers stop writing player stats until the rewrite commits, then reload them.
+     * @throws SQLException If another server is rewriting player stats, or did since this server loaded them
+     */
+    public void beginStatsRewrite() throws SQLException {
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     "UPDATE stats_rewrite SET server_id = ?, started_at = ? WHERE lock_id = 1")) {
+                if (!checkStatsRewrite(conn)) {
+                    throw new SQLException("player stats were rewritten by another server meanwhile");
+                }
+                stmt.setString(1, serverId);
+                stmt.setLong(2, System.currentTimeMillis());
+                stmt.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    /**
+     * Release the stats rewrite lock of a rewrite that failed, leaving player stats as they were
+     */
+    public void abortStatsRewrite() {
+        try (Connection conn = getWriteConnection()) {
+            releaseStatsRewrite(conn);
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Failed to release the stats rewrite lock: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Read the generation of player stats, raised by every rewrite of player_stats
+     * @return Stored generation
+     */
+    public long loadStatsGeneration() throws SQLException {
+        try (Connection conn = getReadConnection()) {
+            return readStatsGeneration(conn);
+        }
+    }
+    
+    /**
+     * Write player stats again once the cached stats were reloaded after another server's rewrite
+     * @param generation Generation the stats were reloaded after
+     */
+    public void setStatsGeneration(long generation) {
+        statsGeneration = generation;
+    }
+    
+    /**
+     * Lock the stats rewrite row until the transaction ends and check that player stats may be written
+     * @return False if another server rewrote player stats since this server loaded them
+     * @throws SQLException If another server is rewriting player stats right now
+     */
+    private boolean checkStatsRewrite(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 dialect.lockRows("SELECT generation, server_id FROM stats_rewrite WHERE lock_id = 1"))) {
+            if (!rs.next()) {
+                return true;
+            }
+            String owner = rs.getString("server_id");
+            if (owner != null && !owner.equals(serverId)) {
+                throw new SQLException("player stats are being rewritten by server '" + owner + "'");
+            }
+            return rs.getLong("generation") == statsGeneration;
+        }
+    }
+    
+    /**
+     * Release the lock of this server and raise the generation, in the transaction that rewrote player_stats
+     * @return New generation, adopted once the transaction commits
+     */
+    private long commitStatsRewrite(Connection conn) throws SQLException {
+        long generation = statsGeneration + 1;
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE stats_rewrite SET generation = ?, server_id = NULL WHERE lock_id = 1 AND server_id = ?")) {
+            stmt.setLong(1, generation);
+            stmt.setString(2, serverId);
+            if (stmt.executeUpdate() == 0) {
+                throw new SQLException("the stats rewrite lock is not held by this server");
+            }
+        }
+        return generation;
+    }
+    
+    /**
+     * Release the stats rewrite lock if this server holds it
+     * @return Number of released locks
+     */
+    private int releaseStatsRewrite(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE stats_rewrite SET server_id = NULL WHERE lock_id = 1 AND server_id = ?")) {
+            stmt.setString(1, serverId);
+            return stmt.executeUpdate();
+        }
+    }
+    
+    private long readStatsGeneration(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT generation FROM stats_rewrite WHERE lock_id = 1")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+    
+    // Head-to-Head Operations
+    
+    /**
+     * Load every head-to-head record of a player
+     * @param playerId Player UUID
+     * @return Records of every opponent the player has met
+     */
+    public List<HeadToHead> loadHeadToHeads(UUID playerId) throws SQLException {
+        List<HeadToHead> records = new ArrayList<>();
+        String sql = "SELECT * FROM head_to_head WHERE player_a = ? UNION ALL SELECT * FROM head_to_head WHERE player_b = ?";
+        
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, playerId.toString());
+            stmt.setString(2, playerId.toString());
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    records.add(readHeadToHead(rs));
+                }
+            }
+        }
+        return records;
+    }
+    
+    /**
+     * Load the head-to-head record of two players
+     * @param first One player
+     * @param second The other player
+     * @return Record, or null if they have never met
+     */
+    public HeadToHead loadHeadToHead(UUID first, UUID second) throws SQLException {
+        boolean ordered = first.compareTo(second) <= 0;
+        
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT * FROM head_to_head WHERE player_a = ? AND player_b = ?")) {
+            stmt.setString(1, (ordered ? first : second).toString());
+            stmt.setString(2, (ordered ? second : first).toString());
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? readHeadToHead(rs) : null;
+            }
+        }
+    }
+    
+    private HeadToHead readHeadToHead(ResultSet rs) throws SQLException {
+        String lastWinner = rs.getString("last_winner");
+        return new HeadToHead(UUID.fromString(rs.getString("player_a")), UUID.fromString(rs.getString("player_b")),
+            rs.getInt("wins_a"), rs.getInt("wins_b"), rs.getLong("last_meeting"),
+            lastWinner != null ? UUID.fromString(lastWinner) : null);
+    }
+    
+    /**
+     * Add head-to-head increments to the stored records in a single transaction
+     * @param records Increments, at most one per pair
+     */
+    public void saveHeadToHeads(Collection<HeadToHead> records) throws SQLException {
+        if (records.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement increment = conn.prepareStatement(headToHeadIncrement);
+                 PreparedStatement lastMeeting = conn.prepareStatement(
+                     "UPDATE head_to_head SET last_meeting = ?, last_winner = ? "
+                         + "WHERE player_a = ? AND player_b = ? AND last_meeting <= ?")) {
+                for (HeadToHead record : records) {
+                    increment.setString(1, record.getPlayerA().toString());
+                    increment.setString(2, record.getPlayerB().toString());
+                    increment.setInt(3, record.getWinsA());
+                    increment.setInt(4, record.getWinsB());
+                    increment.addBatch();
+                    
+                    // Another server may have written a later meeting meanwhile
+                    lastMeeting.setLong(1, record.getLastMeeting());
+                    lastMeeting.setString(2, record.getLastWinner() != null ? record.getLastWinner().toString() : null);
+                    lastMeeting.setString(3, record.getPlayerA().toString());
+                    lastMeeting.setString(4, record.getPlayerB().toString());
+                    lastMeeting.setLong(5, record.getLastMeeting());
+                    lastMeeting.addBatch();
+                }
+                increment.executeBatch();
+                lastMeeting.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    /**
+     * Find a player by the name stored with their stats
+     * @param playerName Player name
+     * @return Player UUID, or null if no player with stats has that name
+     */
+    public UUID findPlayerId(String playerName) throws SQLException {
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT player_uuid FROM player_stats WHERE player_name = ? ORDER BY last_played DESC LIMIT 1")) {
+            stmt.setString(1, playerName);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? UUID.fromString(rs.getString("player_uuid")) : null;
+            }
+        }
+    }
+    
+    // Global Stats Operations
+    
+    /**
+     * Load the stored server-wide totals
+     * @return Totals by {@link GlobalStats} key, empty if none were stored yet
+     */
+    public Map<String, Long> loadGlobalStats() throws SQLException {
+        Map<String, Long> values = new HashMap<>();
+        
+        try (Connection conn = getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT stat_key, stat_value FROM global_stats")) {
+            while (rs.next()) {
+                values.put(rs.getString("stat_key"), rs.getLong("stat_value"));
+            }
+        }
+        return values;
+    }
+    
+    /**
+     * Compute the server-wide totals from every player stats row.
+     * Every tournament and round has one credited winner. Total round time is summed over the
+     * journaled rounds of every server, one entry per round, as it is counted when a round is applied.
+     * @return Totals by {@link GlobalStats} key
+     */
+    public Map<String, Long> countGlobalStats() throws SQLException {
+        String sql = "SELECT COUNT(*) AS players, COALESCE(SUM(tournaments_won), 0) AS tournaments, "
+            + "COALESCE(SUM(rounds_won), 0) AS rounds, COALESCE(SUM(total_kills), 0) AS kills, "
+            + "COALESCE(SUM(total_playtime), 0) AS playtime FROM player_stats";
+        String durationSql = "SELECT COALESCE(SUM(duration), 0) FROM match_journal WHERE entry_type = '"
+            + MatchJournalEntry.EntryType.ROUND.name() + "'";
+        Map<String, Long> values = new LinkedHashMap<>();
+        
+        try (Connection conn = getReadConnection();
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                if (rs.next()) {
+                    for (String key : List.of(GlobalStats.PLAYERS, GlobalStats.TOURNAMENTS, GlobalStats.ROUNDS,
+                             GlobalStats.KILLS, GlobalStats.PLAYTIME)) {
+                        values.put(key, rs.getLong(key));
+                    }
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery(durationSql)) {
+                if (rs.next()) {
+                    values.put(GlobalStats.ROUND_DURATION, rs.getLong(1));
+                }
+            }
+        }
+        return values;
+    }
+    
+    /**
+     * Replace the server-wide totals, e.g. after they were recounted from player stats
+     * @param values Totals by {@link GlobalStats} key
+     */
+    public void saveGlobalStats(Map<String, Long> values) throws SQLException {
+        writeGlobalStats(globalStatUpsert, values);
+    }
+    
+    /**
+     * Add changes to the stored server-wide totals, keeping what other servers added
+     * @param changes Changes by {@link GlobalStats} key
+     */
+    public void addGlobalStats(Map<String, Long> changes) throws SQLException {
+        if (!changes.isEmpty()) {
+            writeGlobalStats(globalStatIncrement, changes);
+        }
+    }
+    
+    private void writeGlobalStats(String sql, Map<String, Long> values) throws SQLException {
+        try (Connection conn = getWriteConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (Map.Entry<String, Long> entry : values.entrySet()) {
+                stmt.setString(1, entry.getKey());
+                stmt.setLong(2, entry.getValue());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+    
+    // Season Stats Operations
+    
+    /**
+     * Add stat bucket increments to the stored buckets in a single transaction
+     * @param buckets Increments, at most one per player and day
+     */
+    public void saveStatBuckets(Collection<StatBucket> buckets) throws SQLException {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(statBucketIncrement)) {
+                for (StatBucket bucket : buckets) {
+                    stmt.setString(1, bucket.getPlayerId().toString());
+                    stmt.setLong(2, bucket.getDay());
+                    stmt.setInt(3, bucket.getRoundsPlayed());
+                    stmt.setInt(4, bucket.getRoundsWon());
+                    stmt.setInt(5, bucket.getKills());
+                    stmt.setInt(6, bucket.getDeaths());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    /**
+     * Sum the stat buckets of every player active since a day.
+     * Only round counters are filled in; players without stored stats are named "Unknown".
+     * @param firstDay First epoch day included
+     * @return Totals of every player with at least one bucket in the range
+     */
+    public List<PlayerStats> loadStatBucketTotals(long firstDay) throws SQLException {
+        List<PlayerStats> totals = new ArrayList<>();
+        String sql = "SELECT b.player_uuid, p.player_name, SUM(b.rounds_played) AS rounds_played, "
+            + "SUM(b.rounds_won) AS rounds_won, SUM(b.kills) AS kills, SUM(b.deaths) AS deaths "
+            + "FROM player_stats_daily b LEFT JOIN player_stats p ON p.player_uuid = b.player_uuid "
+            + "WHERE b.day >= ? GROUP BY b.player_uuid, p.player_name";
+        
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, firstDay);
+            stmt.setFetchSize(plugin.getConfigManager().getStreamFetchSize());
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String playerName = rs.getString("player_name");
+                    PlayerStats stats = new PlayerStats(UUID.fromString(rs.getString("player_uuid")),
+                        playerName != null ? playerName : "Unknown");
+                    stats.setRoundsPlayed(rs.getInt("rounds_played"));
+                    stats.setRoundsWon(rs.getInt("rounds_won"));
+                    stats.setTotalKills(rs.getInt("kills"));
+                    stats.setTotalDeaths(rs.getInt("deaths"));
+                    totals.add(stats);
+                }
+            }
+        }
+        
+        return totals;
+    }
+    
+    /**
+     * Load the current season, starting the first one if there is none yet
+     * @return Current season
+     */
+    public Season loadCurrentSeason() throws SQLException {
+        try (Connection conn = getWriteConnection()) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(
+                     "SELECT season_id, name, started_at FROM seasons WHERE ended_at = 0 ORDER BY season_id DESC LIMIT 1")) {
+                if (rs.next()) {
+                    return new Season(rs.getInt("season_id"), rs.getString("name"), rs.getLong("started_at"));
+                }
+            }
+            
+            Season season = new Season(1, "Season 1", System.currentTimeMillis());
+            try (PreparedStatement insert = conn.prepareStatement(
+                     "INSERT INTO seasons (season_id, name, started_at, ended_at) VALUES (?, ?, ?, 0)")) {
+                insert.setInt(1, season.getId());
+                insert.setString(2, season.getName());
+                insert.setLong(3, season.getStartedAt());
+                insert.executeUpdate();
+            }
+            return season;
+        }
+    }
+    
+    /**
+     * End the current season in a single transaction: archive every player's season totals,
+     * clear the daily buckets and start the next season
+     * @param current Season being ended
+     * @param next Season being started
+     * @return Number of players archived
+     */
+    public int rolloverSeason(Season current, Season next) throws SQLException {
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement archive = conn.prepareStatement(
+                     "INSERT INTO season_stats (season_id, player_uuid, rounds_played, rounds_won, kills, deaths) "
+                         + "SELECT ?, player_uuid, SUM(rounds_played), SUM(rounds_won), SUM(kills), SUM(deaths) "
+                         + "FROM player_stats_daily GROUP BY player_uuid");
+                 PreparedStatement clear = conn.prepareStatement("DELETE FROM player_stats_daily");
+                 PreparedStatement end = conn.prepareStatement("UPDATE seasons SET ended_at = ? WHERE season_id = ?");
+                 PreparedStatement start = conn.prepareStatement(
+                     "INSERT INTO seasons (season_id, name, started_at, ended_at) VALUES (?, ?, ?, 0)")) {
+                archive.setInt(1, current.getId());
+                int archived = archive.executeUpdate();
+                clear.executeUpdate();
+                
+                end.setLong(1, next.getStartedAt());
+                end.setInt(2, current.getId());
+                end.executeUpdate();
+                
+                start.setInt(1, next.getId());
+                start.setString(2, next.getName());
+                start.setLong(3, next.getStartedAt());
+                start.executeUpdate();
+                conn.commit();
+                return archived;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    // Tournament Operations
+    
+    /**
+     * Write pending tournament changes in a single transaction.
+     * Deletions are applied first so a tournament re-created under the same name starts clean.
+     * @param deletedTournaments Keys of tournaments to remove together with their participants and rounds
+     * @param tournaments Tournaments whose own columns changed
+     * @param participantLists Tournaments whose participant list changed
+     * @param rounds Rounds that changed
+     */
+    public void saveTournamentChanges(Collection<String> deletedTournaments, Collection<Tournament> tournaments,
+                                      Collection<Tournament> participantLists, Collection<Round> rounds) throws SQLException {
+        if (deletedTournaments.isEmpty() && tournaments.isEmpty() && participantLists.isEmpty() && rounds.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (!deletedTournaments.isEmpty()) {
+                    deleteTournaments(conn, deletedTournaments);
+                }
+                if (!tournaments.isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(tournamentUpsert)) {
+                        for (Tournament tournament : tournaments) {
+                            bindTournament(stmt, tournament);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+                if (!participantLists.isEmpty()) {
+                    saveTournamentParticipants(conn, participantLists);
+                }
+                if (!rounds.isEmpty()) {
+                    saveRounds(conn, rounds);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    /**
+     * Delete tournaments and every row that belongs to them
+     */
+    private void deleteTournaments(Connection conn, Collection<String> tournamentIds) throws SQLException {
+        String[] statements = {
+            "DELETE FROM round_participants WHERE round_id IN (SELECT round_id FROM tournament_rounds WHERE tournament_id = ?)",
+            "DELETE FROM tournament_rounds WHERE tournament_id = ?",
+            "DELETE FROM tournament_participants WHERE tournament_id = ?",
+            "DELETE FROM tournaments WHERE tournament_id = ?"
+        };
+        
+        for (String sql : statements) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (String tournamentId : tournamentIds) {
+                    stmt.setString(1, tournamentId);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+    }
+    
+    /**
+     * Replace the stored participant lists of the given tournaments
+     */
+    private void saveTournamentParticipants(Connection conn, Collection<Tournament> tournaments) throws SQLException {
+        try (PreparedStatement delete = conn.prepareStatement("DELETE FROM tournament_participants WHERE tournament_id = ?");
+             PreparedStatement insert = conn.prepareStatement(
+                 "INSERT INTO tournament_participants (tournament_id, player_uuid, seed) VALUES (?, ?, ?)")) {
+            for (Tournament tournament : tournaments) {
+                String tournamentId = tournament.getName().toLowerCase();
+                delete.setString(1, tournamentId);
+                delete.addBatch();
+                
+                List<UUID> participants = tournament.getParticipants();
+                for (int seed = 0; seed < participants.size(); seed++) {
+                    insert.setString(1, tournamentId);
+                    insert.setString(2, participants.get(seed).toString());
+                    insert.setInt(3, seed);
+                    insert.addBatch();
+                }
+            }
+            delete.executeBatch();
+            insert.executeBatch();
+        }
+    }
+    
+    /**
+     * Upsert rounds and replace their participant rows
+     */
+    private void saveRounds(Connection conn, Collection<Round> rounds) throws SQLException {
+        try (PreparedStatement upsert = conn.prepareStatement(roundUpsert);
+             PreparedStatement delete = conn.prepareStatement("DELETE FROM round_participants WHERE round_id = ?");
+             PreparedStatement insert = conn.prepareStatement(
+                 "INSERT INTO round_participants (round_id, player_uuid, slot) VALUES (?, ?, ?)")) {
+            for (Round round : rounds) {
+                bindRound(upsert, round);
+                upsert.addBatch();
+                
+                delete.setString(1, round.getId());
+                delete.addBatch();
+                
+                List<UUID> participants = round.getParticipants();
+                for (int slot = 0; slot < participants.size(); slot++) {
+                    insert.setString(1, round.getId());
+                    insert.setString(2, participants.get(slot).toString());
+                    insert.setInt(3, slot);
+                    insert.addBatch();
+                }
+            }
+            upsert.executeBatch();
+            delete.executeBatch();
+            insert.executeBatch();
+        }
+    }
+    
+    /**
+     * Bind every tournaments column of the upsert statement
+     */
+    private void bindTournament(PreparedStatement stmt, Tournament tournament) throws SQLException {
+        stmt.setString(1, tournament.getName().toLowerCase());
+        stmt.setString(2, tournament.getName());
+        stmt.setString(3, tournament.getDescription());
+        stmt.setString(4, tournament.getType().name());
+        stmt.setString(5, tournament.getStatus().name());
+        stmt.setInt(6, tournament.getMaxParticipants());
+        stmt.setString(7, tournament.getCreator() != null ? tournament.getCreator().toString() : null);
+        stmt.setLong(8, tournament.getCreatedTime());
+        stmt.setLong(9, tournament.getStartTime());
+        stmt.setString(10, tournament.getChallongeId());
+        stmt.setString(11, tournament.getChallongeUrl());
+        stmt.setString(12, tournament.getAssignedArena());
+        stmt.setString(13, tournament.getAssignedKit());
+    }
+    
+    /**
+     * Bind every tournament_rounds column of the upsert statement
+     */
+    private void bindRound(PreparedStatement stmt, Round round) throws SQLException {
+        stmt.setString(1, round.getId());
+        stmt.setString(2, round.getTournamentId().toLowerCase());
+        stmt.setInt(3, round.getRoundNumber());
+        stmt.setString(4, round.getBracketPosition());
+        stmt.setString(5, round.getStatus().name());
+        stmt.setString(6, round.getWinner() != null ? round.getWinner().toString() : null);
+        stmt.setString(7, round.getAssignedArena());
+        stmt.setString(8, round.getAssignedKit());
+        stmt.setLong(9, round.getStartTime());
+        stmt.setLong(10, round.getEndTime());
+        stmt.setInt(11, round.getPreparationTime());
+        stmt.setBoolean(12, round.isAutoDetectWinner());
+    }
+    
+    /**
+     * Load all tournaments with their participants, using one query per table
+     * @return Tournaments in creation order
+     */
+    public List<Tournament> loadTournaments() throws SQLException {
+        Map<String, Tournament> tournaments = new LinkedHashMap<>();
+        
+        try (Connection conn = getReadConnection();
+             Statement stmt = conn.createStatement()) {
+            
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM tournaments ORDER BY created_time")) {
+                while (rs.next()) {
+                    String creator = rs.getString("creator_uuid");
+                    Tournament tournament = new Tournament(
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        TournamentType.valueOf(rs.getString("type")),
+                        rs.getInt("max_participants"),
+                        creator != null ? UUID.fromString(creator) : null
+                    );
+                    tournament.setStatus(TournamentStatus.valueOf(rs.getString("status")));
+                    tournament.setCreatedTime(rs.getLong("created_time"));
+                    tournament.setStartTime(rs.getLong("start_time"));
+                    tournament.setChallongeId(rs.getString("challonge_id"));
+                    tournament.setChallongeUrl(rs.getString("challonge_url"));
+                    tournament.setAssignedArena(rs.getString("assigned_arena"));
+                    tournament.setAssignedKit(rs.getString("assigned_kit"));
+                    tournaments.put(rs.getString("tournament_id"), tournament);
+                }
+            }
+            
+            try (ResultSet rs = stmt.executeQuery(
+                     "SELECT tournament_id, player_uuid FROM tournament_participants ORDER BY tournament_id, seed")) {
+                while (rs.next()) {
+                    Tournament tournament = tournaments.get(rs.getString("tournament_id"));
+                    if (tournament != null) {
+                        tournament.getParticipants().add(UUID.fromString(rs.getString("player_uuid")));
+                    }
+                }
+            }
+        }
+        
+        return new ArrayList<>(tournaments.values());
+    }
+    
+    /**
+     * Load all rounds with their participants, using one query per table
+     * @return Rounds ordered by tournament and round number
+     */
+    public List<Round> loadRounds() throws SQLException {
+        List<Round> rounds = new ArrayList<>();
+        Map<String, List<UUID>> participants = new HashMap<>();
+        
+        try (Connection conn = getReadConnection();
+             Statement stmt = conn.createStatement()) {
+            
+            try (ResultSet rs = stmt.executeQuery("SELECT round_id, player_uuid FROM round_participants ORDER BY round_id, slot")) {
+                while (rs.next()) {
+                    participants.computeIfAbsent(rs.getString("round_id"), id -> new ArrayList<>())
+                        .add(UUID.fromString(rs.getString("player_uuid")));
+                }
+            }
+            
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM tournament_rounds ORDER BY tournament_id, round_number, start_time")) {
+                while (rs.next()) {
+                    String roundId = rs.getString("round_id");
+                    Round round = new Round(roundId, rs.getString("tournament_id"),
+                        participants.getOrDefault(roundId, List.of()));
+                    String winner = rs.getString("winner_uuid");
+                    round.setRoundNumber(rs.getInt("round_number"));
+                    round.setBracketPosition(rs.getString("bracket_position"));
+                    round.setAssignedArena(rs.getString("assigned_arena"));
+                    round.setAssignedKit(rs.getString("assigned_kit"));
+                    round.setStartTime(rs.getLong("start_time"));
+                    round.setPreparationTime(rs.getInt("preparation_time"));
+                    round.setAutoDetectWinner(rs.getBoolean("auto_detect_winner"));
+                    if (winner != null) {
+                        round.setWinner(UUID.fromString(winner));
+                    }
+                    round.setStatus(Round.RoundStatus.valueOf(rs.getString("status")));
+                    round.setEndTime(rs.getLong("end_time"));
+                    rounds.add(round);
+                }
+            }
+        }
+        
+        return rounds;
+    }
+    
+    /**
+     * Write pending arena changes in a single transaction
+     * @param deletedArenas Keys of arenas to remove together with their spawn points
+     * @param arenas Arenas to store, replacing their spawn points
+     */
+    public void saveArenaChanges(Collection<String> deletedArenas, Collection<Arena> arenas) throws SQLException {
+        if (deletedArenas.isEmpty() && arenas.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement deleteSpawns = conn.prepareStatement("DELETE FROM arena_spawns WHERE arena_id = ?");
+                 PreparedStatement deleteArena = conn.prepareStatement("DELETE FROM arenas WHERE arena_id = ?");
+                 PreparedStatement upsert = conn.prepareStatement(arenaUpsert);
+                 PreparedStatement insertSpawn = conn.prepareStatement(
+                     "INSERT INTO arena_spawns (arena_id, spawn_name, team, x, y, z, yaw, pitch, slot) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (String arenaId : deletedArenas) {
+                    deleteSpawns.setString(1, arenaId);
+                    deleteSpawns.addBatch();
+                    deleteArena.setString(1, arenaId);
+                    deleteArena.addBatch();
+                }
+                
+                for (Arena arena : arenas) {
+                    String arenaId = arena.getName().toLowerCase();
+                    bindArena(upsert, arena);
+                    upsert.addBatch();
+                    
+                    deleteSpawns.setString(1, arenaId);
+                    deleteSpawns.addBatch();
+                    
+                    List<SpawnPoint> spawnPoints = arena.getSpawnPoints();
+                    for (int slot = 0; slot < spawnPoints.size(); slot++) {
+                        SpawnPoint spawnPoint = spawnPoints.get(slot);
+                        Location location = spawnPoint.getLocation();
+                        insertSpawn.setString(1, arenaId);
+                        insertSpawn.setString(2, spawnPoint.getName());
+                        insertSpawn.setString(3, spawnPoint.getTeam());
+                        insertSpawn.setDouble(4, location.getX());
+                        insertSpawn.setDouble(5, location.getY());
+                        insertSpawn.setDouble(6, location.getZ());
+                        insertSpawn.setDouble(7, location.getYaw());
+                        insertSpawn.setDouble(8, location.getPitch());
+                        insertSpawn.setInt(9, slot);
+                        insertSpawn.addBatch();
+                    }
+                }
+                
+                deleteSpawns.executeBatch();
+                deleteArena.executeBatch();
+                upsert.executeBatch();
+                insertSpawn.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    /**
+     * Bind every arenas column of the upsert statement
+     */
+    private void bindArena(PreparedStatement stmt, Arena arena) throws SQLException {
+        Location goal = arena.getGoalLocation();
+        stmt.setString(1, arena.getName().toLowerCase());
+        stmt.setString(2, arena.getName());
+        stmt.setString(3, arena.getDescription());
+        stmt.setString(4, arena.getType().name());
+        stmt.setString(5, arena.getWorld().getName());
+        stmt.setString(6, arena.getCreator() != null ? arena.getCreator().toString() : null);
+        stmt.setLong(7, arena.getCreatedTime());
+        stmt.setBoolean(8, arena.isBuildingEnabled());
+        stmt.setInt(9, arena.getMaxPlayers());
+        stmt.setString(10, arena.getWorldGuardRegion());
+        if (goal != null) {
+            stmt.setDouble(11, goal.getX());
+            stmt.setDouble(12, goal.getY());
+            stmt.setDouble(13, goal.getZ());
+            stmt.setDouble(14, goal.getYaw());
+            stmt.setDouble(15, goal.getPitch());
+        } else {
+            for (int i = 11; i <= 15; i++) {
+                stmt.setNull(i, Types.DOUBLE);
+            }
+        }
+        stmt.setLong(16, arena.getTimeLimit());
+        stmt.setBoolean(17, arena.isTeamBased());
+        stmt.setString(18, arena.getTeams().isEmpty() ? null : String.join(",", arena.getTeams()));
+    }
+    
+    /**
+     * Load all arenas with their spawn points, using one query per table.
+     * Arenas whose world is not loaded are skipped and stay in the database.
+     * @return Arenas in creation order
+     */
+    public List<Arena> loadArenas() throws SQLException {
+        Map<String, Arena> arenas = new LinkedHashMap<>();
+        
+        try (Connection conn = getReadConnection();
+             Statement stmt = conn.createStatement()) {
+            
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM arenas ORDER BY created_time")) {
+                while (rs.next()) {
+                    String worldName = rs.getString("world");
+                    World world = plugin.getServer().getWorld(worldName);
+                    if (world == null) {
+                        plugin.getLogger().warning("Skipping arena " + rs.getString("name") + ": world " + worldName + " is not loaded");
+                        continue;
+                    }
+                    
+                    String creator = rs.getString("creator_uuid");
+                    Arena arena = new Arena(rs.getString("name"), ArenaType.valueOf(rs.getString("type")), world,
+                        creator != null ? UUID.fromString(creator) : null);
+                    arena.setDescription(rs.getString("description"));
+                    arena.setCreatedTime(rs.getLong("created_time"));
+                    arena.setBuildingEnabled(rs.getBoolean("building_enabled"));
+                    arena.setMaxPlayers(rs.getInt("max_players"));
+                    arena.setWorldGuardRegion(rs.getString("worldguard_region"));
+                    
+                    double goalX = rs.getDouble("goal_x");
+                    if (!rs.wasNull()) {
+                        arena.setGoalLocation(new Location(world, goalX, rs.getDouble("goal_y"), rs.getDouble("goal_z"),
+                            rs.getFloat("goal_yaw"), rs.getFloat("goal_pitch")));
+                    }
+                    
+                    arena.setTimeLimit(rs.getLong("time_limit"));
+                    arena.setTeamBased(rs.getBoolean("team_based"));
+                    String teams = rs.getString("teams");
+                    if (teams != null && !teams.isEmpty()) {
+                        arena.setTeams(List.of(teams.split(",")));
+                    }
+                    arenas.put(rs.getString("arena_id"), arena);
+                }
+            }
+            
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM arena_spawns ORDER BY arena_id, slot")) {
+                while (rs.next()) {
+                    Arena arena = arenas.get(rs.getString("arena_id"));
+                    if (arena != null) {
+                        Location location = new Location(arena.getWorld(), rs.getDouble("x"), rs.getDouble("y"),
+                            rs.getDouble("z"), rs.getFloat("yaw"), rs.getFloat("pitch"));
+                        arena.addSpawnPoint(new SpawnPoint(rs.getString("spawn_name"), location, rs.getString("team")));
+                    }
+                }
+            }
+        }
+        
+        return new ArrayList<>(arenas.values());
+    }
+    
+    /**
+     * Write pending kit changes in a single transaction
+     * @param deletedKits Keys of kits to remove
+     * @param kits Detached kit copies to store, see {@link Kit#copy()}
+     */
+    public void saveKitChanges(Collection<String> deletedKits, Collection<Kit> kits) throws SQLException {
+        if (deletedKits.isEmpty() && kits.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM kits WHERE kit_id = ?");
+                 PreparedStatement upsert = conn.prepareStatement(kitUpsert)) {
+                for (String kitId : deletedKits) {
+                    delete.setString(1, kitId);
+                    delete.addBatch();
+                }
+                for (Kit kit : kits) {
+                    bindKit(upsert, kit);
+                    upsert.addBatch();
+                }
+                
+                delete.executeBatch();
+                upsert.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    /**
+     * Bind every kits column of the upsert statement
+     */
+    private void bindKit(PreparedStatement stmt, Kit kit) throws SQLException {
+        stmt.setString(1, kit.getName().toLowerCase());
+        stmt.setString(2, kit.getName());
+        stmt.setString(3, kit.getDescription());
+        stmt.setString(4, kit.getCreator() != null ? kit.getCreator().toString() : null);
+        stmt.setLong(5, kit.getCreatedTime());
+        stmt.setBoolean(6, kit.isClearInventory());
+        stmt.setBoolean(7, kit.isResetHealth());
+        stmt.setBoolean(8, kit.isResetHunger());
+        stmt.setBoolean(9, kit.isResetExperience());
+        stmt.setInt(10, kit.getExperienceLevel());
+        try {
+            stmt.setBytes(11, kit.getStoredContents());
+        } catch (IOException e) {
+            throw new SQLException("Failed to serialize contents of kit " + kit.getName(), e);
+        }
+    }
+    
+    /**
+     * Load all kits. Contents are handed to the kits in their stored form and only
+     * deserialized once a kit is used.
+     * @return Kits in creation order
+     */
+    public List<Kit> loadKits() throws SQLException {
+        List<Kit> kits = new ArrayList<>();
+        
+        try (Connection conn = getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM kits ORDER BY created_time")) {
+            while (rs.next()) {
+                String creator = rs.getString("creator_uuid");
+                Kit kit = new Kit(rs.getString("name"), creator != null ? UUID.fromString(creator) : null);
+                kit.setDescription(rs.getString("description"));
+                kit.setCreatedTime(rs.getLong("created_time"));
+                kit.setClearInventory(rs.getBoolean("clear_inventory"));
+                kit.setResetHealth(rs.getBoolean("reset_health"));
+                kit.setResetHunger(rs.getBoolean("reset_hunger"));
+                kit.setResetExperience(rs.getBoolean("reset_experience"));
+                kit.setExperienceLevel(rs.getInt("experience_level"));
+                kit.setStoredContents(rs.getBytes("contents"));
+                kits.add(kit);
+            }
+        }
+        
+        return kits;
+    }
+    
+    /**
+     * Get the SQL dialect of the configured backend
+     * @return SQL dialect
+     */
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+    
+    /**
+     * Check if the database connection is valid
+     */
+    public boolean isConnected() {
+        if (readPool == null || readPool.isClosed()) {
+            return false;
+        }
+        try (Connection conn = readPool.getConnection()) {
+            return conn.isValid(5);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Close database connections
+     */
+    public void close() {
+        // Let queued work finish while the connections are still open
+        if (executor != null) {
+            executor.shutdown(10000L);
+        }
+        
+        if (readPool != null && readPool != writePool) {
+            readPool.close();
+        }
+        if (writePool != null) {
+            writePool.close();
+            plugin.getLogger().info("Database connections closed successfully");
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package top.sanscraft.ultratournamentsplusplus.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * SQL dialect for MySQL and MariaDB servers
+ */
+public class MySQLDialect implements SqlDialect {
+    
+    private static final String SCHEMA_LOCK = "ultratournaments_schema";
+    
+    @Override
+    public String getName() {
+        return "MySQL";
+    }
+    
+    @Override
+    public boolean supportsConcurrentWriters() {
+        return true;
+    }
+    
+    @Override
+    public String translateDdl(String ddl) {
+        String trimmed = ddl.strip();
+        if (trimmed.regionMatches(true, 0, "CREATE TABLE", 0, 12) && trimmed.endsWith(")")) {
+            return trimmed + " ENGINE=InnoDB DEFAULT CHARSET=utf8mb4";
+        }
+        return trimmed;
+    }
+    
+    @Override
+    public String lockRows(String select) {
+        return select + " FOR UPDATE";
+    }
+    
+    @Override
+    public void lockSchema(Connection connection) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT GET_LOCK(?, 60)")) {
+            stmt.setString(1, SCHEMA_LOCK);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another server to finish migrating the database");
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void unlockSchema(Connection connection) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, SCHEMA_LOCK);
+            stmt.executeQuery().close();
+        }
+    }
+    
+    @Override
+    public String upsert(String table, List<String> keyColumns, List<String> columns) {
+        // VALUES() is understood by both MySQL and MariaDB, unlike the MySQL 8 row alias syntax
+        String updates = columns.stream()
+                .filter(column -> !keyColumns.contains(column))
+                .map(column -> column + " = VALUES(" + column + ")")
+                .collect(Collectors.joining(", "));
+        
+        if (updates.isEmpty()) {
+            return insertIgnore(table, columns);
+        }
+        
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + SqlDialect.placeholders(columns.size()) + ") ON DUPLICATE KEY UPDATE " + updates;
+    }
+    
+    @Override
+    public String upsertIncrement(String table, List<String> keyColumns, List<String> columns) {
+        String updates = columns.stream()
+                .filter(column -> !keyColumns.contains(column))
+                .map(column -> column + " = " + column + " + VALUES(" + column + ")")
+                .collect(Collectors.joining(", "));
+        
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + SqlDialect.placeholders(columns.size()) + ") ON DUPLICATE KEY UPDATE " + updates;
+    }
+    
+    @Override
+    public String insertIgnore(String table, List<String> columns) {
+        return "INSERT IGNORE INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + SqlDialect.placeholders(columns.size()) + ")";
+    }
+}
@@ -0,0 +1,61 @@
+package top.sanscraft.ultratournamentsplusplus.storage;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * SQL dialect for the embedded SQLite database
+ */
+public class SQLiteDialect implements SqlDialect {
+    
+    @Override
+    public String getName() {
+        return "SQLite";
+    }
+    
+    @Override
+    public boolean supportsConcurrentWriters() {
+        return false;
+    }
+    
+    @Override
+    public String translateDdl(String ddl) {
+        return ddl.replaceAll("VARCHAR\\(\\d+\\)", "TEXT")
+                  .replaceAll("\\bBIGINT\\b", "INTEGER")
+                  .replaceAll("\\bINT\\b", "INTEGER")
+                  .replaceAll("\\bBOOLEAN\\b", "INTEGER")
+                  .replaceAll("\\bDOUBLE\\b", "REAL")
+                  // SQLite has no inline index definitions
+                  .replaceAll(",\\s*INDEX\\s+\\w+\\s*\\([^)]*\\)", "");
+    }
+    
+    @Override
+    public String upsert(String table, List<String> keyColumns, List<String> columns) {
+        String updates = columns.stream()
+                .filter(column -> !keyColumns.contains(column))
+                .map(column -> column + " = excluded." + column)
+                .collect(Collectors.joining(", "));
+        
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + SqlDialect.placeholders(columns.size()) + ") ON CONFLICT(" + String.join(", ", keyColumns)
+                + ") DO " + (updates.isEmpty() ? "NOTHING" : "UPDATE SET " + updates);
+    }
+    
+    @Override
+    public String upsertIncrement(String table, List<String> keyColumns, List<String> columns) {
+        String updates = columns.stream()
+                .filter(column -> !keyColumns.contains(column))
+                .map(column -> column + " = " + column + " + excluded." + column)
+                .collect(Collectors.joining(", "));
+        
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + SqlDialect.placeholders(columns.size()) + ") ON CONFLICT(" + String.join(", ", keyColumns)
+                + ") DO UPDATE SET " + updates;
+    }
+    
+    @Override
+    public String insertIgnore(String table, List<String> columns) {
+        return "INSERT OR IGNORE INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + SqlDialect.placeholders(columns.size()) + ")";
+    }
+}
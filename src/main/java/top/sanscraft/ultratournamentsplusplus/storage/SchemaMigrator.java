@@ -0,0 +1,175 @@
+package top.sanscraft.ultratournamentsplusplus.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Applies numbered schema migrations in order and records them in the schema_version table.
+ * Every migration runs in its own transaction, so a failed migration leaves no partial
+ * version row behind. Note that MySQL commits DDL implicitly, so only SQLite can roll back
+ * the schema changes themselves.
+ */
+public class SchemaMigrator {
+    
+    /**
+     * A single schema change
+     */
+    @FunctionalInterface
+    public interface MigrationStep {
+        void apply(Connection connection) throws SQLException;
+    }
+    
+    /**
+     * A registered migration and its version
+     */
+    private static class Migration {
+        public final int version;
+        public final String description;
+        public final MigrationStep step;
+        
+        public Migration(int version, String description, MigrationStep step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+    
+    private final Logger logger;
+    private final SqlDialect dialect;
+    private final List<Migration> migrations = new ArrayList<>();
+    
+    public SchemaMigrator(Logger logger, SqlDialect dialect) {
+        this.logger = logger;
+        this.dialect = dialect;
+    }
+    
+    /**
+     * Register a migration made of plain SQL statements.
+     * CREATE TABLE statements are translated for the active dialect.
+     * @param version Unique, increasing schema version
+     * @param description Short description stored with the version
+     * @param statements Statements to execute in order
+     */
+    public void register(int version, String description, String... statements) {
+        register(version, description, connection -> {
+            try (Statement stmt = connection.createStatement()) {
+                for (String sql : statements) {
+                    stmt.execute(dialect.translateDdl(sql));
+                }
+            }
+        });
+    }
+    
+    /**
+     * Register a migration implemented in code
+     * @param version Unique, increasing schema version
+     * @param description Short description stored with the version
+     * @param step Migration to run
+     */
+    public void register(int version, String description, MigrationStep step) {
+        for (Migration migration : migrations) {
+            if (migration.version == version) {
+                throw new IllegalArgumentException("Duplicate schema version " + version);
+            }
+        }
+        migrations.add(new Migration(version, description, step));
+    }
+    
+    /**
+     * Apply every registered migration that has not been applied yet
+     * @param connection Writer connection
+     * @return Number of migrations applied
+     */
+    public int migrate(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(dialect.translateDdl("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INT PRIMARY KEY,
+                    description VARCHAR(200) NOT NULL,
+                    applied_at BIGINT NOT NULL
+                )
+                """));
+        }
+        
+        dialect.lockSchema(connection);
+        try {
+            Set<Integer> applied = loadAppliedVersions(connection);
+            List<Migration> pending = new ArrayList<>();
+            for (Migration migration : migrations) {
+                if (!applied.contains(migration.version)) {
+                    pending.add(migration);
+                }
+            }
+            pending.sort(Comparator.comparingInt(migration -> migration.version));
+            
+            for (Migration migration : pending) {
+                apply(connection, migration);
+            }
+            return pending.size();
+        } finally {
+            dialect.unlockSchema(connection);
+        }
+    }
+    
+    /**
+     * Get the highest applied schema version
+     * @param connection Database connection
+     * @return Current schema version, 0 for an empty database
+     */
+    public int getCurrentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    /**
+     * Load the versions that have already been applied
+     */
+    private Set<Integer> loadAppliedVersions(Connection connection) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM schema_version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+    
+    /**
+     * Apply a single migration and record its version in the same transaction
+     */
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        logger.info("Applying database migration " + migration.version + ": " + migration.description);
+        
+        connection.setAutoCommit(false);
+        try {
+            migration.step.apply(connection);
+            
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, ?)")) {
+                stmt.setInt(1, migration.version);
+                stmt.setString(2, migration.description);
+                stmt.setLong(3, System.currentTimeMillis());
+                stmt.executeUpdate();
+            }
+            
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Database migration " + migration.version + " failed: " + e.getMessage(), e);
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+}
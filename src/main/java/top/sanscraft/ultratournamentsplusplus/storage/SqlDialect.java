@@ -0,0 +1,93 @@
+package top.sanscraft.ultratournamentsplusplus.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Backend specific SQL used by the DatabaseManager.
+ * Table definitions are written once in MySQL syntax and translated per backend.
+ */
+public interface SqlDialect {
+    
+    /**
+     * Get the dialect name
+     * @return Dialect name used in log messages
+     */
+    String getName();
+    
+    /**
+     * Check if the backend handles several concurrent writers itself.
+     * Backends that do not get a single serialized writer connection.
+     * @return True if writes may use any pooled connection
+     */
+    boolean supportsConcurrentWriters();
+    
+    /**
+     * Translate a MySQL style CREATE TABLE statement for this backend
+     * @param ddl Table definition
+     * @return Table definition for this backend
+     */
+    String translateDdl(String ddl);
+    
+    /**
+     * Build an insert that updates the existing row when the key already exists
+     * @param table Table name
+     * @param keyColumns Columns of the primary or unique key
+     * @param columns All columns to write, in parameter order
+     * @return Parameterized upsert statement
+     */
+    String upsert(String table, List<String> keyColumns, List<String> columns);
+    
+    /**
+     * Build an insert that adds its values to the existing row when the key already exists
+     * @param table Table name
+     * @param keyColumns Columns of the primary or unique key
+     * @param columns All columns to write, in parameter order; non-key columns must be numeric
+     * @return Parameterized upsert statement
+     */
+    String upsertIncrement(String table, List<String> keyColumns, List<String> columns);
+    
+    /**
+     * Build an insert that silently skips rows whose key already exists
+     * @param table Table name
+     * @param columns All columns to write, in parameter order
+     * @return Parameterized insert statement
+     */
+    String insertIgnore(String table, List<String> columns);
+    
+    /**
+     * Take an exclusive lock while schema migrations run, so several servers
+     * sharing one database do not migrate it at the same time
+     * @param connection Connection running the migrations
+     */
+    default void lockSchema(Connection connection) throws SQLException {
+    }
+    
+    /**
+     * Release the lock taken by {@link #lockSchema(Connection)}
+     * @param connection Connection running the migrations
+     */
+    default void unlockSchema(Connection connection) throws SQLException {
+    }
+    
+    /**
+     * Make a query lock the rows it reads until the transaction ends.
+     * Backends with a single serialized writer connection need no lock.
+     * @param select SELECT statement
+     * @return Locking query for this backend
+     */
+    default String lockRows(String select) {
+        return select;
+    }
+    
+    /**
+     * Build a comma separated list of parameter placeholders
+     * @param count Number of parameters
+     * @return Placeholder list such as "?, ?, ?"
+     */
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
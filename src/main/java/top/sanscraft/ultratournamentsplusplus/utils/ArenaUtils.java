@@ -3,6 +3,7 @@ package top.sanscraft.ultratournamentsplusplus.utils;
 import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.protection.managers.RegionManager;
 import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import top.sanscraft.ultratournamentsplusplus.UltraTournamentsPlusPlus;
 import top.sanscraft.ultratournamentsplusplus.models.Arena;
 import top.sanscraft.ultratournamentsplusplus.models.ArenaType;
 import top.sanscraft.ultratournamentsplusplus.models.SpawnPoint;
@@ -275,11 +276,10 @@ public class ArenaUtils {
     /**
      * Check if an arena is currently in use by any tournament
      * @param arenaName The name of the arena to check
-     * @return True if arena is in use (this would need integration with tournament manager)
+     * @return True if the arena is leased to a round or a running round is played in it
      */
     public static boolean isArenaInUse(String arenaName) {
-        // This method would need to be implemented with tournament manager integration
-        // For now, return false as a placeholder
-        return false;
+        UltraTournamentsPlusPlus plugin = UltraTournamentsPlusPlus.getInstance();
+        return plugin != null && plugin.getArenaPool() != null && plugin.getArenaPool().isArenaInUse(arenaName);
     }
 }
\ No newline at end of file
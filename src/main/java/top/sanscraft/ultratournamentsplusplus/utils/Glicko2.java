@@ -0,0 +1,137 @@
+package top.sanscraft.ultratournamentsplusplus.utils;
+
+/**
+ * Glicko-2 rating calculations.
+ * Ratings are given and returned on the Glicko scale (1500 ± 350); the formulas work on the
+ * internal Glicko-2 scale. Every method is pure, so ratings of different players can be
+ * calculated in parallel.
+ */
+public final class Glicko2 {
+    
+    public static final double DEFAULT_RATING = 1500.0;
+    public static final double DEFAULT_DEVIATION = 350.0;
+    public static final double DEFAULT_VOLATILITY = 0.06;
+    
+    private static final double SCALE = 173.7178;
+    private static final double CONVERGENCE_TOLERANCE = 0.000001;
+    
+    private Glicko2() {
+    }
+    
+    /**
+     * Rating, deviation and volatility of a player
+     */
+    public static class Rating {
+        public final double rating;
+        public final double deviation;
+        public final double volatility;
+        
+        public Rating(double rating, double deviation, double volatility) {
+            this.rating = rating;
+            this.deviation = deviation;
+            this.volatility = volatility;
+        }
+    }
+    
+    /**
+     * Grow a rating deviation for rating periods in which the player did not compete
+     * @param deviation Current rating deviation
+     * @param volatility Current volatility
+     * @param periods Number of periods without games
+     * @return New rating deviation, at most the deviation of an unrated player
+     */
+    public static double inflateDeviation(double deviation, double volatility, long periods) {
+        if (periods <= 0) {
+            return deviation;
+        }
+        double phi = deviation / SCALE;
+        double inflated = Math.sqrt(phi * phi + periods * volatility * volatility) * SCALE;
+        return Math.min(DEFAULT_DEVIATION, inflated);
+    }
+    
+    /**
+     * Rate a player on all games of one rating period
+     * @param player Rating before the period
+     * @param opponents Ratings of the opponents before the period, one per game
+     * @param scores Score of each game: 1 for a win, 0.5 for a draw, 0 for a loss
+     * @param tau System constant limiting volatility changes, usually 0.3 to 1.2
+     * @return Rating after the period
+     */
+    public static Rating rate(Rating player, Rating[] opponents, double[] scores, double tau) {
+        double mu = (player.rating - DEFAULT_RATING) / SCALE;
+        double phi = player.deviation / SCALE;
+        double sigma = player.volatility;
+        
+        if (opponents.length == 0) {
+            return new Rating(player.rating, inflateDeviation(player.deviation, sigma, 1), sigma);
+        }
+        
+        // Estimated variance from the game outcomes and the sum of score surprises
+        double varianceInverse = 0.0;
+        double scoreSum = 0.0;
+        for (int i = 0; i < opponents.length; i++) {
+            double opponentMu = (opponents[i].rating - DEFAULT_RATING) / SCALE;
+            double g = g(opponents[i].deviation / SCALE);
+            double expected = 1.0 / (1.0 + Math.exp(-g * (mu - opponentMu)));
+            varianceInverse += g * g * expected * (1.0 - expected);
+            scoreSum += g * (scores[i] - expected);
+        }
+        double variance = 1.0 / varianceInverse;
+        double delta = variance * scoreSum;
+        
+        double newSigma = volatility(phi, sigma, variance, delta, tau);
+        double phiStar = Math.sqrt(phi * phi + newSigma * newSigma);
+        double newPhi = 1.0 / Math.sqrt(1.0 / (phiStar * phiStar) + 1.0 / variance);
+        double newMu = mu + newPhi * newPhi * scoreSum;
+        
+        return new Rating(newMu * SCALE + DEFAULT_RATING, Math.min(DEFAULT_DEVIATION, newPhi * SCALE), newSigma);
+    }
+    
+    private static double g(double phi) {
+        return 1.0 / Math.sqrt(1.0 + 3.0 * phi * phi / (Math.PI * Math.PI));
+    }
+    
+    /**
+     * Find the new volatility with the Illinois variant of regula falsi
+     */
+    private static double volatility(double phi, double sigma, double variance, double delta, double tau) {
+        double a = Math.log(sigma * sigma);
+        double deltaSquared = delta * delta;
+        double phiSquared = phi * phi;
+        
+        double lower = a;
+        double upper;
+        if (deltaSquared > phiSquared + variance) {
+            upper = Math.log(deltaSquared - phiSquared - variance);
+        } else {
+            int k = 1;
+            while (volatilityFunction(a - k * tau, a, deltaSquared, phiSquared, variance, tau) < 0) {
+                k++;
+            }
+            upper = a - k * tau;
+        }
+        
+        double fLower = volatilityFunction(lower, a, deltaSquared, phiSquared, variance, tau);
+        double fUpper = volatilityFunction(upper, a, deltaSquared, phiSquared, variance, tau);
+        while (Math.abs(upper - lower) > CONVERGENCE_TOLERANCE) {
+            double candidate = lower + (lower - upper) * fLower / (fUpper - fLower);
+            double fCandidate = volatilityFunction(candidate, a, deltaSquared, phiSquared, variance, tau);
+            if (fCandidate * fUpper <= 0) {
+                lower = upper;
+                fLower = fUpper;
+            } else {
+                fLower /= 2.0;
+            }
+            upper = candidate;
+            fUpper = fCandidate;
+        }
+        return Math.exp(lower / 2.0);
+    }
+    
+    private static double volatilityFunction(double x, double a, double deltaSquared, double phiSquared,
+                                             double variance, double tau) {
+        double ex = Math.exp(x);
+        double denominator = phiSquared + variance + ex;
+        return ex * (deltaSquared - phiSquared - variance - ex) / (2.0 * denominator * denominator) - (x - a) / (tau * tau);
+    }
+}
\ No newline at end of file
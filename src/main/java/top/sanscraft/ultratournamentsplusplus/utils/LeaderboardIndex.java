@@ -0,0 +1,267 @@
+package top.sanscraft.ultratournamentsplusplus.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistic index of players ranked by score.
+ * An indexed skip list keeps players sorted by score (highest first, ties by UUID) and records
+ * how many entries each link skips, so a player's rank and the entry at any position are found
+ * in O(log n). Reading a page of k entries costs O(log n + k). All methods are synchronized.
+ * @param <V> Value stored with each player, e.g. what is displayed on a leaderboard
+ */
+public class LeaderboardIndex<V> {
+    
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+    
+    private final Node<V> head = new Node<>(null, 0, null, MAX_LEVEL);
+    private final Map<UUID, Node<V>> nodes = new HashMap<>();
+    private int level = 1;
+    
+    /**
+     * Add a player or change their score and value
+     * @param playerId Player UUID
+     * @param score Score, higher ranks first
+     * @param value Value stored with the player
+     */
+    public synchronized void update(UUID playerId, long score, V value) {
+        Node<V> existing = nodes.get(playerId);
+        if (existing != null) {
+            if (existing.score == score) {
+                existing.value = value;
+                return;
+            }
+            nodes.remove(playerId);
+            unlink(existing);
+        }
+        nodes.put(playerId, insert(playerId, score, value));
+    }
+    
+    /**
+     * Remove a player
+     * @param playerId Player UUID
+     * @return True if the player was indexed
+     */
+    public synchronized boolean remove(UUID playerId) {
+        Node<V> node = nodes.remove(playerId);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+    
+    /**
+     * Get the rank of a player
+     * @param playerId Player UUID
+     * @return 1-based rank, or 0 if the player is not indexed
+     */
+    public synchronized int getRank(UUID playerId) {
+        Node<V> target = nodes.get(playerId);
+        if (target == null) {
+            return 0;
+        }
+        
+        int rank = 0;
+        Node<V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && !precedes(target.score, target.playerId, node.next[i])) {
+                rank += node.span[i];
+                node = node.next[i];
+            }
+            if (node == target) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Get the score of a player
+     * @param playerId Player UUID
+     * @return Score, or 0 if the player is not indexed
+     */
+    public synchronized long getScore(UUID playerId) {
+        Node<V> node = nodes.get(playerId);
+        return node != null ? node.score : 0;
+    }
+    
+    /**
+     * Get the value stored with a player
+     * @param playerId Player UUID
+     * @return Value, or null if the player is not indexed
+     */
+    public synchronized V get(UUID playerId) {
+        Node<V> node = nodes.get(playerId);
+        return node != null ? node.value : null;
+    }
+    
+    /**
+     * Get a range of the ranking
+     * @param offset Number of leading entries to skip
+     * @param limit Maximum number of entries
+     * @return Values in rank order, starting at rank offset + 1
+     */
+    public synchronized List<V> getRange(int offset, int limit) {
+        List<V> values = new ArrayList<>(Math.max(0, Math.min(limit, nodes.size() - offset)));
+        if (offset < 0 || limit <= 0 || offset >= nodes.size()) {
+            return values;
+        }
+        
+        // Descend to the entry just before the first one returned
+        int traversed = 0;
+        Node<V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.span[i] <= offset) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+        }
+        
+        node = node.next[0];
+        while (node != null && values.size() < limit) {
+            values.add(node.value);
+            node = node.next[0];
+        }
+        return values;
+    }
+    
+    /**
+     * Get the best ranked entries
+     * @param limit Maximum number of entries
+     * @return Values in rank order
+     */
+    public List<V> getTop(int limit) {
+        return getRange(0, limit);
+    }
+    
+    /**
+     * Get the number of indexed players
+     * @return Index size
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+    
+    /**
+     * Remove every player
+     */
+    public synchronized void clear() {
+        nodes.clear();
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+    }
+    
+    /**
+     * Check if a node ranks before the given position
+     */
+    private static boolean precedes(Node<?> node, long score, UUID playerId) {
+        return node.score > score || (node.score == score && node.playerId.compareTo(playerId) < 0);
+    }
+    
+    /**
+     * Check if the given position ranks before a node
+     */
+    private static boolean precedes(long score, UUID playerId, Node<?> node) {
+        return score > node.score || (score == node.score && playerId.compareTo(node.playerId) < 0);
+    }
+    
+    private Node<V> insert(UUID playerId, long score, V value) {
+        @SuppressWarnings("unchecked")
+        Node<V>[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        
+        Node<V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && precedes(node.next[i], score, playerId)) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                update[i].span[i] = nodes.size();
+            }
+            level = nodeLevel;
+        }
+        
+        Node<V> inserted = new Node<>(playerId, score, value, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            inserted.next[i] = update[i].next[i];
+            update[i].next[i] = inserted;
+            
+            // Split the span of the previous link around the new node
+            inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        
+        // Higher links now skip one more entry
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        return inserted;
+    }
+    
+    private void unlink(Node<V> target) {
+        Node<V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && precedes(node.next[i], target.score, target.playerId)) {
+                node = node.next[i];
+            }
+            if (node.next[i] == target) {
+                node.span[i] += target.span[i] - 1;
+                node.next[i] = target.next[i];
+            } else {
+                node.span[i]--;
+            }
+        }
+        
+        while (level > 1 && head.next[level - 1] == null) {
+            head.span[level - 1] = 0;
+            level--;
+        }
+    }
+    
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevel < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+    
+    /**
+     * Skip list node; span[i] is the number of entries link i advances by
+     */
+    private static class Node<V> {
+        public final UUID playerId;
+        public final long score;
+        public V value;
+        public final Node<V>[] next;
+        public final int[] span;
+        
+        @SuppressWarnings("unchecked")
+        public Node(UUID playerId, long score, V value, int level) {
+            this.playerId = playerId;
+            this.score = score;
+            this.value = value;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
\ No newline at end of file
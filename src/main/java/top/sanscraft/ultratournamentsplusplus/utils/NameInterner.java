@@ -0,0 +1,49 @@
+package top.sanscraft.ultratournamentsplusplus.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns small int ids to names such as kits and arenas, so per-player counters can be keyed
+ * by ints instead of strings. Ids only live in memory and are never stored; storage refers to
+ * the names themselves. Ids start at 1 and are never reused. All methods are synchronized.
+ */
+public class NameInterner {
+    
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>(); // Name of id i at index i - 1
+    
+    /**
+     * Get the id of a name, assigning the next free id to a new name
+     * @param name Name
+     * @return Id, at least 1
+     */
+    public synchronized int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        names.add(name);
+        ids.put(name, names.size());
+        return names.size();
+    }
+    
+    /**
+     * Get the name of an id
+     * @param id Id
+     * @return Name, or null if the id was never assigned
+     */
+    public synchronized String getName(int id) {
+        return id >= 1 && id <= names.size() ? names.get(id - 1) : null;
+    }
+    
+    /**
+     * Get the number of assigned ids
+     * @return Name count
+     */
+    public synchronized int size() {
+        return names.size();
+    }
+}
\ No newline at end of file
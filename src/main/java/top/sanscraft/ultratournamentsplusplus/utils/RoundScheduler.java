@@ -114,6 +114,7 @@ public class RoundScheduler {
         
         // Remove absent player from round
         round.removeParticipant(absentPlayer);
+        plugin.getTournamentManager().markRoundDirty(round);
         
         // If this was a 1v1 round and one player is absent, declare the other winner
         if (round.getParticipants().size() == 1 && onlineParticipants.size() == 1) {
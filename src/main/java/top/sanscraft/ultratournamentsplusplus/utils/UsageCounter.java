@@ -0,0 +1,191 @@
+package top.sanscraft.ultratournamentsplusplus.utils;
+
+import java.util.Arrays;
+
+/**
+ * Use counts keyed by interned name ids, for example how often a player used each kit.
+ * Counts live in an open-addressing table of primitive ints, and the most used id is
+ * maintained on every increment, so reading the favorite never scans the table.
+ * All methods are synchronized.
+ */
+public class UsageCounter {
+    
+    private static final int EMPTY = 0; // Interned ids start at 1
+    
+    private int[] keys = new int[4];
+    private int[] counts = new int[4];
+    private int size;
+    private int favorite = EMPTY;
+    private int favoriteCount;
+    
+    /**
+     * Count one use
+     * @param id Interned name id, at least 1
+     * @return True if the id became the most used one
+     */
+    public synchronized boolean increment(int id) {
+        int index = slot(id); // May grow the table, so resolve it before reading counts
+        int count = ++counts[index];
+        if (count > favoriteCount) {
+            boolean changed = favorite != id;
+            favorite = id;
+            favoriteCount = count;
+            return changed;
+        }
+        return false;
+    }
+    
+    /**
+     * Set the count of an id, used when loading stored counts
+     * @param id Interned name id, at least 1
+     * @param count Use count
+     */
+    public synchronized void set(int id, int count) {
+        int index = slot(id);
+        counts[index] = count;
+        if (count > favoriteCount) {
+            favorite = id;
+            favoriteCount = count;
+        }
+    }
+    
+    /**
+     * Get the count of an id
+     * @param id Interned name id
+     * @return Use count, 0 if never used
+     */
+    public synchronized int get(int id) {
+        int index = find(id);
+        return index >= 0 ? counts[index] : 0;
+    }
+    
+    /**
+     * Get the most used id; ties keep the id that reached the count first
+     * @return Interned name id, or 0 if nothing was used
+     */
+    public synchronized int getFavorite() {
+        return favorite;
+    }
+    
+    /**
+     * Get the number of distinct ids used
+     * @return Distinct id count
+     */
+    public synchronized int size() {
+        return size;
+    }
+    
+    /**
+     * Get the most used ids
+     * @param limit Maximum number of ids
+     * @return Ids, most used first
+     */
+    public synchronized int[] getTop(int limit) {
+        Integer[] order = new Integer[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                order[n++] = i;
+            }
+        }
+        Arrays.sort(order, (a, b) -> counts[b] != counts[a] ? Integer.compare(counts[b], counts[a])
+            : Integer.compare(keys[a], keys[b]));
+        
+        int[] top = new int[Math.min(limit, size)];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = keys[order[i]];
+        }
+        return top;
+    }
+    
+    /**
+     * Copy every id and count
+     * @return Two arrays of equal length: ids and their counts
+     */
+    public synchronized int[][] snapshot() {
+        int[] ids = new int[size];
+        int[] values = new int[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                ids[n] = keys[i];
+                values[n++] = counts[i];
+            }
+        }
+        return new int[][] {ids, values};
+    }
+    
+    /**
+     * Copy every count into another counter
+     * @param target Counter to copy into, normally empty
+     */
+    public synchronized void copyTo(UsageCounter target) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                target.set(keys[i], counts[i]);
+            }
+        }
+    }
+    
+    /**
+     * Find the slot of an id, or -1 if it is not stored
+     */
+    private int find(int id) {
+        int mask = keys.length - 1;
+        for (int i = mix(id) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Find or claim the slot of an id, growing the table at 3/4 load
+     */
+    private int slot(int id) {
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("Interned ids start at 1");
+        }
+        
+        int index = find(id);
+        if (index >= 0) {
+            return index;
+        }
+        if ((size + 1) * 4 > keys.length * 3) {
+            grow();
+        }
+        
+        int mask = keys.length - 1;
+        int i = mix(id) & mask;
+        while (keys[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = id;
+        size++;
+        return i;
+    }
+    
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != EMPTY) {
+                int i = mix(oldKeys[j]) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                counts[i] = oldCounts[j];
+            }
+        }
+    }
+    
+    private static int mix(int id) {
+        return id * 0x9E3779B9;
+    }
+}
\ No newline at end of file
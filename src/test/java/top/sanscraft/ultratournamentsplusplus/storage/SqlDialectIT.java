@@ -0,0 +1,213 @@
+package top.sanscraft.ultratournamentsplusplus.storage;
+
+import top.sanscraft.ultratournamentsplusplus.models.HeadToHead;
+import top.sanscraft.ultratournamentsplusplus.models.PlayerStats;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the schema migrations and the statements of the DatabaseManager against an embedded database
+ * of each backend: SQLite itself, and H2 in MySQL mode for MySQL and MariaDB.
+ * Needs the drivers of the dialect-tests profile: mvn -P dialect-tests test
+ */
+@RunWith(Parameterized.class)
+public class SqlDialectIT {
+    
+    private static final Logger LOGGER = Logger.getLogger(SqlDialectIT.class.getName());
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final List<String> USAGE_KEYS = List.of("player_uuid", "usage_kind", "name");
+    private static final List<String> USAGE_COLUMNS = List.of("player_uuid", "usage_kind", "name", "uses");
+    
+    private final SqlDialect dialect;
+    private final String url;
+    private ConnectionPool pool;
+    private SchemaMigrator migrator;
+    private DatabaseManager database;
+    
+    public SqlDialectIT(String name, SqlDialect dialect, String url) {
+        this.dialect = dialect;
+        this.url = url;
+    }
+    
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> dialects() {
+        return List.of(
+            new Object[] { "SQLite", new SQLiteDialect(), "jdbc:sqlite::memory:" },
+            new Object[] { "MySQL", new MySQLDialect(), "jdbc:h2:mem:dialect;MODE=MySQL;DATABASE_TO_LOWER=TRUE" }
+        );
+    }
+    
+    @Before
+    public void migrate() throws SQLException {
+        // A single connection kept for the whole test, so the in-memory database lives exactly as long
+        pool = new ConnectionPool("test", LOGGER, this::connect, 1, 5000L, 60000L, 0L);
+        migrator = new SchemaMigrator(LOGGER, dialect);
+        DatabaseManager.registerMigrations(migrator, dialect);
+        
+        try (Connection connection = pool.getConnection()) {
+            migrator.migrate(connection);
+        }
+        database = new DatabaseManager(dialect, pool, "test");
+    }
+    
+    @After
+    public void closeDatabase() {
+        pool.close();
+    }
+    
+    @Test
+    public void migrationsApplyEveryVersionOnce() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            int version = migrator.getCurrentVersion(connection);
+            
+            assertEquals(0, migrator.migrate(connection));
+            assertEquals(version, migrator.getCurrentVersion(connection));
+            assertEquals(version, count(connection, "SELECT COUNT(*) FROM schema_version"));
+        }
+    }
+    
+    @Test
+    public void savePlayerStatsBatchReplacesStoredRows() throws SQLException {
+        int sword = database.getUsageNames().intern("sword");
+        PlayerStats stats = new PlayerStats(ALICE, "Alice");
+        stats.recordKitUse(sword, "sword");
+        stats.setJournalSequence(3);
+        assertTrue(database.savePlayerStatsBatch(List.of(stats, new PlayerStats(BOB, "Bob"))));
+        
+        stats.recordRound(true, 30000L);
+        stats.recordKitUse(sword, "sword");
+        stats.setJournalSequence(5);
+        assertTrue(database.savePlayerStatsBatch(List.of(stats)));
+        
+        PlayerStats loaded = database.loadPlayerStats(ALICE);
+        assertEquals(1, loaded.getRoundsWon());
+        assertEquals("sword", loaded.getFavoriteKit());
+        assertEquals(2, loaded.getKitUsage().get(sword));
+        assertEquals(5, loaded.getJournalSequence());
+        
+        assertEquals(2, query("SELECT COUNT(*) FROM player_stats"));
+        assertEquals(1, countUsage());
+        assertEquals(1, query("SELECT COUNT(*) FROM player_journal_progress"));
+    }
+    
+    @Test
+    public void savePlayerStatsBatchFailsWhileAnotherServerRewritesStats() throws SQLException {
+        DatabaseManager other = new DatabaseManager(dialect, pool, "other");
+        other.beginStatsRewrite();
+        assertThrows(SQLException.class, () -> database.savePlayerStatsBatch(List.of(new PlayerStats(ALICE, "Alice"))));
+        
+        other.abortStatsRewrite();
+        assertTrue(database.savePlayerStatsBatch(List.of(new PlayerStats(ALICE, "Alice"))));
+    }
+    
+    @Test
+    public void saveHeadToHeadsAddsToStoredRecords() throws SQLException {
+        HeadToHead first = new HeadToHead(ALICE, BOB);
+        first.recordResult(ALICE, 2000L);
+        database.saveHeadToHeads(List.of(first));
+        
+        // Written later, but its meetings are older than the stored last meeting
+        HeadToHead second = new HeadToHead(BOB, ALICE);
+        second.recordResult(BOB, 1000L);
+        second.recordResult(BOB, 1500L);
+        database.saveHeadToHeads(List.of(second));
+        
+        HeadToHead stored = database.loadHeadToHead(BOB, ALICE);
+        assertEquals(1, stored.getWins(ALICE));
+        assertEquals(2, stored.getWins(BOB));
+        assertEquals(2000L, stored.getLastMeeting());
+        assertEquals(ALICE, stored.getLastWinner());
+    }
+    
+    @Test
+    public void upsertOfKeyColumnsOnlyKeepsExistingRow() throws SQLException {
+        String sql = dialect.upsert("player_usage", USAGE_KEYS, USAGE_KEYS);
+        write(sql, ALICE.toString(), 1, "sword");
+        write(sql, ALICE.toString(), 1, "sword");
+        
+        assertEquals(1, countUsage());
+    }
+    
+    @Test
+    public void insertIgnoreKeepsExistingRow() throws SQLException {
+        String sql = dialect.insertIgnore("player_usage", USAGE_COLUMNS);
+        write(sql, ALICE.toString(), 1, "sword", 3);
+        write(sql, ALICE.toString(), 1, "sword", 5);
+        
+        assertEquals(1, countUsage());
+        assertEquals(3, query("SELECT uses FROM player_usage"));
+    }
+    
+    /**
+     * Stand-in for MySQL's GET_LOCK, which H2 does not have
+     */
+    public static int getLock(String name, int timeout) {
+        return 1;
+    }
+    
+    /**
+     * Stand-in for MySQL's RELEASE_LOCK, which H2 does not have
+     */
+    public static int releaseLock(String name) {
+        return 1;
+    }
+    
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        if (dialect instanceof MySQLDialect) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("CREATE ALIAS IF NOT EXISTS GET_LOCK FOR '" + SqlDialectIT.class.getName() + ".getLock'");
+                stmt.execute("CREATE ALIAS IF NOT EXISTS RELEASE_LOCK FOR '" + SqlDialectIT.class.getName() + ".releaseLock'");
+            }
+        }
+        return connection;
+    }
+    
+    private void write(String sql, Object... values) throws SQLException {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < values.length; i++) {
+                stmt.setObject(i + 1, values[i]);
+            }
+            stmt.executeUpdate();
+        }
+    }
+    
+    private long countUsage() throws SQLException {
+        return query("SELECT COUNT(*) FROM player_usage");
+    }
+    
+    private long query(String sql) throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            return count(connection, sql);
+        }
+    }
+    
+    private long count(Connection connection, String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
\ No newline at end of file